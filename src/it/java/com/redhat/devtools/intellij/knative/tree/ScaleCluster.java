@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.tree;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.knative.kn.KnCli;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.mockwebserver.Context;
+import okhttp3.mockwebserver.MockWebServer;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.redhat.devtools.intellij.knative.Constants.FUNCTON_LABEL_KEY;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A Knative cluster served by the fabric8 mock server in CRUD mode, filled with generated services, revisions,
+ * sources and function services. The kn and func list commands are answered from its content, in the json they print.
+ */
+public class ScaleCluster {
+    static final String NAMESPACE = "test";
+    static final CustomResourceDefinitionContext SERVICES = crd("serving.knative.dev", "v1", "services", "Service");
+    static final CustomResourceDefinitionContext REVISIONS = crd("serving.knative.dev", "v1", "revisions", "Revision");
+    static final CustomResourceDefinitionContext PING_SOURCES = crd("sources.knative.dev", "v1", "pingsources", "PingSource");
+    private static final String SERVICE_LABEL = "serving.knative.dev/service";
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    private final KubernetesMockServer server;
+    private final KubernetesClient client;
+
+    public ScaleCluster() {
+        server = new KubernetesMockServer(new Context(), new MockWebServer(), new HashMap<>(),
+                new KubernetesCrudDispatcher(Arrays.asList(SERVICES, REVISIONS, PING_SOURCES)), false);
+        server.init();
+        client = server.createClient();
+    }
+
+    /**
+     * @param services            the number of services, functions included
+     * @param revisionsPerService the number of revisions of each service
+     * @param sources             the number of ping sources, each one sending to a service
+     * @param functions           the number of services labelled as functions
+     */
+    public void populate(int services, int revisionsPerService, int sources, int functions) {
+        for (int i = 0; i < services; i++) {
+            String name = "service-" + i;
+            create(SERVICES, service(name, revisionsPerService, i < functions));
+            for (int revision = 1; revision <= revisionsPerService; revision++) {
+                create(REVISIONS, revision(name, revision));
+            }
+        }
+        for (int i = 0; i < sources; i++) {
+            create(PING_SOURCES, pingSource("source-" + i, "service-" + (i % Math.max(services, 1))));
+        }
+    }
+
+    /**
+     * @return a kn client using the mock server, its commands are to be answered by {@link #execute(InvocationOnMock)}
+     */
+    public KnCli createKn() throws ReflectiveOperationException {
+        KnCli kn = mock(KnCli.class, CALLS_REAL_METHODS);
+        set(kn, "client", client);
+        set(kn, "knCommand", "kn");
+        set(kn, "funcCommand", "func");
+        set(kn, "envVars", Collections.emptyMap());
+        doReturn(true).when(kn).isKnativeServingAware();
+        doReturn(true).when(kn).isKnativeEventingAware();
+        return kn;
+    }
+
+    /**
+     * @return the number of requests received by the API server
+     */
+    public int getRequestCount() {
+        return server.getRequestCount();
+    }
+
+    public void close() {
+        client.close();
+        server.destroy();
+    }
+
+    /**
+     * Answer a call to {@link ExecHelper#execute} or {@link ExecHelper#executeWithResult} as kn or func would.
+     */
+    public Object execute(InvocationOnMock invocation) throws Exception {
+        Object[] arguments = invocation.getArguments();
+        String command = (String) arguments[0];
+        List<Object> args = Arrays.asList(arguments).subList(2, arguments.length);
+        String output;
+        if ("func".equals(command)) {
+            output = listFunctions();
+        } else if (args.get(0).equals("service")) {
+            output = Serialization.asJson(client.genericKubernetesResources(SERVICES).inNamespace(NAMESPACE).list());
+        } else if (args.get(0).equals("revision")) {
+            String service = (String) args.get(args.indexOf("-s") + 1);
+            output = Serialization.asJson(client.genericKubernetesResources(REVISIONS).inNamespace(NAMESPACE)
+                    .withLabel(SERVICE_LABEL, service).list());
+        } else if (args.get(0).equals("source")) {
+            output = Serialization.asJson(client.genericKubernetesResources(PING_SOURCES).inNamespace(NAMESPACE).list());
+        } else {
+            throw new UnsupportedOperationException("Unexpected command " + command + " " + args);
+        }
+        if (invocation.getMethod().getName().equals("executeWithResult")) {
+            return new ExecHelper.ExecResult(output, null, 0);
+        }
+        return output;
+    }
+
+    private String listFunctions() {
+        GenericKubernetesResourceList services = client.genericKubernetesResources(SERVICES).inNamespace(NAMESPACE)
+                .withLabel(FUNCTON_LABEL_KEY, "true").list();
+        ArrayNode functions = JsonNodeFactory.instance.arrayNode();
+        for (GenericKubernetesResource service : services.getItems()) {
+            functions.addObject()
+                    .put("name", service.getMetadata().getName())
+                    .put("namespace", NAMESPACE)
+                    .put("runtime", "node")
+                    .put("url", "http://" + service.getMetadata().getName() + "." + NAMESPACE + ".example.com")
+                    .put("ready", "True");
+        }
+        return functions.toString();
+    }
+
+    private void create(CustomResourceDefinitionContext crdContext, GenericKubernetesResource resource) {
+        client.genericKubernetesResources(crdContext).inNamespace(NAMESPACE).resource(resource).create();
+    }
+
+    private static GenericKubernetesResource service(String name, int revisions, boolean function) {
+        Map<String, String> labels = new HashMap<>();
+        if (function) {
+            labels.put(FUNCTON_LABEL_KEY, "true");
+        }
+        String latest = name + "-" + String.format("%05d", revisions);
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("url", "http://" + name + "." + NAMESPACE + ".example.com");
+        status.put("observedGeneration", revisions);
+        status.put("latestReadyRevisionName", latest);
+        status.put("latestCreatedRevisionName", latest);
+        status.put("address", Collections.singletonMap("url", "http://" + name + "." + NAMESPACE + ".svc.cluster.local"));
+        status.put("traffic", Collections.singletonList(traffic(latest)));
+        status.put("conditions", readyConditions());
+        return new GenericKubernetesResourceBuilder()
+                .withApiVersion("serving.knative.dev/v1")
+                .withKind("Service")
+                .withNewMetadata().withName(name).withNamespace(NAMESPACE).withLabels(labels).endMetadata()
+                .addToAdditionalProperties("spec", spec())
+                .addToAdditionalProperties("status", status)
+                .build();
+    }
+
+    private static GenericKubernetesResource revision(String service, int revision) {
+        Map<String, String> labels = new HashMap<>();
+        labels.put(SERVICE_LABEL, service);
+        labels.put("serving.knative.dev/configuration", service);
+        labels.put("serving.knative.dev/configurationGeneration", String.valueOf(revision));
+        return new GenericKubernetesResourceBuilder()
+                .withApiVersion("serving.knative.dev/v1")
+                .withKind("Revision")
+                .withNewMetadata()
+                .withName(service + "-" + String.format("%05d", revision))
+                .withNamespace(NAMESPACE)
+                .withLabels(labels)
+                .withAnnotations(Collections.singletonMap("serving.knative.dev/routes", service))
+                .endMetadata()
+                .addToAdditionalProperties("spec", spec().get("template"))
+                .addToAdditionalProperties("status", Collections.singletonMap("conditions", readyConditions()))
+                .build();
+    }
+
+    private static GenericKubernetesResource pingSource(String name, String sink) {
+        Map<String, Object> ref = new LinkedHashMap<>();
+        ref.put("apiVersion", "serving.knative.dev/v1");
+        ref.put("kind", "Service");
+        ref.put("name", sink);
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("schedule", "*/2 * * * *");
+        spec.put("data", "{\"message\": \"Hello\"}");
+        spec.put("sink", Collections.singletonMap("ref", ref));
+        return new GenericKubernetesResourceBuilder()
+                .withApiVersion("sources.knative.dev/v1")
+                .withKind("PingSource")
+                .withNewMetadata().withName(name).withNamespace(NAMESPACE).endMetadata()
+                .addToAdditionalProperties("spec", spec)
+                .addToAdditionalProperties("status", Collections.singletonMap("conditions", readyConditions()))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> spec() {
+        try {
+            return JSON_MAPPER.readValue("{\"template\":{\"spec\":{\"containerConcurrency\":0,\"timeoutSeconds\":300,"
+                    + "\"containers\":[{\"image\":\"quay.io/example/hello:latest\",\"env\":[{\"name\":\"TARGET\",\"value\":\"World\"}],"
+                    + "\"readinessProbe\":{\"successThreshold\":1,\"tcpSocket\":{\"port\":0}}}]}}}", Map.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Object> traffic(String revision) {
+        Map<String, Object> traffic = new LinkedHashMap<>();
+        traffic.put("revisionName", revision);
+        traffic.put("latestRevision", true);
+        traffic.put("percent", 100);
+        return traffic;
+    }
+
+    private static List<Map<String, Object>> readyConditions() {
+        Map<String, Object> ready = new LinkedHashMap<>();
+        ready.put("type", "Ready");
+        ready.put("status", "True");
+        ready.put("lastTransitionTime", "2023-01-01T00:00:00Z");
+        return Collections.singletonList(ready);
+    }
+
+    private static CustomResourceDefinitionContext crd(String group, String version, String plural, String kind) {
+        return new CustomResourceDefinitionContext.Builder()
+                .withGroup(group)
+                .withVersion(version)
+                .withPlural(plural)
+                .withKind(kind)
+                .withScope("Namespaced")
+                .build();
+    }
+
+    private static void set(KnCli kn, String name, Object value) throws ReflectiveOperationException {
+        Field field = KnCli.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(kn, value);
+    }
+}
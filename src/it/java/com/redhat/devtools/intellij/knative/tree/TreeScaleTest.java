@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.tree;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.knative.kn.KnCli;
+import com.redhat.devtools.intellij.knative.utils.WatchHandler;
+import org.mockito.MockedStatic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Loads the Knative and functions trees from a {@link ScaleCluster}, without a cluster nor the kn and func binaries.
+ * For each level of the trees it records the time to get the children, the heap retained per child node and the
+ * number of API requests. The sizes are set with the knative.scale.* system properties, run with
+ * {@code ./gradlew scaleTest -Pknative.scale.services=5000}.
+ */
+public class TreeScaleTest extends BasePlatformTestCase {
+    private static final Logger logger = LoggerFactory.getLogger(TreeScaleTest.class);
+
+    private static final int SERVICES = Integer.getInteger("knative.scale.services", 1000);
+    private static final int REVISIONS = Integer.getInteger("knative.scale.revisions", 3);
+    private static final int SOURCES = Integer.getInteger("knative.scale.sources", 200);
+    private static final int FUNCTIONS = Integer.getInteger("knative.scale.functions", 100);
+    private static final int EXPANDED_SERVICES = Integer.getInteger("knative.scale.expandedServices", 50);
+    private static final String REPORT = System.getProperty("knative.scale.report", "build/reports/scale/tree.json");
+
+    private ScaleCluster cluster;
+    private KnCli kn;
+    private Path snapshotFile;
+    private ArrayNode report;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        cluster = new ScaleCluster();
+        cluster.populate(SERVICES, REVISIONS, SOURCES, FUNCTIONS);
+        kn = cluster.createKn();
+        snapshotFile = Files.createTempFile("snapshot", ".json");
+        report = JsonNodeFactory.instance.arrayNode();
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        try {
+            WatchHandler.dispose(kn);
+            cluster.close();
+            Files.deleteIfExists(snapshotFile);
+            writeReport();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testLoad_KnativeTree() throws Exception {
+        KnTreeStructure structure = createStructure(new KnTreeStructure(getProject()));
+        try (MockedStatic<ExecHelper> execHelperMockedStatic = mockExecHelper()) {
+            Object[] rootChildren = measure("root", structure, structure.root);
+            KnServingNode serving = (KnServingNode) rootChildren[0];
+            KnEventingNode eventing = (KnEventingNode) rootChildren[1];
+
+            Object[] services = measure("services", structure, serving);
+            assertEquals(SERVICES, services.length);
+
+            int expanded = Math.min(EXPANDED_SERVICES, services.length);
+            long start = System.nanoTime();
+            int requests = cluster.getRequestCount();
+            for (int i = 0; i < expanded; i++) {
+                assertEquals(REVISIONS, structure.getChildElements(services[i]).length);
+            }
+            record("revisions (per service)", expanded == 0 ? 0 : REVISIONS,
+                    expanded == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / expanded,
+                    expanded == 0 ? 0 : (cluster.getRequestCount() - requests) / expanded, -1);
+
+            Object[] eventingChildren = structure.getChildElements(eventing);
+            KnEventingSourcesNode sourcesNode = (KnEventingSourcesNode) eventingChildren[2];
+            Object[] sources = measure("sources", structure, sourcesNode);
+            assertEquals(SOURCES, sources.length);
+        }
+    }
+
+    public void testLoad_FunctionsTree() throws Exception {
+        KnFunctionsTreeStructure structure = createStructure(new KnFunctionsTreeStructure(getProject()));
+        try (MockedStatic<ExecHelper> execHelperMockedStatic = mockExecHelper()) {
+            Object[] functions = measure("functions", structure, structure.root);
+            assertEquals(FUNCTIONS, functions.length);
+        }
+    }
+
+    /**
+     * Use the kn client of the mock cluster, the root element is not asked so that kn is not loaded
+     */
+    private <T extends KnTreeStructure> T createStructure(T structure) throws ReflectiveOperationException {
+        structure.snapshot = new TreeSnapshot(snapshotFile);
+        Field knField = KnRootNode.class.getDeclaredField("kn");
+        knField.setAccessible(true);
+        knField.set(structure.root, kn);
+        return structure;
+    }
+
+    private MockedStatic<ExecHelper> mockExecHelper() {
+        MockedStatic<ExecHelper> execHelperMockedStatic = mockStatic(ExecHelper.class);
+        execHelperMockedStatic.when(() -> ExecHelper.execute(anyString(), anyMap(), any())).thenAnswer(cluster::execute);
+        execHelperMockedStatic.when(() -> ExecHelper.executeWithResult(anyString(), anyMap(), any())).thenAnswer(cluster::execute);
+        return execHelperMockedStatic;
+    }
+
+    /**
+     * Get the children of a node, keeping them referenced while the heap is measured.
+     */
+    private Object[] measure(String level, KnTreeStructure structure, Object element) {
+        long heap = usedHeap();
+        int requests = cluster.getRequestCount();
+        long start = System.nanoTime();
+        Object[] children = structure.getChildElements(element);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        requests = cluster.getRequestCount() - requests;
+        long retained = usedHeap() - heap;
+        record(level, children.length, millis, requests, children.length == 0 ? -1 : Math.max(retained, 0) / children.length);
+        return children;
+    }
+
+    private void record(String level, int children, long millis, int requests, long bytesPerNode) {
+        logger.info(String.format("%s: %d nodes in %d ms, %d API requests, %s bytes per node",
+                level, children, millis, requests, bytesPerNode < 0 ? "-" : String.valueOf(bytesPerNode)));
+        report.addObject()
+                .put("test", getName())
+                .put("level", level)
+                .put("services", SERVICES)
+                .put("revisionsPerService", REVISIONS)
+                .put("sources", SOURCES)
+                .put("functions", FUNCTIONS)
+                .put("nodes", children)
+                .put("timeToChildrenMs", millis)
+                .put("apiRequests", requests)
+                .put("retainedBytesPerNode", bytesPerNode);
+    }
+
+    private void writeReport() throws Exception {
+        File file = new File(REPORT.replace(".json", "-" + getName() + ".json"));
+        Files.createDirectories(file.getParentFile().toPath());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
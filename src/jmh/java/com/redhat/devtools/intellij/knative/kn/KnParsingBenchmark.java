@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.kn;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the json printed by kn and func, for lists of 10, 1k and 10k items built from a single resource.
+ * The items benchmarks go through {@link KnCli}, the deserialize benchmarks only run the deserializers on the items.
+ * Run with {@code ./gradlew jmh}, the gc profiler reports the allocation rate of each benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KnParsingBenchmark {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    private String services, revisions, sources, functions;
+    private String serviceItems, revisionItems, sourceItems;
+
+    @Setup
+    public void setUp() throws IOException {
+        services = items(list("service.json"));
+        revisions = items(list("revision.json"));
+        sources = items(list("source.json"));
+        functions = list("function.json").toString();
+        serviceItems = MAPPER.readTree(services).get("items").toString();
+        revisionItems = MAPPER.readTree(revisions).get("items").toString();
+        sourceItems = MAPPER.readTree(sources).get("items").toString();
+    }
+
+    @Benchmark
+    public List<Service> services() throws IOException {
+        return KnCli.getCustomCollectionFromItemsField(services, Service.class);
+    }
+
+    @Benchmark
+    public List<Revision> revisions() throws IOException {
+        return KnCli.getCustomCollectionFromItemsField(revisions, Revision.class);
+    }
+
+    @Benchmark
+    public List<Source> sources() throws IOException {
+        return KnCli.getCustomCollectionFromItemsField(sources, Source.class);
+    }
+
+    @Benchmark
+    public List<Function> functions() throws IOException {
+        return KnCli.getCustomCollection(functions, Function.class);
+    }
+
+    @Benchmark
+    public List<Service> deserializeServices() throws IOException {
+        return MAPPER.readValue(serviceItems, listOf(Service.class));
+    }
+
+    @Benchmark
+    public List<Revision> deserializeRevisions() throws IOException {
+        return MAPPER.readValue(revisionItems, listOf(Revision.class));
+    }
+
+    @Benchmark
+    public List<Source> deserializeSources() throws IOException {
+        return MAPPER.readValue(sourceItems, listOf(Source.class));
+    }
+
+    private static JavaType listOf(Class<?> type) {
+        return MAPPER.getTypeFactory().constructCollectionType(List.class, type);
+    }
+
+    /**
+     * @param name the resource used as template
+     * @return the resource repeated {@link #size} times, each copy with its own name
+     */
+    private ArrayNode list(String name) throws IOException {
+        ObjectNode template;
+        try (InputStream stream = KnParsingBenchmark.class.getResourceAsStream("/kn/" + name)) {
+            template = (ObjectNode) MAPPER.readTree(stream);
+        }
+        ArrayNode list = JsonNodeFactory.instance.arrayNode(size);
+        for (int i = 0; i < size; i++) {
+            ObjectNode item = template.deepCopy();
+            ObjectNode named = item.has("metadata") ? (ObjectNode) item.get("metadata") : item;
+            named.put("name", named.get("name").asText() + "-" + i);
+            list.add(item);
+        }
+        return list;
+    }
+
+    private static String items(ArrayNode list) {
+        ObjectNode output = JsonNodeFactory.instance.objectNode();
+        output.put("apiVersion", "v1");
+        output.set("items", list);
+        output.put("kind", "List");
+        return output.toString();
+    }
+}
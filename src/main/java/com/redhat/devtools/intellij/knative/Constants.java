@@ -21,6 +21,11 @@ public class Constants {
     public static final Key<String> KNATIVE = Key.create("com.redhat.devtools.intellij.knative");
     public static final Key<String> RUNTIME_FUNCTION_KEY = Key.create(Constants.class.getPackage().getName() + ".runtime");
     public static final Key<String> TEMPLATE_FUNCTION_KEY = Key.create(Constants.class.getPackage().getName() + ".template");
+    public static final Key<String> ORIGINAL_CONTENT_KEY = Key.create(Constants.class.getPackage().getName() + ".originalContent");
+    public static final Key<Boolean> VALIDATE_ON_CLUSTER_KEY = Key.create(Constants.class.getPackage().getName() + ".validateOnCluster");
+    public static final Key<String> CLUSTER_CONTENT_KEY = Key.create(Constants.class.getPackage().getName() + ".clusterContent");
+    public static final Key<String> CHANGED_ON_CLUSTER_KEY = Key.create(Constants.class.getPackage().getName() + ".changedOnCluster");
+    public static final Key<Boolean> DELETED_ON_CLUSTER_KEY = Key.create(Constants.class.getPackage().getName() + ".deletedOnCluster");
 
     public static final String NOTIFICATION_ID = "Knative";
 
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.actions;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.common.utils.UIHelper;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.serving.AutoscalingConfig;
+import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
+import com.redhat.devtools.intellij.knative.tree.KnServiceNode;
+import com.redhat.devtools.intellij.knative.ui.AutoscalingDialog;
+import com.redhat.devtools.intellij.knative.utils.TreeHelper;
+import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+import io.fabric8.knative.serving.v1.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.tree.TreePath;
+import java.io.IOException;
+
+import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_MISC;
+import static com.redhat.devtools.intellij.telemetry.core.util.AnonymizeUtils.anonymizeResource;
+
+public class AutoscalingAction extends KnAction {
+    private static final Logger logger = LoggerFactory.getLogger(AutoscalingAction.class);
+
+    public AutoscalingAction() {
+        super(KnServiceNode.class);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Kn kncli) {
+        TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(NAME_PREFIX_MISC + "edit autoscaling");
+        KnServiceNode node = (KnServiceNode) getElement(selected);
+        String name = node.getName();
+        String namespace = kncli.getNamespace();
+        Project project = getEventProject(anActionEvent);
+
+        ExecHelper.submit(() -> {
+            try {
+                Service service = kncli.getKnativeService(name);
+                if (service == null) {
+                    throw new IOException("Service " + name + " not found");
+                }
+                AutoscalingConfig original = AutoscalingConfig.from(service);
+                AutoscalingConfig config = AutoscalingConfig.from(service);
+                boolean apply = UIHelper.executeInUI(() -> new AutoscalingDialog(project, name, config).showAndGet());
+                String patch = apply ? config.toMergePatch(original) : null;
+                if (patch == null) {
+                    telemetry
+                            .result(anonymizeResource(name, namespace, "Autoscaling of " + name + " unchanged"))
+                            .send();
+                    return;
+                }
+                kncli.patchService(name, patch);
+                TreeHelper.refresh(project, node);
+                telemetry
+                        .result(anonymizeResource(name, namespace, "Updated autoscaling of " + name))
+                        .send();
+            } catch (IOException e) {
+                logger.warn(e.getLocalizedMessage(), e);
+                UIHelper.executeInUI(() -> Messages.showErrorDialog("Error while updating autoscaling of " + name + ": " + e.getLocalizedMessage(), "Error"));
+                telemetry
+                        .error(anonymizeResource(name, namespace, e.getLocalizedMessage()))
+                        .send();
+            }
+        });
+    }
+}
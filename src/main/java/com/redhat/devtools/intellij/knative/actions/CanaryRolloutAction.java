@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.actions;
+
+import com.google.common.base.Strings;
+import com.intellij.execution.executors.DefaultRunExecutor;
+import com.intellij.execution.filters.TextConsoleBuilderFactory;
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.execution.ui.RunContentDescriptor;
+import com.intellij.execution.ui.RunContentManager;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.knative.func.invoke.FuncHttpInvoker;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.serving.CanaryRollout;
+import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
+import com.redhat.devtools.intellij.knative.tree.KnFunctionNode;
+import com.redhat.devtools.intellij.knative.tree.KnServiceNode;
+import com.redhat.devtools.intellij.knative.tree.ParentableNode;
+import com.redhat.devtools.intellij.knative.ui.CanaryRolloutDialog;
+import com.redhat.devtools.intellij.knative.utils.model.CanaryRolloutModel;
+import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.tree.TreePath;
+import java.io.IOException;
+
+import static com.redhat.devtools.intellij.knative.Constants.NOTIFICATION_ID;
+import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_MISC;
+import static com.redhat.devtools.intellij.telemetry.core.util.AnonymizeUtils.anonymizeResource;
+
+public class CanaryRolloutAction extends KnAction {
+    private static final Logger logger = LoggerFactory.getLogger(CanaryRolloutAction.class);
+
+    public CanaryRolloutAction() {
+        super(KnServiceNode.class, KnFunctionNode.class);
+    }
+
+    @Override
+    public boolean isVisible(Object selected) {
+        if (selected instanceof KnFunctionNode) {
+            return !Strings.isNullOrEmpty(((KnFunctionNode) selected).getFunction().getUrl());
+        }
+        return selected instanceof KnServiceNode;
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Kn kncli) {
+        String name = ((ParentableNode<?>) getElement(selected)).getName();
+        String namespace = kncli.getNamespace();
+        Project project = getEventProject(anActionEvent);
+
+        CanaryRolloutModel model = new CanaryRolloutModel();
+        CanaryRolloutDialog dialog = new CanaryRolloutDialog(project, name, model);
+        if (!dialog.showAndGet()) {
+            return;
+        }
+
+        TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(NAME_PREFIX_MISC + "canary rollout");
+        ConsoleView console = TextConsoleBuilderFactory.getInstance().createBuilder(project).getConsole();
+        RunContentDescriptor descriptor = new RunContentDescriptor(console, null, console.getComponent(), "Canary Rollout " + name);
+        RunContentManager.getInstance(project).showRunContent(DefaultRunExecutor.getRunExecutorInstance(), descriptor);
+        CanaryRollout rollout = new CanaryRollout(kncli, FuncHttpInvoker.getSharedClient(), model,
+                message -> console.print(message + "\n", ConsoleViewContentType.NORMAL_OUTPUT));
+        // closing the console tab sends all the traffic back to the previous revision
+        Disposer.register(descriptor, rollout::cancel);
+
+        ExecHelper.submit(() -> {
+            try {
+                CanaryRollout.Outcome outcome = rollout.run(name);
+                if (outcome == CanaryRollout.Outcome.ROLLED_BACK) {
+                    Notifications.Bus.notify(new Notification(NOTIFICATION_ID,
+                            "Canary rollout of " + name + " rolled back",
+                            "A regression has been detected on the latest revision, see the console for details",
+                            NotificationType.WARNING));
+                } else if (outcome == CanaryRollout.Outcome.PROMOTED) {
+                    Notifications.Bus.notify(new Notification(NOTIFICATION_ID,
+                            "Canary rollout of " + name + " completed",
+                            "The latest revision receives all the traffic",
+                            NotificationType.INFORMATION));
+                }
+                telemetry
+                        .result(anonymizeResource(name, namespace, "Canary rollout of " + name + " " + outcome.name().toLowerCase()))
+                        .send();
+            } catch (IOException e) {
+                console.print(e.getLocalizedMessage() + "\n", ConsoleViewContentType.ERROR_OUTPUT);
+                Notifications.Bus.notify(new Notification(NOTIFICATION_ID,
+                        "Canary rollout of " + name + " failed",
+                        e.getLocalizedMessage(),
+                        NotificationType.ERROR));
+                logger.warn(e.getLocalizedMessage(), e);
+                telemetry
+                        .error(anonymizeResource(name, namespace, e.getLocalizedMessage()))
+                        .send();
+            }
+        });
+    }
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.actions;
+
+import com.google.common.base.Strings;
+import com.intellij.execution.executors.DefaultRunExecutor;
+import com.intellij.execution.filters.TextConsoleBuilderFactory;
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.execution.ui.RunContentDescriptor;
+import com.intellij.execution.ui.RunContentManager;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.knative.func.invoke.FuncHttpInvoker;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.serving.ColdStartHistory;
+import com.redhat.devtools.intellij.knative.serving.ColdStartProbe;
+import com.redhat.devtools.intellij.knative.serving.ColdStartResult;
+import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
+import com.redhat.devtools.intellij.knative.tree.KnFunctionNode;
+import com.redhat.devtools.intellij.knative.tree.KnServiceNode;
+import com.redhat.devtools.intellij.knative.tree.ParentableNode;
+import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.tree.TreePath;
+import java.io.IOException;
+import java.time.Duration;
+
+import static com.redhat.devtools.intellij.knative.Constants.NOTIFICATION_ID;
+import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_MISC;
+import static com.redhat.devtools.intellij.telemetry.core.util.AnonymizeUtils.anonymizeResource;
+
+public class ColdStartProbeAction extends KnAction {
+    private static final Logger logger = LoggerFactory.getLogger(ColdStartProbeAction.class);
+    private static final Duration SCALE_TO_ZERO_TIMEOUT = Duration.ofMinutes(10);
+
+    public ColdStartProbeAction() {
+        super(KnServiceNode.class, KnFunctionNode.class);
+    }
+
+    @Override
+    public boolean isVisible(Object selected) {
+        if (selected instanceof KnFunctionNode) {
+            return !Strings.isNullOrEmpty(((KnFunctionNode) selected).getFunction().getUrl());
+        }
+        return selected instanceof KnServiceNode;
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Kn kncli) {
+        TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(NAME_PREFIX_MISC + "probe cold start");
+        String name = ((ParentableNode<?>) getElement(selected)).getName();
+        String namespace = kncli.getNamespace();
+        Project project = getEventProject(anActionEvent);
+
+        ConsoleView console = TextConsoleBuilderFactory.getInstance().createBuilder(project).getConsole();
+        RunContentDescriptor descriptor = new RunContentDescriptor(console, null, console.getComponent(), "Cold Start " + name);
+        RunContentManager.getInstance(project).showRunContent(DefaultRunExecutor.getRunExecutorInstance(), descriptor);
+        ColdStartProbe probe = new ColdStartProbe(kncli, FuncHttpInvoker.getSharedClient());
+        // closing the console tab stops waiting for the scale to zero
+        Disposer.register(descriptor, probe::cancel);
+
+        ExecHelper.submit(() -> {
+            try {
+                ColdStartResult result = probe.probe(name, SCALE_TO_ZERO_TIMEOUT,
+                        status -> console.print(status + "\n", ConsoleViewContentType.SYSTEM_OUTPUT));
+                if (result == null) {
+                    telemetry
+                            .result(anonymizeResource(name, namespace, "Cold start probe of " + name + " has been cancelled"))
+                            .send();
+                    return;
+                }
+                ColdStartHistory history = ColdStartHistory.getInstance(project);
+                history.record(result);
+                console.print(result + "\n\n", ConsoleViewContentType.NORMAL_OUTPUT);
+                console.print(history.compare(name), ConsoleViewContentType.NORMAL_OUTPUT);
+                telemetry
+                        .result(anonymizeResource(name, namespace, "Probed cold start of " + name))
+                        .send();
+            } catch (IOException e) {
+                console.print(e.getLocalizedMessage() + "\n", ConsoleViewContentType.ERROR_OUTPUT);
+                Notifications.Bus.notify(new Notification(NOTIFICATION_ID,
+                        "Cold start probe of " + name + " failed",
+                        e.getLocalizedMessage(),
+                        NotificationType.ERROR));
+                logger.warn(e.getLocalizedMessage(), e);
+                telemetry
+                        .error(anonymizeResource(name, namespace, e.getLocalizedMessage()))
+                        .send();
+            }
+        });
+    }
+}
@@ -18,6 +18,7 @@ import com.redhat.devtools.intellij.knative.Constants;
 import com.redhat.devtools.intellij.knative.kn.Kn;
 import com.redhat.devtools.intellij.knative.tree.KnRootNode;
 import com.redhat.devtools.intellij.knative.tree.KnTreeStructure;
+import com.redhat.devtools.intellij.knative.tree.ParentableNode;
 import com.redhat.devtools.intellij.knative.utils.TreeHelper;
 import java.io.IOException;
 import javax.swing.tree.TreePath;
@@ -35,7 +36,12 @@ public class KnAction  extends StructureTreeAction {
     @Override
     public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected) {
         try {
-            this.actionPerformed(anActionEvent, path, selected, getKn(anActionEvent));
+            Kn kn = getKn(anActionEvent);
+            if (kn == null && isCached(selected)) {
+                showLoadingMessage();
+                return;
+            }
+            this.actionPerformed(anActionEvent, path, selected, kn);
         } catch (IOException e) {
             Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Error");
         }
@@ -47,12 +53,33 @@ public class KnAction  extends StructureTreeAction {
             return;
         }
         try {
-            this.actionPerformed(anActionEvent, path, selected, getKn(anActionEvent));
+            Kn kn = getKn(anActionEvent);
+            if (kn == null && isCached(selected[0])) {
+                showLoadingMessage();
+                return;
+            }
+            this.actionPerformed(anActionEvent, path, selected, kn);
         } catch (IOException e) {
             Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Error");
         }
     }
 
+    /**
+     * Nodes shown before kn is ready come from the snapshot of the last session
+     */
+    private boolean isCached(Object selected) {
+        Object element = getElement(selected);
+        if (!(element instanceof ParentableNode)) {
+            return false;
+        }
+        KnRootNode rootNode = ((ParentableNode<?>) element).getRootNode();
+        return rootNode != null && rootNode.getKn() == null;
+    }
+
+    private void showLoadingMessage() {
+        Messages.showInfoMessage("The tree shows the cluster as it was in the last session, it is still being loaded. Please retry in a moment.", "Loading");
+    }
+
     private Kn getKn(AnActionEvent anActionEvent) throws IOException {
         return TreeHelper.getKn(anActionEvent.getProject());
     }
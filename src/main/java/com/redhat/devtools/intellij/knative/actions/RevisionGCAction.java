@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.actions;
+
+import com.intellij.execution.executors.DefaultRunExecutor;
+import com.intellij.execution.filters.TextConsoleBuilderFactory;
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.execution.ui.RunContentDescriptor;
+import com.intellij.execution.ui.RunContentManager;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.serving.RevisionGC;
+import com.redhat.devtools.intellij.knative.settings.SettingsState;
+import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
+import com.redhat.devtools.intellij.knative.tree.KnServingNode;
+import com.redhat.devtools.intellij.knative.tree.ParentableNode;
+import com.redhat.devtools.intellij.knative.ui.RevisionGCDialog;
+import com.redhat.devtools.intellij.knative.utils.TreeHelper;
+import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.tree.TreePath;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static com.redhat.devtools.intellij.knative.Constants.NOTIFICATION_ID;
+import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_CRUD;
+import static com.redhat.devtools.intellij.telemetry.core.util.AnonymizeUtils.anonymizeResource;
+
+public class RevisionGCAction extends KnAction {
+    private static final Logger logger = LoggerFactory.getLogger(RevisionGCAction.class);
+
+    public RevisionGCAction() {
+        super(KnServingNode.class);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Kn kncli) {
+        Project project = getEventProject(anActionEvent);
+        String namespace = kncli.getNamespace();
+        SettingsState settings = SettingsState.getInstance();
+        RevisionGCDialog dialog = new RevisionGCDialog(project, kncli, settings.revisionGCKeep);
+        if (!dialog.showAndGet()) {
+            return;
+        }
+        settings.revisionGCKeep = dialog.getKeep();
+        Map<String, List<String>> plan = dialog.getPlan();
+
+        TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(NAME_PREFIX_CRUD + "collect revisions");
+        ConsoleView console = TextConsoleBuilderFactory.getInstance().createBuilder(project).getConsole();
+        RunContentDescriptor descriptor = new RunContentDescriptor(console, null, console.getComponent(), "Revisions Clean Up " + namespace);
+        RunContentManager.getInstance(project).showRunContent(DefaultRunExecutor.getRunExecutorInstance(), descriptor);
+
+        ExecHelper.submit(() -> {
+            try {
+                int deleted = new RevisionGC(kncli, dialog.getKeep()).collect(plan,
+                        message -> console.print(message + "\n", ConsoleViewContentType.NORMAL_OUTPUT));
+                console.print(deleted + " revisions deleted\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+                telemetry
+                        .result(anonymizeResource(null, namespace, "Deleted " + deleted + " revisions"))
+                        .send();
+            } catch (IOException e) {
+                console.print(e.getLocalizedMessage() + "\n", ConsoleViewContentType.ERROR_OUTPUT);
+                Notifications.Bus.notify(new Notification(NOTIFICATION_ID,
+                        "Revisions clean up failed",
+                        e.getLocalizedMessage(),
+                        NotificationType.ERROR));
+                logger.warn(e.getLocalizedMessage(), e);
+                telemetry
+                        .error(anonymizeResource(null, namespace, e.getLocalizedMessage()))
+                        .send();
+            }
+            TreeHelper.refresh(project, (ParentableNode<?>) getElement(selected));
+        });
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.actions;
+
+import com.intellij.execution.executors.DefaultRunExecutor;
+import com.intellij.execution.ui.RunContentDescriptor;
+import com.intellij.execution.ui.RunContentManager;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.Disposer;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.common.utils.UIHelper;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.serving.RevisionMetricsSampler;
+import com.redhat.devtools.intellij.knative.settings.SettingsState;
+import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
+import com.redhat.devtools.intellij.knative.tree.KnRevisionNode;
+import com.redhat.devtools.intellij.knative.tree.KnServiceNode;
+import com.redhat.devtools.intellij.knative.tree.ParentableNode;
+import com.redhat.devtools.intellij.knative.ui.RevisionMetricsPanel;
+import com.redhat.devtools.intellij.knative.utils.KnHelper;
+import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.tree.TreePath;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_MISC;
+import static com.redhat.devtools.intellij.telemetry.core.util.AnonymizeUtils.anonymizeResource;
+
+public class RevisionMetricsAction extends KnAction {
+    private static final Logger logger = LoggerFactory.getLogger(RevisionMetricsAction.class);
+
+    public RevisionMetricsAction() {
+        super(KnServiceNode.class, KnRevisionNode.class);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Kn kncli) {
+        TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(NAME_PREFIX_MISC + "show revision metrics");
+        ParentableNode<?> node = (ParentableNode<?>) getElement(selected);
+        String name = node.getName();
+        String namespace = kncli.getNamespace();
+        Project project = getEventProject(anActionEvent);
+
+        ExecHelper.submit(() -> {
+            try {
+                List<String> revisions = node instanceof KnServiceNode ?
+                        KnHelper.getServingRevisions(kncli, name) :
+                        Collections.singletonList(name);
+                SettingsState settings = SettingsState.getInstance();
+                List<RevisionMetricsSampler> samplers = new ArrayList<>();
+                revisions.forEach(revision -> samplers.add(new RevisionMetricsSampler(kncli, revision, settings.metricsMaxSamples)));
+                UIHelper.executeInUI(() -> {
+                    RevisionMetricsPanel panel = new RevisionMetricsPanel(samplers, settings.metricsIntervalSeconds);
+                    RunContentDescriptor descriptor = new RunContentDescriptor(null, null, panel, "Metrics " + name);
+                    Disposer.register(descriptor, () -> settings.metricsIntervalSeconds = panel.getInterval());
+                    Disposer.register(descriptor, panel);
+                    RunContentManager.getInstance(project).showRunContent(DefaultRunExecutor.getRunExecutorInstance(), descriptor);
+                });
+                telemetry
+                        .result(anonymizeResource(name, namespace, "Showing metrics of " + revisions.size() + " revisions"))
+                        .send();
+            } catch (IOException e) {
+                logger.warn(e.getLocalizedMessage(), e);
+                UIHelper.executeInUI(() -> Messages.showErrorDialog("Error while loading metrics of " + name + ": " + e.getLocalizedMessage(), "Error"));
+                telemetry
+                        .error(anonymizeResource(name, namespace, e.getLocalizedMessage()))
+                        .send();
+            }
+        });
+    }
+}
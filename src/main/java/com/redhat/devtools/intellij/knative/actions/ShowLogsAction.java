@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.actions;
+
+import com.google.common.base.Strings;
+import com.intellij.execution.executors.DefaultRunExecutor;
+import com.intellij.execution.ui.RunContentDescriptor;
+import com.intellij.execution.ui.RunContentManager;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.Disposer;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.common.utils.UIHelper;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.serving.logs.RevisionLogTail;
+import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
+import com.redhat.devtools.intellij.knative.tree.KnFunctionNode;
+import com.redhat.devtools.intellij.knative.tree.KnRevisionNode;
+import com.redhat.devtools.intellij.knative.tree.KnServiceNode;
+import com.redhat.devtools.intellij.knative.tree.ParentableNode;
+import com.redhat.devtools.intellij.knative.ui.LogPanel;
+import com.redhat.devtools.intellij.knative.utils.KnHelper;
+import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.tree.TreePath;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_MISC;
+import static com.redhat.devtools.intellij.telemetry.core.util.AnonymizeUtils.anonymizeResource;
+
+public class ShowLogsAction extends KnAction {
+    private static final Logger logger = LoggerFactory.getLogger(ShowLogsAction.class);
+    private static final int TAIL_LINES = 100;
+    private static final int MAX_LINES_PER_POD = 10000;
+    private static final int MAX_LINES = 50000;
+
+    public ShowLogsAction() {
+        super(KnServiceNode.class, KnRevisionNode.class, KnFunctionNode.class);
+    }
+
+    @Override
+    public boolean isVisible(Object selected) {
+        if (selected instanceof KnFunctionNode) {
+            return !Strings.isNullOrEmpty(((KnFunctionNode) selected).getFunction().getUrl());
+        }
+        return selected instanceof KnServiceNode || selected instanceof KnRevisionNode;
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Kn kncli) {
+        TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(NAME_PREFIX_MISC + "show logs");
+        ParentableNode<?> node = (ParentableNode<?>) getElement(selected);
+        String name = node.getName();
+        String namespace = kncli.getNamespace();
+        Project project = getEventProject(anActionEvent);
+
+        ExecHelper.submit(() -> {
+            try {
+                List<String> revisions = node instanceof KnRevisionNode ?
+                        Collections.singletonList(name) :
+                        KnHelper.getServingRevisions(kncli, name);
+                LogPanel panel = UIHelper.executeInUI(() -> {
+                    LogPanel logPanel = new LogPanel(project, MAX_LINES);
+                    RunContentDescriptor descriptor = new RunContentDescriptor(null, null, logPanel, "Logs " + name);
+                    Disposer.register(descriptor, logPanel);
+                    RunContentManager.getInstance(project).showRunContent(DefaultRunExecutor.getRunExecutorInstance(), descriptor);
+                    return logPanel;
+                });
+                RevisionLogTail tail = new RevisionLogTail(kncli, revisions, TAIL_LINES, MAX_LINES_PER_POD,
+                        panel::append, panel::printStatus);
+                // closing the tab stops following the pods
+                Disposer.register(panel, tail::stop);
+                tail.start();
+                telemetry
+                        .result(anonymizeResource(name, namespace, "Following logs of " + revisions.size() + " revisions"))
+                        .send();
+            } catch (IOException e) {
+                logger.warn(e.getLocalizedMessage(), e);
+                UIHelper.executeInUI(() -> Messages.showErrorDialog("Error while following logs of " + name + ": " + e.getLocalizedMessage(), "Error"));
+                telemetry
+                        .error(anonymizeResource(name, namespace, e.getLocalizedMessage()))
+                        .send();
+            }
+        });
+    }
+}
@@ -11,13 +11,18 @@
 package com.redhat.devtools.intellij.knative.actions.func;
 
 import com.google.common.base.Strings;
+import com.intellij.execution.process.ProcessAdapter;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessListener;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.Pair;
 import com.redhat.devtools.intellij.common.utils.ExecHelper;
 import com.redhat.devtools.intellij.knative.kn.Function;
 import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.settings.SettingsState;
 import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
 import com.redhat.devtools.intellij.knative.tree.KnFunctionNode;
 import com.redhat.devtools.intellij.knative.tree.ParentableNode;
@@ -27,11 +32,13 @@ import com.redhat.devtools.intellij.knative.func.IFuncActionPipeline;
 import com.redhat.devtools.intellij.knative.utils.FuncUtils;
 import com.redhat.devtools.intellij.knative.utils.model.ImageRegistryModel;
 import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.tree.TreePath;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.intellij.openapi.ui.Messages.getCancelButton;
 import static com.intellij.openapi.ui.Messages.getOkButton;
@@ -62,30 +69,47 @@ public class DeployAction extends BuildAction {
             function.setImage(model.getImage());
         }
 
+        // the sources deployed are the ones built, changes made later are not part of the deploy
+        AtomicReference<String> sourcesFingerprint = new AtomicReference<>();
         IFuncActionPipeline deployPipeline = new FuncActionPipelineBuilder()
                 .createDeployPipeline(project, function)
-                .withBuildTask((task) -> doBuild(knCli, task))
+                .withBuildTask((task) -> doBuild(knCli, task, sourcesFingerprint))
                 .withTask("deployFunc", (task) -> doDeploy(node.getName(), knCli, task,
-                        model, telemetry))
+                        model, telemetry, sourcesFingerprint))
+                .withTimeout(SettingsState.getInstance().funcDeployTimeoutMinutes)
                 .build();
         knCli.getFuncActionPipelineManager().start(deployPipeline);
     }
 
-    protected void doBuild(Kn knCli, FuncActionTask funcActionTask) {
-        ExecHelper.submit(() -> BuildAction.execute(
-                funcActionTask.getProject(),
-                funcActionTask.getFunction(),
-                knCli,
-                funcActionTask)
-        );
+    protected void doBuild(Kn knCli, FuncActionTask funcActionTask, AtomicReference<String> sourcesFingerprint) {
+        ExecHelper.submit(() -> {
+            sourcesFingerprint.set(FuncUtils.getDeployFingerprint(funcActionTask.getFunction().getLocalPath()));
+            BuildAction.execute(
+                    funcActionTask.getProject(),
+                    funcActionTask.getFunction(),
+                    knCli,
+                    funcActionTask);
+        });
     }
 
-    protected void doDeploy(String name, Kn knCli, FuncActionTask funcActionTask, ImageRegistryModel model, TelemetryMessageBuilder.ActionMessage telemetry) {
+    protected void doDeploy(String name, Kn knCli, FuncActionTask funcActionTask, ImageRegistryModel model, TelemetryMessageBuilder.ActionMessage telemetry,
+                            AtomicReference<String> sourcesFingerprint) {
         ExecHelper.submit(() -> {
             String namespace = knCli.getNamespace();
+            Project project = funcActionTask.getProject();
+            String localPath = funcActionTask.getFunction().getLocalPath();
             try {
-                knCli.deployFunc(namespace, funcActionTask.getFunction().getLocalPath(), model,
-                        funcActionTask.getTerminalExecutionConsole(), funcActionTask.getProcessListener());
+                if (isDeployUpToDate(project, name, knCli, localPath)) {
+                    funcActionTask.completeAsUpToDate("Function " + name + " in namespace " + namespace
+                            + " already runs the same image and configuration. Deploy skipped.");
+                    telemetry
+                            .result(anonymizeResource(name, namespace, "Function " + name + " is up to date, deploy skipped"))
+                            .send();
+                    return;
+                }
+                knCli.deployFunc(namespace, localPath, model,
+                        funcActionTask.getTerminalExecutionConsole(),
+                        recordDeployedOnSuccess(project, localPath, sourcesFingerprint.get(), funcActionTask.getProcessListener()));
                 telemetry
                         .result(anonymizeResource(name, knCli.getNamespace(), getSuccessMessage(namespace, name)))
                         .send();
@@ -98,6 +122,56 @@ public class DeployAction extends BuildAction {
         });
     }
 
+    /**
+     * Wrap the listener of the deploy task to record the deployed sources once func deploy succeeded
+     *
+     * @param fingerprint fingerprint of the sources when the pipeline started, nothing is recorded if unknown
+     */
+    protected static ProcessListener recordDeployedOnSuccess(Project project, String localPath, String fingerprint, ProcessListener listener) {
+        return new ProcessAdapter() {
+            @Override
+            public void startNotified(@NotNull ProcessEvent event) {
+                if (listener != null) {
+                    listener.startNotified(event);
+                }
+            }
+
+            @Override
+            public void onTextAvailable(@NotNull ProcessEvent event, @NotNull Key outputType) {
+                if (listener != null) {
+                    listener.onTextAvailable(event, outputType);
+                }
+            }
+
+            @Override
+            public void processWillTerminate(@NotNull ProcessEvent event, boolean willBeDestroyed) {
+                if (listener != null) {
+                    listener.processWillTerminate(event, willBeDestroyed);
+                }
+            }
+
+            @Override
+            public void processTerminated(@NotNull ProcessEvent event) {
+                if (event.getExitCode() == 0 && fingerprint != null) {
+                    FuncUtils.setDeployed(project, localPath, fingerprint);
+                }
+                if (listener != null) {
+                    listener.processTerminated(event);
+                }
+            }
+        };
+    }
+
+    private boolean isDeployUpToDate(Project project, String name, Kn knCli, String localPath) {
+        try {
+            return FuncUtils.isDeployUpToDate(project, knCli, name, localPath);
+        } catch (IOException e) {
+            // if the live service cannot be compared, deploy anyway
+            logger.warn(e.getLocalizedMessage(), e);
+            return false;
+        }
+    }
+
     @Override
     protected boolean isActionConfirmed(Project project, String name, String funcNamespace, String activeNamespace) {
         String message = "";
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.actions.func;
+
+import com.intellij.execution.executors.DefaultRunExecutor;
+import com.intellij.execution.filters.TextConsoleBuilderFactory;
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.execution.ui.RunContentDescriptor;
+import com.intellij.execution.ui.RunContentManager;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.knative.actions.KnAction;
+import com.redhat.devtools.intellij.knative.func.invoke.FuncHttpInvoker;
+import com.redhat.devtools.intellij.knative.func.invoke.InvocationHistory;
+import com.redhat.devtools.intellij.knative.func.invoke.InvocationRecord;
+import com.redhat.devtools.intellij.knative.func.invoke.InvocationReplayer;
+import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
+import com.redhat.devtools.intellij.knative.tree.KnFunctionNode;
+import com.redhat.devtools.intellij.knative.tree.ParentableNode;
+import com.redhat.devtools.intellij.knative.ui.invokeFunc.InvocationHistoryDialog;
+import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+
+import javax.swing.tree.TreePath;
+import java.util.List;
+
+import static com.redhat.devtools.intellij.knative.Constants.NOTIFICATION_ID;
+import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_MISC;
+import static com.redhat.devtools.intellij.telemetry.core.util.AnonymizeUtils.anonymizeResource;
+
+public class InvocationHistoryAction extends KnAction {
+    private static final int REPLAY_CONCURRENCY = 8;
+
+    public InvocationHistoryAction() {
+        super(KnFunctionNode.class);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Kn knCli) {
+        TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(NAME_PREFIX_MISC + "replay func invocations");
+        ParentableNode node = getElement(selected);
+        String name = node.getName();
+        String namespace = knCli.getNamespace();
+        Function function = ((KnFunctionNode) node).getFunction();
+        Project project = getEventProject(anActionEvent);
+        InvocationHistory history = InvocationHistory.getInstance(project);
+
+        List<InvocationRecord> records = history.getRecords(namespace, name);
+        if (records.isEmpty()) {
+            Notifications.Bus.notify(new Notification(NOTIFICATION_ID,
+                    "Invocation history",
+                    "Function " + name + " has not been invoked yet",
+                    NotificationType.INFORMATION));
+            return;
+        }
+
+        InvocationHistoryDialog dialog = new InvocationHistoryDialog(project, name, records);
+        dialog.show();
+        List<InvocationRecord> toReplay;
+        if (dialog.getExitCode() == InvocationHistoryDialog.REPLAY_SELECTED_EXIT_CODE) {
+            toReplay = dialog.getSelectedRecords();
+        } else if (dialog.getExitCode() == InvocationHistoryDialog.REPLAY_SESSION_EXIT_CODE) {
+            toReplay = dialog.getSelectedSessionRecords();
+        } else {
+            telemetry
+                    .result(anonymizeResource(name, namespace, "Replay of function " + name + " invocations has been cancelled"))
+                    .send();
+            return;
+        }
+
+        ConsoleView console = TextConsoleBuilderFactory.getInstance().createBuilder(project).getConsole();
+        RunContentDescriptor descriptor = new RunContentDescriptor(console, null, console.getComponent(), "Replay " + name);
+        RunContentManager.getInstance(project).showRunContent(DefaultRunExecutor.getRunExecutorInstance(), descriptor);
+        ExecHelper.submit(() -> {
+            console.print("Replaying " + toReplay.size() + " invocation(s) of " + name + "\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+            InvocationReplayer replayer = new InvocationReplayer(new FuncHttpInvoker(), history);
+            List<InvocationRecord> replays = replayer.replay(knCli, function, toReplay, REPLAY_CONCURRENCY);
+            console.print(InvocationReplayer.compare(toReplay, replays, records), ConsoleViewContentType.NORMAL_OUTPUT);
+            telemetry
+                    .result(anonymizeResource(name, namespace, "Replayed " + toReplay.size() + " invocations of function " + name))
+                    .send();
+        });
+    }
+
+    @Override
+    public boolean isVisible(Object selected) {
+        if (selected instanceof KnFunctionNode) {
+            return !((KnFunctionNode) selected).getFunction().getLocalPath().isEmpty();
+        }
+        return false;
+    }
+}
@@ -10,16 +10,25 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.knative.actions.func;
 
+import com.google.common.base.Strings;
 import com.intellij.icons.AllIcons;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationType;
 import com.intellij.notification.Notifications;
 import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
-import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.intellij.openapi.util.text.StringUtil;
 import com.redhat.devtools.intellij.common.utils.UIHelper;
 import com.redhat.devtools.intellij.knative.actions.KnAction;
+import com.redhat.devtools.intellij.knative.func.invoke.FileBodyPublisher;
+import com.redhat.devtools.intellij.knative.func.invoke.FuncHttpInvoker;
+import com.redhat.devtools.intellij.knative.func.invoke.InvocationHistory;
+import com.redhat.devtools.intellij.knative.func.invoke.InvocationRecord;
+import com.redhat.devtools.intellij.knative.func.invoke.InvokeResult;
 import com.redhat.devtools.intellij.knative.kn.Function;
 import com.redhat.devtools.intellij.knative.kn.Kn;
 import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
@@ -28,6 +37,7 @@ import com.redhat.devtools.intellij.knative.tree.ParentableNode;
 import com.redhat.devtools.intellij.knative.ui.invokeFunc.InvokeDialog;
 import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
 import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +51,7 @@ import static com.redhat.devtools.intellij.telemetry.core.util.AnonymizeUtils.an
 
 public class InvokeAction extends KnAction {
     private static final Logger logger = LoggerFactory.getLogger(InvokeAction.class);
+    private final FuncHttpInvoker invoker = new FuncHttpInvoker();
     private TelemetryMessageBuilder.ActionMessage telemetry;
 
     public InvokeAction() {
@@ -71,11 +82,14 @@ public class InvokeAction extends KnAction {
         dialog.show();
 
         if (dialog.isOK()) {
-            ExecHelper.submit(() -> {
-                try {
-                    doInvokeWithRetry(project, knCli, model, function);
-                } catch (IOException e) {
-                    doInvokeExceptionHandler(e, name, namespace);
+            ProgressManager.getInstance().run(new Task.Backgroundable(project, "Invoking function " + name, false) {
+                @Override
+                public void run(@NotNull ProgressIndicator indicator) {
+                    try {
+                        doInvokeWithRetry(project, knCli, model, function, indicator);
+                    } catch (IOException e) {
+                        doInvokeExceptionHandler(e, name, namespace);
+                    }
                 }
             });
         } else {
@@ -85,10 +99,11 @@ public class InvokeAction extends KnAction {
         }
     }
 
-    private void doInvokeWithRetry(Project project, Kn knCli, InvokeModel model, Function function) throws IOException {
+    private void doInvokeWithRetry(Project project, Kn knCli, InvokeModel model, Function function,
+                                   ProgressIndicator indicator) throws IOException {
         String name = function.getName();
         try {
-            doInvoke(knCli, model, name);
+            doInvoke(project, knCli, model, function, getUploadListener(model, indicator));
         } catch (IOException e) {
             if (e.getLocalizedMessage().contains("function not running")) {
                 int response = UIHelper.executeInUI(() -> Messages.showYesNoDialog(
@@ -102,7 +117,7 @@ public class InvokeAction extends KnAction {
                 if (response == Messages.YES) {
                     UIHelper.executeInUI(() -> RunAction.Run(project, function, knCli, name, () -> {
                         try {
-                            doInvoke(knCli, model, name);
+                            doInvoke(project, knCli, model, function, null);
                         } catch (IOException ex) {
                             doInvokeExceptionHandler(ex, name, knCli.getNamespace());
                         }
@@ -114,11 +129,40 @@ public class InvokeAction extends KnAction {
         }
     }
 
-    private void doInvoke(Kn knCli, InvokeModel model, String name) throws IOException{
-        String id = knCli.invokeFunc(model);
+    private FileBodyPublisher.UploadListener getUploadListener(InvokeModel model, ProgressIndicator indicator) {
+        if (model.getFile() == null || model.getFile().isEmpty()) {
+            return null;
+        }
+        indicator.setIndeterminate(false);
+        return (sent, total) -> {
+            indicator.setFraction(total == 0 ? 1 : (double) sent / total);
+            indicator.setText2("Uploaded " + StringUtil.formatFileSize(sent) + " of " + StringUtil.formatFileSize(total));
+        };
+    }
+
+    private void doInvoke(Project project, Kn knCli, InvokeModel model, Function function,
+                          FileBodyPublisher.UploadListener listener) throws IOException {
+        String name = function.getName();
+        InvocationHistory history = InvocationHistory.getInstance(project);
+        InvocationRecord record = new InvocationRecord(history.getSession(), name, model);
+        InvokeResult result;
+        try {
+            result = invoker.invoke(knCli, model, function, listener);
+            history.record(record.withResult(result));
+        } catch (IOException e) {
+            history.record(record.withError(e.getLocalizedMessage()));
+            throw e;
+        }
+        if (!result.isSuccessful()) {
+            throw new IOException("Function answered with HTTP status " + result.getStatusCode()
+                    + (Strings.isNullOrEmpty(result.getBody()) ? "" : ": " + result.getBody()));
+        }
+        String execution = result.getId().isEmpty() ? "" : " with execution id " + result.getId();
         Notification notification = new Notification(NOTIFICATION_ID,
                 "Invoked successfully",
-                "Function " + name + " has been successfully invoked with execution id " + id + " !",
+                "Function " + name + " has been successfully invoked" + execution + " !<br>"
+                        + "HTTP " + result.getStatusCode() + ", round trip " + result.getRoundTripTime() + " ms, "
+                        + "total " + result.getTotalTime() + " ms",
                 NotificationType.INFORMATION);
         Notifications.Bus.notify(notification);
         telemetry
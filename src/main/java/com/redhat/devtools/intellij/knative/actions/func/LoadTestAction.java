@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.actions.func;
+
+import com.intellij.execution.executors.DefaultRunExecutor;
+import com.intellij.execution.filters.TextConsoleBuilderFactory;
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.execution.ui.RunContentDescriptor;
+import com.intellij.execution.ui.RunContentManager;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.knative.actions.KnAction;
+import com.redhat.devtools.intellij.knative.func.invoke.FuncHttpInvoker;
+import com.redhat.devtools.intellij.knative.func.invoke.InvokeRequestFactory;
+import com.redhat.devtools.intellij.knative.func.invoke.LoadTestReport;
+import com.redhat.devtools.intellij.knative.func.invoke.LoadTester;
+import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
+import com.redhat.devtools.intellij.knative.tree.KnFunctionNode;
+import com.redhat.devtools.intellij.knative.tree.ParentableNode;
+import com.redhat.devtools.intellij.knative.ui.invokeFunc.LoadTestDialog;
+import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
+import com.redhat.devtools.intellij.knative.utils.model.LoadTestModel;
+import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.tree.TreePath;
+import java.io.IOException;
+import java.net.URI;
+
+import static com.redhat.devtools.intellij.knative.Constants.NOTIFICATION_ID;
+import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_MISC;
+import static com.redhat.devtools.intellij.telemetry.core.util.AnonymizeUtils.anonymizeResource;
+
+public class LoadTestAction extends KnAction {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestAction.class);
+    private TelemetryMessageBuilder.ActionMessage telemetry;
+
+    public LoadTestAction() {
+        super(KnFunctionNode.class);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Kn knCli) {
+        telemetry = TelemetryService.instance().action(NAME_PREFIX_MISC + "load test func");
+        ParentableNode node = getElement(selected);
+        String name = node.getName();
+        String namespace = knCli.getNamespace();
+        Function function = ((KnFunctionNode) node).getFunction();
+        Project project = getEventProject(anActionEvent);
+
+        InvokeModel model = new InvokeModel();
+        model.setNamespace(namespace);
+        model.setPath(function.getLocalPath());
+        LoadTestModel loadTestModel = new LoadTestModel();
+
+        LoadTestDialog dialog = new LoadTestDialog(project, function, model, loadTestModel);
+        dialog.show();
+        if (!dialog.isOK()) {
+            telemetry
+                    .result(anonymizeResource(name, namespace, "Load test of function " + name + " has been cancelled"))
+                    .send();
+            return;
+        }
+
+        ConsoleView console = TextConsoleBuilderFactory.getInstance().createBuilder(project).getConsole();
+        RunContentDescriptor descriptor = new RunContentDescriptor(console, null, console.getComponent(), "Load Test " + name);
+        RunContentManager.getInstance(project).showRunContent(DefaultRunExecutor.getRunExecutorInstance(), descriptor);
+        ExecHelper.submit(() -> doLoadTest(knCli, function, model, loadTestModel, console, descriptor));
+    }
+
+    private void doLoadTest(Kn knCli, Function function, InvokeModel model, LoadTestModel loadTestModel,
+                            ConsoleView console, RunContentDescriptor descriptor) {
+        String name = function.getName();
+        try {
+            URI uri = InvokeRequestFactory.getTargetURI(model, function, InvokeRequestFactory.getLocalURI(
+                    knCli.getFuncActionPipelineManager().getLocalPort(function.getName())));
+            InvokeRequestFactory requestFactory = new InvokeRequestFactory(model, uri, FuncHttpInvoker.getFormat(knCli, model));
+            LoadTester loadTester = new LoadTester(FuncHttpInvoker.getSharedClient(), requestFactory, loadTestModel);
+            // closing the console tab stops the test
+            Disposer.register(descriptor, loadTester::cancel);
+
+            console.print("Load testing " + uri + " (" + requestFactory.getFormat() + ") with "
+                    + describe(loadTestModel) + "\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+            LoadTestReport report = loadTester.run(progress ->
+                    console.print(progress + "\n", ConsoleViewContentType.NORMAL_OUTPUT));
+
+            Notification notification = new Notification(NOTIFICATION_ID,
+                    "Load test of " + name + (loadTester.isCancelled() ? " stopped" : " completed"),
+                    report.toString(),
+                    report.getErrors() == 0 ? NotificationType.INFORMATION : NotificationType.WARNING);
+            Notifications.Bus.notify(notification);
+            telemetry
+                    .result(anonymizeResource(name, model.getNamespace(), "Load tested function " + name))
+                    .send();
+        } catch (IOException e) {
+            console.print(e.getLocalizedMessage() + "\n", ConsoleViewContentType.ERROR_OUTPUT);
+            Notification notification = new Notification(NOTIFICATION_ID,
+                    "Load test of " + name + " failed",
+                    e.getLocalizedMessage(),
+                    NotificationType.ERROR);
+            Notifications.Bus.notify(notification);
+            logger.warn(e.getLocalizedMessage(), e);
+            telemetry
+                    .error(anonymizeResource(name, model.getNamespace(), e.getLocalizedMessage()))
+                    .send();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String describe(LoadTestModel model) {
+        return (model.getRequests() > 0 ? model.getRequests() + " requests, " : "")
+                + "concurrency " + model.getConcurrency()
+                + (model.getRate() > 0 ? ", " + model.getRate() + " req/s" : "")
+                + (model.getDuration() > 0 ? ", for at most " + model.getDuration() + "s" : "");
+    }
+
+    @Override
+    public boolean isVisible(Object selected) {
+        if (selected instanceof KnFunctionNode) {
+            return !((KnFunctionNode) selected).getFunction().getLocalPath().isEmpty();
+        }
+        return false;
+    }
+}
@@ -79,7 +79,7 @@ public class RunAction extends KnAction {
         doRunPipeline(project, knCli, runPipeline, name);
     }
 
-    private static void doRunPipeline(Project project, Kn knCli, IFuncActionPipeline runPipeline, String name) {
+    static boolean doRunPipeline(Project project, Kn knCli, IFuncActionPipeline runPipeline, String name) {
         boolean isStarted = knCli.getFuncActionPipelineManager().start(runPipeline);
         if (!isStarted) {
             int response = Messages.showYesNoDialog(
@@ -92,11 +92,14 @@ public class RunAction extends KnAction {
             );
             if (response == Messages.YES) {
                 knCli.getFuncActionPipelineManager().stopAndRerun(runPipeline);
+                return true;
             }
+            return false;
         }
+        return true;
     }
 
-    private static void doBuild(Kn knCli, FuncActionTask funcActionTask) {
+    static void doBuild(Kn knCli, FuncActionTask funcActionTask) {
         ExecHelper.submit(() -> BuildAction.execute(
                 funcActionTask.getProject(),
                 funcActionTask.getFunction(),
@@ -105,7 +108,7 @@ public class RunAction extends KnAction {
         );
     }
 
-    private static void doRun(String name, Kn knCli, FuncActionTask funcActionTask, TelemetryMessageBuilder.ActionMessage telemetry) {
+    static void doRun(String name, Kn knCli, FuncActionTask funcActionTask, TelemetryMessageBuilder.ActionMessage telemetry) {
         ExecHelper.submit(() -> {
             try {
                 knCli.runFunc(funcActionTask.getFunction().getLocalPath(), funcActionTask.getTerminalExecutionConsole(),
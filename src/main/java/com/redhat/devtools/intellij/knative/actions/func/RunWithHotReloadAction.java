@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.actions.func;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.redhat.devtools.intellij.knative.actions.KnAction;
+import com.redhat.devtools.intellij.knative.func.FuncActionPipelineBuilder;
+import com.redhat.devtools.intellij.knative.func.FuncActionTask;
+import com.redhat.devtools.intellij.knative.func.FuncHotReloader;
+import com.redhat.devtools.intellij.knative.func.RunFuncActionPipeline;
+import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
+import com.redhat.devtools.intellij.knative.tree.KnFunctionNode;
+import com.redhat.devtools.intellij.knative.tree.ParentableNode;
+import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+
+import javax.swing.tree.TreePath;
+import java.util.function.Consumer;
+
+import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_MISC;
+import static com.redhat.devtools.intellij.telemetry.core.util.AnonymizeUtils.anonymizeResource;
+
+public class RunWithHotReloadAction extends KnAction {
+    private static final TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(NAME_PREFIX_MISC + "run func hot reload");
+
+    public RunWithHotReloadAction() {
+        super(KnFunctionNode.class);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Kn knCli) {
+        ParentableNode node = getElement(selected);
+        String name = node.getName();
+        Project project = getEventProject(anActionEvent);
+        Function function = ((KnFunctionNode) node).getFunction();
+        if (function.getLocalPath().isEmpty()) {
+            telemetry
+                    .result(anonymizeResource(name, knCli.getNamespace(), "Function " + name + "is not opened locally"))
+                    .send();
+            return;
+        }
+
+        Consumer<FuncActionTask> doBuild = (task) -> RunAction.doBuild(knCli, task);
+        Consumer<FuncActionTask> doRun = (task) -> RunAction.doRun(name, knCli, task, telemetry);
+        RunFuncActionPipeline runPipeline = (RunFuncActionPipeline) new FuncActionPipelineBuilder()
+                .createRunPipeline(project, function)
+                .withBuildTask(doBuild)
+                .withRunTask(doRun)
+                .build();
+        FuncHotReloader hotReloader = new FuncHotReloader(project, function, knCli.getFuncActionPipelineManager(), doBuild, doRun);
+        if (RunAction.doRunPipeline(project, knCli, runPipeline, name)) {
+            hotReloader.watch(runPipeline);
+        }
+    }
+
+    @Override
+    public boolean isVisible(Object selected) {
+        return selected instanceof KnFunctionNode && !((KnFunctionNode) selected).getFunction().getLocalPath().isEmpty();
+    }
+}
@@ -17,6 +17,8 @@ import com.intellij.openapi.wm.ToolWindowManager;
 import com.intellij.ui.AnimatedIcon;
 import com.redhat.devtools.intellij.knative.kn.Function;
 import com.redhat.devtools.intellij.knative.ui.buildRunDeployWindow.BuildRunDeployFuncPanel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.swing.Icon;
 import java.text.DateFormat;
@@ -29,6 +31,7 @@ import java.util.function.Supplier;
 import static com.redhat.devtools.intellij.knative.Constants.BUILDFUNC_TOOLWINDOW_ID;
 
 public abstract class FuncActionPipeline implements IFuncActionPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(FuncActionPipeline.class);
 
     protected final Project project;
     private final Function function;
@@ -40,6 +43,7 @@ public abstract class FuncActionPipeline implements IFuncActionPipeline {
     private List<FuncActionTask> actionTasks;
     private final List<ActionFuncHandlerListener> listenerList;
     private FuncActionTask runningStep;
+    private long teardownTime;
 
     public FuncActionPipeline(String name, Project project, Function function){
         this.actionName = name;
@@ -51,6 +55,7 @@ public abstract class FuncActionPipeline implements IFuncActionPipeline {
         this.stateIcon = new Icon[]{new AnimatedIcon.FS()};
         this.state = new String[]{"run tasks ..."};
         this.listenerList = new ArrayList<>();
+        this.teardownTime = -1;
     }
 
     public void start() {
@@ -86,7 +91,20 @@ public abstract class FuncActionPipeline implements IFuncActionPipeline {
 
     @Override
     public void stop() {
-        runningStep.stop();
+        long teardownStart = System.currentTimeMillis();
+        runningStep.cancel(FuncActionTask.CANCELLED_STATE).thenAccept(stepTeardownTime -> {
+            teardownTime = System.currentTimeMillis() - teardownStart;
+            logger.info("Pipeline " + actionName + " of function " + getFuncName() + " cancelled, teardown took " + teardownTime + " ms");
+        });
+    }
+
+    /**
+     * Return the time needed to tear down the pipeline after it was cancelled
+     *
+     * @return the teardown time in milliseconds, -1 if the pipeline has not been cancelled
+     */
+    public long getTeardownTime() {
+        return teardownTime;
     }
 
     public Project getProject() {
@@ -132,7 +150,7 @@ public abstract class FuncActionPipeline implements IFuncActionPipeline {
     }
 
     public boolean isSuccessfullyCompleted() {
-        return state[0].equals("successful");
+        return state[0].equals("successful") || state[0].equals(FuncActionTask.UP_TO_DATE_STATE);
     }
 
     public void fireChangeRunningStep() {
@@ -147,7 +165,7 @@ public abstract class FuncActionPipeline implements IFuncActionPipeline {
             stateIcon[0] = stepHandler.getStateIcon();
             state[0] = stepHandler.getState();
             setEndTime();
-            skipNextSteps(getTaskIndex(stepHandler));
+            skipNextSteps(getTaskIndex(stepHandler), stepHandler.isCancelled());
         } else {
             FuncActionTask nextStepHandler = actionTasks.get(getTaskIndex(stepHandler) + 1);
             runningStep = nextStepHandler;
@@ -166,10 +184,10 @@ public abstract class FuncActionPipeline implements IFuncActionPipeline {
         return index;
     }
 
-    private void skipNextSteps(int currentStep) {
+    private void skipNextSteps(int currentStep, boolean cancelled) {
         actionTasks.stream().skip(currentStep + 1).forEach(task -> {
-            task.setState(new String[]{ "skipped" });
-            task.setStateIcon(new Icon[] { AllIcons.RunConfigurations.TestSkipped });
+            task.setState(new String[]{ cancelled ? FuncActionTask.CANCELLED_STATE : "skipped" });
+            task.setStateIcon(new Icon[] { cancelled ? AllIcons.RunConfigurations.TestTerminated : AllIcons.RunConfigurations.TestSkipped });
         });
     }
 
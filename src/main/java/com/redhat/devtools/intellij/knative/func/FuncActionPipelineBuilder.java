@@ -12,9 +12,11 @@ package com.redhat.devtools.intellij.knative.func;
 
 import com.intellij.openapi.project.Project;
 import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.settings.SettingsState;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 public class FuncActionPipelineBuilder {
@@ -41,7 +43,7 @@ public class FuncActionPipelineBuilder {
 
     public FuncActionPipelineBuilder withBuildTask(Consumer<FuncActionTask> doExecute) {
         tasks.add(new BuildFuncActionTask(doExecute));
-        return this;
+        return withTimeout(SettingsState.getInstance().funcBuildTimeoutMinutes);
     }
 
     public FuncActionPipelineBuilder withRunTask(Consumer<FuncActionTask> doExecute) {
@@ -54,6 +56,19 @@ public class FuncActionPipelineBuilder {
         return this;
     }
 
+    /**
+     * Set the timeout of the last task added
+     *
+     * @param minutes the timeout in minutes, 0 or less means no timeout
+     * @return the builder
+     */
+    public FuncActionPipelineBuilder withTimeout(long minutes) {
+        if (!tasks.isEmpty()) {
+            tasks.get(tasks.size() - 1).setTimeout(minutes, TimeUnit.MINUTES);
+        }
+        return this;
+    }
+
     public IFuncActionPipeline build() {
         if (pipeline != null) {
             pipeline.setTasks(tasks);
@@ -18,7 +18,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class FuncActionPipelineManager {
 
@@ -44,30 +44,80 @@ public class FuncActionPipelineManager {
         start(pipeline);
     }
 
+    /**
+     * Start a pipeline replacing the ones running the same function and action. The replaced pipelines are not
+     * stopped, the new one is responsible to take them over. Until then they stay tracked so that they are still
+     * stopped with the function, they are released with {@link #release(IFuncActionPipeline)} once taken over.
+     *
+     * @param next the pipeline to start
+     */
+    public void swap(IFuncActionPipeline next) {
+        List<IFuncActionPipeline> pipelinesFunction = pipelines.getOrDefault(next.getFuncName(), new ArrayList<>());
+        pipelinesFunction.add(next);
+        pipelines.put(next.getFuncName(), pipelinesFunction);
+
+        List<IFuncActionPipeline> allPipelineList = allPipelinesHistory.getOrDefault(next.getFuncName(), new ArrayList<>());
+        allPipelineList.add(0, next);
+        allPipelinesHistory.put(next.getFuncName(), allPipelineList);
+        ((FuncActionPipeline) next).start();
+    }
+
+    /**
+     * Stop tracking a pipeline replaced by {@link #swap(IFuncActionPipeline)} once it has
+     * been stopped
+     *
+     * @param pipeline the replaced pipeline
+     */
+    public void release(IFuncActionPipeline pipeline) {
+        pipelines.getOrDefault(pipeline.getFuncName(), new ArrayList<>()).remove(pipeline);
+    }
+
+    public boolean isActive(IFuncActionPipeline pipeline) {
+        return pipelines.getOrDefault(pipeline.getFuncName(), Collections.emptyList()).contains(pipeline);
+    }
+
+    /**
+     * Return the port the function runs on locally. While a hot reload replaces the process, the port of the
+     * latest started process is returned.
+     *
+     * @param funcName the function name
+     * @return the port, -1 if the function is not running locally or has not started listening yet
+     */
+    public int getLocalPort(String funcName) {
+        List<IFuncActionPipeline> pipelinesFunction = pipelines.getOrDefault(funcName, Collections.emptyList());
+        for (int i = pipelinesFunction.size() - 1; i >= 0; i--) {
+            IFuncActionPipeline pipeline = pipelinesFunction.get(i);
+            if (pipeline instanceof RunFuncActionPipeline && !pipeline.isFinished()
+                    && ((RunFuncActionPipeline) pipeline).getLocalPort() > 0) {
+                return ((RunFuncActionPipeline) pipeline).getLocalPort();
+            }
+        }
+        return -1;
+    }
+
     private void stop(IFuncActionPipeline pipeline) {
         List<IFuncActionPipeline> pipelinesFunction = pipelines.getOrDefault(pipeline.getFuncName(), new ArrayList<>());
-        Optional<IFuncActionPipeline> existingActionPipeline = pipelinesFunction.stream()
+        // a pipeline being swapped has two pipelines for the same action, stop both
+        List<IFuncActionPipeline> existingActionPipelines = pipelinesFunction.stream()
                 .filter(funcActionPipeline -> funcActionPipeline.getActionName().equals(pipeline.getActionName()))
-                .findFirst();
-        if (existingActionPipeline.isPresent()) {
-            pipelinesFunction.remove(existingActionPipeline.get());
-            existingActionPipeline.get().stop();
+                .collect(Collectors.toList());
+        if (!existingActionPipelines.isEmpty()) {
+            pipelinesFunction.removeAll(existingActionPipelines);
+            existingActionPipelines.forEach(IFuncActionPipeline::stop);
             pipelines.put(pipeline.getFuncName(), pipelinesFunction);
         }
     }
 
     private boolean canBeStarted(IFuncActionPipeline pipeline) {
         List<IFuncActionPipeline> pipelinesFunction = pipelines.getOrDefault(pipeline.getFuncName(), new ArrayList<>());
-        Optional<IFuncActionPipeline> existingActionPipeline = pipelinesFunction.stream()
+        List<IFuncActionPipeline> existingActionPipelines = pipelinesFunction.stream()
                 .filter(funcActionPipeline -> funcActionPipeline.getActionName().equals(pipeline.getActionName()))
-                .findFirst();
-        if (existingActionPipeline.isPresent()) {
-            if (existingActionPipeline.get() instanceof RunFuncActionPipeline
-                && !existingActionPipeline.get().isFinished()) {
-                return false;
-            }
-            pipelinesFunction.remove(existingActionPipeline.get());
+                .collect(Collectors.toList());
+        if (existingActionPipelines.stream().anyMatch(existing -> existing instanceof RunFuncActionPipeline
+                && !existing.isFinished())) {
+            return false;
         }
+        pipelinesFunction.removeAll(existingActionPipelines);
         pipelinesFunction.add(pipeline);
         pipelines.put(pipeline.getFuncName(), pipelinesFunction);
 
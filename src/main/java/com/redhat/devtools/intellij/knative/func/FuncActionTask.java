@@ -13,23 +13,37 @@ package com.redhat.devtools.intellij.knative.func;
 import com.intellij.execution.process.ProcessAdapter;
 import com.intellij.execution.process.ProcessEvent;
 import com.intellij.execution.process.ProcessListener;
+import com.intellij.execution.ui.ConsoleViewContentType;
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.project.Project;
 import com.intellij.terminal.TerminalExecutionConsole;
 import com.intellij.ui.AnimatedIcon;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.redhat.devtools.intellij.common.model.ProcessHandlerInput;
 import com.redhat.devtools.intellij.common.utils.ExecProcessHandler;
 import com.redhat.devtools.intellij.knative.kn.Function;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.swing.Icon;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
 
 public class FuncActionTask implements IFuncAction {
+    private static final Logger logger = LoggerFactory.getLogger(FuncActionTask.class);
+    private static final long KILL_GRACE_PERIOD = 3000;
+    public static final String UP_TO_DATE_STATE = "up to date";
+    public static final String CANCELLED_STATE = "cancelled";
+    public static final String TIMED_OUT_STATE = "timed out";
+
     protected FuncActionPipeline pipeline;
     private final String actionName;
     private TerminalExecutionConsole terminalExecutionConsole;
@@ -41,12 +55,18 @@ public class FuncActionTask implements IFuncAction {
     protected Icon[] stateIcon;
     protected String[] state;
     private final Consumer<FuncActionTask> doExecute;
+    private long timeout;
+    private ScheduledFuture<?> timeoutFuture;
+    private volatile String terminationReason;
+    private long teardownTime;
 
     public FuncActionTask(String actionName, Consumer<FuncActionTask> doExecute) {
         this.actionName = actionName;
         this.startTime = -1;
         this.endTime = -1;
         this.doExecute = doExecute;
+        this.timeout = -1;
+        this.teardownTime = -1;
     }
 
     public void doExecute() {
@@ -64,35 +84,154 @@ public class FuncActionTask implements IFuncAction {
     }
 
     protected ProcessListener buildProcessListener() {
-        Supplier<FuncActionTask> thisSupplier = () -> this;
         return new ProcessAdapter() {
             @Override
             public void startNotified(@NotNull ProcessEvent event) {
-                startTime = System.currentTimeMillis();
-                stateIcon = new Icon[]{new AnimatedIcon.FS()};
-                state = new String[]{""};
-                FuncActionTask.this.pipeline.fireChangeRunningStep();
+                onProcessStarted();
             }
 
             @Override
             public void processTerminated(@NotNull ProcessEvent event) {
-                if (event.getExitCode() == 0) {
-                    stateIcon[0] = AllIcons.RunConfigurations.TestPassed;
-                    state[0] =  "successful";
-                } else {
-                    stateIcon[0] = AllIcons.General.BalloonError;
-                    state[0] = "failed";
-                }
-                FuncActionTask.this.pipeline.fireTerminatedStep(thisSupplier);
-                setEndTime();
+                onProcessTerminated(event.getExitCode());
             }
         };
     }
 
+    protected void onProcessStarted() {
+        if (isFinished()) {
+            // the task has been cancelled before its process started
+            killProcessTree();
+            return;
+        }
+        startTime = System.currentTimeMillis();
+        stateIcon = new Icon[]{new AnimatedIcon.FS()};
+        state = new String[]{""};
+        if (terminationReason != null) {
+            killProcessTree();
+        } else if (timeout > 0) {
+            timeoutFuture = AppExecutorUtil.getAppScheduledExecutorService()
+                    .schedule(() -> cancel(TIMED_OUT_STATE), timeout, TimeUnit.MILLISECONDS);
+        }
+        pipeline.fireChangeRunningStep();
+    }
+
+    protected void onProcessTerminated(int exitCode) {
+        if (isFinished()) {
+            return;
+        }
+        if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+        }
+        if (terminationReason != null) {
+            stateIcon[0] = AllIcons.RunConfigurations.TestTerminated;
+            state[0] = terminationReason;
+        } else if (exitCode == 0) {
+            stateIcon[0] = AllIcons.RunConfigurations.TestPassed;
+            state[0] =  "successful";
+        } else {
+            stateIcon[0] = AllIcons.General.BalloonError;
+            state[0] = "failed";
+        }
+        pipeline.fireTerminatedStep(() -> this);
+        setEndTime();
+    }
+
     public void stop() {
-        if (runHandler != null && !isFinished()) {
-            runHandler.destroyProcess();
+        cancel(CANCELLED_STATE);
+    }
+
+    /**
+     * Cancel the task. If its process is running, the whole process tree is killed (e.g. pack or docker
+     * processes started by func), otherwise the process will be killed as soon as it starts.
+     *
+     * @param reason the state the task will end with
+     * @return a future completed with the teardown time in milliseconds once all processes are gone
+     */
+    public CompletableFuture<Long> cancel(String reason) {
+        if (isFinished() || terminationReason != null) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        terminationReason = reason;
+        if (runHandler == null) {
+            // nothing is running yet, close the task right away
+            startTime = System.currentTimeMillis();
+            stateIcon = new Icon[]{ AllIcons.RunConfigurations.TestTerminated };
+            state = new String[]{ reason };
+            pipeline.fireTerminatedStep(() -> this);
+            setEndTime();
+            return CompletableFuture.completedFuture(0L);
+        }
+        long teardownStart = System.currentTimeMillis();
+        return killProcessTree().thenApply(ignored -> {
+            teardownTime = System.currentTimeMillis() - teardownStart;
+            terminalExecutionConsole.print("\nTask " + reason + ", processes stopped in " + teardownTime + " ms\n",
+                    ConsoleViewContentType.SYSTEM_OUTPUT);
+            return teardownTime;
+        });
+    }
+
+    private CompletableFuture<Void> killProcessTree() {
+        List<ProcessHandle> processes = new ArrayList<>();
+        try {
+            ProcessHandle root = runHandler.getProcess().toHandle();
+            // collect descendants before killing the root, they would be re-parented and lost otherwise
+            root.descendants().forEach(processes::add);
+            processes.add(root);
+        } catch (UnsupportedOperationException e) {
+            logger.warn("Unable to retrieve process tree of " + actionName + ": " + e.getLocalizedMessage());
+        }
+        runHandler.destroyProcess();
+        processes.forEach(ProcessHandle::destroy);
+        CompletableFuture<?>[] exits = processes.stream()
+                .map(ProcessHandle::onExit)
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(exits)
+                .completeOnTimeout(null, KILL_GRACE_PERIOD, TimeUnit.MILLISECONDS)
+                .thenRun(() -> processes.stream()
+                        .filter(ProcessHandle::isAlive)
+                        .forEach(ProcessHandle::destroyForcibly));
+    }
+
+    public boolean isCancelled() {
+        return terminationReason != null;
+    }
+
+    /**
+     * Set the maximum time the task process can run before being cancelled
+     *
+     * @param timeout the timeout, 0 or less means no timeout
+     * @param timeUnit the timeout unit
+     */
+    public void setTimeout(long timeout, TimeUnit timeUnit) {
+        this.timeout = timeUnit.toMillis(timeout);
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public long getTeardownTime() {
+        return teardownTime;
+    }
+
+    /**
+     * Complete the task without running any process because its result is already available
+     * (e.g. the function deployed on cluster already matches the local one). A task already cancelled
+     * or timed out keeps its state.
+     *
+     * @param message message to print in the task console
+     */
+    public void completeAsUpToDate(String message) {
+        if (isFinished() || terminationReason != null) {
+            return;
         }
+        startTime = System.currentTimeMillis();
+        stateIcon = new Icon[]{ AllIcons.RunConfigurations.TestPassed };
+        state = new String[]{ UP_TO_DATE_STATE };
+        terminalExecutionConsole.print(message + "\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+        pipeline.fireChangeRunningStep();
+        pipeline.fireTerminatedStep(() -> this);
+        setEndTime();
     }
 
     public String getActionName() {
@@ -174,7 +313,7 @@ public class FuncActionTask implements IFuncAction {
     }
 
     public boolean isSuccessfullyCompleted() {
-        return state[0].equals("successful");
+        return state[0].equals("successful") || state[0].equals(UP_TO_DATE_STATE);
     }
 
     @Override
@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func;
+
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.common.utils.UIHelper;
+import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.utils.Scheduler;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Watch the sources of a locally running function and, when they change, rebuild it and
+ * swap the running process with the new one. The old process keeps serving while the new
+ * image is built so that the function is only down while the new process starts.
+ */
+public class FuncHotReloader implements Disposable {
+    private static final Logger logger = LoggerFactory.getLogger(FuncHotReloader.class);
+    private static final long DEBOUNCE_DELAY = 800;
+    private static final List<String> IGNORED_FOLDERS = Arrays.asList("node_modules", "target", "__pycache__");
+
+    private final Project project;
+    private final Function function;
+    private final FuncActionPipelineManager manager;
+    private final java.util.function.Consumer<FuncActionTask> doBuild;
+    private final java.util.function.Consumer<FuncActionTask> doRun;
+    private final Scheduler scheduler;
+    private final List<Long> restartLatencies;
+    private final ExecutorService takeOverExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+            "Function hot reload", 1);
+    private volatile RunFuncActionPipeline current;
+    private volatile RunFuncActionPipeline serving;
+    private volatile String lastFingerprint;
+    private volatile boolean disposed;
+
+    public FuncHotReloader(Project project, Function function, FuncActionPipelineManager manager,
+                           java.util.function.Consumer<FuncActionTask> doBuild,
+                           java.util.function.Consumer<FuncActionTask> doRun) {
+        this.project = project;
+        this.function = function;
+        this.manager = manager;
+        this.doBuild = doBuild;
+        this.doRun = doRun;
+        this.scheduler = new Scheduler(DEBOUNCE_DELAY);
+        this.restartLatencies = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    /**
+     * Start watching the function sources. The pipeline is the one currently running the function
+     *
+     * @param pipeline the run pipeline started for the function
+     */
+    public void watch(RunFuncActionPipeline pipeline) {
+        current = pipeline;
+        serving = pipeline;
+        pipeline.setHotReloader(this);
+        Disposer.register(project, this);
+        Path root = Paths.get(function.getLocalPath());
+        ExecHelper.submit(() -> lastFingerprint = getFingerprint(root));
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                if (events.stream().anyMatch(event -> isFunctionSource(root, event.getPath()))) {
+                    scheduler.schedule(FuncHotReloader.this::reload);
+                }
+            }
+        });
+    }
+
+    static boolean isFunctionSource(Path root, String path) {
+        if (path == null) {
+            return false;
+        }
+        Path source = Paths.get(path);
+        // compare path segments, a sibling folder sharing the same prefix is not part of the function
+        if (!source.startsWith(root)) {
+            return false;
+        }
+        return !isIgnored(root.relativize(source));
+    }
+
+    private void reload() {
+        if (disposed) {
+            return;
+        }
+        if (!manager.isActive(current) || (serving.isFinished() && current == serving)) {
+            // the function has been stopped or another run replaced it, stop watching
+            Disposer.dispose(this);
+            return;
+        }
+        long triggeredAt = System.currentTimeMillis();
+        String fingerprint = getFingerprint(Paths.get(function.getLocalPath()));
+        if (fingerprint.equals(lastFingerprint)) {
+            return;
+        }
+        lastFingerprint = fingerprint;
+        UIHelper.executeInUI(() -> swap(triggeredAt));
+    }
+
+    private void swap(long triggeredAt) {
+        long[] stoppedAt = new long[]{ -1 };
+        RunFuncActionPipeline next = (RunFuncActionPipeline) new FuncActionPipelineBuilder()
+                .createRunPipeline(project, function)
+                .withBuildTask(doBuild)
+                .withRunTask((task) -> takeOverExecutor.execute(() -> {
+                    stoppedAt[0] = System.currentTimeMillis();
+                    takeOver(task);
+                }))
+                .build();
+        RunFuncActionTask runTask = (RunFuncActionTask) next.getSteps().get(next.getSteps().size() - 1);
+        runTask.setCallbackWhenListeningReady(() -> reportRestart(runTask, triggeredAt, stoppedAt[0]));
+        replace(next);
+    }
+
+    /**
+     * Start the pipeline reloading the function. A reload still building older sources is cancelled, only the
+     * latest sources are worth running.
+     *
+     * @param next the pipeline reloading the function
+     */
+    void replace(RunFuncActionPipeline next) {
+        RunFuncActionPipeline pending = current;
+        if (pending != serving && !pending.isFinished()) {
+            pending.getRunningStep().cancel(FuncActionTask.CANCELLED_STATE);
+            manager.release(pending);
+        }
+        next.setHotReloader(this);
+        current = next;
+        manager.swap(next);
+    }
+
+    /**
+     * Replace the process still serving with the one of the run task, once the new image is ready. Take overs
+     * are serialized so that two reloads never stop the same process or start two processes on the same port.
+     *
+     * @param runTask the run task of a reload pipeline
+     */
+    void takeOver(FuncActionTask runTask) {
+        RunFuncActionPipeline pipeline = (RunFuncActionPipeline) runTask.getPipeline();
+        if (pipeline != current) {
+            // a newer reload superseded it while its build was finishing
+            runTask.cancel(FuncActionTask.CANCELLED_STATE);
+            UIHelper.executeInUI(() -> manager.release(pipeline));
+            return;
+        }
+        RunFuncActionPipeline replaced = serving;
+        replaced.stopForReload();
+        UIHelper.executeInUI(() -> manager.release(replaced));
+        serving = pipeline;
+        doRun.accept(runTask);
+    }
+
+    private void reportRestart(FuncActionTask runTask, long triggeredAt, long stoppedAt) {
+        long readyAt = System.currentTimeMillis();
+        long latency = readyAt - triggeredAt;
+        restartLatencies.add(latency);
+        String message = "Hot reload #" + restartLatencies.size() + ": function restarted in " + latency + " ms"
+                + " (build " + (stoppedAt - triggeredAt) + " ms, downtime " + (readyAt - stoppedAt) + " ms)";
+        logger.info(message);
+        runTask.getTerminalExecutionConsole().print(message + "\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+    }
+
+    /**
+     * Return the restart latency, from the change being detected to the new process listening, of every reload
+     *
+     * @return list of latencies in milliseconds
+     */
+    public List<Long> getRestartLatencies() {
+        return new ArrayList<>(restartLatencies);
+    }
+
+    /**
+     * Compute a fingerprint of the function sources. Hidden files and folders and dependency/output
+     * folders are not part of it.
+     *
+     * @param root path where the function is stored
+     * @return the fingerprint, empty if the sources cannot be read
+     */
+    public static String getFingerprint(Path root) {
+        return getFingerprint(root, Collections.emptyList());
+    }
+
+    /**
+     * Compute a fingerprint of the function sources, without some of its files.
+     *
+     * @param root path where the function is stored
+     * @param excludedFiles paths, relative to root, of the files not part of the fingerprint
+     * @return the fingerprint, empty if the sources cannot be read
+     */
+    public static String getFingerprint(Path root, List<String> excludedFiles) {
+        try (Stream<Path> walk = Files.walk(root)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            List<Path> files = walk
+                    .filter(Files::isRegularFile)
+                    .filter(file -> !isIgnored(root.relativize(file)))
+                    .filter(file -> !excludedFiles.contains(root.relativize(file).toString()))
+                    .sorted()
+                    .collect(Collectors.toList());
+            byte[] buffer = new byte[8192];
+            for (Path file : files) {
+                digest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                try (InputStream stream = Files.newInputStream(file)) {
+                    int read;
+                    while ((read = stream.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            }
+            StringBuilder fingerprint = new StringBuilder();
+            for (byte b : digest.digest()) {
+                fingerprint.append(String.format("%02x", b));
+            }
+            return fingerprint.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+            return "";
+        }
+    }
+
+    private static boolean isIgnored(Path relativePath) {
+        for (Path segment : relativePath) {
+            String name = segment.toString();
+            if (name.startsWith(".") || IGNORED_FOLDERS.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+}
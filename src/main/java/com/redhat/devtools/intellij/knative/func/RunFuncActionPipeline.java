@@ -11,11 +11,16 @@
 package com.redhat.devtools.intellij.knative.func;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
 import com.redhat.devtools.intellij.knative.kn.Function;
 
 import static com.redhat.devtools.intellij.knative.Constants.RUNFUNC_CONTENT_NAME;
 
 public class RunFuncActionPipeline extends FuncActionPipeline {
+    private static final long STOP_TIMEOUT = 5000;
+    private FuncHotReloader hotReloader;
+    private volatile int localPort = -1;
+
     public RunFuncActionPipeline(Project project, Function function) {
         super("Run", project, function);
     }
@@ -24,4 +29,42 @@ public class RunFuncActionPipeline extends FuncActionPipeline {
     protected String getTabName() {
         return RUNFUNC_CONTENT_NAME;
     }
+
+    public void setHotReloader(FuncHotReloader hotReloader) {
+        this.hotReloader = hotReloader;
+    }
+
+    public FuncHotReloader getHotReloader() {
+        return hotReloader;
+    }
+
+    /**
+     * @return the port the function listens on, -1 until it is started
+     */
+    public int getLocalPort() {
+        return localPort;
+    }
+
+    void setLocalPort(int localPort) {
+        this.localPort = localPort;
+    }
+
+    @Override
+    public void stop() {
+        if (hotReloader != null) {
+            Disposer.dispose(hotReloader);
+        }
+        super.stop();
+    }
+
+    /**
+     * Stop the running process, waiting for it to release its port, without stopping the hot reload
+     */
+    void stopForReload() {
+        FuncActionTask runningStep = getRunningStep();
+        runningStep.stop();
+        if (runningStep.getRunHandler() != null) {
+            runningStep.getRunHandler().waitFor(STOP_TIMEOUT);
+        }
+    }
 }
@@ -13,16 +13,15 @@ package com.redhat.devtools.intellij.knative.func;
 import com.intellij.execution.process.ProcessAdapter;
 import com.intellij.execution.process.ProcessEvent;
 import com.intellij.execution.process.ProcessListener;
-import com.intellij.icons.AllIcons;
 import com.intellij.openapi.util.Key;
-import com.intellij.ui.AnimatedIcon;
 import org.jetbrains.annotations.NotNull;
 
-import javax.swing.Icon;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class RunFuncActionTask extends FuncActionTask {
+    private static final Pattern STARTED_ON_PORT = Pattern.compile("Function started on port (\\d+)");
     private Runnable callbackWhenListeningReady;
 
     public RunFuncActionTask(Consumer<FuncActionTask> doExecute) {
@@ -35,34 +34,29 @@ public class RunFuncActionTask extends FuncActionTask {
 
     @Override
     protected ProcessListener buildProcessListener() {
-        Supplier<FuncActionTask> thisSupplier = () -> this;
         return new ProcessAdapter() {
             @Override
             public void startNotified(@NotNull ProcessEvent event) {
-                startTime = System.currentTimeMillis();
-                stateIcon = new Icon[]{new AnimatedIcon.FS()};
-                state = new String[]{""};
-                pipeline.fireChangeRunningStep();
+                onProcessStarted();
             }
 
             @Override
             public void processTerminated(@NotNull ProcessEvent event) {
-                if (event.getExitCode() == 0) {
-                    stateIcon[0] = AllIcons.RunConfigurations.TestPassed;
-                    state[0] =  "successful";
-                } else {
-                    stateIcon[0] = AllIcons.General.BalloonError;
-                    state[0] = "failed";
-                }
-                pipeline.fireTerminatedStep(thisSupplier);
-                setEndTime();
+                onProcessTerminated(event.getExitCode());
             }
 
             @Override
             public void onTextAvailable(@NotNull ProcessEvent event, @NotNull Key outputType) {
-                if (event.getText().contains("Function started on port") && (callbackWhenListeningReady != null)) {
-                        callbackWhenListeningReady.run();
-
+                Matcher matcher = STARTED_ON_PORT.matcher(event.getText());
+                if (!matcher.find()) {
+                    return;
+                }
+                // func run moves to another port when the default one is taken
+                if (pipeline instanceof RunFuncActionPipeline) {
+                    ((RunFuncActionPipeline) pipeline).setLocalPort(Integer.parseInt(matcher.group(1)));
+                }
+                if (callbackWhenListeningReady != null) {
+                    callbackWhenListeningReady.run();
                 }
             }
         };
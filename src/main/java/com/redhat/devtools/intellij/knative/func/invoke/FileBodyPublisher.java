@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request body streaming a file from disk. The file is never loaded in memory, each chunk is a read-only
+ * memory-mapped region of the file that is written to the socket as is.
+ * Chunks are only mapped when the http client asks for them, so the memory used does not depend on the file size.
+ */
+public class FileBodyPublisher implements HttpRequest.BodyPublisher {
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    private final Path path;
+    private final long size;
+    private final UploadListener listener;
+
+    public FileBodyPublisher(Path path, long size, UploadListener listener) {
+        this.path = path;
+        this.size = size;
+        this.listener = listener;
+    }
+
+    @Override
+    public long contentLength() {
+        return size;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new FileSubscription(channel, subscriber));
+    }
+
+    private class FileSubscription implements Flow.Subscription {
+        private final FileChannel channel;
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+        private long position;
+
+        private FileSubscription(FileChannel channel, Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.channel = channel;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                terminate(new IllegalArgumentException("non-positive subscription request: " + n));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            close();
+        }
+
+        private void drain() {
+            // request() can be called again from onNext, only one thread emits chunks at a time
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            while (true) {
+                while (!done && demand.get() > 0 && position < size) {
+                    long length = Math.min(CHUNK_SIZE, size - position);
+                    ByteBuffer chunk;
+                    try {
+                        chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    } catch (IOException e) {
+                        terminate(e);
+                        return;
+                    }
+                    position += length;
+                    demand.decrementAndGet();
+                    subscriber.onNext(chunk);
+                    if (listener != null) {
+                        listener.onProgress(position, size);
+                    }
+                }
+                if (!done && position >= size) {
+                    done = true;
+                    close();
+                    subscriber.onComplete();
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminate(Throwable t) {
+            if (!done) {
+                done = true;
+                close();
+                subscriber.onError(t);
+            }
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // the file was only read
+            }
+        }
+    }
+
+    public interface UploadListener {
+        void onProgress(long sent, long total);
+    }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Strings;
+import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.utils.FuncUtils;
+import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoke a function by sending the request straight to its URL instead of forking func invoke.
+ * All invocations share the same HttpClient so connections to the function are kept alive between calls.
+ */
+public class FuncHttpInvoker {
+    private static final Logger logger = LoggerFactory.getLogger(FuncHttpInvoker.class);
+    private static final String ERROR_NOT_RUNNING = "function not running";
+    private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final HttpClient client;
+
+    public FuncHttpInvoker() {
+        this(SHARED_CLIENT);
+    }
+
+    public FuncHttpInvoker(HttpClient client) {
+        this.client = client;
+    }
+
+    public static HttpClient getSharedClient() {
+        return SHARED_CLIENT;
+    }
+
+    /**
+     * Invoke the function with the parameters set in the model
+     *
+     * @param knCli the kn cli, used to read the default format from func.yaml and the port the function runs on
+     * @param model the invoke model
+     * @param function the function to invoke
+     * @param listener notified while a payload file is uploaded, can be null
+     * @return the invocation result, whatever the status the function answered with
+     * @throws IOException if the function cannot be reached
+     */
+    public InvokeResult invoke(Kn knCli, InvokeModel model, Function function,
+                               FileBodyPublisher.UploadListener listener) throws IOException {
+        long start = System.nanoTime();
+        URI localURI = InvokeRequestFactory.getLocalURI(
+                knCli.getFuncActionPipelineManager().getLocalPort(function.getName()));
+        URI uri = InvokeRequestFactory.getTargetURI(model, function, localURI);
+        InvokeRequestFactory requestFactory = new InvokeRequestFactory(model, uri, getFormat(knCli, model));
+        return invoke(requestFactory, localURI, listener, start);
+    }
+
+    InvokeResult invoke(InvokeRequestFactory requestFactory, URI localURI, FileBodyPublisher.UploadListener listener,
+                        long start) throws IOException {
+        String eventId = requestFactory.getEventId();
+        HttpRequest request = requestFactory.create(eventId, listener);
+        HttpResponse<String> response;
+        long sent = System.nanoTime();
+        long received;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            received = System.nanoTime();
+        } catch (ConnectException e) {
+            if (isLocal(requestFactory.getUri(), localURI)) {
+                // keep the same message as func invoke so the caller can offer to run the function
+                throw new IOException("Error: " + ERROR_NOT_RUNNING + " at " + requestFactory.getUri(), e);
+            }
+            throw new IOException("Unable to connect to " + requestFactory.getUri() + ": " + e.getLocalizedMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Invocation of " + requestFactory.getUri() + " has been interrupted", e);
+        }
+
+        // a CloudEvent keeps the id it was sent with, a plain http call only has the id of an event answered back
+        String id = InvokeRequestFactory.FORMAT_HTTP.equals(requestFactory.getFormat()) ?
+                response.headers().firstValue("ce-id").orElse("") :
+                eventId;
+        return new InvokeResult(id,
+                response.statusCode(),
+                response.body(),
+                TimeUnit.NANOSECONDS.toMillis(received - sent),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static boolean isLocal(URI uri, URI localURI) {
+        return localURI != null
+                && localURI.getHost().equalsIgnoreCase(uri.getHost())
+                && localURI.getPort() == uri.getPort();
+    }
+
+    /**
+     * Return the format to use. If not set by the user, the format declared by the function template is used
+     * (same as func invoke), otherwise it defaults to http.
+     *
+     * @param knCli the kn cli
+     * @param model the invoke model
+     * @return the format
+     */
+    public static String getFormat(Kn knCli, InvokeModel model) {
+        if (!Strings.isNullOrEmpty(model.getFormat())) {
+            return model.getFormat();
+        }
+        try {
+            JsonNode invoke = FuncUtils.getFuncSection(knCli, model.getPath(), new String[]{"invoke"});
+            if (invoke != null && !invoke.asText().isEmpty()) {
+                return invoke.asText();
+            }
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+        }
+        return InvokeRequestFactory.FORMAT_HTTP;
+    }
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import com.google.common.base.Strings;
+import com.intellij.openapi.project.Project;
+import com.redhat.devtools.intellij.knative.utils.JsonLinesLog;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-project log of the function invocations, stored in the IDE system folder.
+ * Invocations done while the project is open share the same session id so that they can be replayed together.
+ */
+public class InvocationHistory {
+    static final int MAX_RECORDS = 1000;
+
+    private final JsonLinesLog<InvocationRecord> log;
+    private final String session;
+
+    public InvocationHistory(Project project) {
+        this(JsonLinesLog.getSystemFile("invocations", project.getLocationHash()));
+    }
+
+    InvocationHistory(Path file) {
+        this.log = new JsonLinesLog<>(file, InvocationRecord.class, MAX_RECORDS);
+        this.session = createSession();
+    }
+
+    public static InvocationHistory getInstance(Project project) {
+        return project.getService(InvocationHistory.class);
+    }
+
+    public String getSession() {
+        return session;
+    }
+
+    public String createSession() {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date());
+    }
+
+    public void record(InvocationRecord record) {
+        log.append(record);
+    }
+
+    /**
+     * @param namespace the namespace the function has been invoked in
+     * @param function the function name
+     * @return the invocations of the function, oldest first
+     */
+    public List<InvocationRecord> getRecords(String namespace, String function) {
+        // functions with the same name in different namespaces are different functions
+        return log.getRecords().stream()
+                .filter(record -> function.equals(record.getFunction())
+                        && Strings.nullToEmpty(namespace).equals(Strings.nullToEmpty(record.getNamespace())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param namespace the namespace the function has been invoked in
+     * @param function the function name
+     * @return the sessions in which the function has been invoked, oldest first
+     */
+    public List<String> getSessions(String namespace, String function) {
+        Set<String> sessions = new LinkedHashSet<>();
+        getRecords(namespace, function).forEach(record -> sessions.add(record.getSession()));
+        return new ArrayList<>(sessions);
+    }
+
+    /**
+     * Compute a short digest of a response body. It is enough to tell if a response changed between two runs.
+     *
+     * @param body the response body
+     * @return the first 16 hex chars of the body sha-256
+     */
+    public static String digest(String body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((body == null ? "" : body).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return "";
+        }
+    }
+}
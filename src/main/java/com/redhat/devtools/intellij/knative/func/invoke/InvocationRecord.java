@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
+
+/**
+ * A single invocation of a function as stored in the invocation history.
+ * Only the parameters needed to replay it and a digest of the response are kept, not the response itself.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class InvocationRecord {
+    private long timestamp;
+    private String session;
+    private String function;
+    private String namespace;
+    private String path;
+    private String target;
+    private String format;
+    private String contentType;
+    private String data;
+    private String file;
+    private String source;
+    private String type;
+    private String eventId;
+    private int status;
+    private long roundTripTime;
+    private long totalTime;
+    private String digest;
+    private String error;
+
+    public InvocationRecord() {}
+
+    public InvocationRecord(String session, String function, InvokeModel model) {
+        this.timestamp = System.currentTimeMillis();
+        this.session = session;
+        this.function = function;
+        this.namespace = model.getNamespace();
+        this.path = model.getPath();
+        this.target = model.getTarget();
+        this.format = model.getFormat();
+        this.contentType = model.getContentType();
+        this.data = model.getData();
+        this.file = model.getFile();
+        this.source = model.getSource();
+        this.type = model.getType();
+        this.eventId = model.getID();
+    }
+
+    /**
+     * @return a new model with the parameters used by this invocation
+     */
+    public InvokeModel toInvokeModel() {
+        InvokeModel model = new InvokeModel();
+        model.setNamespace(namespace);
+        model.setPath(path);
+        model.setTarget(target);
+        model.setFormat(format);
+        model.setContentType(contentType);
+        model.setData(data);
+        model.setFile(file);
+        model.setSource(source);
+        model.setType(type);
+        model.setID(eventId);
+        return model;
+    }
+
+    public InvocationRecord withResult(InvokeResult result) {
+        this.status = result.getStatusCode();
+        this.roundTripTime = result.getRoundTripTime();
+        this.totalTime = result.getTotalTime();
+        this.digest = InvocationHistory.digest(result.getBody());
+        return this;
+    }
+
+    public InvocationRecord withError(String error) {
+        this.error = error == null ? "" : error;
+        return this;
+    }
+
+    /**
+     * @return true if the function answered with a 2xx status
+     */
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return error == null && status >= 200 && status < 300;
+    }
+
+    /**
+     * @return true if the function answered, whatever the status
+     */
+    @JsonIgnore
+    public boolean isAnswered() {
+        return error == null;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getSession() {
+        return session;
+    }
+
+    public void setSession(String session) {
+        this.session = session;
+    }
+
+    public String getFunction() {
+        return function;
+    }
+
+    public void setFunction(String function) {
+        this.function = function;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public void setNamespace(String namespace) {
+        this.namespace = namespace;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public long getRoundTripTime() {
+        return roundTripTime;
+    }
+
+    public void setRoundTripTime(long roundTripTime) {
+        this.roundTripTime = roundTripTime;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    public void setTotalTime(long totalTime) {
+        this.totalTime = totalTime;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(String digest) {
+        this.digest = digest;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
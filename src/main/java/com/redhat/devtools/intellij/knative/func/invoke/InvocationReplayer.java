@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Replay recorded invocations concurrently and compare their latency with the original runs
+ * and with the earlier invocations of the function.
+ */
+public class InvocationReplayer {
+    private static final double REGRESSION_THRESHOLD = 1.2;
+
+    private final FuncHttpInvoker invoker;
+    private final InvocationHistory history;
+
+    public InvocationReplayer(FuncHttpInvoker invoker, InvocationHistory history) {
+        this.invoker = invoker;
+        this.history = history;
+    }
+
+    /**
+     * Replay the invocations. The replays are stored in the history under a new session.
+     *
+     * @param knCli the kn cli
+     * @param function the function to invoke
+     * @param records the invocations to replay
+     * @param concurrency the number of invocations sent in parallel
+     * @return the replayed invocations, in the same order as records
+     */
+    public List<InvocationRecord> replay(Kn knCli, Function function, List<InvocationRecord> records, int concurrency) {
+        String session = history.createSession();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, records.size())));
+        try {
+            List<CompletableFuture<InvocationRecord>> replays = records.stream()
+                    .map(record -> CompletableFuture.supplyAsync(() -> replay(knCli, function, record, session), executor))
+                    .collect(Collectors.toList());
+            return replays.stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private InvocationRecord replay(Kn knCli, Function function, InvocationRecord original, String session) {
+        InvocationRecord replay = new InvocationRecord(session, original.getFunction(), original.toInvokeModel());
+        try {
+            replay.withResult(invoker.invoke(knCli, original.toInvokeModel(), function, null));
+        } catch (IOException e) {
+            replay.withError(e.getLocalizedMessage());
+        }
+        history.record(replay);
+        return replay;
+    }
+
+    /**
+     * Build a report comparing each replay with its original invocation and the median round trip
+     * of the replays with the one of all earlier invocations of the function.
+     *
+     * @param originals the replayed invocations
+     * @param replays the replays, in the same order as originals
+     * @param earlier the earlier invocations of the function
+     * @return the report
+     */
+    public static String compare(List<InvocationRecord> originals, List<InvocationRecord> replays, List<InvocationRecord> earlier) {
+        StringBuilder report = new StringBuilder();
+        for (int i = 0; i < originals.size(); i++) {
+            InvocationRecord original = originals.get(i);
+            InvocationRecord replay = replays.get(i);
+            report.append("#").append(i + 1).append(" ");
+            if (!replay.isAnswered()) {
+                report.append("failed: ").append(replay.getError()).append("\n");
+                continue;
+            }
+            report.append("HTTP ").append(original.getStatus()).append(" -> ").append(replay.getStatus())
+                    .append(", round trip ").append(original.getRoundTripTime()).append(" ms -> ")
+                    .append(replay.getRoundTripTime()).append(" ms")
+                    .append(formatDelta(original.getRoundTripTime(), replay.getRoundTripTime()));
+            if (original.isSuccessful() && replay.isSuccessful()
+                    && !Objects.equals(original.getDigest(), replay.getDigest())) {
+                report.append(", response changed");
+            }
+            report.append("\n");
+        }
+
+        long replayMedian = median(replays);
+        long baselineMedian = median(earlier);
+        report.append("Median round trip: ").append(replayMedian).append(" ms");
+        if (baselineMedian >= 0) {
+            report.append(", earlier runs ").append(baselineMedian).append(" ms")
+                    .append(formatDelta(baselineMedian, replayMedian));
+            if (replayMedian > baselineMedian * REGRESSION_THRESHOLD) {
+                report.append(" - possible regression");
+            }
+        }
+        report.append("\n");
+        return report.toString();
+    }
+
+    private static String formatDelta(long before, long after) {
+        if (before <= 0) {
+            return "";
+        }
+        long delta = Math.round((after - before) * 100.0 / before);
+        return " (" + (delta >= 0 ? "+" : "") + delta + "%)";
+    }
+
+    static long median(List<InvocationRecord> records) {
+        List<Long> latencies = new ArrayList<>();
+        records.stream()
+                .filter(InvocationRecord::isSuccessful)
+                .forEach(record -> latencies.add(record.getRoundTripTime()));
+        if (latencies.isEmpty()) {
+            return -1;
+        }
+        latencies.sort(Long::compare);
+        return latencies.get(latencies.size() / 2);
+    }
+}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Strings;
+import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Build the HTTP requests sent to a function from the parameters collected by the invoke dialog.
+ * Inline data is read once and shared by all requests created by the factory, file payloads are streamed
+ * from disk by each request.
+ */
+public class InvokeRequestFactory {
+    public static final String FORMAT_HTTP = "http";
+    public static final String FORMAT_CLOUDEVENT = "cloudevent";
+    public static final String FORMAT_CLOUDEVENT_STRUCTURED = "cloudevent-structured";
+    public static final int DEFAULT_LOCAL_PORT = 8080;
+    private static final String STRUCTURED_CONTENT_TYPE = "application/cloudevents+json";
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final String DEFAULT_SOURCE = "/boson/fn";
+    private static final String DEFAULT_TYPE = "boson.fn";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final InvokeModel model;
+    private final URI uri;
+    private final String format;
+    private final Path file;
+    private final long fileSize;
+    private byte[] body;
+
+    public InvokeRequestFactory(InvokeModel model, URI uri, String format) throws IOException {
+        this.model = model;
+        this.uri = uri;
+        this.format = Strings.isNullOrEmpty(format) ? FORMAT_HTTP : format;
+        if (Strings.isNullOrEmpty(model.getFile())) {
+            this.file = null;
+            this.fileSize = -1;
+            this.body = Strings.nullToEmpty(model.getData()).getBytes(StandardCharsets.UTF_8);
+        } else {
+            this.file = Paths.get(model.getFile());
+            this.fileSize = Files.size(file);
+            if (this.format.equals(FORMAT_CLOUDEVENT_STRUCTURED)) {
+                // the structured envelope embeds the data, the file cannot be streamed
+                this.body = Files.readAllBytes(file);
+            }
+        }
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * @return the size of the payload file or -1 if the payload is not a file
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public HttpRequest create() {
+        return create(null);
+    }
+
+    /**
+     * Create a request. When the payload is a file, it is streamed from disk and the listener
+     * is notified of the bytes uploaded so far.
+     *
+     * @param listener the upload listener, can be null
+     * @return the request
+     */
+    public HttpRequest create(FileBodyPublisher.UploadListener listener) {
+        return create(getEventId(), listener);
+    }
+
+    /**
+     * Create a request sending the given CloudEvent id, ignored with the http format
+     *
+     * @param id the event id, see {@link #getEventId()}
+     * @param listener the upload listener, can be null
+     * @return the request
+     */
+    public HttpRequest create(String id, FileBodyPublisher.UploadListener listener) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(getTimeout());
+        if (format.equals(FORMAT_CLOUDEVENT_STRUCTURED)) {
+            // structured content mode, attributes and data are sent in a single json envelope
+            return builder.header("Content-Type", STRUCTURED_CONTENT_TYPE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(getStructuredEvent(id)))
+                    .build();
+        }
+        builder.header("Content-Type", model.getContentType())
+                .POST(body != null ?
+                        HttpRequest.BodyPublishers.ofByteArray(body) :
+                        new FileBodyPublisher(file, fileSize, listener));
+        if (format.equals(FORMAT_CLOUDEVENT)) {
+            // binary content mode, attributes are sent as headers and data as body
+            builder.header("ce-specversion", "1.0")
+                    .header("ce-id", id)
+                    .header("ce-source", getSource())
+                    .header("ce-type", getType());
+        }
+        return builder.build();
+    }
+
+    private byte[] getStructuredEvent(String id) {
+        ObjectNode event = JSON_MAPPER.createObjectNode()
+                .put("specversion", "1.0")
+                .put("id", id)
+                .put("source", getSource())
+                .put("type", getType())
+                .put("datacontenttype", model.getContentType());
+        String contentType = Strings.nullToEmpty(model.getContentType());
+        if (contentType.contains("json")) {
+            try {
+                event.set("data", JSON_MAPPER.readTree(body));
+            } catch (IOException e) {
+                event.put("data", new String(body, StandardCharsets.UTF_8));
+            }
+        } else if (contentType.startsWith("text/")) {
+            event.put("data", new String(body, StandardCharsets.UTF_8));
+        } else {
+            event.put("data_base64", Base64.getEncoder().encodeToString(body));
+        }
+        try {
+            return JSON_MAPPER.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            // an ObjectNode is always serializable
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Duration getTimeout() {
+        if (body != null) {
+            return REQUEST_TIMEOUT;
+        }
+        // the timeout covers the upload, allow at least 1 MB/s for large files
+        return REQUEST_TIMEOUT.plusSeconds(fileSize / FileBodyPublisher.CHUNK_SIZE);
+    }
+
+    /**
+     * @return the id set by the user or a new random id
+     */
+    public String getEventId() {
+        return Strings.isNullOrEmpty(model.getID()) ? UUID.randomUUID().toString() : model.getID();
+    }
+
+    private String getSource() {
+        return Strings.isNullOrEmpty(model.getSource()) ? DEFAULT_SOURCE : model.getSource();
+    }
+
+    private String getType() {
+        return Strings.isNullOrEmpty(model.getType()) ? DEFAULT_TYPE : model.getType();
+    }
+
+    /**
+     * @param port the port the function runs on locally, see FuncActionPipelineManager#getLocalPort
+     * @return the url of the function running locally, on the default port of func run if the port is unknown
+     */
+    public static URI getLocalURI(int port) {
+        return URI.create("http://localhost:" + (port > 0 ? port : DEFAULT_LOCAL_PORT));
+    }
+
+    /**
+     * Resolve the URL to call from the invoke target (local, remote or a custom URL)
+     *
+     * @param model the invoke model
+     * @param function the function to invoke
+     * @param localURI the url of the function running locally, see {@link #getLocalURI(int)}
+     * @return the url to call
+     * @throws IOException if the function has no known url or the custom url is invalid
+     */
+    public static URI getTargetURI(InvokeModel model, Function function, URI localURI) throws IOException {
+        String target = model.getTarget();
+        String url;
+        if (Strings.isNullOrEmpty(target) || target.equals("local")) {
+            return localURI;
+        } else if (target.equals("remote")) {
+            url = function.getUrl();
+            if (Strings.isNullOrEmpty(url)) {
+                throw new IOException("Function " + function.getName() + " has no URL. Has it been deployed?");
+            }
+        } else {
+            url = target;
+        }
+        try {
+            return new URI(url);
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid function URL " + url + ": " + e.getLocalizedMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+public class InvokeResult {
+    private final String id;
+    private final int statusCode;
+    private final String body;
+    private final long roundTripTime;
+    private final long totalTime;
+
+    public InvokeResult(String id, int statusCode, String body, long roundTripTime, long totalTime) {
+        this.id = id;
+        this.statusCode = statusCode;
+        this.body = body;
+        this.roundTripTime = roundTripTime;
+        this.totalTime = totalTime;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * @return true if the function answered with a 2xx status
+     */
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * @return the time in ms between sending the request and receiving the whole response
+     */
+    public long getRoundTripTime() {
+        return roundTripTime;
+    }
+
+    /**
+     * @return the time in ms spent by the whole invocation, including reading the payload and building the request
+     */
+    public long getTotalTime() {
+        return totalTime;
+    }
+}
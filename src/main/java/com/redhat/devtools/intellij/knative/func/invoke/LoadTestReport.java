@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+
+public class LoadTestReport {
+    private final long requests, errors, elapsed;
+    private final double p50, p90, p99, max;
+    private final boolean completed;
+
+    /**
+     * @param histogram latencies recorded in microseconds
+     * @param errors    number of failed requests
+     * @param elapsed   time elapsed since the start of the test in milliseconds
+     * @param completed true if the test is over
+     */
+    public LoadTestReport(Histogram histogram, long errors, long elapsed, boolean completed) {
+        this.requests = histogram.getTotalCount();
+        this.errors = errors;
+        this.elapsed = elapsed;
+        this.p50 = toMillis(histogram.getValueAtPercentile(50));
+        this.p90 = toMillis(histogram.getValueAtPercentile(90));
+        this.p99 = toMillis(histogram.getValueAtPercentile(99));
+        this.max = toMillis(histogram.getMaxValue());
+        this.completed = completed;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    public double getThroughput() {
+        return elapsed == 0 ? 0 : requests * 1000.0 / elapsed;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s%6.1fs | %d requests (%d errors) | %.1f req/s | p50 %.2f ms | p90 %.2f ms | p99 %.2f ms | max %.2f ms",
+                completed ? "Completed in " : "",
+                elapsed / 1000.0, requests, errors, getThroughput(), p50, p90, p99, max);
+    }
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import com.redhat.devtools.intellij.knative.utils.model.LoadTestModel;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Send requests to a function with a fixed concurrency and an optional rate limit and record their latency.
+ * When a rate is set, latency is measured from the time the request should have been sent so that a slow
+ * function does not hide its own queuing delay (coordinated omission).
+ */
+public class LoadTester {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTester.class);
+    private static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.MINUTES.toMicros(5);
+    private static final long REPORT_INTERVAL = 1000;
+
+    private final HttpClient client;
+    private final InvokeRequestFactory requestFactory;
+    private final LoadTestModel model;
+    private final Recorder recorder;
+    private final Histogram total;
+    private final AtomicLong issued, errors;
+    private volatile boolean cancelled;
+    private Histogram intervalHistogram;
+
+    public LoadTester(HttpClient client, InvokeRequestFactory requestFactory, LoadTestModel model) {
+        this.client = client;
+        this.requestFactory = requestFactory;
+        this.model = model;
+        this.recorder = new Recorder(HIGHEST_TRACKABLE_LATENCY, 3);
+        this.total = new Histogram(HIGHEST_TRACKABLE_LATENCY, 3);
+        this.issued = new AtomicLong();
+        this.errors = new AtomicLong();
+    }
+
+    /**
+     * Run the load test. It blocks until the requests count or the duration is reached or the test is cancelled
+     *
+     * @param onProgress called every second with the cumulated report and once with the final one
+     * @return the final report
+     * @throws InterruptedException if the thread running the test is interrupted
+     */
+    public LoadTestReport run(Consumer<LoadTestReport> onProgress) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = model.getDuration() > 0 ? start + TimeUnit.SECONDS.toNanos(model.getDuration()) : Long.MAX_VALUE;
+        long sendInterval = model.getRate() > 0 ? TimeUnit.SECONDS.toNanos(1) / model.getRate() : 0;
+        AtomicLong nextSendTime = new AtomicLong(start);
+
+        ExecutorService workers = Executors.newFixedThreadPool(model.getConcurrency());
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> onProgress.accept(collect(start, false)),
+                REPORT_INTERVAL, REPORT_INTERVAL, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < model.getConcurrency(); i++) {
+            workers.execute(() -> sendUntilDone(deadline, sendInterval, nextSendTime));
+        }
+        workers.shutdown();
+        try {
+            while (!workers.awaitTermination(REPORT_INTERVAL, TimeUnit.MILLISECONDS)) {
+                if (cancelled) {
+                    workers.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelled = true;
+            workers.shutdownNow();
+            throw e;
+        } finally {
+            reporter.shutdownNow();
+        }
+        reporter.awaitTermination(REPORT_INTERVAL, TimeUnit.MILLISECONDS);
+        LoadTestReport report = collect(start, true);
+        onProgress.accept(report);
+        return report;
+    }
+
+    private void sendUntilDone(long deadline, long sendInterval, AtomicLong nextSendTime) {
+        while (!cancelled && !Thread.currentThread().isInterrupted()) {
+            if (model.getRequests() > 0 && issued.incrementAndGet() > model.getRequests()) {
+                return;
+            }
+            long intendedStart = System.nanoTime();
+            if (sendInterval > 0) {
+                intendedStart = nextSendTime.getAndAdd(sendInterval);
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            if (System.nanoTime() >= deadline) {
+                return;
+            }
+            try {
+                HttpResponse<Void> response = client.send(requestFactory.create(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 300) {
+                    errors.incrementAndGet();
+                }
+            } catch (IOException e) {
+                logger.debug(e.getLocalizedMessage(), e);
+                errors.incrementAndGet();
+            } catch (InterruptedException e) {
+                return;
+            }
+            long latency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+            recorder.recordValue(Math.min(latency, HIGHEST_TRACKABLE_LATENCY));
+        }
+    }
+
+    private synchronized LoadTestReport collect(long start, boolean completed) {
+        intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+        total.add(intervalHistogram);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new LoadTestReport(total, errors.get(), elapsed, completed);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -21,13 +21,18 @@ import com.redhat.devtools.intellij.knative.utils.model.GitRepoModel;
 import com.redhat.devtools.intellij.knative.utils.model.ImageRegistryModel;
 import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
 import com.redhat.devtools.intellij.knative.ui.repository.Repository;
+import io.fabric8.kubernetes.api.model.Event;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
 import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.List;
@@ -35,6 +40,17 @@ import java.util.Map;
 
 public interface Kn {
 
+    /**
+     * Run the initialization not needed to show the tree: proxy settings of the processes and cluster telemetry.
+     * Called in the background once the tree is shown, only the first call does something.
+     */
+    void postInitialize();
+
+    /**
+     * Release the kubernetes client, called when the client of the project is replaced or the project closed.
+     */
+    void dispose();
+
     /**
      * Check if the cluster is Tekton serving aware.
      *
@@ -102,6 +118,15 @@ public interface Kn {
      */
     Service getService(String name) throws IOException;
 
+    /**
+     * Return the Knative service resource as stored on cluster
+     *
+     * @param name name of service
+     * @return the Knative service resource, null if no service was found
+     * @throws IOException if communication errored
+     */
+    io.fabric8.knative.serving.v1.Service getKnativeService(String name) throws IOException;
+
     /**
      * Get the Service component as YAML
      *
@@ -164,6 +189,36 @@ public interface Kn {
      */
     void editCustomResource(String name, CustomResourceDefinitionContext crdContext, String objectAsString) throws IOException;
 
+    /**
+     * Apply a JSON merge patch to a custom resource which is a namespaced object
+     *
+     * @param name       name of custom resource
+     * @param crdContext the custom resource definition context of the resource kind
+     * @param patch      the JSON merge patch
+     * @return the resource as updated on the cluster
+     * @throws IOException if communication errored, the cause holds the status code returned by the cluster
+     */
+    GenericKubernetesResource patchCustomResource(String name, CustomResourceDefinitionContext crdContext, String patch) throws IOException;
+
+    /**
+     * Validate a JSON merge patch of a custom resource on the cluster without persisting it (dry run)
+     *
+     * @param name       name of custom resource
+     * @param crdContext the custom resource definition context of the resource kind
+     * @param patch      the JSON merge patch
+     * @throws IOException if communication errored or the patch is rejected, the cause holds the status returned by the cluster
+     */
+    void dryRunPatchCustomResource(String name, CustomResourceDefinitionContext crdContext, String patch) throws IOException;
+
+    /**
+     * Validate the creation of a custom resource on the cluster without persisting it (dry run)
+     *
+     * @param crdContext the custom resource definition context of the resource kind
+     * @param resource   the object to create
+     * @throws IOException if communication errored or the resource is rejected, the cause holds the status returned by the cluster
+     */
+    void dryRunCreateCustomResource(CustomResourceDefinitionContext crdContext, GenericKubernetesResource resource) throws IOException;
+
     /**
      * Create a custom resource which is a namespaced object.
      *
@@ -200,6 +255,26 @@ public interface Kn {
      */
     void tagRevision(String service, String revision, String tag) throws IOException;
 
+    /**
+     * Update the traffic of a service. Each traffic target routes its percent to its revision, or to the latest
+     * ready revision if it follows the latest revision, and, if set, tags the revision with its tag.
+     *
+     * @param service name of the service
+     * @param traffic the traffic targets, their percents must sum to 100
+     * @param untag   tags to remove before applying the new tags
+     * @throws IOException if communication errored
+     */
+    void updateTraffic(String service, List<ServiceTraffic> traffic, List<String> untag) throws IOException;
+
+    /**
+     * Apply a JSON merge patch to a service
+     *
+     * @param name  name of the service
+     * @param patch the JSON merge patch
+     * @throws IOException if communication errored
+     */
+    void patchService(String name, String patch) throws IOException;
+
     /**
      * Return the func.yaml file
      *
@@ -374,6 +449,83 @@ public interface Kn {
      */
     Watch watchServiceWithLabel(String key, String value, Watcher<io.fabric8.knative.serving.v1.Service> watcher) throws IOException;
 
+    /**
+     * Return the pods running a revision
+     *
+     * @param revision name of the revision
+     * @return the pods of the revision
+     * @throws IOException if communication errored
+     */
+    List<Pod> getRevisionPods(String revision) throws IOException;
+
+    /**
+     * Set a watch on the pods running a revision
+     *
+     * @param revision name of the revision
+     * @param watcher  the watcher to call when a new event is received
+     * @return the watch object
+     * @throws IOException if communication errored
+     */
+    Watch watchRevisionPods(String revision, Watcher<Pod> watcher) throws IOException;
+
+    /**
+     * Set a watch on a custom resource which is a namespaced object
+     *
+     * @param name       name of custom resource
+     * @param crdContext the custom resource definition context of the resource kind
+     * @param watcher    the watcher to call when a new event is received
+     * @return the watch object
+     * @throws IOException if communication errored
+     */
+    Watch watchCustomResource(String name, CustomResourceDefinitionContext crdContext, Watcher<GenericKubernetesResource> watcher) throws IOException;
+
+    /**
+     * Return the events related to a pod
+     *
+     * @param pod name of the pod
+     * @return the events of the pod
+     * @throws IOException if communication errored
+     */
+    List<Event> getPodEvents(String pod) throws IOException;
+
+    /**
+     * Check if the cluster serves the metrics.k8s.io API, usually provided by metrics-server
+     *
+     * @return true if pod metrics are available
+     * @throws IOException if communication errored
+     */
+    boolean isMetricsServerAware() throws IOException;
+
+    /**
+     * Return the CPU and memory usage of the pods running a revision
+     *
+     * @param revision name of the revision
+     * @return the metrics of the pods of the revision
+     * @throws IOException if communication errored
+     */
+    List<PodMetrics> getRevisionPodMetrics(String revision) throws IOException;
+
+    /**
+     * Return the metrics exposed by the queue-proxy container of a revision pod, in Prometheus text format
+     *
+     * @param pod name of the pod
+     * @return the metrics, null if the queue-proxy does not expose them
+     * @throws IOException if communication errored
+     */
+    String getQueueProxyMetrics(String pod) throws IOException;
+
+    /**
+     * Follow the log of a container, each line is prefixed by its RFC3339 timestamp
+     *
+     * @param pod       name of the pod
+     * @param container name of the container
+     * @param tailLines number of past lines to include
+     * @param out       the stream receiving the log
+     * @return the log watch, to be closed to stop following the log
+     * @throws IOException if communication errored
+     */
+    LogWatch watchPodLog(String pod, String container, int tailLines, OutputStream out) throws IOException;
+
     /**
      * Create a terminal console to be used to run multiple commands in same tab
      *
@@ -12,6 +12,7 @@ package com.redhat.devtools.intellij.knative.kn;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
 import com.intellij.execution.process.ProcessListener;
@@ -33,15 +34,20 @@ import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
 import com.redhat.devtools.intellij.knative.ui.repository.Repository;
 import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
 import io.fabric8.knative.client.KnativeClient;
+import io.fabric8.kubernetes.api.model.Event;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
-import io.fabric8.kubernetes.client.ConfigBuilder;
-import io.fabric8.kubernetes.client.DefaultKubernetesClient;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
 import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.kubernetes.client.utils.URLUtils;
 import io.fabric8.kubernetes.model.Scope;
 import io.fabric8.openshift.client.OpenShiftClient;
 import org.slf4j.Logger;
@@ -49,6 +55,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
@@ -58,6 +65,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static com.redhat.devtools.intellij.knative.Constants.KNATIVE_TOOL_WINDOW_ID;
@@ -69,28 +78,56 @@ import static com.redhat.devtools.intellij.knative.ui.repository.RepositoryUtils
 public class KnCli implements Kn {
     private static final Logger LOGGER = LoggerFactory.getLogger(KnCli.class);
     private static final ObjectMapper JSON_MAPPER = new ObjectMapper(new JsonFactory());
+    private static final String REVISION_LABEL = "serving.knative.dev/revision";
+    private static final int QUEUE_PROXY_METRICS_PORT = 9090;
     private final Project project;
     private KubernetesClient client;
     private final String knCommand, funcCommand;
     private Map<String, String> envVars;
-    private boolean hasTekton, hasKnativeServing, hasKnativeEventing;
+    private final AtomicBoolean postInitialized = new AtomicBoolean();
+    private boolean hasTekton, hasKnativeServing, hasKnativeEventing, hasMetricsServer;
     private FuncActionPipelineManager funcActionPipelineManager;
 
     public KnCli(Project project, String knCommand, String funcCommand) {
         this.knCommand = knCommand;
         this.funcCommand = funcCommand;
         this.project = project;
-        this.client = new DefaultKubernetesClient(new ConfigBuilder().build());
+        this.client = KubernetesClientRegistry.getInstance().acquire();
         this.funcActionPipelineManager = new FuncActionPipelineManager();
-        try {
-            this.envVars = NetworkUtils.buildEnvironmentVariables(client.getMasterUrl().toString());
-        } catch (URISyntaxException e) {
-            this.envVars = Collections.emptyMap();
-        }
         this.hasTekton = false;
         this.hasKnativeServing = false;
         this.hasKnativeEventing = false;
+    }
+
+    @Override
+    public void postInitialize() {
+        if (postInitialized.getAndSet(true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        getEnvVars();
         reportTelemetry();
+        LOGGER.info("Post initialization done in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+    }
+
+    @Override
+    public void dispose() {
+        KubernetesClientRegistry.getInstance().release(client);
+    }
+
+    /**
+     * The proxy settings of the IDE, passed to the kn and func processes. Built on first use, not by the
+     * constructor, as resolving the proxy can take time.
+     */
+    private synchronized Map<String, String> getEnvVars() {
+        if (envVars == null) {
+            try {
+                envVars = NetworkUtils.buildEnvironmentVariables(client.getMasterUrl().toString());
+            } catch (URISyntaxException e) {
+                envVars = Collections.emptyMap();
+            }
+        }
+        return envVars;
     }
 
     private void reportTelemetry() {
@@ -171,7 +208,7 @@ public class KnCli implements Kn {
 
     @Override
     public List<Service> getServicesList() throws IOException {
-        ExecHelper.ExecResult execResult = ExecHelper.executeWithResult(knCommand, envVars, "service", "list", "-o", "json");
+        ExecHelper.ExecResult execResult = ExecHelper.executeWithResult(knCommand, getEnvVars(), "service", "list", "-o", "json");
         if (execResult.getStdOut().startsWith("No services found.")) {
             return Collections.emptyList();
         }
@@ -180,7 +217,7 @@ public class KnCli implements Kn {
 
     @Override
     public List<Revision> getRevisionsForService(String serviceName) throws IOException {
-        String json = ExecHelper.execute(knCommand, envVars, "revision", "list", "-o", "json", "-s", serviceName);
+        String json = ExecHelper.execute(knCommand, getEnvVars(), "revision", "list", "-o", "json", "-s", serviceName);
         if (json.startsWith("No revisions found.")) {
             return Collections.emptyList();
         }
@@ -189,7 +226,7 @@ public class KnCli implements Kn {
 
     @Override
     public List<Function> getFunctions() throws IOException {
-        String json = ExecHelper.execute(funcCommand, envVars, "list", "-n", getNamespace(), "-o", "json");
+        String json = ExecHelper.execute(funcCommand, getEnvVars(), "list", "-n", getNamespace(), "-o", "json");
         if (json.toLowerCase().startsWith("no functions found")) {
             return Collections.emptyList();
         }
@@ -198,35 +235,44 @@ public class KnCli implements Kn {
 
     @Override
     public Service getService(String name) throws IOException {
-        String json = ExecHelper.execute(knCommand, envVars, "service", "describe", name, "-o", "json", "-n", getNamespace());
+        String json = ExecHelper.execute(knCommand, getEnvVars(), "service", "describe", name, "-o", "json", "-n", getNamespace());
         JavaType customClassCollection = JSON_MAPPER.getTypeFactory().constructType(Service.class);
         return JSON_MAPPER.readValue(json, customClassCollection);
     }
 
+    @Override
+    public io.fabric8.knative.serving.v1.Service getKnativeService(String name) throws IOException {
+        try {
+            return client.adapt(KnativeClient.class).services().inNamespace(getNamespace()).withName(name).get();
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
     @Override
     public String getServiceYAML(String name) throws IOException {
-        return ExecHelper.execute(knCommand, envVars, "service", "describe", name, "-o", "yaml", "-n", getNamespace());
+        return ExecHelper.execute(knCommand, getEnvVars(), "service", "describe", name, "-o", "yaml", "-n", getNamespace());
     }
 
     @Override
     public String getRevisionYAML(String name) throws IOException {
-        return ExecHelper.execute(knCommand, envVars, "revision", "describe", name, "-o", "yaml", "-n", getNamespace());
+        return ExecHelper.execute(knCommand, getEnvVars(), "revision", "describe", name, "-o", "yaml", "-n", getNamespace());
     }
 
     @Override
     public void deleteServices(List<String> services) throws IOException {
-        ExecHelper.execute(knCommand, envVars, getDeleteArgs("service", services));
+        ExecHelper.execute(knCommand, getEnvVars(), getDeleteArgs("service", services));
     }
 
     @Override
     public void deleteRevisions(List<String> revisions) throws IOException {
-        ExecHelper.execute(knCommand, envVars, getDeleteArgs("revision", revisions));
+        ExecHelper.execute(knCommand, getEnvVars(), getDeleteArgs("revision", revisions));
     }
 
     @Override
     public void deleteFunctions(List<String> functions) throws IOException {
         for (String function: functions) {
-            ExecHelper.execute(funcCommand, envVars, "delete", function, "-n", getNamespace());
+            ExecHelper.execute(funcCommand, getEnvVars(), "delete", function, "-n", getNamespace());
         }
     }
 
@@ -264,6 +310,49 @@ public class KnCli implements Kn {
         }
     }
 
+    @Override
+    public GenericKubernetesResource patchCustomResource(String name, CustomResourceDefinitionContext crdContext, String patch) throws IOException {
+        try {
+            if (crdContext.getScope().equalsIgnoreCase(Scope.NAMESPACED.value())) {
+                return client.genericKubernetesResources(crdContext).inNamespace(getNamespace()).withName(name)
+                        .patch(PatchContext.of(PatchType.JSON_MERGE), patch);
+            } else {
+                return client.genericKubernetesResources(crdContext).withName(name)
+                        .patch(PatchContext.of(PatchType.JSON_MERGE), patch);
+            }
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void dryRunPatchCustomResource(String name, CustomResourceDefinitionContext crdContext, String patch) throws IOException {
+        try {
+            if (crdContext.getScope().equalsIgnoreCase(Scope.NAMESPACED.value())) {
+                client.genericKubernetesResources(crdContext).inNamespace(getNamespace()).withName(name).dryRun()
+                        .patch(PatchContext.of(PatchType.JSON_MERGE), patch);
+            } else {
+                client.genericKubernetesResources(crdContext).withName(name).dryRun()
+                        .patch(PatchContext.of(PatchType.JSON_MERGE), patch);
+            }
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void dryRunCreateCustomResource(CustomResourceDefinitionContext crdContext, GenericKubernetesResource resource) throws IOException {
+        try {
+            if (crdContext.getScope().equalsIgnoreCase(Scope.NAMESPACED.value())) {
+                client.genericKubernetesResources(crdContext).inNamespace(getNamespace()).resource(resource).dryRun().create();
+            } else {
+                client.genericKubernetesResources(crdContext).resource(resource).dryRun().create();
+            }
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
     @Override
     public void createCustomResource(CustomResourceDefinitionContext crdContext, String json) throws IOException {
         try {
@@ -292,7 +381,7 @@ public class KnCli implements Kn {
 
     @Override
     public List<Source> getSources() throws IOException {
-        ExecHelper.ExecResult result = ExecHelper.executeWithResult(knCommand, envVars, "source", "list", "-o", "json");
+        ExecHelper.ExecResult result = ExecHelper.executeWithResult(knCommand, getEnvVars(), "source", "list", "-o", "json");
 
         if (result.getStdOut().startsWith("No sources found.")) {
             return Collections.emptyList();
@@ -300,25 +389,53 @@ public class KnCli implements Kn {
         return getCustomCollectionFromItemsField(result.getStdOut(), Source.class);
     }
 
-    private <T> List<T> getCustomCollectionFromItemsField(String json, Class<T> customClass) throws IOException {
+    static <T> List<T> getCustomCollectionFromItemsField(String json, Class<T> customClass) throws IOException {
         if (!JSON_MAPPER.readTree(json).has("items")) return Collections.emptyList();
         if (JSON_MAPPER.readTree(json).get("items").isNull()) return Collections.emptyList();
 
         return getCollection(JSON_MAPPER.readTree(json).get("items").toString(), customClass);
     }
 
-    private <T> List<T> getCustomCollection(String json, Class<T> customClass) throws IOException {
+    static <T> List<T> getCustomCollection(String json, Class<T> customClass) throws IOException {
         return getCollection(JSON_MAPPER.readTree(json).toString(), customClass);
     }
 
-    private <T> List<T> getCollection(String json, Class<T> customClass) throws IOException {
+    private static <T> List<T> getCollection(String json, Class<T> customClass) throws IOException {
         JavaType customClassCollection = JSON_MAPPER.getTypeFactory().constructCollectionType(List.class, customClass);
         return JSON_MAPPER.readValue(json, customClassCollection);
     }
 
     @Override
     public void tagRevision(String service, String revision, String tag) throws IOException {
-        ExecHelper.execute(knCommand, envVars, "service", "update", service, "--tag", revision + "=" + tag);
+        ExecHelper.execute(knCommand, getEnvVars(), "service", "update", service, "--tag", revision + "=" + tag);
+    }
+
+    @Override
+    public void updateTraffic(String service, List<ServiceTraffic> traffic, List<String> untag) throws IOException {
+        List<String> args = new ArrayList<>(Arrays.asList("service", "update", service, "-n", getNamespace()));
+        untag.forEach(tag -> args.addAll(Arrays.asList("--untag", tag)));
+        for (ServiceTraffic target : traffic) {
+            String ref = target.getRevisionName();
+            if (target.getLatestRevision()) {
+                ref = "@latest";
+            } else if (!Strings.isNullOrEmpty(target.getTag())) {
+                // kn applies tags before traffic, the traffic can then refer to the tag
+                args.addAll(Arrays.asList("--tag", target.getRevisionName() + "=" + target.getTag()));
+                ref = target.getTag();
+            }
+            args.addAll(Arrays.asList("--traffic", ref + "=" + target.getPercent()));
+        }
+        ExecHelper.execute(knCommand, getEnvVars(), args.toArray(new String[0]));
+    }
+
+    @Override
+    public void patchService(String name, String patch) throws IOException {
+        try {
+            client.adapt(KnativeClient.class).services().inNamespace(getNamespace()).withName(name)
+                    .patch(PatchContext.of(PatchType.JSON_MERGE), patch);
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
     }
 
     @Override
@@ -338,14 +455,14 @@ public class KnCli implements Kn {
 
     @Override
     public void createFunc(CreateFuncModel model) throws IOException {
-        ExecHelper.execute(funcCommand, envVars, "create", model.getPath(), "-l", model.getRuntime(), "-t", model.getTemplate(), "-n", getNamespace());
+        ExecHelper.execute(funcCommand, getEnvVars(), "create", model.getPath(), "-l", model.getRuntime(), "-t", model.getTemplate(), "-n", getNamespace());
     }
 
     @Override
     public void buildFunc(String path, ImageRegistryModel model, ConsoleView terminalExecutionConsole,
                           java.util.function.Function<ProcessHandlerInput, ExecProcessHandler> processHandlerFunction,
                           ProcessListener processListener) throws IOException {
-        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, envVars, terminalExecutionConsole,
+        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, getEnvVars(), terminalExecutionConsole,
                 processHandlerFunction, processListener, getBuildDeployArgs("build", "", path, model, null, true));
     }
 
@@ -354,13 +471,13 @@ public class KnCli implements Kn {
         String[] args = getBuildDeployArgs("deploy", namespace, path, model, null, true);
         List<String> argsList = new ArrayList<>(Arrays.asList(args));
         argsList.addAll(Arrays.asList("--build", "false"));
-        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, envVars, terminalExecutionConsole, processListener, argsList.toArray(new String[0]));
+        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, getEnvVars(), terminalExecutionConsole, processListener, argsList.toArray(new String[0]));
     }
 
     @Override
     public void onClusterBuildFunc(String namespace, String path, GitRepoModel repoModel, ImageRegistryModel model, ConsoleView terminalExecutionConsole, ProcessListener processListener) throws IOException {
         String[] args = getBuildDeployArgs("deploy", namespace, path, model, repoModel, true);
-        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, envVars, terminalExecutionConsole, processListener, args);
+        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, getEnvVars(), terminalExecutionConsole, processListener, args);
     }
 
     private String[] getBuildDeployArgs(String command, String namespace, String path, ImageRegistryModel model, GitRepoModel repoModel, boolean verbose) {
@@ -395,9 +512,10 @@ public class KnCli implements Kn {
 
     @Override
     public String invokeFunc(InvokeModel model) throws IOException {
-        String json = ExecHelper.execute(funcCommand, envVars, getInvokeArgs(model));
-        if (json != null && JSON_MAPPER.readTree(json).has("ID")) {
-            return JSON_MAPPER.readTree(json).get("ID").asText();
+        String json = ExecHelper.execute(funcCommand, getEnvVars(), getInvokeArgs(model));
+        JsonNode result = json == null ? null : JSON_MAPPER.readTree(json);
+        if (result != null && result.has("ID")) {
+            return result.get("ID").asText();
         }
         throw new IOException("Failed to retrieve invoke execution ID. Invocation didn't complete successfully");
     }
@@ -443,27 +561,27 @@ public class KnCli implements Kn {
     public void runFunc(String path, ConsoleView terminalExecutionConsole,
                         java.util.function.Function<ProcessHandlerInput, ExecProcessHandler> processHandlerFunction,
                         ProcessListener processListener) throws IOException {
-        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, envVars, terminalExecutionConsole, processHandlerFunction, processListener, funcCommand, "run", "-p", path, "-b=false");
+        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, getEnvVars(), terminalExecutionConsole, processHandlerFunction, processListener, funcCommand, "run", "-p", path, "-b=false");
     }
 
     @Override
     public void addRepo(Repository repository) throws IOException {
-        ExecHelper.execute(funcCommand, envVars, "repository", "add", repository.getName(), repository.getUrl(), "-n", getNamespace());
+        ExecHelper.execute(funcCommand, getEnvVars(), "repository", "add", repository.getName(), repository.getUrl(), "-n", getNamespace());
     }
 
     @Override
     public void renameRepo(Repository repository) throws IOException {
-        ExecHelper.execute(funcCommand, envVars, "repository", "rename", repository.getAttribute(NATIVE_NAME), repository.getName(), "-n", getNamespace());
+        ExecHelper.execute(funcCommand, getEnvVars(), "repository", "rename", repository.getAttribute(NATIVE_NAME), repository.getName(), "-n", getNamespace());
     }
 
     @Override
     public void removeRepo(Repository repository) throws IOException {
-        ExecHelper.execute(funcCommand, envVars, "repository", "remove", repository.getName(), "-n", getNamespace());
+        ExecHelper.execute(funcCommand, getEnvVars(), "repository", "remove", repository.getName(), "-n", getNamespace());
     }
 
     @Override
     public List<Repository> getRepos() throws IOException {
-        String list = ExecHelper.execute(funcCommand, envVars, "repository", "list", "-v");
+        String list = ExecHelper.execute(funcCommand, getEnvVars(), "repository", "list", "-v");
         return Arrays.stream(list.split("\n"))
                 .filter(row -> !row.trim().equalsIgnoreCase("default") && !row.trim().isEmpty())
                 .map(row -> {
@@ -479,27 +597,27 @@ public class KnCli implements Kn {
 
     @Override
     public void addEnv(String path) throws IOException {
-        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, envVars,funcCommand, "config", "envs", "add", "-p", path);
+        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, getEnvVars(),funcCommand, "config", "envs", "add", "-p", path);
     }
 
     @Override
     public void removeEnv(String path) throws IOException {
-        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, envVars,funcCommand, "config", "envs", "remove", "-p", path);
+        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, getEnvVars(),funcCommand, "config", "envs", "remove", "-p", path);
     }
 
     @Override
     public void addVolume(String path) throws IOException {
-        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, envVars,funcCommand, "config", "volumes", "add", "-p", path);
+        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, getEnvVars(),funcCommand, "config", "volumes", "add", "-p", path);
     }
 
     @Override
     public void removeVolume(String path) throws IOException {
-        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, envVars,funcCommand, "config", "volumes", "remove", "-p", path);
+        ExecHelper.executeWithTerminal(project, KNATIVE_TOOL_WINDOW_ID, getEnvVars(),funcCommand, "config", "volumes", "remove", "-p", path);
     }
 
     @Override
     public Map<String, List<String>> getFuncTemplates() throws IOException {
-        String list = ExecHelper.execute(funcCommand, envVars, "templates", "--json", "-n", getNamespace());
+        String list = ExecHelper.execute(funcCommand, getEnvVars(), "templates", "--json", "-n", getNamespace());
         return JSON_MAPPER.readValue(list, Map.class);
     }
 
@@ -513,6 +631,95 @@ public class KnCli implements Kn {
         }
     }
 
+    @Override
+    public List<Pod> getRevisionPods(String revision) throws IOException {
+        try {
+            return client.pods().inNamespace(getNamespace()).withLabel(REVISION_LABEL, revision).list().getItems();
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public Watch watchRevisionPods(String revision, Watcher<Pod> watcher) throws IOException {
+        try {
+            return client.pods().inNamespace(getNamespace()).withLabel(REVISION_LABEL, revision).watch(watcher);
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public Watch watchCustomResource(String name, CustomResourceDefinitionContext crdContext, Watcher<GenericKubernetesResource> watcher) throws IOException {
+        try {
+            if (crdContext.getScope().equalsIgnoreCase(Scope.NAMESPACED.value())) {
+                return client.genericKubernetesResources(crdContext).inNamespace(getNamespace()).withName(name).watch(watcher);
+            } else {
+                return client.genericKubernetesResources(crdContext).withName(name).watch(watcher);
+            }
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public List<Event> getPodEvents(String pod) throws IOException {
+        try {
+            return client.v1().events().inNamespace(getNamespace())
+                    .withField("involvedObject.kind", "Pod")
+                    .withField("involvedObject.name", pod)
+                    .list().getItems();
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public boolean isMetricsServerAware() throws IOException {
+        if (!hasMetricsServer) {
+            try {
+                hasMetricsServer = client.rootPaths().getPaths().stream().anyMatch(path -> path.endsWith("metrics.k8s.io"));
+            } catch (KubernetesClientException e) {
+                throw new IOException(e);
+            }
+        }
+        return hasMetricsServer;
+    }
+
+    @Override
+    public List<PodMetrics> getRevisionPodMetrics(String revision) throws IOException {
+        try {
+            return client.top().pods().inNamespace(getNamespace())
+                    .withLabels(Collections.singletonMap(REVISION_LABEL, revision))
+                    .metrics().getItems();
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public String getQueueProxyMetrics(String pod) throws IOException {
+        try {
+            // the queue-proxy serves the autoscaler metrics on port 9090, reached through the API server pod proxy
+            return client.raw(URLUtils.join(client.getMasterUrl().toString(), "api", "v1", "namespaces",
+                    getNamespace(), "pods", pod + ":" + QUEUE_PROXY_METRICS_PORT, "proxy", "metrics"));
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public LogWatch watchPodLog(String pod, String container, int tailLines, OutputStream out) throws IOException {
+        try {
+            return client.pods().inNamespace(getNamespace()).withName(pod).inContainer(container)
+                    .usingTimestamps()
+                    .tailingLines(tailLines)
+                    .watchLog(out);
+        } catch (KubernetesClientException e) {
+            throw new IOException(e);
+        }
+    }
+
     @Override
     public CommonTerminalExecutionConsole createTerminalTabToReuse() {
         return ExecHelper.createTerminalTabForReuse(project, KNATIVE_TOOL_WINDOW_ID);
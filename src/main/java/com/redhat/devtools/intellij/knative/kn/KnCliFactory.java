@@ -11,16 +11,19 @@
 package com.redhat.devtools.intellij.knative.kn;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Pair;
 import com.redhat.devtools.intellij.common.utils.DownloadHelper;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.knative.telemetry.StartupTimer;
+import java.net.URL;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+/**
+ * Creates the kn clients of the projects. The kn and func binaries are resolved once and shared by all projects,
+ * each project gets its own client from its {@link KnSession}.
+ */
 public class KnCliFactory {
-    private static final Logger logger = LoggerFactory.getLogger(KnCliFactory.class);
     private static KnCliFactory INSTANCE;
-    private Project lastProject;
 
     public static KnCliFactory getInstance() {
         if (INSTANCE == null) {
@@ -29,35 +32,61 @@ public class KnCliFactory {
         return INSTANCE;
     }
 
-    private CompletableFuture<Kn> future;
+    private CompletableFuture<Pair<String, String>> commands;
 
     private KnCliFactory() {
     }
 
     public CompletableFuture<Kn> getKn(Project project) {
-        if (future == null) {
-            download(project);
-        } else {
-            future.whenComplete((kn, throwable) -> {
-                if (!lastProject.equals(project)) {
-                    download(project);
-                }
-            });
-        }
-        return future;
+        return KnSession.getInstance(project).getKn();
     }
 
-    private void download(Project project) {
-        lastProject = project;
-        CompletableFuture<String> knCompletableFuture = DownloadHelper.getInstance()
-                .downloadIfRequiredAsync("kn", KnCliFactory.class.getResource("/kn.json"));
-        CompletableFuture<String> funcCompletableFuture = DownloadHelper.getInstance()
-                .downloadIfRequiredAsync("func", KnCliFactory.class.getResource("/func.json"));
-        future = knCompletableFuture.thenCompose(knCommand ->
-                funcCompletableFuture.thenApply(funcCommand -> new KnCli(project, knCommand, funcCommand)));
+    public void resetKn(Project project) {
+        KnSession.getInstance(project).reset();
     }
 
-    public void resetKn() {
-        future = null;
+    CompletableFuture<Kn> createKn(Project project) {
+        return getCommands().thenApply(commands -> {
+            long clientStart = System.nanoTime();
+            Kn kn = new KnCli(project, commands.getFirst(), commands.getSecond());
+            StartupTimer.getInstance().record(StartupTimer.PHASE_CLIENT, clientStart);
+            return kn;
+        });
+    }
+
+    /**
+     * The kn and func commands, resolved again only if a previous resolution failed
+     */
+    private synchronized CompletableFuture<Pair<String, String>> getCommands() {
+        if (commands == null || commands.isCompletedExceptionally()) {
+            long start = System.nanoTime();
+            CompletableFuture<String> knCompletableFuture = resolve("kn", KnCliFactory.class.getResource("/kn.json"));
+            CompletableFuture<String> funcCompletableFuture = resolve("func", KnCliFactory.class.getResource("/func.json"));
+            commands = knCompletableFuture.thenCombine(funcCompletableFuture, (knCommand, funcCommand) -> {
+                StartupTimer.getInstance().record(StartupTimer.PHASE_BINARIES, start);
+                return Pair.create(knCommand, funcCommand);
+            });
+        }
+        return commands;
+    }
+
+    /**
+     * Use the binary verified by a previous start if it did not change, its checksum is checked in the background.
+     * Otherwise let the download helper probe its version, and download it if required.
+     */
+    private CompletableFuture<String> resolve(String tool, URL tools) {
+        ToolCache cache = ToolCache.getInstance();
+        String version = ToolCache.getRequiredVersion(tools, tool);
+        String command = cache.getCommand(tool, version);
+        if (command != null) {
+            ExecHelper.submit(() -> cache.verify(tool));
+            return CompletableFuture.completedFuture(command);
+        }
+        return DownloadHelper.getInstance().downloadIfRequiredAsync(tool, tools)
+                .whenComplete((resolved, throwable) -> {
+                    if (resolved != null && version != null) {
+                        ExecHelper.submit(() -> cache.store(tool, version, resolved));
+                    }
+                });
     }
 }
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.kn;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.redhat.devtools.intellij.knative.utils.WatchHandler;
+import com.redhat.devtools.intellij.knative.watch.ResourceEditorWatcher;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The kn client of a project. Each open project keeps its own client, namespace and watches, the kn and func
+ * binaries are resolved once for all projects by {@link KnCliFactory}.
+ */
+public class KnSession implements Disposable {
+    private final Project project;
+    private CompletableFuture<Kn> future;
+
+    public KnSession(Project project) {
+        this.project = project;
+    }
+
+    public static KnSession getInstance(Project project) {
+        return project.getService(KnSession.class);
+    }
+
+    public synchronized CompletableFuture<Kn> getKn() {
+        if (future == null) {
+            future = KnCliFactory.getInstance().createKn(project);
+        }
+        return future;
+    }
+
+    /**
+     * Drop the client of the project, a new one is created on next {@link #getKn()}.
+     */
+    public synchronized void reset() {
+        if (future != null) {
+            future.thenAccept(kn -> {
+                WatchHandler.dispose(kn);
+                ResourceEditorWatcher.dispose(kn);
+                kn.dispose();
+            });
+            future = null;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        reset();
+    }
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.kn;
+
+import com.google.common.hash.Hashing;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.okhttp.OkHttpClientFactory;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The kubernetes clients of the kn clients, one per cluster, user and namespace. Projects and reloads using the same
+ * context get the same client, and all clients share one pool of connections.
+ * A client no longer used by any kn client is closed once it has been idle for {@link #IDLE_TIMEOUT_MINUTES}.
+ */
+public class KubernetesClientRegistry implements Disposable {
+    private static final Logger logger = LoggerFactory.getLogger(KubernetesClientRegistry.class);
+    static final long IDLE_TIMEOUT_MINUTES = 5;
+
+    private final Map<String, Entry> clients = new HashMap<>();
+    private final ConnectionPool connectionPool = new ConnectionPool();
+    private final OkHttpClientFactory httpClientFactory = new OkHttpClientFactory() {
+        @Override
+        protected void additionalConfig(OkHttpClient.Builder builder) {
+            builder.connectionPool(connectionPool);
+        }
+    };
+    private final ScheduledFuture<?> idleCheck;
+
+    private static class Entry {
+        private final KubernetesClient client;
+        private int leases;
+        private long lastReleased;
+
+        private Entry(KubernetesClient client) {
+            this.client = client;
+        }
+    }
+
+    public KubernetesClientRegistry() {
+        this.idleCheck = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(
+                () -> closeIdle(System.currentTimeMillis()), 1, 1, TimeUnit.MINUTES);
+    }
+
+    public static KubernetesClientRegistry getInstance() {
+        return ApplicationManager.getApplication().getService(KubernetesClientRegistry.class);
+    }
+
+    /**
+     * @return the client of the current kubeconfig context, to be given back with {@link #release(KubernetesClient)}
+     */
+    public KubernetesClient acquire() {
+        return acquire(new ConfigBuilder().build());
+    }
+
+    public synchronized KubernetesClient acquire(Config config) {
+        Entry entry = clients.computeIfAbsent(getKey(config), key -> new Entry(new KubernetesClientBuilder()
+                .withConfig(config)
+                .withHttpClientFactory(httpClientFactory)
+                .build()));
+        entry.leases++;
+        return entry.client;
+    }
+
+    /**
+     * @param client a client given by {@link #acquire()}, not to be used after this call
+     */
+    public synchronized void release(KubernetesClient client) {
+        for (Entry entry : clients.values()) {
+            if (entry.client == client && entry.leases > 0) {
+                entry.leases--;
+                entry.lastReleased = System.currentTimeMillis();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the number of clients, clients in use and connections of the pool
+     */
+    public synchronized Stats getStats() {
+        int leased = (int) clients.values().stream().filter(entry -> entry.leases > 0).count();
+        return new Stats(clients.size(), leased, connectionPool.connectionCount(), connectionPool.idleConnectionCount());
+    }
+
+    synchronized void closeIdle(long now) {
+        Iterator<Entry> entries = clients.values().iterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.next();
+            if (entry.leases == 0 && now - entry.lastReleased >= TimeUnit.MINUTES.toMillis(IDLE_TIMEOUT_MINUTES)) {
+                entries.remove();
+                entry.client.close();
+            }
+        }
+        logger.debug("Kubernetes clients: " + getStats());
+    }
+
+    private static String getKey(Config config) {
+        String user = config.getCurrentContext() == null ? config.getUsername() : config.getCurrentContext().getContext().getUser();
+        // a new login to the same context gets a new client
+        String credentials = Hashing.sha256().hashString(String.join("\n",
+                String.valueOf(config.getOauthToken()),
+                String.valueOf(config.getPassword()),
+                String.valueOf(config.getClientCertData()),
+                String.valueOf(config.getClientCertFile()),
+                String.valueOf(config.getClientKeyData()),
+                String.valueOf(config.getClientKeyFile())), StandardCharsets.UTF_8).toString();
+        return String.join("|", config.getMasterUrl(), String.valueOf(user), String.valueOf(config.getNamespace()), credentials);
+    }
+
+    @Override
+    public synchronized void dispose() {
+        idleCheck.cancel(false);
+        clients.values().forEach(entry -> entry.client.close());
+        clients.clear();
+        connectionPool.evictAll();
+    }
+
+    public static class Stats {
+        private final int clients, leasedClients, connections, idleConnections;
+
+        Stats(int clients, int leasedClients, int connections, int idleConnections) {
+            this.clients = clients;
+            this.leasedClients = leasedClients;
+            this.connections = connections;
+            this.idleConnections = idleConnections;
+        }
+
+        public int getClients() {
+            return clients;
+        }
+
+        public int getLeasedClients() {
+            return leasedClients;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public int getIdleConnections() {
+            return idleConnections;
+        }
+
+        @Override
+        public String toString() {
+            return clients + " clients (" + leasedClients + " in use), "
+                    + connections + " connections (" + idleConnections + " idle)";
+        }
+    }
+}
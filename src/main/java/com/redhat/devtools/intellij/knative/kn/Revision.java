@@ -10,8 +10,10 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.knative.kn;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
@@ -28,11 +30,19 @@ public class Revision {
     @NotNull
     private Map<String, String> labels;
 
+    @Nullable
+    private JsonNode resource;
+
     public Revision(String name, List<StatusCondition> conditions, @NotNull Map<String, String> annotations, @NotNull Map<String, String> labels) {
+        this(name, conditions, annotations, labels, null);
+    }
+
+    public Revision(String name, List<StatusCondition> conditions, @NotNull Map<String, String> annotations, @NotNull Map<String, String> labels, @Nullable JsonNode resource) {
         this.name = name;
         this.conditions = conditions;
         this.annotations = annotations;
         this.labels = labels;
+        this.resource = resource;
     }
 
     public String getName() {
@@ -62,4 +72,12 @@ public class Revision {
     public Map<String, String> getLabels() {
         return labels;
     }
+
+    /**
+     * @return the revision as returned by the cluster, null if unknown
+     */
+    @Nullable
+    public JsonNode getResource() {
+        return resource;
+    }
 }
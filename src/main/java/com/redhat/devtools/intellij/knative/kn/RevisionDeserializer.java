@@ -28,6 +28,6 @@ public class RevisionDeserializer extends StdNodeBasedDeserializer<Revision> {
         List<StatusCondition> conditions = DeserializerUtil.getConvertToConditions(root.get("status").get("conditions"));
         Map<String, String> annotations = DeserializerUtil.getStringMap(root.get("metadata").get("annotations"));
         Map<String, String> labels = DeserializerUtil.getStringMap(root.get("metadata").get("labels"));
-        return new Revision(name, conditions, annotations, labels);
+        return new Revision(name, conditions, annotations, labels, root);
     }
 }
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.knative.kn;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.jetbrains.annotations.Nullable;
 
@@ -19,10 +20,17 @@ public class Service {
     private final String name;
     @Nullable
     private final ServiceStatus status;
+    @Nullable
+    private final JsonNode resource;
 
     public Service(String name, @Nullable ServiceStatus status) {
+        this(name, status, null);
+    }
+
+    public Service(String name, @Nullable ServiceStatus status, @Nullable JsonNode resource) {
         this.name = name;
         this.status = status;
+        this.resource = resource;
     }
 
     public String getName() {
@@ -33,4 +41,12 @@ public class Service {
     public ServiceStatus getStatus() {
         return status;
     }
+
+    /**
+     * @return the service as returned by the cluster, null if unknown
+     */
+    @Nullable
+    public JsonNode getResource() {
+        return resource;
+    }
 }
@@ -31,7 +31,7 @@ public class ServiceDeserializer extends StdNodeBasedDeserializer<Service> {
         JsonNode jsonStatus = root.get("status");
         ServiceStatus status = convertToStatus(jsonStatus);
 
-        return new Service(name, status);
+        return new Service(name, status, root);
     }
 
     @Nullable
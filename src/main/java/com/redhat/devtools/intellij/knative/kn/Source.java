@@ -10,7 +10,9 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.knative.kn;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.jetbrains.annotations.Nullable;
 
 @JsonDeserialize(using = SourceDeserializer.class)
 public class Source {
@@ -18,11 +20,18 @@ public class Source {
     private final String name;
     private final String kind;
     private final BaseSource sinkSource;
+    @Nullable
+    private final JsonNode resource;
 
     public Source(String name, String kind, BaseSource sinkSource) {
+        this(name, kind, sinkSource, null);
+    }
+
+    public Source(String name, String kind, BaseSource sinkSource, @Nullable JsonNode resource) {
         this.name = name;
         this.kind = kind;
         this.sinkSource = sinkSource;
+        this.resource = resource;
     }
 
     public String getName() {
@@ -36,4 +45,12 @@ public class Source {
     public BaseSource getSinkSource() {
         return sinkSource;
     }
+
+    /**
+     * @return the source as returned by the cluster, null if unknown
+     */
+    @Nullable
+    public JsonNode getResource() {
+        return resource;
+    }
 }
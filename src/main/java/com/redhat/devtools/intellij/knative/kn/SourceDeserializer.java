@@ -27,7 +27,7 @@ public class SourceDeserializer extends StdNodeBasedDeserializer<Source> {
         String name = root.get("metadata").get("name").asText();
         String kind = root.get("kind").asText();
         BaseSource sinkSource = getSinkSource(root, name, kind);
-        return new Source(name, kind, sinkSource);
+        return new Source(name, kind, sinkSource, root);
     }
 
     @Nullable
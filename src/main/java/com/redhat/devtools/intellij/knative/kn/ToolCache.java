@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.kn;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The kn and func binaries verified by a previous start of the IDE. As long as a binary is unchanged, its version
+ * does not need to be probed again by running it.
+ */
+@State(
+        name = "com.redhat.devtools.intellij.knative.kn.ToolCache",
+        storages = {@Storage("KnativeTools.xml")}
+)
+public class ToolCache implements PersistentStateComponent<ToolCache> {
+    private static final Logger logger = LoggerFactory.getLogger(ToolCache.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public Map<String, Tool> tools = new ConcurrentHashMap<>();
+
+    public static class Tool {
+        public String version;
+        public String path;
+        public long size;
+        public long lastModified;
+        public String sha256;
+    }
+
+    public static ToolCache getInstance() {
+        return ApplicationManager.getApplication().getService(ToolCache.class);
+    }
+
+    /**
+     * @param tool    the tool name, e.g. kn
+     * @param version the version the plugin requires
+     * @return the path of the verified binary of the tool, null if it was not verified or changed since
+     */
+    public String getCommand(String tool, String version) {
+        Tool cached = tools.get(tool);
+        if (cached == null || version == null || !version.equals(cached.version) || cached.path == null) {
+            return null;
+        }
+        File file = new File(cached.path);
+        if (!file.isFile() || file.length() != cached.size || file.lastModified() != cached.lastModified) {
+            return null;
+        }
+        return cached.path;
+    }
+
+    /**
+     * Record a binary verified by the download helper.
+     *
+     * @param tool    the tool name
+     * @param version the version the plugin requires
+     * @param command the command returned by the download helper, a path or a command in the PATH
+     */
+    public void store(String tool, String version, String command) {
+        File file = findExecutable(command);
+        if (file == null) {
+            tools.remove(tool);
+            return;
+        }
+        try {
+            Tool verified = new Tool();
+            verified.version = version;
+            verified.path = file.getAbsolutePath();
+            verified.size = file.length();
+            verified.lastModified = file.lastModified();
+            verified.sha256 = hash(file);
+            tools.put(tool, verified);
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+            tools.remove(tool);
+        }
+    }
+
+    /**
+     * Check the checksum of a cached binary, the cache entry is removed if it does not match.
+     *
+     * @param tool the tool name
+     * @return true if the binary still has the checksum it had when it was verified
+     */
+    public boolean verify(String tool) {
+        Tool cached = tools.get(tool);
+        if (cached == null) {
+            return false;
+        }
+        try {
+            if (cached.sha256 != null && cached.sha256.equals(hash(new File(cached.path)))) {
+                return true;
+            }
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+        }
+        logger.warn("The binary of " + tool + " at " + cached.path + " changed since it was verified, it will be verified again on next start");
+        tools.remove(tool, cached);
+        return false;
+    }
+
+    /**
+     * @param tools the json describing the tools to download
+     * @param tool  the tool name
+     * @return the version of the tool required by the plugin, null if not found
+     */
+    public static String getRequiredVersion(URL tools, String tool) {
+        try {
+            return MAPPER.readTree(tools).path("tools").path(tool).path("version").asText(null);
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+            return null;
+        }
+    }
+
+    static File findExecutable(String command) {
+        if (command == null || command.isEmpty()) {
+            return null;
+        }
+        File file = new File(command);
+        if (file.isAbsolute()) {
+            return file.isFile() ? file : null;
+        }
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return null;
+        }
+        for (String dir : path.split(File.pathSeparator)) {
+            for (String name : new String[] { command, command + ".exe" }) {
+                File candidate = new File(dir, name);
+                if (candidate.isFile() && candidate.canExecute()) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String hash(File file) throws IOException {
+        return Files.asByteSource(file).hash(Hashing.sha256()).toString();
+    }
+
+    @Nullable
+    @Override
+    public ToolCache getState() {
+        return this;
+    }
+
+    @Override
+    public void loadState(@NotNull ToolCache state) {
+        XmlSerializerUtil.copyBean(state, this);
+    }
+}
@@ -18,6 +18,7 @@ public class KnativeHighlightInfoFilter extends KubernetesHighlightInfoFilter {
     @Override
     public boolean isCustomFile(PsiFile file) {
         KubernetesTypeInfo info = KubernetesTypeInfo.extractMeta(file);
-        return info.getApiGroup().startsWith("serving.knative.dev");
+        return info.getApiGroup().startsWith("serving.knative.dev")
+                || info.getApiGroup().startsWith("eventing.knative.dev");
     }
 }
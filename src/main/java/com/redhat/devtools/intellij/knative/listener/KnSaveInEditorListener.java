@@ -14,11 +14,13 @@ import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationType;
 import com.intellij.notification.Notifications;
 import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.redhat.devtools.intellij.common.editor.SaveInEditorListener;
 import com.redhat.devtools.intellij.common.utils.YAMLHelper;
 import com.redhat.devtools.intellij.knative.tree.ParentableNode;
+import com.redhat.devtools.intellij.knative.utils.EditorHelper;
 import com.redhat.devtools.intellij.knative.utils.KnHelper;
 import com.redhat.devtools.intellij.knative.utils.TreeHelper;
 import java.io.IOException;
@@ -26,8 +28,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
+import static com.redhat.devtools.intellij.knative.Constants.CLUSTER_CONTENT_KEY;
 import static com.redhat.devtools.intellij.knative.Constants.KNATIVE;
 import static com.redhat.devtools.intellij.knative.Constants.NOTIFICATION_ID;
+import static com.redhat.devtools.intellij.knative.Constants.ORIGINAL_CONTENT_KEY;
 
 public class KnSaveInEditorListener extends SaveInEditorListener {
 
@@ -53,7 +57,14 @@ public class KnSaveInEditorListener extends SaveInEditorListener {
 
     protected boolean save(Document document, Project project) {
         try {
-            return KnHelper.saveOnCluster(project, document.getText(), false);
+            VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+            String original = file == null ? null : file.getUserData(ORIGINAL_CONTENT_KEY);
+            String saved = KnHelper.updateOnCluster(project, original, document.getText());
+            if (saved != null && file != null) {
+                file.putUserData(ORIGINAL_CONTENT_KEY, saved);
+                file.putUserData(CLUSTER_CONTENT_KEY, document.getText());
+            }
+            return saved != null;
         } catch (IOException e) {
             Notification notification = new Notification(NOTIFICATION_ID, "Error", "An error occurred while saving \n" + e.getLocalizedMessage(), NotificationType.ERROR);
             Notifications.Bus.notify(notification);
@@ -66,6 +77,11 @@ public class KnSaveInEditorListener extends SaveInEditorListener {
         if (vf == null || vf.getUserData(KNATIVE) == null || !vf.getUserData(KNATIVE).equalsIgnoreCase(NOTIFICATION_ID)) {
             return false;
         }
+        Document document = FileDocumentManager.getInstance().getCachedDocument(vf);
+        if (document != null && !EditorHelper.hasLocalChanges(vf, document)) {
+            // only updated with the content of the cluster, nothing to push
+            return false;
+        }
         return super.isFileToPush(project, vf);
     }
 }
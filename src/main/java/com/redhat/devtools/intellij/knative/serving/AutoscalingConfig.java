@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.knative.serving.v1.RevisionTemplateSpec;
+import io.fabric8.knative.serving.v1.Service;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Autoscaling settings of the revision template of a service.
+ * A value of 0 means the setting is not set and the cluster default applies.
+ */
+public class AutoscalingConfig {
+    public static final String TARGET_ANNOTATION = "autoscaling.knative.dev/target";
+    public static final String UTILIZATION_ANNOTATION = "autoscaling.knative.dev/target-utilization-percentage";
+    public static final String MIN_SCALE_ANNOTATION = "autoscaling.knative.dev/min-scale";
+    public static final String MAX_SCALE_ANNOTATION = "autoscaling.knative.dev/max-scale";
+    public static final int DEFAULT_TARGET = 100;
+    public static final int DEFAULT_UTILIZATION = 70;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private int target, utilization, minScale, maxScale, containerConcurrency;
+
+    public AutoscalingConfig(int target, int utilization, int minScale, int maxScale, int containerConcurrency) {
+        this.target = target;
+        this.utilization = utilization;
+        this.minScale = minScale;
+        this.maxScale = maxScale;
+        this.containerConcurrency = containerConcurrency;
+    }
+
+    public static AutoscalingConfig from(Service service) {
+        RevisionTemplateSpec template = service.getSpec() == null ? null : service.getSpec().getTemplate();
+        Map<String, String> annotations = template == null || template.getMetadata() == null
+                || template.getMetadata().getAnnotations() == null ?
+                Collections.emptyMap() : template.getMetadata().getAnnotations();
+        Long containerConcurrency = template == null || template.getSpec() == null ?
+                null : template.getSpec().getContainerConcurrency();
+        return new AutoscalingConfig(
+                parse(annotations.get(TARGET_ANNOTATION)),
+                parse(annotations.get(UTILIZATION_ANNOTATION)),
+                parse(annotations.get(MIN_SCALE_ANNOTATION)),
+                parse(annotations.get(MAX_SCALE_ANNOTATION)),
+                containerConcurrency == null ? 0 : containerConcurrency.intValue());
+    }
+
+    private static int parse(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return (int) Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    public void setTarget(int target) {
+        this.target = target;
+    }
+
+    public int getUtilization() {
+        return utilization;
+    }
+
+    public void setUtilization(int utilization) {
+        this.utilization = utilization;
+    }
+
+    public int getMinScale() {
+        return minScale;
+    }
+
+    public void setMinScale(int minScale) {
+        this.minScale = minScale;
+    }
+
+    public int getMaxScale() {
+        return maxScale;
+    }
+
+    public void setMaxScale(int maxScale) {
+        this.maxScale = maxScale;
+    }
+
+    public int getContainerConcurrency() {
+        return containerConcurrency;
+    }
+
+    public void setContainerConcurrency(int containerConcurrency) {
+        this.containerConcurrency = containerConcurrency;
+    }
+
+    /**
+     * @return the concurrency each pod is expected to handle before the autoscaler adds pods
+     */
+    public double getEffectiveTarget() {
+        int concurrency = target > 0 ? target : DEFAULT_TARGET;
+        if (containerConcurrency > 0) {
+            concurrency = Math.min(concurrency, containerConcurrency);
+        }
+        return concurrency * (utilization > 0 ? utilization : DEFAULT_UTILIZATION) / 100.0;
+    }
+
+    /**
+     * @return the validation error, null if the settings are valid
+     */
+    public String validate() {
+        if (target < 0 || minScale < 0 || maxScale < 0 || containerConcurrency < 0) {
+            return "Values must be positive";
+        }
+        if (utilization < 0 || utilization > 100) {
+            return "Target utilization must be between 1 and 100";
+        }
+        if (maxScale > 0 && minScale > maxScale) {
+            return "Min scale must not be greater than max scale";
+        }
+        if (containerConcurrency > 0 && target > containerConcurrency) {
+            return "Target must not be greater than the container concurrency";
+        }
+        if (containerConcurrency > 1000) {
+            return "Container concurrency must not be greater than 1000";
+        }
+        return null;
+    }
+
+    /**
+     * Build a JSON merge patch applying all the changed settings at once. Settings reset to 0 are removed
+     * from the template.
+     *
+     * @param original the settings currently in the service
+     * @return the patch, null if nothing changed
+     */
+    public String toMergePatch(AutoscalingConfig original) {
+        ObjectNode patch = MAPPER.createObjectNode();
+        ObjectNode template = patch.putObject("spec").putObject("template");
+        ObjectNode annotations = MAPPER.createObjectNode();
+        putAnnotation(annotations, TARGET_ANNOTATION, target, original.target);
+        putAnnotation(annotations, UTILIZATION_ANNOTATION, utilization, original.utilization);
+        putAnnotation(annotations, MIN_SCALE_ANNOTATION, minScale, original.minScale);
+        putAnnotation(annotations, MAX_SCALE_ANNOTATION, maxScale, original.maxScale);
+        if (!annotations.isEmpty()) {
+            template.putObject("metadata").set("annotations", annotations);
+        }
+        if (containerConcurrency != original.containerConcurrency) {
+            template.putObject("spec").put("containerConcurrency", containerConcurrency);
+        }
+        return template.isEmpty() ? null : patch.toString();
+    }
+
+    private void putAnnotation(ObjectNode annotations, String key, int value, int original) {
+        if (value == original) {
+            return;
+        }
+        if (value == 0) {
+            annotations.putNull(key);
+        } else {
+            annotations.put(key, String.valueOf(value));
+        }
+    }
+}
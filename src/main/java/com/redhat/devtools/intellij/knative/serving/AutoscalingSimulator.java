@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+/**
+ * Steady state estimation of the Knative Pod Autoscaler for a constant load.
+ * The in-flight requests are derived from Little's law, the pods from the effective concurrency target and
+ * the scale bounds. When the container concurrency is limited, each pod is modelled as an M/M/c queue
+ * with c = container concurrency to estimate the time spent waiting in the queue-proxy.
+ */
+public class AutoscalingSimulator {
+
+    private AutoscalingSimulator() {
+    }
+
+    /**
+     * @param config    the autoscaling settings
+     * @param rate      requests per second
+     * @param latencyMs processing time of a request in ms
+     * @return the estimation
+     */
+    public static Result simulate(AutoscalingConfig config, double rate, double latencyMs) {
+        double concurrency = rate * latencyMs / 1000;
+        int pods = (int) Math.ceil(concurrency / config.getEffectiveTarget());
+        pods = Math.max(pods, config.getMinScale());
+        if (config.getMaxScale() > 0) {
+            pods = Math.min(pods, config.getMaxScale());
+        }
+        if (pods == 0) {
+            return new Result(0, 0, 0, rate > 0);
+        }
+        double concurrencyPerPod = concurrency / pods;
+        if (config.getContainerConcurrency() == 0) {
+            // no hard limit, requests are never queued by the queue-proxy
+            return new Result(pods, concurrencyPerPod, 0, false);
+        }
+        int servers = config.getContainerConcurrency();
+        double utilization = concurrencyPerPod / servers;
+        if (utilization >= 1) {
+            return new Result(pods, concurrencyPerPod, Double.POSITIVE_INFINITY, true);
+        }
+        double serviceRate = 1000 / latencyMs;
+        double podRate = rate / pods;
+        double waiting = erlangC(servers, concurrencyPerPod) / (servers * serviceRate - podRate);
+        return new Result(pods, concurrencyPerPod, waiting * 1000, false);
+    }
+
+    /**
+     * @param servers number of servers
+     * @param load    offered load in erlangs, must be lower than servers
+     * @return the probability that a request has to wait
+     */
+    static double erlangC(int servers, double load) {
+        // Erlang B recursion is numerically stable for large numbers of servers
+        double erlangB = 1;
+        for (int k = 1; k <= servers; k++) {
+            erlangB = load * erlangB / (k + load * erlangB);
+        }
+        double utilization = load / servers;
+        return erlangB / (1 - utilization * (1 - erlangB));
+    }
+
+    public static class Result {
+        private final int pods;
+        private final double concurrencyPerPod;
+        private final double queueingLatency;
+        private final boolean saturated;
+
+        Result(int pods, double concurrencyPerPod, double queueingLatency, boolean saturated) {
+            this.pods = pods;
+            this.concurrencyPerPod = concurrencyPerPod;
+            this.queueingLatency = queueingLatency;
+            this.saturated = saturated;
+        }
+
+        public int getPods() {
+            return pods;
+        }
+
+        public double getConcurrencyPerPod() {
+            return concurrencyPerPod;
+        }
+
+        /**
+         * @return the average time in ms a request waits before being processed
+         */
+        public double getQueueingLatency() {
+            return queueingLatency;
+        }
+
+        /**
+         * @return true if the pods cannot keep up with the load, the queue grows without limit
+         */
+        public boolean isSaturated() {
+            return saturated;
+        }
+
+        @Override
+        public String toString() {
+            if (pods == 0) {
+                return saturated ? "0 pods, requests wait for a cold start" : "0 pods (scaled to zero)";
+            }
+            String summary = pods + " pod" + (pods > 1 ? "s" : "") + ", "
+                    + String.format("%.1f", concurrencyPerPod) + " in-flight requests per pod, ";
+            if (saturated) {
+                return summary + "saturated: the queue grows without limit";
+            }
+            return summary + String.format("%.1f", queueingLatency) + " ms queueing";
+        }
+    }
+}
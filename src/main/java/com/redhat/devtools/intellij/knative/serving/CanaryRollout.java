@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.google.common.base.Strings;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.kn.KnConstants;
+import com.redhat.devtools.intellij.knative.kn.Revision;
+import com.redhat.devtools.intellij.knative.kn.ServiceStatus;
+import com.redhat.devtools.intellij.knative.kn.ServiceTraffic;
+import com.redhat.devtools.intellij.knative.utils.model.CanaryRolloutModel;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Progressively shift the traffic of a service from its previous revision to its latest ready revision.
+ * Both revisions are tagged so that each one can be probed through its own URL. At each step the latency and
+ * error rate of the latest revision are checked against the thresholds of the model and against the previous
+ * revision, all traffic is sent back to the previous revision as soon as a regression is detected.
+ */
+public class CanaryRollout {
+    // tags owned by the rollout, they are removed when it ends and must not clash with the tags set by users
+    public static final String CANARY_TAG = "rollout-canary";
+    public static final String STABLE_TAG = "rollout-stable";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration TAG_URL_TIMEOUT = Duration.ofSeconds(60);
+
+    public enum Outcome {PROMOTED, ROLLED_BACK, CANCELLED}
+
+    private final Kn kn;
+    private final HttpClient client;
+    private final CanaryRolloutModel model;
+    private final Consumer<String> log;
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+
+    public CanaryRollout(Kn kn, HttpClient client, CanaryRolloutModel model, Consumer<String> log) {
+        this.kn = kn;
+        this.client = client;
+        this.model = model;
+        this.log = log;
+    }
+
+    public Outcome run(String service) throws IOException {
+        ServiceStatus status = kn.getService(service).getStatus();
+        if (status == null || Strings.isNullOrEmpty(status.getLatestReadyRevisionName())) {
+            throw new IOException("Service " + service + " has no ready revision");
+        }
+        String latest = status.getLatestReadyRevisionName();
+        String previous = getPreviousRevision(service, status, latest);
+        log.accept("Rolling out " + latest + ", previous revision is " + previous);
+
+        Outcome outcome;
+        try {
+            outcome = rollOut(service, latest, previous);
+        } catch (IOException | RuntimeException e) {
+            // never leave the service with a split traffic, whatever interrupted the rollout
+            try {
+                rollback(service, previous);
+            } catch (IOException rollbackError) {
+                e.addSuppressed(rollbackError);
+                throw e;
+            }
+            if (cancelled.getCount() == 0) {
+                return Outcome.CANCELLED;
+            }
+            throw e;
+        }
+        if (outcome != Outcome.PROMOTED) {
+            rollback(service, previous);
+        }
+        return outcome;
+    }
+
+    private Outcome rollOut(String service, String latest, String previous) throws IOException {
+        for (int step : model.getSteps()) {
+            updateTraffic(service, Arrays.asList(
+                    new ServiceTraffic(STABLE_TAG, previous, null, false, 100 - step, null),
+                    new ServiceTraffic(CANARY_TAG, latest, null, false, step, null)));
+            Map<String, String> urls = waitForTagURLs(service);
+            log.accept("Step " + step + "%: " + latest + " receives " + step + "% of the traffic");
+            if (await(model.getStepInterval())) {
+                return Outcome.CANCELLED;
+            }
+
+            ProbeStats canary = probe(urls.get(CANARY_TAG));
+            ProbeStats stable = probe(urls.get(STABLE_TAG));
+            if (cancelled.getCount() == 0) {
+                return Outcome.CANCELLED;
+            }
+            log.accept("  " + latest + ": " + canary);
+            log.accept("  " + previous + ": " + stable);
+            String regression = evaluate(canary, stable, model);
+            if (regression != null) {
+                log.accept("Regression detected: " + regression);
+                return Outcome.ROLLED_BACK;
+            }
+        }
+
+        // traffic follows the latest revision again so that later deployments are served
+        updateTraffic(service, List.of(new ServiceTraffic(null, latest, null, true, 100, null)));
+        log.accept("Revision " + latest + " receives all the traffic");
+        return Outcome.PROMOTED;
+    }
+
+    public void cancel() {
+        cancelled.countDown();
+    }
+
+    private void rollback(String service, String previous) throws IOException {
+        updateTraffic(service, List.of(new ServiceTraffic(null, previous, null, false, 100, null)));
+        log.accept("Rolled back, revision " + previous + " receives all the traffic");
+    }
+
+    private void updateTraffic(String service, List<ServiceTraffic> traffic) throws IOException {
+        // the rollout tags are removed and set again at each step so kn never refuses to overwrite them,
+        // tags that do not belong to the rollout are left untouched
+        List<String> untag = new ArrayList<>();
+        ServiceStatus status = kn.getService(service).getStatus();
+        if (status != null && status.getTraffic() != null) {
+            status.getTraffic().stream()
+                    .map(ServiceTraffic::getTag)
+                    .filter(tag -> CANARY_TAG.equals(tag) || STABLE_TAG.equals(tag))
+                    .distinct()
+                    .forEach(untag::add);
+        }
+        kn.updateTraffic(service, traffic, untag);
+    }
+
+    private String getPreviousRevision(String service, ServiceStatus status, String latest) throws IOException {
+        // the revision currently serving most of the traffic, if traffic is pinned to revisions
+        Optional<ServiceTraffic> serving = status.getTraffic() == null ? Optional.empty() :
+                status.getTraffic().stream()
+                        .filter(traffic -> !latest.equals(traffic.getRevisionName()) && traffic.getPercent() > 0)
+                        .max(Comparator.comparingInt(ServiceTraffic::getPercent));
+        if (serving.isPresent()) {
+            return serving.get().getRevisionName();
+        }
+        // otherwise traffic follows the latest revision, use the revision created before it
+        Map<String, Long> generations = new HashMap<>();
+        for (Revision revision : kn.getRevisionsForService(service)) {
+            String generation = revision.getLabels().get(KnConstants.CONFIGURATION_GENERATION);
+            if (generation != null) {
+                generations.put(revision.getName(), Long.parseLong(generation));
+            }
+        }
+        Long latestGeneration = generations.get(latest);
+        return generations.entrySet().stream()
+                .filter(entry -> latestGeneration == null || entry.getValue() < latestGeneration)
+                .filter(entry -> !entry.getKey().equals(latest))
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElseThrow(() -> new IOException("Service " + service + " has no previous revision to roll out from"));
+    }
+
+    private Map<String, String> waitForTagURLs(String service) throws IOException {
+        long deadline = System.nanoTime() + TAG_URL_TIMEOUT.toNanos();
+        while (true) {
+            Map<String, String> urls = new HashMap<>();
+            ServiceStatus status = kn.getService(service).getStatus();
+            if (status != null && status.getTraffic() != null) {
+                status.getTraffic().stream()
+                        .filter(traffic -> traffic.getTag() != null && !Strings.isNullOrEmpty(traffic.getUrl()))
+                        .forEach(traffic -> urls.put(traffic.getTag(), traffic.getUrl()));
+            }
+            if (urls.containsKey(CANARY_TAG) && urls.containsKey(STABLE_TAG)) {
+                return urls;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IOException("Tagged URLs of service " + service + " are not available");
+            }
+            if (await(2)) {
+                throw new IOException("Rollout of service " + service + " has been cancelled");
+            }
+        }
+    }
+
+    /**
+     * @return true if the rollout has been cancelled while waiting
+     */
+    private boolean await(int seconds) {
+        try {
+            return cancelled.await(seconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    private ProbeStats probe(String url) {
+        List<Long> latencies = new ArrayList<>();
+        int errors = 0;
+        for (int i = 0; i < model.getProbeRequests() && cancelled.getCount() > 0; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET().build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 500) {
+                    errors++;
+                }
+            } catch (IOException e) {
+                errors++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return new ProbeStats(latencies, errors);
+    }
+
+    /**
+     * Compare the probes of the latest revision with the thresholds and the previous revision
+     *
+     * @param canary probes of the latest revision
+     * @param stable probes of the previous revision
+     * @param model  the rollout thresholds
+     * @return the regression found, null if there is none
+     */
+    static String evaluate(ProbeStats canary, ProbeStats stable, CanaryRolloutModel model) {
+        if (canary.getRequests() == 0) {
+            return "no probe could be sent to the latest revision";
+        }
+        if (canary.getErrorRate() > model.getMaxErrorRate()) {
+            return String.format("error rate %.1f%% is above %.1f%%", canary.getErrorRate(), model.getMaxErrorRate());
+        }
+        if (model.getMaxLatency() > 0 && canary.getP95() > model.getMaxLatency()) {
+            return "p95 latency " + canary.getP95() + " ms is above " + model.getMaxLatency() + " ms";
+        }
+        if (stable.getRequests() > 0 && stable.getP95() > 0
+                && canary.getP95() > stable.getP95() * model.getLatencyRegressionFactor()) {
+            return "p95 latency " + canary.getP95() + " ms is more than " + model.getLatencyRegressionFactor()
+                    + " times the previous revision p95 (" + stable.getP95() + " ms)";
+        }
+        return null;
+    }
+
+    static class ProbeStats {
+        private final int requests;
+        private final int errors;
+        private final long p95;
+
+        ProbeStats(List<Long> latencies, int errors) {
+            this.requests = latencies.size();
+            this.errors = errors;
+            List<Long> sorted = new ArrayList<>(latencies);
+            sorted.sort(Long::compare);
+            this.p95 = sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(sorted.size() * 0.95) - 1);
+        }
+
+        int getRequests() {
+            return requests;
+        }
+
+        double getErrorRate() {
+            return requests == 0 ? 0 : errors * 100.0 / requests;
+        }
+
+        long getP95() {
+            return p95;
+        }
+
+        @Override
+        public String toString() {
+            return requests + " requests, " + String.format("%.1f", getErrorRate()) + "% errors, p95 " + p95 + " ms";
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.intellij.openapi.project.Project;
+import com.redhat.devtools.intellij.knative.utils.JsonLinesLog;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Per-project log of the cold start probes, stored in the IDE system folder.
+ */
+public class ColdStartHistory {
+    private static final int MAX_RECORDS = 500;
+
+    private final JsonLinesLog<ColdStartResult> log;
+
+    public ColdStartHistory(Project project) {
+        this(JsonLinesLog.getSystemFile("coldstarts", project.getLocationHash()));
+    }
+
+    ColdStartHistory(Path file) {
+        this.log = new JsonLinesLog<>(file, ColdStartResult.class, MAX_RECORDS);
+    }
+
+    public static ColdStartHistory getInstance(Project project) {
+        return project.getService(ColdStartHistory.class);
+    }
+
+    public void record(ColdStartResult result) {
+        log.append(result);
+    }
+
+    /**
+     * @param service the service name
+     * @return the cold starts of the service grouped by revision, oldest revision first
+     */
+    public Map<String, List<ColdStartResult>> getColdStartsByRevision(String service) {
+        return log.getRecords().stream()
+                .filter(result -> service.equals(result.getService()) && result.isColdStart())
+                .collect(Collectors.groupingBy(ColdStartResult::getRevision, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    /**
+     * Build a report comparing the median cold start of each revision of the service.
+     *
+     * @param service the service name
+     * @return the report
+     */
+    public String compare(String service) {
+        StringBuilder report = new StringBuilder("Cold starts of " + service + " per revision (median):\n");
+        getColdStartsByRevision(service).forEach((revision, results) -> report.append("  ")
+                .append(revision).append(": ")
+                .append(median(results, ColdStartResult::getTotalLatency)).append(" ms total, ")
+                .append(median(results, ColdStartResult::getActivatorWait)).append(" ms activator, ")
+                .append(median(results, ColdStartResult::getScheduling)).append(" ms scheduling, ")
+                .append(median(results, ColdStartResult::getImagePull)).append(" ms image pull, ")
+                .append(median(results, ColdStartResult::getContainerReadiness)).append(" ms readiness (")
+                .append(results.size()).append(" probe").append(results.size() > 1 ? "s" : "").append(")\n"));
+        return report.toString();
+    }
+
+    static long median(List<ColdStartResult> results, ToLongFunction<ColdStartResult> phase) {
+        List<Long> values = new ArrayList<>();
+        results.forEach(result -> {
+            long value = phase.applyAsLong(result);
+            if (value >= 0) {
+                values.add(value);
+            }
+        });
+        if (values.isEmpty()) {
+            return -1;
+        }
+        values.sort(Long::compare);
+        return values.get(values.size() / 2);
+    }
+}
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.google.common.base.Strings;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import io.fabric8.knative.serving.v1.Service;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Measure the cold start of the latest ready revision of a service. The probe waits for the revision to be
+ * scaled to zero, sends a request and then breaks the latency down by using the status and the events
+ * of the pod that has been started to serve it.
+ */
+public class ColdStartProbe {
+    private static final Logger logger = LoggerFactory.getLogger(ColdStartProbe.class);
+    private static final String USER_CONTAINER = "user-container";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+
+    private final Kn kn;
+    private final HttpClient client;
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+
+    public ColdStartProbe(Kn kn, HttpClient client) {
+        this.kn = kn;
+        this.client = client;
+    }
+
+    /**
+     * Probe the cold start of the service
+     *
+     * @param name the service name
+     * @param scaleToZeroTimeout how long to wait for the revision to be scaled to zero
+     * @param status notified of the probe progress
+     * @return the result, null if the probe has been cancelled
+     * @throws IOException if the service is not ready or the revision is not scaled to zero in time
+     */
+    public ColdStartResult probe(String name, Duration scaleToZeroTimeout, Consumer<String> status) throws IOException {
+        Service service = kn.getKnativeService(name);
+        if (service == null || service.getStatus() == null
+                || Strings.isNullOrEmpty(service.getStatus().getUrl())
+                || Strings.isNullOrEmpty(service.getStatus().getLatestReadyRevisionName())) {
+            throw new IOException("Service " + name + " has no ready revision or URL");
+        }
+        String revision = service.getStatus().getLatestReadyRevisionName();
+        String url = service.getStatus().getUrl();
+
+        status.accept("Waiting for revision " + revision + " to scale to zero...");
+        if (!waitForZeroReadyPods(revision, scaleToZeroTimeout)) {
+            return null;
+        }
+        Set<String> existingPods = kn.getRevisionPods(revision).stream()
+                .map(pod -> pod.getMetadata().getName())
+                .collect(Collectors.toSet());
+
+        status.accept("Revision " + revision + " scaled to zero, sending a request to " + url);
+        ColdStartResult result = new ColdStartResult(name, revision);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            result.setStatus(response.statusCode());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        long totalLatency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Optional<Pod> newPod = kn.getRevisionPods(revision).stream()
+                .filter(pod -> !existingPods.contains(pod.getMetadata().getName()))
+                .min(Comparator.comparing((Pod pod) -> pod.getMetadata().getCreationTimestamp(),
+                        Comparator.nullsLast(Comparator.<String>naturalOrder())));
+        if (newPod.isPresent()) {
+            breakdown(result, newPod.get(), kn.getPodEvents(newPod.get().getMetadata().getName()), totalLatency);
+        } else {
+            result.setTotalLatency(totalLatency);
+        }
+        return result;
+    }
+
+    public void cancel() {
+        cancelled.countDown();
+    }
+
+    private boolean waitForZeroReadyPods(String revision, Duration timeout) throws IOException {
+        CountDownLatch scaledToZero = new CountDownLatch(1);
+        Map<String, Boolean> readiness = new ConcurrentHashMap<>();
+        Watch watch = kn.watchRevisionPods(revision, new Watcher<Pod>() {
+            @Override
+            public void eventReceived(Action action, Pod pod) {
+                if (action == Action.DELETED) {
+                    readiness.remove(pod.getMetadata().getName());
+                } else {
+                    readiness.put(pod.getMetadata().getName(), isReady(pod));
+                }
+                if (!readiness.containsValue(true)) {
+                    scaledToZero.countDown();
+                }
+            }
+
+            @Override
+            public void onClose(WatcherException e) {
+                logger.warn(e.getLocalizedMessage(), e);
+            }
+        });
+        try {
+            kn.getRevisionPods(revision).forEach(pod -> readiness.putIfAbsent(pod.getMetadata().getName(), isReady(pod)));
+            if (!readiness.containsValue(true)) {
+                return true;
+            }
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (scaledToZero.await(1, TimeUnit.SECONDS)) {
+                    return true;
+                }
+                if (cancelled.getCount() == 0) {
+                    return false;
+                }
+            }
+            throw new IOException("Revision " + revision + " has not been scaled to zero within "
+                    + timeout.toMinutes() + " minutes. Is scale to zero enabled?");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            watch.close();
+        }
+    }
+
+    static boolean isReady(Pod pod) {
+        if (pod.getMetadata().getDeletionTimestamp() != null) {
+            return false;
+        }
+        return getCondition(pod, "Ready") != null && "True".equals(getCondition(pod, "Ready").getStatus());
+    }
+
+    /**
+     * Split the latency of the first response in phases by using the pod conditions and events.
+     *
+     * @param result the result to fill
+     * @param pod the pod started for the request
+     * @param events the events of the pod
+     * @param totalLatency the latency of the first response
+     */
+    static void breakdown(ColdStartResult result, Pod pod, List<Event> events, long totalLatency) {
+        result.setColdStart(true);
+        result.setPod(pod.getMetadata().getName());
+        result.setTotalLatency(totalLatency);
+
+        Instant created = parse(pod.getMetadata().getCreationTimestamp());
+        Instant scheduled = getConditionTime(pod, "PodScheduled");
+        Instant ready = getConditionTime(pod, "Ready");
+        Instant pulling = getEventTime(events, "Pulling", true);
+        Instant pulled = getEventTime(events, "Pulled", false);
+
+        if (created != null && scheduled != null) {
+            result.setScheduling(between(created, scheduled));
+        }
+        if (pulling != null && pulled != null) {
+            result.setImagePull(between(pulling, pulled));
+        } else if (pulled != null) {
+            // image already present on the node, there is no Pulling event
+            result.setImagePull(0);
+        }
+        Instant imageAvailable = pulled != null ? pulled : scheduled;
+        if (imageAvailable == null) {
+            imageAvailable = getContainerStartTime(pod);
+        }
+        if (imageAvailable != null && ready != null) {
+            result.setContainerReadiness(between(imageAvailable, ready));
+        }
+        if (created != null && ready != null) {
+            result.setActivatorWait(Math.max(0, totalLatency - between(created, ready)));
+        }
+    }
+
+    private static long between(Instant from, Instant to) {
+        return Math.max(0, Duration.between(from, to).toMillis());
+    }
+
+    private static PodCondition getCondition(Pod pod, String type) {
+        if (pod.getStatus() == null || pod.getStatus().getConditions() == null) {
+            return null;
+        }
+        return pod.getStatus().getConditions().stream()
+                .filter(condition -> type.equals(condition.getType()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Instant getConditionTime(Pod pod, String type) {
+        PodCondition condition = getCondition(pod, type);
+        if (condition == null || !"True".equals(condition.getStatus())) {
+            return null;
+        }
+        return parse(condition.getLastTransitionTime());
+    }
+
+    private static Instant getContainerStartTime(Pod pod) {
+        if (pod.getStatus() == null || pod.getStatus().getContainerStatuses() == null) {
+            return null;
+        }
+        return pod.getStatus().getContainerStatuses().stream()
+                .filter(container -> USER_CONTAINER.equals(container.getName()))
+                .map(ContainerStatus::getState)
+                .filter(state -> state != null && state.getRunning() != null)
+                .map(state -> parse(state.getRunning().getStartedAt()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Return the time of the first (or last) event with the given reason. Only the events related to the
+     * user container are considered, the queue-proxy image is pulled separately.
+     */
+    private static Instant getEventTime(List<Event> events, String reason, boolean first) {
+        return events.stream()
+                .filter(event -> reason.equals(event.getReason()))
+                .filter(event -> event.getInvolvedObject() == null
+                        || event.getInvolvedObject().getFieldPath() == null
+                        || event.getInvolvedObject().getFieldPath().contains(USER_CONTAINER))
+                .map(event -> getTimestamp(event, first))
+                .filter(Objects::nonNull)
+                .reduce((a, b) -> first ? (a.isBefore(b) ? a : b) : (a.isAfter(b) ? a : b))
+                .orElse(null);
+    }
+
+    private static Instant getTimestamp(Event event, boolean first) {
+        String timestamp = first ? event.getFirstTimestamp() : event.getLastTimestamp();
+        if (Strings.isNullOrEmpty(timestamp)) {
+            timestamp = first ? event.getLastTimestamp() : event.getFirstTimestamp();
+        }
+        if (Strings.isNullOrEmpty(timestamp) && event.getEventTime() != null) {
+            // events created through the events.k8s.io api only have an eventTime
+            timestamp = event.getEventTime().getTime();
+        }
+        return parse(timestamp);
+    }
+
+    private static Instant parse(String timestamp) {
+        if (Strings.isNullOrEmpty(timestamp)) {
+            return null;
+        }
+        try {
+            return Instant.parse(timestamp);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Result of a cold start probe. The phases are computed from the cluster timestamps, which have a
+ * 1 second resolution, a phase is -1 if it could not be computed.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ColdStartResult {
+    private long timestamp;
+    private String service;
+    private String revision;
+    private String pod;
+    private int status;
+    private boolean coldStart;
+    private long totalLatency;
+    private long activatorWait = -1;
+    private long scheduling = -1;
+    private long imagePull = -1;
+    private long containerReadiness = -1;
+
+    public ColdStartResult() {}
+
+    public ColdStartResult(String service, String revision) {
+        this.timestamp = System.currentTimeMillis();
+        this.service = service;
+        this.revision = revision;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public void setService(String service) {
+        this.service = service;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    public void setRevision(String revision) {
+        this.revision = revision;
+    }
+
+    public String getPod() {
+        return pod;
+    }
+
+    public void setPod(String pod) {
+        this.pod = pod;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * @return true if a new pod had to be started to serve the request
+     */
+    public boolean isColdStart() {
+        return coldStart;
+    }
+
+    public void setColdStart(boolean coldStart) {
+        this.coldStart = coldStart;
+    }
+
+    /**
+     * @return the time in ms between sending the request and receiving the response, measured locally
+     */
+    public long getTotalLatency() {
+        return totalLatency;
+    }
+
+    public void setTotalLatency(long totalLatency) {
+        this.totalLatency = totalLatency;
+    }
+
+    /**
+     * @return the part of the latency spent outside the pod lifecycle, i.e. in the activator while the
+     * autoscaler creates the pod and while the request is proxied to the ready pod
+     */
+    public long getActivatorWait() {
+        return activatorWait;
+    }
+
+    public void setActivatorWait(long activatorWait) {
+        this.activatorWait = activatorWait;
+    }
+
+    /**
+     * @return the time between the pod creation and its scheduling on a node
+     */
+    public long getScheduling() {
+        return scheduling;
+    }
+
+    public void setScheduling(long scheduling) {
+        this.scheduling = scheduling;
+    }
+
+    /**
+     * @return the time spent pulling the image, 0 if the image was already present on the node
+     */
+    public long getImagePull() {
+        return imagePull;
+    }
+
+    public void setImagePull(long imagePull) {
+        this.imagePull = imagePull;
+    }
+
+    /**
+     * @return the time between the image being available and the pod being ready
+     */
+    public long getContainerReadiness() {
+        return containerReadiness;
+    }
+
+    public void setContainerReadiness(long containerReadiness) {
+        this.containerReadiness = containerReadiness;
+    }
+
+    @Override
+    public String toString() {
+        if (!coldStart) {
+            return "HTTP " + status + " in " + totalLatency + " ms, no new pod was started (warm start)";
+        }
+        return "HTTP " + status + " in " + totalLatency + " ms on pod " + pod + "\n"
+                + "  activator wait:      " + format(activatorWait) + "\n"
+                + "  pod scheduling:      " + format(scheduling) + "\n"
+                + "  image pull:          " + format(imagePull) + "\n"
+                + "  container readiness: " + format(containerReadiness);
+    }
+
+    private String format(long phase) {
+        return phase < 0 ? "unknown" : phase + " ms";
+    }
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.kn.KnConstants;
+import com.redhat.devtools.intellij.knative.kn.Revision;
+import com.redhat.devtools.intellij.knative.kn.Service;
+import com.redhat.devtools.intellij.knative.kn.ServiceStatus;
+import com.redhat.devtools.intellij.knative.kn.ServiceTraffic;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Delete the old revisions of the services of a namespace. For each service the most recent revisions are kept,
+ * as well as every revision receiving traffic or carrying a tag.
+ */
+public class RevisionGC {
+    public static final int BATCH_SIZE = 10;
+    public static final int PARALLELISM = 4;
+
+    private final Kn kn;
+    private final int keep;
+
+    /**
+     * @param kn   the client
+     * @param keep number of most recent revisions kept for each service
+     */
+    public RevisionGC(Kn kn, int keep) {
+        this.kn = kn;
+        this.keep = keep;
+    }
+
+    /**
+     * @return the revisions to delete grouped by service, services without revisions to delete are skipped
+     * @throws IOException if communication errored
+     */
+    public Map<String, List<String>> plan() throws IOException {
+        Map<String, List<String>> plan = new LinkedHashMap<>();
+        for (Service service : kn.getServicesList()) {
+            List<String> collectable = getCollectable(service.getStatus(), kn.getRevisionsForService(service.getName()), keep);
+            if (!collectable.isEmpty()) {
+                plan.put(service.getName(), collectable);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Delete the revisions of the plan in batches, several batches are deleted in parallel
+     *
+     * @param plan the revisions to delete grouped by service
+     * @param log  receives the progress
+     * @return the number of revisions deleted
+     * @throws IOException if a batch could not be deleted, the other batches are still processed
+     */
+    public int collect(Map<String, List<String>> plan, Consumer<String> log) throws IOException {
+        List<List<String>> batches = new ArrayList<>();
+        plan.values().forEach(revisions -> {
+            for (int i = 0; i < revisions.size(); i += BATCH_SIZE) {
+                batches.add(revisions.subList(i, Math.min(i + BATCH_SIZE, revisions.size())));
+            }
+        });
+        AtomicInteger deleted = new AtomicInteger();
+        List<String> errors = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (List<String> batch : batches) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        kn.deleteRevisions(batch);
+                        deleted.addAndGet(batch.size());
+                        log.accept("Deleted " + String.join(", ", batch));
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor).exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    synchronized (errors) {
+                        errors.add(cause.getLocalizedMessage());
+                    }
+                    log.accept("Failed to delete " + String.join(", ", batch) + ": " + cause.getLocalizedMessage());
+                    return null;
+                }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+        if (!errors.isEmpty()) {
+            throw new IOException(deleted.get() + " revisions deleted, " + errors.size() + " batches failed: " + errors.get(0));
+        }
+        return deleted.get();
+    }
+
+    /**
+     * @param status    the service status, giving the traffic targets
+     * @param revisions the revisions of the service
+     * @param keep      number of most recent revisions to keep
+     * @return the revisions that can be deleted, most recent first
+     */
+    static List<String> getCollectable(ServiceStatus status, List<Revision> revisions, int keep) {
+        Set<String> retained = new HashSet<>();
+        if (status != null) {
+            if (status.getLatestReadyRevisionName() != null) {
+                retained.add(status.getLatestReadyRevisionName());
+            }
+            // the latest created revision may still be rolling out, without traffic yet
+            if (status.getLatestCreatedRevisionName() != null) {
+                retained.add(status.getLatestCreatedRevisionName());
+            }
+            if (status.getTraffic() != null) {
+                for (ServiceTraffic traffic : status.getTraffic()) {
+                    if (traffic.getPercent() > 0 || traffic.getTag() != null) {
+                        retained.add(traffic.getRevisionName());
+                    }
+                }
+            }
+        }
+        List<Revision> sorted = new ArrayList<>(revisions);
+        sorted.sort(Comparator.comparingLong(RevisionGC::getGeneration).reversed());
+        List<String> collectable = new ArrayList<>();
+        for (int i = keep; i < sorted.size(); i++) {
+            String name = sorted.get(i).getName();
+            if (!retained.contains(name)) {
+                collectable.add(name);
+            }
+        }
+        return collectable;
+    }
+
+    private static long getGeneration(Revision revision) {
+        try {
+            return Long.parseLong(revision.getLabels().getOrDefault(KnConstants.CONFIGURATION_GENERATION, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+/**
+ * Resource usage and load of a revision at a point in time, summed over its pods.
+ * Values that could not be sampled are -1.
+ */
+public class RevisionMetricsSample {
+    private final long timestamp;
+    private final String revision;
+    private final int pods, readyPods;
+    private final long cpu, memory;
+    private final double concurrency, requestsPerSecond;
+
+    /**
+     * @param timestamp         time of the sample in ms since epoch
+     * @param revision          name of the revision
+     * @param pods              number of pods of the revision
+     * @param readyPods         number of ready pods of the revision
+     * @param cpu               CPU usage in millicores
+     * @param memory            memory usage in bytes
+     * @param concurrency       average number of in-flight requests
+     * @param requestsPerSecond average number of requests per second
+     */
+    public RevisionMetricsSample(long timestamp, String revision, int pods, int readyPods, long cpu, long memory,
+                                 double concurrency, double requestsPerSecond) {
+        this.timestamp = timestamp;
+        this.revision = revision;
+        this.pods = pods;
+        this.readyPods = readyPods;
+        this.cpu = cpu;
+        this.memory = memory;
+        this.concurrency = concurrency;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    public int getPods() {
+        return pods;
+    }
+
+    public int getReadyPods() {
+        return readyPods;
+    }
+
+    public long getCpu() {
+        return cpu;
+    }
+
+    public long getMemory() {
+        return memory;
+    }
+
+    public double getConcurrency() {
+        return concurrency;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.ContainerMetrics;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Sample the pod metrics (metrics.k8s.io) and the queue-proxy metrics of a revision and keep the last samples.
+ * A source that is not available is reported as -1 instead of failing the whole sample. The pod metrics are
+ * disabled when the cluster has no metrics server. Other failures are often transient (pod restarting, proxy busy,
+ * metrics server starting), the source is then retried after a growing delay.
+ */
+public class RevisionMetricsSampler {
+    private static final Logger logger = LoggerFactory.getLogger(RevisionMetricsSampler.class);
+    static final String CONCURRENCY_METRIC = "queue_average_concurrent_requests";
+    static final String REQUESTS_PER_SECOND_METRIC = "queue_requests_per_second";
+    static final long RETRY_DELAY = TimeUnit.SECONDS.toMillis(30);
+    static final long MAX_RETRY_DELAY = TimeUnit.MINUTES.toMillis(5);
+
+    private final Kn kn;
+    private final String revision;
+    private final int maxSamples;
+    private final Deque<RevisionMetricsSample> samples = new ArrayDeque<>();
+    private final LongSupplier clock;
+    private Boolean hasMetricsServer;
+    private long podMetricsRetryDelay, podMetricsRetryAt;
+    private long queueProxyRetryDelay, queueProxyRetryAt;
+
+    public RevisionMetricsSampler(Kn kn, String revision, int maxSamples) {
+        this(kn, revision, maxSamples, System::currentTimeMillis);
+    }
+
+    RevisionMetricsSampler(Kn kn, String revision, int maxSamples, LongSupplier clock) {
+        this.kn = kn;
+        this.revision = revision;
+        this.maxSamples = maxSamples;
+        this.clock = clock;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return false if the cluster has no metrics server, or if the last pod metrics request failed until a retry
+     * succeeds
+     */
+    public boolean isPodMetricsAvailable() {
+        return !Boolean.FALSE.equals(hasMetricsServer) && podMetricsRetryDelay == 0;
+    }
+
+    /**
+     * @return false if the last queue-proxy scrape failed, until a retry succeeds
+     */
+    public boolean isQueueProxyAvailable() {
+        return queueProxyRetryDelay == 0;
+    }
+
+    /**
+     * Take a sample and add it to the time series
+     *
+     * @return the sample
+     * @throws IOException if the pods of the revision cannot be listed
+     */
+    public RevisionMetricsSample sample() throws IOException {
+        List<Pod> pods = kn.getRevisionPods(revision);
+        List<Pod> readyPods = new ArrayList<>();
+        pods.stream().filter(ColdStartProbe::isReady).forEach(readyPods::add);
+
+        long cpu = -1, memory = -1;
+        if (!Boolean.FALSE.equals(hasMetricsServer) && clock.getAsLong() >= podMetricsRetryAt) {
+            try {
+                if (hasMetricsServer == null) {
+                    hasMetricsServer = kn.isMetricsServerAware();
+                }
+                if (hasMetricsServer) {
+                    List<PodMetrics> metrics = kn.getRevisionPodMetrics(revision);
+                    cpu = toLong(sum(metrics, "cpu").movePointRight(3));
+                    memory = toLong(sum(metrics, "memory"));
+                }
+                podMetricsRetryDelay = 0;
+            } catch (IOException e) {
+                podMetricsRetryDelay = getNextRetryDelay(podMetricsRetryDelay);
+                podMetricsRetryAt = clock.getAsLong() + podMetricsRetryDelay;
+                logger.warn("Pod metrics of " + revision + " are not available, retrying in "
+                        + TimeUnit.MILLISECONDS.toSeconds(podMetricsRetryDelay) + " s: " + e.getLocalizedMessage(), e);
+                cpu = -1;
+                memory = -1;
+            }
+        }
+
+        double concurrency = -1, requestsPerSecond = -1;
+        boolean scrapeQueueProxy = clock.getAsLong() >= queueProxyRetryAt;
+        if (scrapeQueueProxy && !readyPods.isEmpty()) {
+            try {
+                concurrency = 0;
+                requestsPerSecond = 0;
+                for (Pod pod : readyPods) {
+                    String metrics = kn.getQueueProxyMetrics(pod.getMetadata().getName());
+                    if (metrics == null) {
+                        throw new IOException("queue-proxy metrics not found");
+                    }
+                    concurrency += parseMetric(metrics, CONCURRENCY_METRIC);
+                    requestsPerSecond += parseMetric(metrics, REQUESTS_PER_SECOND_METRIC);
+                }
+                queueProxyRetryDelay = 0;
+            } catch (IOException e) {
+                queueProxyRetryDelay = getNextRetryDelay(queueProxyRetryDelay);
+                queueProxyRetryAt = clock.getAsLong() + queueProxyRetryDelay;
+                logger.warn("Queue proxy metrics of " + revision + " are not available, retrying in "
+                        + TimeUnit.MILLISECONDS.toSeconds(queueProxyRetryDelay) + " s: " + e.getLocalizedMessage(), e);
+                concurrency = -1;
+                requestsPerSecond = -1;
+            }
+        } else if (scrapeQueueProxy) {
+            // scaled to zero, nothing is in flight
+            concurrency = 0;
+            requestsPerSecond = 0;
+        }
+
+        RevisionMetricsSample sample = new RevisionMetricsSample(System.currentTimeMillis(), revision,
+                pods.size(), readyPods.size(), cpu, memory, concurrency, requestsPerSecond);
+        synchronized (samples) {
+            samples.addLast(sample);
+            while (samples.size() > maxSamples) {
+                samples.removeFirst();
+            }
+        }
+        return sample;
+    }
+
+    /**
+     * @return the samples, oldest first
+     */
+    public List<RevisionMetricsSample> getSamples() {
+        synchronized (samples) {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    private static long getNextRetryDelay(long delay) {
+        return delay == 0 ? RETRY_DELAY : Math.min(delay * 2, MAX_RETRY_DELAY);
+    }
+
+    private static BigDecimal sum(List<PodMetrics> metrics, String resource) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (PodMetrics podMetrics : metrics) {
+            for (ContainerMetrics container : podMetrics.getContainers()) {
+                Quantity quantity = container.getUsage().get(resource);
+                if (quantity != null) {
+                    total = total.add(quantity.getNumericalAmount());
+                }
+            }
+        }
+        return total;
+    }
+
+    private static long toLong(BigDecimal value) {
+        return value.setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * Sum the values of all the series of a metric in Prometheus text format
+     *
+     * @param metrics the metrics text
+     * @param name    the metric name
+     * @return the sum, 0 if the metric is missing
+     */
+    static double parseMetric(String metrics, String name) {
+        double total = 0;
+        for (String line : metrics.split("\n")) {
+            line = line.trim();
+            if (line.startsWith("#") || !line.startsWith(name)) {
+                continue;
+            }
+            String rest = line.substring(name.length());
+            if (!rest.startsWith("{") && !rest.startsWith(" ")) {
+                // another metric sharing the prefix
+                continue;
+            }
+            int labelsEnd = rest.lastIndexOf('}');
+            String[] values = rest.substring(labelsEnd + 1).trim().split("\\s+");
+            try {
+                double value = Double.parseDouble(values[0]);
+                if (!Double.isNaN(value)) {
+                    total += value;
+                }
+            } catch (NumberFormatException e) {
+                // malformed values are ignored
+            }
+        }
+        return total;
+    }
+}
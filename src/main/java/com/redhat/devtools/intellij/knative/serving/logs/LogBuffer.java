@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving.logs;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bounded history of the merged log with the lines matching the current filter.
+ * New lines are checked against the filter once when they are added. When the filter is narrowed, e.g. by
+ * typing more characters, only the lines matching the previous filter are checked again.
+ */
+public class LogBuffer {
+    private final int maxLines;
+    private final Deque<LogLine> lines = new ArrayDeque<>();
+    private Deque<LogLine> matches = new ArrayDeque<>();
+    private String filter = "";
+
+    public LogBuffer(int maxLines) {
+        this.maxLines = maxLines;
+    }
+
+    /**
+     * @param line the line to add
+     * @return true if the line matches the current filter
+     */
+    public synchronized boolean add(LogLine line) {
+        lines.addLast(line);
+        boolean matching = matches(line, filter);
+        if (matching) {
+            matches.addLast(line);
+        }
+        if (lines.size() > maxLines) {
+            LogLine evicted = lines.removeFirst();
+            // both deques are in the same order, an evicted matching line is always the first match
+            if (!matches.isEmpty() && matches.peekFirst() == evicted) {
+                matches.removeFirst();
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * @param filter the text lines must contain, case insensitive. Empty to match all lines
+     * @return the lines matching the filter, oldest first
+     */
+    public synchronized List<LogLine> setFilter(String filter) {
+        String normalized = filter.toLowerCase(Locale.ROOT);
+        Deque<LogLine> candidates = normalized.contains(this.filter) ? matches : lines;
+        Deque<LogLine> filtered = new ArrayDeque<>();
+        for (LogLine line : candidates) {
+            if (matches(line, normalized)) {
+                filtered.addLast(line);
+            }
+        }
+        this.filter = normalized;
+        this.matches = filtered;
+        return new ArrayList<>(filtered);
+    }
+
+    public synchronized List<LogLine> getMatches() {
+        return new ArrayList<>(matches);
+    }
+
+    public synchronized int size() {
+        return lines.size();
+    }
+
+    private static boolean matches(LogLine line, String filter) {
+        return filter.isEmpty()
+                || line.getText().toLowerCase(Locale.ROOT).contains(filter)
+                || line.getSource().toLowerCase(Locale.ROOT).contains(filter);
+    }
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving.logs;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+public class LogLine {
+    private final Instant timestamp;
+    private final String source;
+    private final String text;
+
+    public LogLine(Instant timestamp, String source, String text) {
+        this.timestamp = timestamp;
+        this.source = source;
+        this.text = text;
+    }
+
+    /**
+     * Parse a line written by the API server when timestamps are requested, i.e. "2023-05-10T10:00:00.123456789Z text"
+     *
+     * @param source   the pod the line comes from
+     * @param raw      the line
+     * @param fallback the timestamp used when the line has none
+     * @return the line
+     */
+    public static LogLine parse(String source, String raw, Instant fallback) {
+        int separator = raw.indexOf(' ');
+        if (separator > 0) {
+            try {
+                return new LogLine(Instant.parse(raw.substring(0, separator)), source, raw.substring(separator + 1));
+            } catch (DateTimeParseException e) {
+                // not a timestamp, keep the whole line
+            }
+        }
+        return new LogLine(fallback, source, raw);
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + source + "] " + text;
+    }
+}
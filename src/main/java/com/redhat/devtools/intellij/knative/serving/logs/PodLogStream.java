@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving.logs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Receive the log of a pod and split it in lines. Lines wait in a bounded buffer until they are drained,
+ * the oldest lines are dropped if the buffer is full.
+ */
+public class PodLogStream extends OutputStream {
+    private final String source;
+    private final int maxLines;
+    private final ByteArrayOutputStream partial = new ByteArrayOutputStream();
+    private final Deque<Pending> pending = new ArrayDeque<>();
+    private Instant lastTimestamp = Instant.EPOCH;
+    private int dropped;
+
+    public PodLogStream(String source, int maxLines) {
+        this.source = source;
+        this.maxLines = maxLines;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        if (b == '\n') {
+            flushLine();
+        } else {
+            partial.write(b);
+        }
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) {
+        int start = offset;
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] == '\n') {
+                partial.write(bytes, start, i - start);
+                flushLine();
+                start = i + 1;
+            }
+        }
+        partial.write(bytes, start, offset + length - start);
+    }
+
+    private void flushLine() {
+        String raw = partial.toString(StandardCharsets.UTF_8);
+        partial.reset();
+        if (raw.endsWith("\r")) {
+            raw = raw.substring(0, raw.length() - 1);
+        }
+        LogLine line = LogLine.parse(source, raw, lastTimestamp);
+        lastTimestamp = line.getTimestamp();
+        pending.addLast(new Pending(line, System.nanoTime()));
+        if (pending.size() > maxLines) {
+            pending.removeFirst();
+            dropped++;
+        }
+    }
+
+    /**
+     * @param cutoff lines received after this time, in {@link System#nanoTime()} units, are kept for the next drain
+     * @return the lines received before the cutoff, oldest first
+     */
+    public synchronized List<LogLine> drain(long cutoff) {
+        List<LogLine> lines = new ArrayList<>();
+        if (dropped > 0) {
+            Instant timestamp = pending.isEmpty() ? lastTimestamp : pending.peekFirst().line.getTimestamp();
+            lines.add(new LogLine(timestamp, source, "... " + dropped + " lines dropped"));
+            dropped = 0;
+        }
+        while (!pending.isEmpty() && pending.peekFirst().received - cutoff <= 0) {
+            lines.add(pending.removeFirst().line);
+        }
+        return lines;
+    }
+
+    public synchronized boolean isEmpty() {
+        return pending.isEmpty() && dropped == 0;
+    }
+
+    private static class Pending {
+        private final LogLine line;
+        private final long received;
+
+        private Pending(LogLine line, long received) {
+            this.line = line;
+            this.received = received;
+        }
+    }
+}
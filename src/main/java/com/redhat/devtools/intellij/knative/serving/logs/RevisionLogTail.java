@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving.logs;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Follow the log of every pod of some revisions, including the pods created after the tail started.
+ * Lines of all pods are merged in timestamp order: lines are held for a short delay so that lines of other
+ * pods written at the same time can be sorted with them.
+ */
+public class RevisionLogTail {
+    private static final Logger logger = LoggerFactory.getLogger(RevisionLogTail.class);
+    private static final String QUEUE_PROXY_CONTAINER = "queue-proxy";
+    private static final String REVISION_LABEL = "serving.knative.dev/revision";
+    private static final long MERGE_DELAY_MS = 500;
+    private static final long MERGE_PERIOD_MS = 250;
+
+    private final Kn kn;
+    private final List<String> revisions;
+    private final int tailLines, maxLinesPerStream;
+    private final Consumer<List<LogLine>> sink;
+    private final Consumer<String> status;
+    private final Map<String, PodLogStream> streams = new ConcurrentHashMap<>();
+    private final Map<String, LogWatch> logWatches = new ConcurrentHashMap<>();
+    // restart count of the container each log watch follows, a restarted container is followed again
+    private final Map<String, Integer> followedRestarts = new ConcurrentHashMap<>();
+    private final Set<String> deletedPods = ConcurrentHashMap.newKeySet();
+    private final List<Watch> podWatches = new ArrayList<>();
+    private final Object mergeLock = new Object();
+    private ScheduledFuture<?> merger;
+    private volatile boolean stopped;
+
+    /**
+     * @param kn                the client
+     * @param revisions         the revisions to follow
+     * @param tailLines         number of past lines to show for each pod
+     * @param maxLinesPerStream number of lines a pod can buffer before its oldest lines are dropped
+     * @param sink              receives the merged lines
+     * @param status            receives the pods starting and stopping
+     */
+    public RevisionLogTail(Kn kn, List<String> revisions, int tailLines, int maxLinesPerStream,
+                           Consumer<List<LogLine>> sink, Consumer<String> status) {
+        this.kn = kn;
+        this.revisions = revisions;
+        this.tailLines = tailLines;
+        this.maxLinesPerStream = maxLinesPerStream;
+        this.sink = sink;
+        this.status = status;
+    }
+
+    public synchronized void start() throws IOException {
+        for (String revision : revisions) {
+            for (Pod pod : kn.getRevisionPods(revision)) {
+                follow(pod);
+            }
+            podWatches.add(kn.watchRevisionPods(revision, new Watcher<>() {
+                @Override
+                public void eventReceived(Action action, Pod pod) {
+                    if (action == Action.DELETED) {
+                        unfollow(pod.getMetadata().getName());
+                    } else {
+                        follow(pod);
+                    }
+                }
+
+                @Override
+                public void onClose(WatcherException e) {
+                    if (!stopped) {
+                        status.accept("Stopped watching pods of " + revision + ": " + e.getLocalizedMessage());
+                    }
+                }
+            }));
+        }
+        merger = AppExecutorUtil.getAppScheduledExecutorService()
+                .scheduleWithFixedDelay(this::merge, MERGE_PERIOD_MS, MERGE_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        stopped = true;
+        podWatches.forEach(Watch::close);
+        podWatches.clear();
+        logWatches.values().forEach(LogWatch::close);
+        logWatches.clear();
+        followedRestarts.clear();
+        if (merger != null) {
+            merger.cancel(false);
+        }
+        merge(System.nanoTime());
+    }
+
+    private synchronized void follow(Pod pod) {
+        String name = pod.getMetadata().getName();
+        String container = getContainer(pod);
+        if (stopped || container == null || !isRunning(pod, container)) {
+            return;
+        }
+        int restartCount = getRestartCount(pod, container);
+        Integer followedRestart = followedRestarts.get(name);
+        if (followedRestart != null && followedRestart == restartCount) {
+            return;
+        }
+        // the log stream of the previous container ended with it
+        LogWatch previous = logWatches.remove(name);
+        if (previous != null) {
+            previous.close();
+        }
+        PodLogStream stream = streams.computeIfAbsent(name, key -> new PodLogStream(getSource(pod, revisions.size() > 1), maxLinesPerStream));
+        try {
+            logWatches.put(name, kn.watchPodLog(name, container, tailLines, stream));
+            followedRestarts.put(name, restartCount);
+            status.accept(previous == null ? "Following " + name : "Following " + name + " after a restart");
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+            status.accept("Cannot follow " + name + ": " + e.getLocalizedMessage());
+        }
+    }
+
+    private synchronized void unfollow(String pod) {
+        followedRestarts.remove(pod);
+        LogWatch watch = logWatches.remove(pod);
+        if (watch != null) {
+            watch.close();
+            deletedPods.add(pod);
+            status.accept("Pod " + pod + " deleted");
+        }
+    }
+
+    private void merge() {
+        merge(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(MERGE_DELAY_MS));
+    }
+
+    private void merge(long cutoff) {
+        // batches must reach the sink in order
+        synchronized (mergeLock) {
+            List<LogLine> lines = new ArrayList<>();
+            streams.forEach((pod, stream) -> {
+                lines.addAll(stream.drain(cutoff));
+                // a deleted pod is forgotten once its last lines are emitted
+                if (deletedPods.contains(pod) && stream.isEmpty()) {
+                    streams.remove(pod, stream);
+                    deletedPods.remove(pod);
+                }
+            });
+            if (!lines.isEmpty()) {
+                // the sort is stable, lines of a same pod with the same timestamp keep their order
+                lines.sort(Comparator.comparing(LogLine::getTimestamp));
+                sink.accept(lines);
+            }
+        }
+    }
+
+    /**
+     * @return the container running the user code, the queue-proxy sidecar is skipped
+     */
+    private static String getContainer(Pod pod) {
+        if (pod.getSpec() == null || pod.getSpec().getContainers() == null) {
+            return null;
+        }
+        return pod.getSpec().getContainers().stream()
+                .map(Container::getName)
+                .filter(name -> !QUEUE_PROXY_CONTAINER.equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean isRunning(Pod pod, String container) {
+        if (pod.getStatus() == null || pod.getStatus().getContainerStatuses() == null) {
+            return false;
+        }
+        return pod.getStatus().getContainerStatuses().stream()
+                .filter(containerStatus -> container.equals(containerStatus.getName()))
+                .map(ContainerStatus::getState)
+                .anyMatch(state -> state != null && (state.getRunning() != null || state.getTerminated() != null));
+    }
+
+    private static int getRestartCount(Pod pod, String container) {
+        return pod.getStatus().getContainerStatuses().stream()
+                .filter(containerStatus -> container.equals(containerStatus.getName()))
+                .map(ContainerStatus::getRestartCount)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(0);
+    }
+
+    /**
+     * @param pod          the pod
+     * @param withRevision true to keep the revision name, when several revisions are followed
+     * @return a short name of the pod, the deployment part of the name is removed
+     */
+    static String getSource(Pod pod, boolean withRevision) {
+        String name = pod.getMetadata().getName();
+        String revision = pod.getMetadata().getLabels() == null ? null :
+                pod.getMetadata().getLabels().get(REVISION_LABEL);
+        String prefix = revision + "-deployment-";
+        if (revision == null || !name.startsWith(prefix)) {
+            return name;
+        }
+        String suffix = name.substring(prefix.length());
+        return withRevision ? revision + "/" + suffix : suffix;
+    }
+}
@@ -25,6 +25,13 @@ import org.jetbrains.annotations.Nullable;
 public class SettingsState implements PersistentStateComponent<SettingsState> {
 
     public String courseVersion = "0.0";
+    public long funcBuildTimeoutMinutes = 30;
+    public long funcDeployTimeoutMinutes = 15;
+    public int revisionGCKeep = 5;
+    public int metricsIntervalSeconds = 10;
+    public int metricsMaxSamples = 360;
+    public boolean checkOpenedResourceVersion = true;
+    public boolean watchOpenedResources = true;
 
     public static SettingsState getInstance() {
         return  ApplicationManager.getApplication().getService(SettingsState.class);
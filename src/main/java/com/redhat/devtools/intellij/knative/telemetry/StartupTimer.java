@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.telemetry;
+
+import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Durations of the phases of the first load of the Knative tree, logged and sent once all phases are done.
+ * Later loads, on refresh or context change, are not recorded.
+ */
+public class StartupTimer {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimer.class);
+
+    public static final String PHASE_BINARIES = "binaries";
+    public static final String PHASE_CLIENT = "client";
+    public static final String PHASE_DISCOVERY = "discovery";
+    public static final String PHASE_FIRST_TREE = "first_tree";
+    /**
+     * From the creation of the tree to its first content, all phases included
+     */
+    public static final String TIME_TO_FIRST_TREE = "time_to_first_tree";
+    private static final String[] PHASES = { PHASE_BINARIES, PHASE_CLIENT, PHASE_DISCOVERY, PHASE_FIRST_TREE, TIME_TO_FIRST_TREE };
+
+    private static final StartupTimer INSTANCE = new StartupTimer();
+
+    private final Map<String, Long> durations = new LinkedHashMap<>();
+    private boolean reported;
+
+    public static StartupTimer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record the duration of a phase, only its first run is kept.
+     *
+     * @param phase      the phase
+     * @param startNanos the start of the phase, as given by {@link System#nanoTime()}
+     */
+    public void record(String phase, long startNanos) {
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        synchronized (this) {
+            durations.putIfAbsent(phase, duration);
+        }
+        if (phase.equals(PHASE_FIRST_TREE)) {
+            report();
+        }
+    }
+
+    /**
+     * @param phase the phase
+     * @return the duration of the phase in ms, -1 if it was not recorded
+     */
+    public synchronized long getDuration(String phase) {
+        return durations.getOrDefault(phase, -1L);
+    }
+
+    private void report() {
+        Map<String, Long> report;
+        synchronized (this) {
+            if (reported) {
+                return;
+            }
+            reported = true;
+            report = new LinkedHashMap<>();
+            for (String phase : PHASES) {
+                report.put(phase, durations.getOrDefault(phase, -1L));
+            }
+        }
+        logger.info("Knative startup: " + report.entrySet().stream()
+                .map(entry -> entry.getKey() + " " + entry.getValue() + " ms")
+                .collect(Collectors.joining(", ")));
+        try {
+            TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(TelemetryService.NAME_PREFIX_MISC + "startup");
+            report.forEach((phase, duration) -> telemetry.property(phase + "_ms", String.valueOf(duration)));
+            telemetry.send();
+        } catch (RuntimeException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import com.intellij.openapi.vfs.VirtualFileListener;
 import com.intellij.openapi.vfs.VirtualFileSystem;
 import com.redhat.devtools.intellij.common.utils.YAMLHelper;
 import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
 import com.redhat.devtools.intellij.knative.kn.Kn;
 import com.redhat.devtools.intellij.knative.listener.KnFileListener;
 import com.redhat.devtools.intellij.knative.utils.Scheduler;
@@ -61,8 +62,14 @@ public class KnFunctionsTreeStructure extends KnTreeStructure {
                 Pair<Object[], List<String>> children = getFunctionNodes(root);
                 root.showWarnings(children.getSecond());
                 clusterModelSynchronizer.updateElementOnChange(root, KIND_FUNCTION);
+                ExecHelper.submit(kn::postInitialize);
                 return children.getFirst();
             }
+        } else if (element instanceof KnRootNode) {
+            // recorded in the last session, shown until kn is ready
+            return snapshot.getFunctions().stream()
+                    .map(function -> new KnFunctionNode(root, root, function))
+                    .toArray();
         }
 
         return new Object[0];
@@ -74,6 +81,8 @@ public class KnFunctionsTreeStructure extends KnTreeStructure {
         List<Function> functions = new ArrayList<>();
         addFunctionsOnCluster(kn, functions, warnings);
         addLocalFunctions(kn, functions, warnings);
+        snapshot.setFunctions(functions);
+        saveSnapshot();
 
         List<Object> functionNodes = new ArrayList<>();
         functions.forEach(f -> {
@@ -18,34 +18,44 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
+/**
+ * The root of the Knative and functions trees of a project, one per project.
+ */
 public class KnRootNode {
     private final Project project;
-    private Kn kn;
-    private static KnRootNode instance;
+    private volatile Kn kn;
+    private volatile long knReadyTime;
     private Consumer<List<String>> consumerWarnings;
 
-    private KnRootNode(Project project) {
+    public KnRootNode(Project project) {
         this.project = project;
     }
 
     public static KnRootNode getInstance(Project project) {
-        if (instance == null
-                || !instance.getProject().equals(project)) {
-            instance = new KnRootNode(project);
-        }
-        return instance;
+        return project.getService(KnRootNode.class);
     }
 
     public CompletableFuture<Kn> initializeKn() {
-        return KnCliFactory.getInstance().getKn(project).whenComplete((kn, err) -> this.kn = kn);
+        return KnCliFactory.getInstance().getKn(project).whenComplete((kn, err) -> {
+            // set before kn so that whoever sees kn also sees when it became ready
+            this.knReadyTime = System.nanoTime();
+            this.kn = kn;
+        });
     }
 
     public Kn getKn() {
         return kn;
     }
 
+    /**
+     * @return the {@link System#nanoTime()} at which kn was last resolved, 0 if it has not been resolved yet
+     */
+    public long getKnReadyTime() {
+        return knReadyTime;
+    }
+
     public CompletableFuture<Kn> load() {
-        KnCliFactory.getInstance().resetKn();
+        KnCliFactory.getInstance().resetKn(project);
         return initializeKn();
     }
 
@@ -21,8 +21,10 @@ import com.redhat.devtools.intellij.common.utils.ConfigHelper;
 import com.redhat.devtools.intellij.common.utils.ConfigWatcher;
 import com.redhat.devtools.intellij.common.utils.ExecHelper;
 import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.kn.Revision;
 import com.redhat.devtools.intellij.knative.kn.Service;
-import com.redhat.devtools.intellij.knative.utils.WatchHandler;
+import com.redhat.devtools.intellij.knative.kn.Source;
+import com.redhat.devtools.intellij.knative.telemetry.StartupTimer;
 import io.fabric8.kubernetes.api.model.Config;
 import io.fabric8.kubernetes.api.model.NamedContext;
 import io.fabric8.kubernetes.client.internal.KubeConfigUtils;
@@ -44,12 +46,15 @@ public class KnTreeStructure extends AbstractKnTreeStructure implements ConfigWa
     private static final Icon SOURCE_ICON = IconLoader.findIcon("/images/source-generic.svg", KnTreeStructure.class);
 
     private final AtomicBoolean initialized = new AtomicBoolean(false);
+    private volatile long created;
     private Config config;
     protected ClusterModelSynchronizer clusterModelSynchronizer;
+    protected volatile TreeSnapshot snapshot;
 
     public KnTreeStructure(Project project) {
         super(project);
         this.config = loadConfig();
+        this.snapshot = TreeSnapshot.forContext(getContextName(config));
         this.clusterModelSynchronizer = new ClusterModelSynchronizer(this);
         initConfigWatcher();
     }
@@ -62,9 +67,19 @@ public class KnTreeStructure extends AbstractKnTreeStructure implements ConfigWa
         return ConfigHelper.safeLoadKubeConfig();
     }
 
+    private static String getContextName(Config config) {
+        NamedContext context = config == null ? null : KubeConfigUtils.getCurrentContext(config);
+        return context == null ? null : context.getName();
+    }
+
+    protected void saveSnapshot() {
+        ExecHelper.submit(snapshot::save);
+    }
+
     @Override
     public @NotNull Object getRootElement() {
         if (!initialized.getAndSet(true)) {
+            created = System.nanoTime();
             root.initializeKn().thenAccept(kn -> fireModified(root));
         }
         return root;
@@ -76,12 +91,26 @@ public class KnTreeStructure extends AbstractKnTreeStructure implements ConfigWa
         if (kn != null) {
             if (element instanceof KnRootNode) {
                 Object[] result = new Object[0];
-                if (hasKnativeServing(kn)) {
+                long discoveryStart = System.nanoTime();
+                boolean serving = hasKnativeServing(kn);
+                boolean eventing = hasKnativeEventing(kn);
+                if (serving) {
                     result = ArrayUtil.append(result, new KnServingNode(root, root));
                 }
-                if (hasKnativeEventing(kn)) {
+                if (eventing) {
                     result = ArrayUtil.append(result, new KnEventingNode(root, root));
                 }
+                snapshot.setCluster(kn.getNamespace(), serving, eventing);
+                saveSnapshot();
+                StartupTimer.getInstance().record(StartupTimer.PHASE_DISCOVERY, discoveryStart);
+                if (created != 0) {
+                    // kn may have been resolved by the other tree sharing the root, before this one was created
+                    long knReady = Math.max(root.getKnReadyTime(), created);
+                    StartupTimer.getInstance().record(StartupTimer.TIME_TO_FIRST_TREE, created);
+                    StartupTimer.getInstance().record(StartupTimer.PHASE_FIRST_TREE, knReady);
+                }
+                // the tree can be shown, run what was deferred
+                ExecHelper.submit(kn::postInitialize);
                 return result;
             }
 
@@ -104,11 +133,51 @@ public class KnTreeStructure extends AbstractKnTreeStructure implements ConfigWa
             if (element instanceof KnSourceNode) {
                 return getSinkForSource((KnSourceNode) element);
             }
+        } else {
+            return getCachedChildElements(element);
         }
 
         return new Object[0];
     }
 
+    /**
+     * The children recorded in the last session, shown until kn is ready
+     */
+    private Object[] getCachedChildElements(Object element) {
+        if (element instanceof KnRootNode) {
+            Object[] result = new Object[0];
+            if (snapshot.hasServing()) {
+                result = ArrayUtil.append(result, new KnServingNode(root, root));
+            }
+            if (snapshot.hasEventing()) {
+                result = ArrayUtil.append(result, new KnEventingNode(root, root));
+            }
+            return result;
+        }
+        if (element instanceof KnServingNode) {
+            return snapshot.getServices().stream()
+                    .map(service -> new KnServiceNode(root, (KnServingNode) element, toUpdate -> service))
+                    .toArray();
+        }
+        if (element instanceof KnServiceNode) {
+            return snapshot.getRevisions(((KnServiceNode) element).getName()).stream()
+                    .map(revision -> new KnRevisionNode(root, (KnServiceNode) element, revision))
+                    .toArray();
+        }
+        if (element instanceof KnEventingNode) {
+            return getEventingNodes((KnEventingNode) element);
+        }
+        if (element instanceof KnEventingSourcesNode) {
+            return snapshot.getSources().stream()
+                    .map(source -> new KnSourceNode(root, (KnEventingSourcesNode) element, source))
+                    .toArray();
+        }
+        if (element instanceof KnSourceNode) {
+            return getSinkForSource((KnSourceNode) element);
+        }
+        return new Object[0];
+    }
+
     private Object[] getSinkForSource(KnSourceNode element) {
         if (element.getSource().getSinkSource() != null) {
             return new Object[]{new KnSinkNode(root, element, element.getSource().getSinkSource())};
@@ -130,7 +199,10 @@ public class KnTreeStructure extends AbstractKnTreeStructure implements ConfigWa
         List<Object> sources = new ArrayList<>();
         try {
             Kn kn = element.getRootNode().getKn();
-            kn.getSources().forEach(it -> sources.add(new KnSourceNode(element.getRootNode(), element, it)));
+            List<Source> loaded = kn.getSources();
+            loaded.forEach(it -> sources.add(new KnSourceNode(element.getRootNode(), element, it)));
+            snapshot.setSources(loaded);
+            saveSnapshot();
         } catch (IOException e) {
             sources.add(new MessageNode<>(element.getRootNode(), element, "Failed to load sources"));
         }
@@ -141,7 +213,10 @@ public class KnTreeStructure extends AbstractKnTreeStructure implements ConfigWa
         List<Object> revisions = new ArrayList<>();
         try {
             Kn kn = element.getRootNode().getKn();
-            kn.getRevisionsForService(element.getName()).forEach(it -> revisions.add(new KnRevisionNode(element.getRootNode(), element, it)));
+            List<Revision> loaded = kn.getRevisionsForService(element.getName());
+            loaded.forEach(it -> revisions.add(new KnRevisionNode(element.getRootNode(), element, it)));
+            snapshot.setRevisions(element.getName(), loaded);
+            saveSnapshot();
         } catch (IOException e) {
             revisions.add(new MessageNode<>(element.getRootNode(), element, "Failed to load revisions"));
         }
@@ -152,7 +227,10 @@ public class KnTreeStructure extends AbstractKnTreeStructure implements ConfigWa
         List<Object> services = new ArrayList<>();
         try {
             Kn kn = element.getRootNode().getKn();
-            kn.getServicesList().stream().forEach(it -> services.add(new KnServiceNode(element.getRootNode(), element, getService(kn, it))));
+            List<Service> loaded = kn.getServicesList();
+            loaded.forEach(it -> services.add(new KnServiceNode(element.getRootNode(), element, getService(kn, it))));
+            snapshot.setServices(loaded);
+            saveSnapshot();
         } catch (IOException e) {
             services.add(new MessageNode<>(element.getRootNode(), element, "Failed to load services"));
         }
@@ -186,7 +264,7 @@ public class KnTreeStructure extends AbstractKnTreeStructure implements ConfigWa
     public NodeDescriptor<?> createDescriptor(@NotNull Object element, @Nullable NodeDescriptor parentDescriptor) {
         if (element instanceof KnRootNode) {
             Kn kn = ((KnRootNode) element).getKn();
-            return new KnRootNodeDescriptor(project, (KnRootNode) element, kn != null ? kn.getNamespace() : "Loading", CLUSTER_ICON, parentDescriptor);
+            return new KnRootNodeDescriptor(project, (KnRootNode) element, getRootLabel(kn), CLUSTER_ICON, parentDescriptor);
         }
         if (element instanceof KnServingNode) {
             return new LabelAndIconDescriptor<>(project, element, ((KnServingNode) element).getName(), AllIcons.Nodes.Package, parentDescriptor);
@@ -231,9 +309,20 @@ public class KnTreeStructure extends AbstractKnTreeStructure implements ConfigWa
         return super.createDescriptor(element, parentDescriptor);
     }
 
+    private String getRootLabel(Kn kn) {
+        if (kn != null) {
+            return kn.getNamespace();
+        }
+        if (!snapshot.isEmpty()) {
+            return snapshot.getNamespace() + " (cached, loading...)";
+        }
+        return "Loading";
+    }
+
     @Override
     public void onUpdate(ConfigWatcher source, Config config) {
         if (hasContextChanged(config, this.config)) {
+            snapshot = TreeSnapshot.forContext(getContextName(config));
             refresh();
         }
         this.config = config;
@@ -272,7 +361,6 @@ public class KnTreeStructure extends AbstractKnTreeStructure implements ConfigWa
 
     protected void refresh() {
         try {
-            WatchHandler.get(null).removeAll();
             root.load().whenComplete((kn, err) -> {
                 mutableModelSupport.fireModified(root);
             });
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.tree;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.hash.Hashing;
+import com.intellij.openapi.application.PathManager;
+import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.kn.Revision;
+import com.redhat.devtools.intellij.knative.kn.Service;
+import com.redhat.devtools.intellij.knative.kn.Source;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The last content of the trees for a kubeconfig context, stored in the IDE system folder. It is shown at startup,
+ * until kn and func are resolved, and each part is replaced once it is listed from the cluster.
+ * Only what the tree shows is kept: names, status, traffic, conditions and sinks, not the specs.
+ * There is a single snapshot per context, shared by the Knative and the functions trees, so that each tree
+ * saves the parts listed by the other one as they are and not as they were at startup.
+ */
+public class TreeSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(TreeSnapshot.class);
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final String NAMESPACE = "namespace";
+    private static final String SERVING = "serving";
+    private static final String EVENTING = "eventing";
+    private static final String SERVICES = "services";
+    private static final String REVISIONS = "revisions";
+    private static final String SOURCES = "sources";
+    private static final String FUNCTIONS = "functions";
+
+    private static final Map<Path, TreeSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final Object writeLock = new Object();
+    private ObjectNode content;
+    private long version, savedVersion;
+
+    TreeSnapshot(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @param context the name of a kubeconfig context
+     * @return the snapshot of the context, the same instance for all the trees showing the context
+     */
+    public static TreeSnapshot forContext(String context) {
+        String name = Hashing.sha256().hashString(context == null ? "" : context, StandardCharsets.UTF_8).toString();
+        return SNAPSHOTS.computeIfAbsent(Paths.get(PathManager.getSystemPath(), "knative", "snapshots", name + ".json"),
+                TreeSnapshot::new);
+    }
+
+    /**
+     * @return true if nothing was recorded for the context
+     */
+    public synchronized boolean isEmpty() {
+        return load().size() == 0;
+    }
+
+    public synchronized String getNamespace() {
+        return load().path(NAMESPACE).asText("");
+    }
+
+    public synchronized boolean hasServing() {
+        return load().path(SERVING).asBoolean();
+    }
+
+    public synchronized boolean hasEventing() {
+        return load().path(EVENTING).asBoolean();
+    }
+
+    public synchronized void setCluster(String namespace, boolean serving, boolean eventing) {
+        version++;
+        load().put(NAMESPACE, namespace)
+                .put(SERVING, serving)
+                .put(EVENTING, eventing);
+    }
+
+    public synchronized List<Service> getServices() {
+        List<Service> services = new ArrayList<>();
+        for (JsonNode node : load().path(SERVICES)) {
+            Service service = read(node, Service.class);
+            if (service != null) {
+                // without the resource, the editor loads the whole service from the cluster
+                services.add(new Service(service.getName(), service.getStatus()));
+            }
+        }
+        return services;
+    }
+
+    public synchronized void setServices(List<Service> services) {
+        version++;
+        ArrayNode nodes = load().putArray(SERVICES);
+        Set<String> names = new HashSet<>();
+        for (Service service : services) {
+            ObjectNode node = nodes.addObject();
+            node.putObject("metadata").put("name", service.getName());
+            JsonNode resource = service.getResource();
+            if (resource != null && resource.has("status")) {
+                node.set("status", resource.get("status"));
+            }
+            names.add(service.getName());
+        }
+        // forget the revisions of the deleted services
+        JsonNode revisions = load().get(REVISIONS);
+        if (revisions instanceof ObjectNode) {
+            List<String> deleted = new ArrayList<>();
+            revisions.fieldNames().forEachRemaining(name -> {
+                if (!names.contains(name)) {
+                    deleted.add(name);
+                }
+            });
+            ((ObjectNode) revisions).remove(deleted);
+        }
+    }
+
+    public synchronized List<Revision> getRevisions(String service) {
+        List<Revision> revisions = new ArrayList<>();
+        for (JsonNode node : load().path(REVISIONS).path(service)) {
+            Revision revision = read(node, Revision.class);
+            if (revision != null) {
+                revisions.add(new Revision(revision.getName(), revision.getConditions(), revision.getAnnotations(), revision.getLabels()));
+            }
+        }
+        return revisions;
+    }
+
+    public synchronized void setRevisions(String service, List<Revision> revisions) {
+        version++;
+        ObjectNode byService = load().get(REVISIONS) instanceof ObjectNode ? (ObjectNode) load().get(REVISIONS) : load().putObject(REVISIONS);
+        ArrayNode nodes = byService.putArray(service);
+        for (Revision revision : revisions) {
+            ObjectNode node = nodes.addObject();
+            ObjectNode metadata = node.putObject("metadata");
+            metadata.put("name", revision.getName());
+            metadata.set("annotations", JSON_MAPPER.valueToTree(revision.getAnnotations()));
+            metadata.set("labels", JSON_MAPPER.valueToTree(revision.getLabels()));
+            JsonNode resource = revision.getResource();
+            JsonNode conditions = resource == null ? null : resource.path("status").get("conditions");
+            ObjectNode status = node.putObject("status");
+            if (conditions != null) {
+                status.set("conditions", conditions);
+            }
+        }
+    }
+
+    public synchronized List<Source> getSources() {
+        List<Source> sources = new ArrayList<>();
+        for (JsonNode node : load().path(SOURCES)) {
+            Source source = read(node, Source.class);
+            if (source != null) {
+                sources.add(new Source(source.getName(), source.getKind(), source.getSinkSource()));
+            }
+        }
+        return sources;
+    }
+
+    public synchronized void setSources(List<Source> sources) {
+        version++;
+        ArrayNode nodes = load().putArray(SOURCES);
+        for (Source source : sources) {
+            ObjectNode node = nodes.addObject();
+            node.put("kind", source.getKind());
+            node.putObject("metadata").put("name", source.getName());
+            JsonNode resource = source.getResource();
+            if (resource != null && resource.has("spec")) {
+                node.set("spec", resource.get("spec"));
+            }
+        }
+    }
+
+    public synchronized List<Function> getFunctions() {
+        List<Function> functions = new ArrayList<>();
+        for (JsonNode node : load().path(FUNCTIONS)) {
+            functions.add(new Function(node.path("name").asText(""),
+                    node.path("namespace").asText(""),
+                    node.path("runtime").asText(""),
+                    node.path("url").asText(""),
+                    node.path("image").asText(""),
+                    node.path("ready").asBoolean(),
+                    node.path("pushed").asBoolean(),
+                    node.path("localPath").asText("")));
+        }
+        return functions;
+    }
+
+    public synchronized void setFunctions(List<Function> functions) {
+        version++;
+        ArrayNode nodes = load().putArray(FUNCTIONS);
+        for (Function function : functions) {
+            nodes.addObject()
+                    .put("name", function.getName())
+                    .put("namespace", function.getNamespace())
+                    .put("runtime", function.getRuntime())
+                    .put("url", function.getUrl())
+                    .put("image", function.getImage())
+                    .put("ready", function.isReady())
+                    .put("pushed", function.isPushed())
+                    .put("localPath", function.getLocalPath());
+        }
+    }
+
+    /**
+     * Write the snapshot, to be called in the background. Writes are serialized and a save is skipped when
+     * nothing changed since the last write, so the saves requested for each expanded node are coalesced.
+     */
+    public void save() {
+        synchronized (writeLock) {
+            String json;
+            long saving;
+            synchronized (this) {
+                if (content == null || version == savedVersion) {
+                    return;
+                }
+                json = content.toString();
+                saving = version;
+            }
+            try {
+                Files.createDirectories(file.getParent());
+                Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                Files.write(temp, json.getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                synchronized (this) {
+                    savedVersion = saving;
+                }
+            } catch (IOException e) {
+                logger.warn(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
+    private ObjectNode load() {
+        if (content == null) {
+            content = JsonNodeFactory.instance.objectNode();
+            if (Files.exists(file)) {
+                try {
+                    JsonNode json = JSON_MAPPER.readTree(file.toFile());
+                    if (json instanceof ObjectNode) {
+                        content = (ObjectNode) json;
+                    }
+                } catch (IOException e) {
+                    logger.warn(e.getLocalizedMessage(), e);
+                }
+            }
+        }
+        return content;
+    }
+
+    private static <T> T read(JsonNode node, Class<T> type) {
+        try {
+            return JSON_MAPPER.treeToValue(node, type);
+        } catch (IOException | RuntimeException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+            return null;
+        }
+    }
+}
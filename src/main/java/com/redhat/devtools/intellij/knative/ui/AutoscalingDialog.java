@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.ui;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ValidationInfo;
+import com.intellij.util.ui.JBUI;
+import com.redhat.devtools.intellij.knative.serving.AutoscalingConfig;
+import com.redhat.devtools.intellij.knative.serving.AutoscalingSimulator;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+
+public class AutoscalingDialog extends BaseDialog {
+    private final AutoscalingConfig config;
+    private JPanel contentPanel;
+    private JSpinner spinnerTarget, spinnerUtilization, spinnerMinScale, spinnerMaxScale, spinnerConcurrency;
+    private JSpinner spinnerRate, spinnerLatency;
+    private JLabel lblSimulation;
+
+    public AutoscalingDialog(Project project, String service, AutoscalingConfig config) {
+        super(project, true);
+        this.config = config;
+        setTitle("Autoscaling of " + service);
+        setOKButtonText("Apply");
+        buildStructure();
+        simulate();
+        init();
+    }
+
+    private void buildStructure() {
+        contentPanel = new JPanel();
+        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
+
+        spinnerTarget = addSpinner("Target:", "Concurrent requests per pod the autoscaler aims for. 0 uses the cluster default",
+                new SpinnerNumberModel(config.getTarget(), 0, Integer.MAX_VALUE, 1));
+        spinnerUtilization = addSpinner("Utilization (%):", "Percentage of the target actually used before scaling. 0 uses the cluster default",
+                new SpinnerNumberModel(config.getUtilization(), 0, 100, 5));
+        spinnerMinScale = addSpinner("Min scale:", "Minimum number of pods. 0 allows scaling to zero",
+                new SpinnerNumberModel(config.getMinScale(), 0, Integer.MAX_VALUE, 1));
+        spinnerMaxScale = addSpinner("Max scale:", "Maximum number of pods. 0 means no limit",
+                new SpinnerNumberModel(config.getMaxScale(), 0, Integer.MAX_VALUE, 1));
+        spinnerConcurrency = addSpinner("Concurrency:", "Maximum number of requests processed at once by a pod (containerConcurrency). 0 means no limit",
+                new SpinnerNumberModel(config.getContainerConcurrency(), 0, 1000, 1));
+
+        JLabel lblSimulationTitle = new JLabel("Simulation");
+        lblSimulationTitle.setBorder(JBUI.Borders.empty(10, 10, 0, 0));
+        contentPanel.add(lblSimulationTitle);
+        spinnerRate = addSpinner("Requests/s:", "Expected request rate",
+                new SpinnerNumberModel(100, 0, Integer.MAX_VALUE, 10));
+        spinnerLatency = addSpinner("Latency (ms):", "Expected processing time of a request",
+                new SpinnerNumberModel(100, 1, Integer.MAX_VALUE, 10));
+        lblSimulation = new JLabel();
+        lblSimulation.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 0));
+        contentPanel.add(lblSimulation);
+    }
+
+    private JSpinner addSpinner(String label, String tooltip, SpinnerNumberModel spinnerModel) {
+        JLabel lbl = createLabel(label, tooltip, null);
+        JSpinner spinner = new JSpinner(spinnerModel);
+        spinner.addChangeListener(e -> simulate());
+        addComponentToContent(contentPanel, lbl, spinner, null, 0);
+        return spinner;
+    }
+
+    private AutoscalingConfig getConfig() {
+        return new AutoscalingConfig(
+                (int) spinnerTarget.getValue(),
+                (int) spinnerUtilization.getValue(),
+                (int) spinnerMinScale.getValue(),
+                (int) spinnerMaxScale.getValue(),
+                (int) spinnerConcurrency.getValue());
+    }
+
+    private void simulate() {
+        // spinners fire change events while the structure is still being built
+        if (lblSimulation == null) {
+            return;
+        }
+        AutoscalingConfig edited = getConfig();
+        if (edited.validate() != null) {
+            lblSimulation.setText("");
+            return;
+        }
+        AutoscalingSimulator.Result result = AutoscalingSimulator.simulate(edited,
+                (int) spinnerRate.getValue(), (int) spinnerLatency.getValue());
+        lblSimulation.setText(result.toString());
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        return contentPanel;
+    }
+
+    @Override
+    public @Nullable JComponent getPreferredFocusedComponent() {
+        return spinnerTarget;
+    }
+
+    @Override
+    protected @Nullable ValidationInfo doValidate() {
+        String error = getConfig().validate();
+        return error == null ? null : new ValidationInfo(error, spinnerTarget);
+    }
+
+    @Override
+    protected void doOKAction() {
+        AutoscalingConfig edited = getConfig();
+        config.setTarget(edited.getTarget());
+        config.setUtilization(edited.getUtilization());
+        config.setMinScale(edited.getMinScale());
+        config.setMaxScale(edited.getMaxScale());
+        config.setContainerConcurrency(edited.getContainerConcurrency());
+        super.doOKAction();
+    }
+}
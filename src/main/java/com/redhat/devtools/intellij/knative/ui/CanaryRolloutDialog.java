@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.ui;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ValidationInfo;
+import com.redhat.devtools.intellij.knative.utils.model.CanaryRolloutModel;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.BoxLayout;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JSpinner;
+import javax.swing.JTextField;
+import javax.swing.SpinnerNumberModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CanaryRolloutDialog extends BaseDialog {
+    private final CanaryRolloutModel model;
+    private JPanel contentPanel;
+    private JTextField txtSteps;
+    private JSpinner spinnerInterval, spinnerRequests, spinnerErrorRate, spinnerLatency, spinnerFactor;
+
+    public CanaryRolloutDialog(Project project, String service, CanaryRolloutModel model) {
+        super(project, true);
+        this.model = model;
+        setTitle("Canary Rollout of " + service);
+        setOKButtonText("Start");
+        buildStructure();
+        init();
+    }
+
+    private void buildStructure() {
+        contentPanel = new JPanel();
+        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
+
+        txtSteps = new JTextField(model.getSteps().stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        addComponentToContent(contentPanel,
+                createLabel("Steps (%):", "Percentages of traffic sent to the latest revision, separated by commas. The last step must be 100", null),
+                txtSteps, null, 0);
+        spinnerInterval = addSpinner("Interval (s):", "Time to wait after each traffic shift before probing the revisions",
+                new SpinnerNumberModel(model.getStepInterval(), 0, Integer.MAX_VALUE, 5));
+        spinnerRequests = addSpinner("Probes:", "Number of requests sent to each revision at each step",
+                new SpinnerNumberModel(model.getProbeRequests(), 1, Integer.MAX_VALUE, 1));
+        spinnerErrorRate = addSpinner("Max errors (%):", "Rollback when the error rate of the latest revision is above this value",
+                new SpinnerNumberModel(model.getMaxErrorRate(), 0, 100, 0.5));
+        spinnerLatency = addSpinner("Max p95 (ms):", "Rollback when the p95 latency of the latest revision is above this value. 0 means no limit",
+                new SpinnerNumberModel(model.getMaxLatency(), 0, Integer.MAX_VALUE, 50));
+        spinnerFactor = addSpinner("Max p95 ratio:", "Rollback when the p95 latency of the latest revision is more than this many times the p95 of the previous revision",
+                new SpinnerNumberModel(model.getLatencyRegressionFactor(), 1, 100, 0.1));
+    }
+
+    private JSpinner addSpinner(String label, String tooltip, SpinnerNumberModel spinnerModel) {
+        JLabel lbl = createLabel(label, tooltip, null);
+        JSpinner spinner = new JSpinner(spinnerModel);
+        addComponentToContent(contentPanel, lbl, spinner, null, 0);
+        return spinner;
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        return contentPanel;
+    }
+
+    @Override
+    public @Nullable JComponent getPreferredFocusedComponent() {
+        return txtSteps;
+    }
+
+    @Override
+    protected @Nullable ValidationInfo doValidate() {
+        List<Integer> steps = parseSteps(txtSteps.getText());
+        CanaryRolloutModel validated = new CanaryRolloutModel(steps, 0, 1, 0, 0, 1);
+        if (!validated.isValid()) {
+            return new ValidationInfo("Steps must be increasing percentages ending with 100", txtSteps);
+        }
+        return null;
+    }
+
+    @Override
+    protected void doOKAction() {
+        model.setSteps(parseSteps(txtSteps.getText()));
+        model.setStepInterval((int) spinnerInterval.getValue());
+        model.setProbeRequests((int) spinnerRequests.getValue());
+        model.setMaxErrorRate(((Number) spinnerErrorRate.getValue()).doubleValue());
+        model.setMaxLatency((int) spinnerLatency.getValue());
+        model.setLatencyRegressionFactor(((Number) spinnerFactor.getValue()).doubleValue());
+        super.doOKAction();
+    }
+
+    private List<Integer> parseSteps(String text) {
+        List<Integer> steps = new ArrayList<>();
+        for (String step : text.split(",")) {
+            try {
+                steps.add(Integer.parseInt(step.trim()));
+            } catch (NumberFormatException e) {
+                return new ArrayList<>();
+            }
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.ui;
+
+import com.intellij.openapi.fileEditor.FileEditor;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.EditorNotificationPanel;
+import com.intellij.ui.EditorNotificationProvider;
+import com.intellij.ui.EditorNotifications;
+import com.redhat.devtools.intellij.knative.utils.EditorHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JComponent;
+import java.util.function.Function;
+
+import static com.redhat.devtools.intellij.knative.Constants.CHANGED_ON_CLUSTER_KEY;
+import static com.redhat.devtools.intellij.knative.Constants.DELETED_ON_CLUSTER_KEY;
+
+/**
+ * Banner shown on an edited resource when the resource is modified on, or deleted from, the cluster.
+ */
+public class ChangedOnClusterNotificationProvider implements EditorNotificationProvider, DumbAware {
+
+    @Override
+    public @Nullable Function<? super FileEditor, ? extends JComponent> collectNotificationData(@NotNull Project project, @NotNull VirtualFile file) {
+        if (file.getUserData(DELETED_ON_CLUSTER_KEY) != null) {
+            return fileEditor -> {
+                EditorNotificationPanel panel = new EditorNotificationPanel(fileEditor);
+                panel.setText("The resource was deleted from the cluster. Saving your changes will fail.");
+                panel.createActionLabel("Dismiss", () -> {
+                    file.putUserData(DELETED_ON_CLUSTER_KEY, null);
+                    EditorNotifications.getInstance(project).updateNotifications(file);
+                });
+                return panel;
+            };
+        }
+        if (file.getUserData(CHANGED_ON_CLUSTER_KEY) == null) {
+            return null;
+        }
+        return fileEditor -> {
+            EditorNotificationPanel panel = new EditorNotificationPanel(fileEditor);
+            panel.setText("The resource was modified on the cluster. Saving your changes will fail until it is reloaded.");
+            panel.createActionLabel("Reload and discard my changes", () -> EditorHelper.reloadFromCluster(file));
+            panel.createActionLabel("Dismiss", () -> {
+                file.putUserData(CHANGED_ON_CLUSTER_KEY, null);
+                EditorNotifications.getInstance(project).updateNotifications(file);
+            });
+            return panel;
+        };
+    }
+}
@@ -67,6 +67,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import static com.redhat.devtools.intellij.knative.Constants.VALIDATE_ON_CLUSTER_KEY;
 import static com.redhat.devtools.intellij.knative.Constants.YAML_FIRST_IMAGE_PATH;
 import static com.redhat.devtools.intellij.knative.Constants.YAML_NAME_PATH;
 import static com.redhat.devtools.intellij.knative.Constants.borderSearchFieldColor;
@@ -111,7 +112,9 @@ public class CreateServiceDialog extends DialogWrapper {
         } catch (IOException e) {
             logger.warn(e.getLocalizedMessage(), e);
         }
-        editor = new PsiAwareTextEditorImpl(project, new LightVirtualFile("service.yaml", content), TextEditorProvider.getInstance());
+        LightVirtualFile file = new LightVirtualFile("service.yaml", content);
+        file.putUserData(VALIDATE_ON_CLUSTER_KEY, true);
+        editor = new PsiAwareTextEditorImpl(project, file, TextEditorProvider.getInstance());
         editor.getEditor().getDocument().addDocumentListener(createEditorListener());
     }
 
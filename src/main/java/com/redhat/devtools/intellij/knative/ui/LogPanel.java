@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.ui;
+
+import com.intellij.execution.filters.TextConsoleBuilderFactory;
+import com.intellij.execution.ui.ConsoleView;
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.ui.DocumentAdapter;
+import com.intellij.ui.SearchTextField;
+import com.redhat.devtools.intellij.knative.serving.logs.LogBuffer;
+import com.redhat.devtools.intellij.knative.serving.logs.LogLine;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.JPanel;
+import javax.swing.event.DocumentEvent;
+import java.awt.BorderLayout;
+import java.util.List;
+
+/**
+ * Console showing the merged log of several pods with a filter field.
+ */
+public class LogPanel extends JPanel implements Disposable {
+    private final ConsoleView console;
+    private final LogBuffer buffer;
+    private final SearchTextField txtFilter;
+
+    public LogPanel(Project project, int maxLines) {
+        super(new BorderLayout());
+        this.buffer = new LogBuffer(maxLines);
+        this.console = TextConsoleBuilderFactory.getInstance().createBuilder(project).getConsole();
+        Disposer.register(this, console);
+
+        txtFilter = new SearchTextField(false);
+        txtFilter.addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(@NotNull DocumentEvent e) {
+                applyFilter(txtFilter.getText());
+            }
+        });
+        add(txtFilter, BorderLayout.NORTH);
+        add(console.getComponent(), BorderLayout.CENTER);
+    }
+
+    /**
+     * Add lines to the log, only the lines matching the filter are printed
+     *
+     * @param lines the lines in timestamp order
+     */
+    public synchronized void append(List<LogLine> lines) {
+        StringBuilder text = new StringBuilder();
+        for (LogLine line : lines) {
+            if (buffer.add(line)) {
+                text.append(line).append('\n');
+            }
+        }
+        if (text.length() > 0) {
+            console.print(text.toString(), ConsoleViewContentType.NORMAL_OUTPUT);
+        }
+    }
+
+    public void printStatus(String status) {
+        console.print(status + "\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+    }
+
+    private synchronized void applyFilter(String filter) {
+        // synchronized with append so that no line is printed between the clear and the matches
+        List<LogLine> matches = buffer.setFilter(filter);
+        StringBuilder text = new StringBuilder();
+        matches.forEach(line -> text.append(line).append('\n'));
+        console.clear();
+        console.print(text.toString(), ConsoleViewContentType.NORMAL_OUTPUT);
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
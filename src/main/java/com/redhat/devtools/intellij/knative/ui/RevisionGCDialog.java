@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.ui;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.ui.components.JBScrollPane;
+import com.redhat.devtools.intellij.common.utils.ExecHelper;
+import com.redhat.devtools.intellij.common.utils.UIHelper;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.serving.RevisionGC;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JSpinner;
+import javax.swing.JTextArea;
+import javax.swing.SpinnerNumberModel;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class RevisionGCDialog extends BaseDialog {
+    private final Kn kn;
+    private JPanel wrapperPanel;
+    private JSpinner spinnerKeep;
+    private JButton btnPreview;
+    private JTextArea txtPreview;
+    private Map<String, List<String>> plan = Collections.emptyMap();
+    private int planKeep = -1;
+
+    public RevisionGCDialog(Project project, Kn kn, int keep) {
+        super(project, true);
+        this.kn = kn;
+        setTitle("Clean Up Revisions in " + kn.getNamespace());
+        setOKButtonText("Delete");
+        buildStructure(keep);
+        init();
+        updateOKAction();
+    }
+
+    private void buildStructure(int keep) {
+        JPanel contentPanel = new JPanel();
+        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
+        spinnerKeep = new JSpinner(new SpinnerNumberModel(Math.max(keep, 1), 1, Integer.MAX_VALUE, 1));
+        spinnerKeep.addChangeListener(e -> updateOKAction());
+        btnPreview = new JButton("Preview");
+        btnPreview.addActionListener(e -> preview());
+        addComponentToContent(contentPanel,
+                createLabel("Keep:", "Number of most recent revisions kept for each service. Revisions receiving traffic, tagged or still rolling out are always kept", null),
+                spinnerKeep, btnPreview, 0);
+
+        txtPreview = new JTextArea("Preview the revisions that will be deleted");
+        txtPreview.setEditable(false);
+        JBScrollPane scrollPane = new JBScrollPane(txtPreview);
+        scrollPane.setPreferredSize(new Dimension(500, 250));
+
+        wrapperPanel = new JPanel(new BorderLayout());
+        wrapperPanel.add(contentPanel, BorderLayout.NORTH);
+        wrapperPanel.add(scrollPane, BorderLayout.CENTER);
+    }
+
+    private void preview() {
+        int keep = getKeep();
+        btnPreview.setEnabled(false);
+        txtPreview.setText("Loading revisions...");
+        ExecHelper.submit(() -> {
+            String text;
+            Map<String, List<String>> computed = Collections.emptyMap();
+            try {
+                computed = new RevisionGC(kn, keep).plan();
+                text = toText(computed);
+            } catch (IOException e) {
+                text = "Error: " + e.getLocalizedMessage();
+            }
+            Map<String, List<String>> result = computed;
+            String preview = text;
+            UIHelper.executeInUI(() -> {
+                plan = result;
+                planKeep = keep;
+                txtPreview.setText(preview);
+                btnPreview.setEnabled(true);
+                updateOKAction();
+            });
+        });
+    }
+
+    private String toText(Map<String, List<String>> plan) {
+        if (plan.isEmpty()) {
+            return "No revision to delete";
+        }
+        StringBuilder text = new StringBuilder();
+        int total = 0;
+        for (Map.Entry<String, List<String>> entry : plan.entrySet()) {
+            text.append(entry.getKey()).append(" (").append(entry.getValue().size()).append(")\n");
+            entry.getValue().forEach(revision -> text.append("  ").append(revision).append("\n"));
+            total += entry.getValue().size();
+        }
+        return total + " revisions will be deleted\n\n" + text;
+    }
+
+    private void updateOKAction() {
+        // deletion is only allowed once the preview matches the current settings
+        setOKActionEnabled(!plan.isEmpty() && planKeep == getKeep());
+    }
+
+    public int getKeep() {
+        return (int) spinnerKeep.getValue();
+    }
+
+    public Map<String, List<String>> getPlan() {
+        return plan;
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        return wrapperPanel;
+    }
+
+    @Override
+    public @Nullable JComponent getPreferredFocusedComponent() {
+        return btnPreview;
+    }
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.ui;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.JBUI;
+import com.redhat.devtools.intellij.common.utils.UIHelper;
+import com.redhat.devtools.intellij.knative.serving.RevisionMetricsSample;
+import com.redhat.devtools.intellij.knative.serving.RevisionMetricsSampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.table.DefaultTableModel;
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically sample the metrics of revisions and show the time series, most recent sample first.
+ */
+public class RevisionMetricsPanel extends JPanel implements Disposable {
+    private static final Logger logger = LoggerFactory.getLogger(RevisionMetricsPanel.class);
+    private static final String[] COLUMNS = {"Time", "Revision", "Pods (ready/total)", "CPU (m)", "Memory", "Concurrency", "Requests/s"};
+
+    private final List<RevisionMetricsSampler> samplers;
+    private final DefaultTableModel model;
+    private final JLabel lblStatus;
+    private final JSpinner spinnerInterval;
+    private ScheduledFuture<?> future;
+
+    public RevisionMetricsPanel(List<RevisionMetricsSampler> samplers, int interval) {
+        super(new BorderLayout());
+        this.samplers = samplers;
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        toolbar.add(new JLabel("Interval (s):"));
+        spinnerInterval = new JSpinner(new SpinnerNumberModel(interval, 1, 3600, 1));
+        spinnerInterval.addChangeListener(e -> schedule());
+        toolbar.add(spinnerInterval);
+        lblStatus = new JLabel();
+        lblStatus.setBorder(JBUI.Borders.emptyLeft(10));
+        toolbar.add(lblStatus);
+        add(toolbar, BorderLayout.NORTH);
+
+        model = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        add(new JBScrollPane(new JBTable(model)), BorderLayout.CENTER);
+        schedule();
+    }
+
+    public int getInterval() {
+        return (int) spinnerInterval.getValue();
+    }
+
+    private synchronized void schedule() {
+        if (future != null) {
+            future.cancel(false);
+        }
+        future = AppExecutorUtil.getAppScheduledExecutorService()
+                .scheduleWithFixedDelay(this::sample, 0, getInterval(), TimeUnit.SECONDS);
+    }
+
+    private void sample() {
+        String error = null;
+        for (RevisionMetricsSampler sampler : samplers) {
+            try {
+                sampler.sample();
+            } catch (IOException e) {
+                logger.warn(e.getLocalizedMessage(), e);
+                error = e.getLocalizedMessage();
+            }
+        }
+        List<RevisionMetricsSample> samples = new ArrayList<>();
+        samplers.forEach(sampler -> samples.addAll(sampler.getSamples()));
+        samples.sort(Comparator.comparingLong(RevisionMetricsSample::getTimestamp).reversed());
+        String status = error != null ? "Error: " + error : getStatus();
+        UIHelper.executeInUI(() -> {
+            lblStatus.setText(status);
+            update(samples);
+        });
+    }
+
+    private String getStatus() {
+        List<String> missing = new ArrayList<>();
+        if (samplers.stream().anyMatch(sampler -> !sampler.isPodMetricsAvailable())) {
+            missing.add("CPU and memory (metrics-server not available)");
+        }
+        if (samplers.stream().anyMatch(sampler -> !sampler.isQueueProxyAvailable())) {
+            missing.add("concurrency (queue-proxy metrics not reachable)");
+        }
+        return missing.isEmpty() ? "" : "Missing " + String.join(", ", missing);
+    }
+
+    private void update(List<RevisionMetricsSample> samples) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss");
+        model.setRowCount(0);
+        for (RevisionMetricsSample sample : samples) {
+            model.addRow(new Object[]{
+                    dateFormat.format(new Date(sample.getTimestamp())),
+                    sample.getRevision(),
+                    sample.getReadyPods() + "/" + sample.getPods(),
+                    sample.getCpu() < 0 ? "n/a" : String.valueOf(sample.getCpu()),
+                    sample.getMemory() < 0 ? "n/a" : StringUtil.formatFileSize(sample.getMemory()),
+                    sample.getConcurrency() < 0 ? "n/a" : String.format("%.2f", sample.getConcurrency()),
+                    sample.getRequestsPerSecond() < 0 ? "n/a" : String.format("%.2f", sample.getRequestsPerSecond())
+            });
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+}
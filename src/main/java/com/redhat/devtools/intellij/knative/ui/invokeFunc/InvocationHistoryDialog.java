@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.ui.invokeFunc;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import com.redhat.devtools.intellij.knative.func.invoke.InvocationRecord;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.AbstractAction;
+import javax.swing.Action;
+import javax.swing.JComponent;
+import javax.swing.ListSelectionModel;
+import javax.swing.table.DefaultTableModel;
+import java.awt.event.ActionEvent;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class InvocationHistoryDialog extends DialogWrapper {
+    public static final int REPLAY_SELECTED_EXIT_CODE = NEXT_USER_EXIT_CODE;
+    public static final int REPLAY_SESSION_EXIT_CODE = NEXT_USER_EXIT_CODE + 1;
+    private static final String[] COLUMNS = {"Time", "Session", "Target", "Format", "Status", "Round trip (ms)", "Total (ms)", "Response digest"};
+
+    private final List<InvocationRecord> records;
+    private JBTable table;
+    private Action replaySelectedAction, replaySessionAction;
+
+    public InvocationHistoryDialog(Project project, String function, List<InvocationRecord> records) {
+        super(project, true);
+        this.records = records;
+        setTitle("Invocation History of " + function);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        DefaultTableModel model = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        // most recent first
+        for (int i = records.size() - 1; i >= 0; i--) {
+            InvocationRecord record = records.get(i);
+            model.addRow(new Object[]{
+                    dateFormat.format(new Date(record.getTimestamp())),
+                    record.getSession(),
+                    record.getTarget(),
+                    record.getFormat() == null ? "auto" : record.getFormat(),
+                    record.isAnswered() ? String.valueOf(record.getStatus()) : "error: " + record.getError(),
+                    record.isAnswered() ? record.getRoundTripTime() : "",
+                    record.isAnswered() ? record.getTotalTime() : "",
+                    record.getDigest() == null ? "" : record.getDigest()
+            });
+        }
+        table = new JBTable(model);
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        table.getSelectionModel().addListSelectionListener(e -> updateActions());
+        JBScrollPane scrollPane = new JBScrollPane(table);
+        scrollPane.setPreferredSize(JBUI.size(900, 400));
+        return scrollPane;
+    }
+
+    @NotNull
+    @Override
+    protected Action[] createActions() {
+        replaySelectedAction = new AbstractAction("Replay Selected") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                close(REPLAY_SELECTED_EXIT_CODE);
+            }
+        };
+        replaySessionAction = new AbstractAction("Replay Session") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                close(REPLAY_SESSION_EXIT_CODE);
+            }
+        };
+        updateActions();
+        return new Action[]{replaySelectedAction, replaySessionAction, getCancelAction()};
+    }
+
+    private void updateActions() {
+        if (replaySelectedAction == null || replaySessionAction == null) {
+            return;
+        }
+        boolean selected = table != null && table.getSelectedRowCount() > 0;
+        replaySelectedAction.setEnabled(selected);
+        replaySessionAction.setEnabled(selected);
+    }
+
+    /**
+     * @return the invocations selected by the user, oldest first
+     */
+    public List<InvocationRecord> getSelectedRecords() {
+        List<InvocationRecord> selected = new ArrayList<>();
+        int[] rows = table.getSelectedRows();
+        for (int i = rows.length - 1; i >= 0; i--) {
+            selected.add(records.get(records.size() - 1 - rows[i]));
+        }
+        return selected;
+    }
+
+    /**
+     * @return all invocations belonging to the sessions of the selected invocations, oldest first
+     */
+    public List<InvocationRecord> getSelectedSessionRecords() {
+        List<String> sessions = getSelectedRecords().stream()
+                .map(InvocationRecord::getSession)
+                .distinct()
+                .collect(Collectors.toList());
+        return records.stream()
+                .filter(record -> sessions.contains(record.getSession()))
+                .collect(Collectors.toList());
+    }
+}
@@ -196,12 +196,23 @@ public class InvokeDialog extends BaseDialog {
         cmbFormat = new ComboBox<>();
         cmbFormat.addItem("http");
         cmbFormat.addItem("cloudevent");
+        cmbFormat.addItem("cloudevent-structured");
 
         addGroupedComponentsToContent(
                 "Format",
                 chkFormatParam,
                 cmbFormat
         );
+
+        addCustomFields(contentPanel);
+    }
+
+    /**
+     * Add additional fields at the end of the dialog. It is called while the dialog is being built
+     *
+     * @param contentPanel the panel holding the fields
+     */
+    protected void addCustomFields(JPanel contentPanel) {
     }
 
     private void addInstanceButtonListener(JRadioButton radioButton, String title, List<JPanel> toBeShown, List<JPanel> toBeHidden) {
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.ui.invokeFunc;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ValidationInfo;
+import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
+import com.redhat.devtools.intellij.knative.utils.model.LoadTestModel;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+
+public class LoadTestDialog extends InvokeDialog {
+    // fields are created by addCustomFields during the parent constructor, they must not have initializers
+    private JSpinner spinnerRequests, spinnerConcurrency, spinnerRate, spinnerDuration;
+    private LoadTestModel loadTestModel;
+
+    public LoadTestDialog(Project project, Function function, InvokeModel model, LoadTestModel loadTestModel) {
+        super("Load Test", project, function, model);
+        this.loadTestModel = loadTestModel;
+        setOKButtonText("Start");
+    }
+
+    @Override
+    protected void addCustomFields(JPanel contentPanel) {
+        LoadTestModel defaults = new LoadTestModel();
+        spinnerRequests = addSpinner(contentPanel, "Requests:", "Total number of requests to send. 0 means no limit",
+                defaults.getRequests(), 0, Integer.MAX_VALUE);
+        spinnerConcurrency = addSpinner(contentPanel, "Concurrency:",
+                "Number of requests sent in parallel, at most " + LoadTestModel.MAX_CONCURRENCY,
+                defaults.getConcurrency(), 1, LoadTestModel.MAX_CONCURRENCY);
+        spinnerRate = addSpinner(contentPanel, "Rate:", "Maximum number of requests per second. 0 means no limit",
+                defaults.getRate(), 0, Integer.MAX_VALUE);
+        spinnerDuration = addSpinner(contentPanel, "Duration (s):", "Maximum duration of the test in seconds. 0 means no limit",
+                defaults.getDuration(), 0, Integer.MAX_VALUE);
+    }
+
+    private JSpinner addSpinner(JPanel contentPanel, String label, String tooltip, int value, int minimum, int maximum) {
+        JLabel lbl = createLabel(label, tooltip, null);
+        JSpinner spinner = new JSpinner(new SpinnerNumberModel(value, minimum, maximum, 1));
+        addComponentToContent(contentPanel, lbl, spinner, null, 0);
+        return spinner;
+    }
+
+    @Override
+    protected @Nullable ValidationInfo doValidate() {
+        if ((int) spinnerRequests.getValue() == 0 && (int) spinnerDuration.getValue() == 0) {
+            return new ValidationInfo("Set a number of requests or a duration", spinnerRequests);
+        }
+        int concurrency = (int) spinnerConcurrency.getValue();
+        if (concurrency < 1 || concurrency > LoadTestModel.MAX_CONCURRENCY) {
+            return new ValidationInfo("Concurrency must be between 1 and " + LoadTestModel.MAX_CONCURRENCY, spinnerConcurrency);
+        }
+        return null;
+    }
+
+    @Override
+    protected void doOKAction() {
+        loadTestModel.setRequests((int) spinnerRequests.getValue());
+        loadTestModel.setConcurrency((int) spinnerConcurrency.getValue());
+        loadTestModel.setRate((int) spinnerRate.getValue());
+        loadTestModel.setDuration((int) spinnerDuration.getValue());
+        super.doOKAction();
+    }
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.utils;
+
+import com.intellij.diff.comparison.ComparisonManager;
+import com.intellij.diff.comparison.ComparisonPolicy;
+import com.intellij.diff.comparison.DiffTooBigException;
+import com.intellij.diff.fragments.LineFragment;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.DumbProgressIndicator;
+
+import java.util.List;
+
+/**
+ * Update a document by replacing only the lines that changed. The unchanged lines keep their caret, folding,
+ * markers and highlighting, and the undo history only records the changed ranges.
+ */
+public class DocumentDiff {
+
+    private DocumentDiff() {
+    }
+
+    /**
+     * Must be called in a write action.
+     *
+     * @param document the document to update
+     * @param content  the new content of the document
+     * @return the number of replaced ranges
+     */
+    public static int apply(Document document, String content) {
+        List<LineFragment> fragments;
+        try {
+            fragments = ComparisonManager.getInstance().compareLines(
+                    document.getImmutableCharSequence(), content, ComparisonPolicy.DEFAULT, DumbProgressIndicator.INSTANCE);
+        } catch (DiffTooBigException e) {
+            document.setText(content);
+            return 1;
+        }
+        // from the end, the offsets of the fragments before are not shifted by the replacements
+        for (int i = fragments.size() - 1; i >= 0; i--) {
+            LineFragment fragment = fragments.get(i);
+            document.replaceString(fragment.getStartOffset1(), fragment.getEndOffset1(),
+                    content.subSequence(fragment.getStartOffset2(), fragment.getEndOffset2()));
+        }
+        return fragments.size();
+    }
+}
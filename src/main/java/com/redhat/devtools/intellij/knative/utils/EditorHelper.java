@@ -10,9 +10,11 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.knative.utils;
 
-import com.intellij.openapi.application.ApplicationManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.fileEditor.FileEditor;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.fileEditor.OpenFileDescriptor;
@@ -20,14 +22,17 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.testFramework.LightVirtualFile;
+import com.intellij.ui.EditorNotifications;
 import com.redhat.devtools.intellij.common.actions.StructureTreeAction;
 import com.redhat.devtools.intellij.common.editor.AllowNonProjectEditing;
 import com.redhat.devtools.intellij.common.utils.ExecHelper;
 import com.redhat.devtools.intellij.common.utils.UIHelper;
 import com.redhat.devtools.intellij.common.utils.VirtualFileHelper;
 import com.redhat.devtools.intellij.common.utils.YAMLHelper;
+import com.redhat.devtools.intellij.knative.settings.SettingsState;
 import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
 import com.redhat.devtools.intellij.knative.tree.ParentableNode;
+import com.redhat.devtools.intellij.knative.watch.ResourceEditorWatcher;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Arrays;
@@ -41,8 +46,13 @@ import org.slf4j.LoggerFactory;
 
 import static com.redhat.devtools.intellij.common.CommonConstants.PROJECT;
 import static com.redhat.devtools.intellij.common.CommonConstants.TARGET_NODE;
+import static com.redhat.devtools.intellij.knative.Constants.CHANGED_ON_CLUSTER_KEY;
+import static com.redhat.devtools.intellij.knative.Constants.CLUSTER_CONTENT_KEY;
+import static com.redhat.devtools.intellij.knative.Constants.DELETED_ON_CLUSTER_KEY;
 import static com.redhat.devtools.intellij.knative.Constants.KNATIVE;
 import static com.redhat.devtools.intellij.knative.Constants.NOTIFICATION_ID;
+import static com.redhat.devtools.intellij.knative.Constants.ORIGINAL_CONTENT_KEY;
+import static com.redhat.devtools.intellij.knative.Constants.VALIDATE_ON_CLUSTER_KEY;
 import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_CRUD;
 
 public class EditorHelper {
@@ -62,7 +72,16 @@ public class EditorHelper {
         try {
             String yaml = KnHelper.getYamlFromNode(node);
             if (!yaml.isEmpty()) {
-                openVirtualFileInEditor(node.getRootNode().getProject(), node.getName() + ".yaml", yaml, KnHelper.isWritable(node), node);
+                Project project = node.getRootNode().getProject();
+                VirtualFile file = openVirtualFileInEditor(project, node.getName() + ".yaml", yaml, KnHelper.isWritable(node), node);
+                JsonNode resource = KnHelper.getResourceFromNode(node);
+                if (resource != null && SettingsState.getInstance().checkOpenedResourceVersion) {
+                    // the yaml was loaded with the tree and may be outdated
+                    ExecHelper.submit(() -> refreshIfChanged(node, resource, file));
+                }
+                if (SettingsState.getInstance().watchOpenedResources) {
+                    ExecHelper.submit(() -> ResourceEditorWatcher.watch(node.getRootNode().getKn(), file, yaml));
+                }
             }
         } catch (IOException e) {
             logger.warn(e.getLocalizedMessage(), e);
@@ -70,19 +89,90 @@ public class EditorHelper {
         }
     }
 
-    private static void openVirtualFileInEditor(Project project, String name, String content, boolean isWritable, ParentableNode<?> targetNode) throws IOException {
+    private static void refreshIfChanged(ParentableNode<?> node, JsonNode resource, VirtualFile file) {
+        try {
+            String current = KnHelper.getYamlIfChanged(node.getRootNode().getKn(), resource);
+            if (current != null) {
+                UIHelper.executeInUI(() -> updateFromCluster(file, current));
+            }
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * Update an opened resource with its current content on the cluster.
+     * If the user edited the resource, the edits are kept and a banner offers to reload the resource.
+     *
+     * @param file    the file of the opened resource
+     * @param content the content of the resource on the cluster
+     */
+    public static void updateFromCluster(VirtualFile file, String content) {
+        Document document = FileDocumentManager.getInstance().getDocument(file);
+        if (document == null) {
+            return;
+        }
+        if (file.getUserData(DELETED_ON_CLUSTER_KEY) != null) {
+            file.putUserData(DELETED_ON_CLUSTER_KEY, null);
+            EditorNotifications.updateAll();
+        }
+        if (hasLocalChanges(file, document)) {
+            file.putUserData(CHANGED_ON_CLUSTER_KEY, content);
+            EditorNotifications.updateAll();
+            return;
+        }
+        updateVirtualFile(file, document, content);
+    }
+
+    /**
+     * Show a banner on an opened resource that was deleted from the cluster.
+     *
+     * @param file the file of the opened resource
+     */
+    public static void markDeletedOnCluster(VirtualFile file) {
+        file.putUserData(CHANGED_ON_CLUSTER_KEY, null);
+        file.putUserData(DELETED_ON_CLUSTER_KEY, Boolean.TRUE);
+        EditorNotifications.updateAll();
+    }
+
+    /**
+     * Replace the edits of an opened resource with the content it has on the cluster.
+     *
+     * @param file the file of the opened resource
+     */
+    public static void reloadFromCluster(VirtualFile file) {
+        String content = file.getUserData(CHANGED_ON_CLUSTER_KEY);
+        Document document = FileDocumentManager.getInstance().getDocument(file);
+        if (content != null && document != null) {
+            updateVirtualFile(file, document, content);
+        }
+    }
+
+    /**
+     * @return true if the document differs from the content last loaded from, or saved to, the cluster.
+     * True if that content is unknown
+     */
+    public static boolean hasLocalChanges(VirtualFile file, Document document) {
+        String clusterContent = file.getUserData(CLUSTER_CONTENT_KEY);
+        return clusterContent == null || !clusterContent.equals(document.getText());
+    }
+
+    private static VirtualFile openVirtualFileInEditor(Project project, String name, String content, boolean isWritable, ParentableNode<?> targetNode) throws IOException {
         TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(NAME_PREFIX_CRUD + "open resource in editor");
         Optional<FileEditor> editor = Arrays.stream(FileEditorManager.getInstance(project).getAllEditors())
                                             .filter(fileEditor -> fileEditor.getFile() != null && fileEditor.getFile().getName().startsWith(name))
                                             .findFirst();
+        VirtualFile virtualFile;
         if (!editor.isPresent()) {
-            VirtualFile virtualFile = createVirtualFile(project, name, content, isWritable, targetNode);
+            virtualFile = createVirtualFile(project, name, content, isWritable, targetNode);
             FileEditorManager.getInstance(project).openFile(virtualFile, true);
         } else {
-            Editor openedEditor = FileEditorManager.getInstance(project).openTextEditor(new OpenFileDescriptor(project, editor.get().getFile()), true);
-            updateVirtualFile(openedEditor.getDocument(), content);
+            virtualFile = editor.get().getFile();
+            Editor openedEditor = FileEditorManager.getInstance(project).openTextEditor(new OpenFileDescriptor(project, virtualFile), true);
+            updateVirtualFile(virtualFile, openedEditor.getDocument(), content);
         }
         telemetry.send();
+        return virtualFile;
     }
 
     private static VirtualFile createVirtualFile(Project project, String name, String content, boolean isWritable, ParentableNode<?> targetNode) throws IOException {
@@ -92,25 +182,37 @@ public class EditorHelper {
             vf = VirtualFileHelper.createTempFile(name, content);
             vf.putUserData(PROJECT, project);
             vf.putUserData(KNATIVE, NOTIFICATION_ID);
+            vf.putUserData(ORIGINAL_CONTENT_KEY, content);
+            vf.putUserData(VALIDATE_ON_CLUSTER_KEY, true);
+            vf.putUserData(CLUSTER_CONTENT_KEY, content);
             vf.putUserData(AllowNonProjectEditing.ALLOW_NON_PROJECT_EDITING, true);
             if (targetNode != null) vf.putUserData(TARGET_NODE, targetNode);
         } else {
             vf = new LightVirtualFile(name, content);
             vf.setWritable(false);
+            vf.putUserData(CLUSTER_CONTENT_KEY, content);
         }
         return vf;
     }
 
-    private static void updateVirtualFile(Document document, String newContent) {
-        if (document.getText().equalsIgnoreCase(newContent)) {
+    private static void updateVirtualFile(VirtualFile virtualFile, Document document, String newContent) {
+        if (virtualFile.getUserData(ORIGINAL_CONTENT_KEY) != null) {
+            // changes are now compared to the content just loaded from the cluster
+            virtualFile.putUserData(ORIGINAL_CONTENT_KEY, newContent);
+        }
+        virtualFile.putUserData(CLUSTER_CONTENT_KEY, newContent);
+        if (virtualFile.getUserData(CHANGED_ON_CLUSTER_KEY) != null) {
+            virtualFile.putUserData(CHANGED_ON_CLUSTER_KEY, null);
+            EditorNotifications.updateAll();
+        }
+        if (document.getText().equals(newContent)) {
             return;
         }
-        ApplicationManager.getApplication().runWriteAction(() -> {
+        boolean readOnly = !document.isWritable();
+        WriteCommandAction.runWriteCommandAction(virtualFile.getUserData(PROJECT), "Update from Cluster", null, () -> {
             document.setReadOnly(false);
-            document.setText(newContent);
-            if (!document.isWritable()) {
-                document.setReadOnly(true);
-            }
+            DocumentDiff.apply(document, newContent);
+            document.setReadOnly(readOnly);
         });
     }
 
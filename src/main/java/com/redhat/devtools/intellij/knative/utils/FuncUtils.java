@@ -11,19 +11,26 @@
 package com.redhat.devtools.intellij.knative.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.intellij.ide.util.PropertiesComponent;
+import com.intellij.openapi.project.Project;
 import com.redhat.devtools.intellij.common.utils.ExecHelper;
 import com.redhat.devtools.intellij.common.utils.YAMLHelper;
+import com.redhat.devtools.intellij.knative.func.FuncHotReloader;
 import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.utils.model.DeploySpecModel;
 
 import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 public class FuncUtils {
+    private static final String FUNC_FILE = "func.yaml";
+    private static final String DEPLOYED_FINGERPRINT_KEY = "com.redhat.devtools.intellij.knative.func.deployed.";
 
     public static boolean isTektonReady(Kn kn) {
         try {
@@ -70,4 +77,54 @@ public class FuncUtils {
         String content = YAMLHelper.JSONToYAML(YAMLHelper.URLToJSON(funcFileURL));
         return YAMLHelper.getValueFromYAML(content, section);
     }
+
+    /**
+     * Check if the function stored at path is already deployed on cluster with the same
+     * image digest, envs, volumes and annotations so that a new deploy would be a no-op.
+     * The image digest in func.yaml is only updated by a deploy, so the sources must also be unchanged since the
+     * last successful deploy made from the IDE, otherwise the image just built is not the one running.
+     *
+     * @param project the project
+     * @param kn the kn instance
+     * @param name the function name
+     * @param path path where the function is stored
+     * @return true if the live service already matches the local function, false otherwise
+     * @throws IOException if communication errored
+     */
+    public static boolean isDeployUpToDate(Project project, Kn kn, String name, String path) throws IOException {
+        String deployed = PropertiesComponent.getInstance(project).getValue(DEPLOYED_FINGERPRINT_KEY + path);
+        if (deployed == null || !deployed.equals(getDeployFingerprint(path))) {
+            return false;
+        }
+        io.fabric8.knative.serving.v1.Service service = kn.getKnativeService(name);
+        if (service == null) {
+            return false;
+        }
+        URL funcFileURL = kn.getFuncFileURL(Paths.get(path));
+        DeploySpecModel local = DeploySpecModel.fromFuncYaml(YAMLHelper.URLToJSON(funcFileURL));
+        return local.isDeployedAs(DeploySpecModel.fromService(service));
+    }
+
+    /**
+     * Compute the fingerprint of the sources a deploy is made from. func.yaml is not part of it as deploy rewrites it,
+     * its deploy section is compared with the live service instead.
+     *
+     * @param path path where the function is stored
+     * @return the fingerprint, empty if the sources cannot be read
+     */
+    public static String getDeployFingerprint(String path) {
+        return FuncHotReloader.getFingerprint(Paths.get(path), Collections.singletonList(FUNC_FILE));
+    }
+
+    /**
+     * Record the sources of the function as deployed, to be called once func deploy completed successfully
+     * so that func.yaml already holds the deployed image digest.
+     *
+     * @param project the project
+     * @param path path where the function is stored
+     * @param fingerprint fingerprint of the sources when the deploy started, see {@link #getDeployFingerprint(String)}
+     */
+    public static void setDeployed(Project project, String path, String fingerprint) {
+        PropertiesComponent.getInstance(project).setValue(DEPLOYED_FINGERPRINT_KEY + path, fingerprint);
+    }
 }
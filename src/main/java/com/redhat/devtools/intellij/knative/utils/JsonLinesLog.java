@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intellij.openapi.application.PathManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Append-only log of records stored as one json line each. The records are loaded once and kept in memory,
+ * new records are appended to the file and the file is rewritten with the most recent records only when
+ * it holds twice the maximum number of records.
+ *
+ * @param <T> the record type, it must be serializable by jackson
+ */
+public class JsonLinesLog<T> {
+    private static final Logger logger = LoggerFactory.getLogger(JsonLinesLog.class);
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final Class<T> type;
+    private final int maxRecords;
+    private List<T> records;
+
+    public JsonLinesLog(Path file, Class<T> type, int maxRecords) {
+        this.file = file;
+        this.type = type;
+        this.maxRecords = maxRecords;
+    }
+
+    /**
+     * @param folder the folder in the IDE system path
+     * @param name the file name, without extension
+     * @return the path of a log stored in the IDE system path
+     */
+    public static Path getSystemFile(String folder, String name) {
+        return Paths.get(PathManager.getSystemPath(), "knative", folder, name + ".jsonl");
+    }
+
+    public synchronized void append(T record) {
+        List<T> all = load();
+        all.add(record);
+        try {
+            Files.createDirectories(file.getParent());
+            if (all.size() > 2 * maxRecords) {
+                all.subList(0, all.size() - maxRecords).clear();
+                write(all, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            } else {
+                write(Collections.singletonList(record), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * @return a copy of the records, oldest first
+     */
+    public synchronized List<T> getRecords() {
+        return new ArrayList<>(load());
+    }
+
+    private List<T> load() {
+        if (records != null) {
+            return records;
+        }
+        records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    records.add(JSON_MAPPER.readValue(line, type));
+                } catch (IOException e) {
+                    // a line truncated by a crash must not make the whole log unreadable
+                    logger.warn("Skipping invalid record in " + file + ": " + e.getLocalizedMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+        }
+        return records;
+    }
+
+    private void write(List<T> toWrite, StandardOpenOption... options) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, options)) {
+            for (T record : toWrite) {
+                writer.write(JSON_MAPPER.writeValueAsString(record));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Compute JSON merge patches (RFC 7386) between two versions of a document.
+ * Objects are compared field by field, a removed field is set to null in the patch. Arrays and values are
+ * replaced as a whole when they differ, as a merge patch cannot express changes inside an array.
+ */
+public class JsonMergePatch {
+
+    private JsonMergePatch() {
+    }
+
+    /**
+     * @param original the document before the changes
+     * @param edited   the document after the changes
+     * @return the patch turning original into edited, an empty object if both are equal
+     */
+    public static ObjectNode diff(JsonNode original, JsonNode edited) {
+        ObjectNode patch = JsonNodeFactory.instance.objectNode();
+        Iterator<String> originalNames = original.fieldNames();
+        while (originalNames.hasNext()) {
+            String name = originalNames.next();
+            if (!edited.has(name)) {
+                patch.putNull(name);
+            }
+        }
+        Iterator<Map.Entry<String, JsonNode>> editedFields = edited.fields();
+        while (editedFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = editedFields.next();
+            JsonNode before = original.get(field.getKey());
+            JsonNode after = field.getValue();
+            if (after.equals(before)) {
+                continue;
+            }
+            if (before != null && before.isObject() && after.isObject()) {
+                ObjectNode child = diff(before, after);
+                if (child.size() > 0) {
+                    patch.set(field.getKey(), child);
+                }
+            } else {
+                patch.set(field.getKey(), after.deepCopy());
+            }
+        }
+        return patch;
+    }
+}
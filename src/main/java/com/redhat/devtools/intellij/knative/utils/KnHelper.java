@@ -10,7 +10,11 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.knative.utils;
 
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.google.common.base.Strings;
 import com.intellij.openapi.project.Project;
@@ -18,7 +22,12 @@ import com.intellij.openapi.ui.Messages;
 import com.redhat.devtools.intellij.common.model.GenericResource;
 import com.redhat.devtools.intellij.common.utils.StringHelper;
 import com.redhat.devtools.intellij.common.utils.UIHelper;
+import com.redhat.devtools.intellij.common.utils.YAMLHelper;
 import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.kn.Revision;
+import com.redhat.devtools.intellij.knative.kn.Service;
+import com.redhat.devtools.intellij.knative.kn.ServiceStatus;
+import com.redhat.devtools.intellij.knative.kn.ServiceTraffic;
 import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
 import com.redhat.devtools.intellij.knative.tree.KnRevisionNode;
 import com.redhat.devtools.intellij.knative.tree.KnServiceNode;
@@ -27,12 +36,16 @@ import com.redhat.devtools.intellij.telemetry.core.service.TelemetryMessageBuild
 import io.fabric8.kubernetes.api.Pluralize;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
 import io.fabric8.kubernetes.client.utils.Serialization;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.NAME_PREFIX_CRUD;
 import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.PROP_RESOURCE_CRUD;
@@ -41,8 +54,15 @@ import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.VA
 import static com.redhat.devtools.intellij.knative.telemetry.TelemetryService.VALUE_RESOURCE_CRUD_UPDATE;
 
 public class KnHelper {
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+    private static final JsonPointer RESOURCE_VERSION_PATH = JsonPointer.compile("/metadata/resourceVersion");
+    private static final String SERVING_API_VERSION = "serving.knative.dev/v1";
 
     public static String getYamlFromNode(ParentableNode node) throws IOException {
+        JsonNode resource = getResourceFromNode(node);
+        if (resource != null) {
+            return toYAML(resource);
+        }
         Kn knCli = node.getRootNode().getKn();
         String content = "";
         if (node instanceof KnServiceNode) {
@@ -53,12 +73,97 @@ public class KnHelper {
         return content;
     }
 
+    /**
+     * @param node the node
+     * @return the resource the tree loaded for the node, with its apiVersion and kind. Null if the node has none
+     */
+    public static JsonNode getResourceFromNode(ParentableNode node) {
+        JsonNode resource = null;
+        String kind = null;
+        if (node instanceof KnServiceNode) {
+            Service service = ((KnServiceNode) node).getService(false);
+            resource = service == null ? null : service.getResource();
+            kind = "Service";
+        } else if (node instanceof KnRevisionNode) {
+            Revision revision = ((KnRevisionNode) node).getRevision();
+            resource = revision == null ? null : revision.getResource();
+            kind = "Revision";
+        }
+        if (resource == null || !resource.isObject()) {
+            return null;
+        }
+        // items of a list have no apiVersion and kind
+        ObjectNode withType = JsonNodeFactory.instance.objectNode();
+        withType.put("apiVersion", resource.path("apiVersion").asText(SERVING_API_VERSION));
+        withType.put("kind", resource.path("kind").asText(kind));
+        withType.setAll((ObjectNode) resource.deepCopy());
+        return withType;
+    }
+
+    /**
+     * Compare the resource version of a resource to the one on the cluster.
+     *
+     * @param knCli    the client
+     * @param resource the resource
+     * @return the resource as it is on the cluster as YAML, null if it did not change or does not exist anymore
+     * @throws IOException if communication errored
+     */
+    public static String getYamlIfChanged(Kn knCli, JsonNode resource) throws IOException {
+        CustomResourceDefinitionContext crdContext = getCRDContext(resource.path("apiVersion").asText(null), resource.path("kind").asText(null));
+        if (crdContext == null) {
+            return null;
+        }
+        GenericKubernetesResource current = knCli.getCustomResource(resource.at("/metadata/name").asText(), crdContext);
+        if (current == null
+                || resource.at(RESOURCE_VERSION_PATH).asText("").equals(current.getMetadata().getResourceVersion())) {
+            return null;
+        }
+        return getYaml(current);
+    }
+
+    /**
+     * @param resource a resource as returned by the cluster
+     * @return the yaml shown in the editor for the resource
+     * @throws IOException if the resource cannot be serialized
+     */
+    public static String getYaml(GenericKubernetesResource resource) throws IOException {
+        return toYAML(YAML_MAPPER.valueToTree(resource));
+    }
+
+    private static String toYAML(JsonNode resource) throws IOException {
+        JsonNode metadata = resource.get("metadata");
+        if (metadata instanceof ObjectNode) {
+            // bookkeeping of the cluster, not meant to be edited
+            ((ObjectNode) metadata).remove("managedFields");
+        }
+        return YAMLHelper.JSONToYAML(resource);
+    }
+
     public static boolean saveOnCluster(Project project, String yaml, boolean isCreate) throws IOException {
+        return saveOnCluster(project, null, yaml, isCreate) != null;
+    }
+
+    /**
+     * Push the changes made in the editor to a resource. Only the fields changed since the resource was opened
+     * are sent, with the resource version it had at the time. If it was modified on the cluster in between the
+     * save fails instead of overwriting the other changes.
+     *
+     * @param project  the project
+     * @param original the content of the resource when it was opened or last saved
+     * @param yaml     the content of the editor
+     * @return the content the next changes are to be compared to, null if the save was cancelled
+     * @throws IOException if communication errored or the resource was modified on the cluster
+     */
+    public static String updateOnCluster(Project project, String original, String yaml) throws IOException {
+        return saveOnCluster(project, original, yaml, false);
+    }
+
+    private static String saveOnCluster(Project project, String original, String yaml, boolean isCreate) throws IOException {
         TelemetryMessageBuilder.ActionMessage telemetry = TelemetryService.instance().action(NAME_PREFIX_CRUD + "save to cluster");
         if (!isCreate && !isSaveConfirmed("Do you want to push the changes to the cluster?")) {
             telemetry.result(VALUE_ABORTED)
                     .send();
-            return false;
+            return null;
         }
 
         Kn knCli = TreeHelper.getKn(project);
@@ -68,14 +173,16 @@ public class KnHelper {
             throw new IOException("Unable to save the resource to the cluster. Internal error, please retry or restart the IDE.");
         }
 
+        String saved;
         if (isCreate) {
             saveNew(knCli, yaml);
+            saved = yaml;
         } else {
-            save(knCli, yaml);
+            saved = save(knCli, original, yaml);
         }
         telemetry.property(PROP_RESOURCE_CRUD, (isCreate ? VALUE_RESOURCE_CRUD_CREATE : VALUE_RESOURCE_CRUD_UPDATE))
                 .send();
-        return true;
+        return saved;
     }
 
     private static boolean isSaveConfirmed(String confirmationMessage) {
@@ -89,30 +196,122 @@ public class KnHelper {
         return resultDialog == Messages.OK;
     }
 
-    private static void save(Kn knCli, String yaml) throws IOException {
-        GenericKubernetesResource resourceWithUpdatedFields = Serialization.unmarshal(yaml, GenericKubernetesResource.class);
-        CustomResourceDefinitionContext crdContext = getCRDContext(resourceWithUpdatedFields.getApiVersion(), resourceWithUpdatedFields.getKind());
-        GenericKubernetesResource existingResource = knCli.getCustomResource(resourceWithUpdatedFields.getMetadata().getName(), crdContext);
-        if (existingResource == null) {
-            knCli.createCustomResource(crdContext, resourceWithUpdatedFields);
+    private static String save(Kn knCli, String original, String yaml) throws IOException {
+        GenericKubernetesResource edited = Serialization.unmarshal(yaml, GenericKubernetesResource.class);
+        CustomResourceDefinitionContext crdContext = getCRDContext(edited.getApiVersion(), edited.getKind());
+        String name = edited.getMetadata().getName();
+        JsonNode editedNode = YAML_MAPPER.readTree(yaml);
+        JsonNode baseline;
+        if (original == null) {
+            GenericKubernetesResource existing = knCli.getCustomResource(name, crdContext);
+            if (existing == null) {
+                knCli.createCustomResource(crdContext, edited);
+                return yaml;
+            }
+            baseline = getBaseline(existing, editedNode);
         } else {
-            GenericKubernetesResource resourceUpdated = updateExistingResource(existingResource, resourceWithUpdatedFields);
-            knCli.editCustomResource(resourceWithUpdatedFields.getMetadata().getName(), crdContext, resourceUpdated.toString());
+            baseline = YAML_MAPPER.readTree(original);
         }
+
+        ObjectNode patch = getMergePatch(baseline, editedNode);
+        if (patch == null) {
+            return original == null ? yaml : original;
+        }
+
+        try {
+            GenericKubernetesResource updated = knCli.patchCustomResource(name, crdContext, patch.toString());
+            ObjectNode saved = editedNode.deepCopy();
+            setResourceVersion(saved, updated == null ? null : updated.getMetadata().getResourceVersion());
+            return saved.toString();
+        } catch (IOException e) {
+            int code = e.getCause() instanceof KubernetesClientException ? ((KubernetesClientException) e.getCause()).getCode() : -1;
+            if (code == HttpURLConnection.HTTP_NOT_FOUND) {
+                // deleted or renamed since it was opened
+                edited.getMetadata().setResourceVersion(null);
+                knCli.createCustomResource(crdContext, edited);
+                return yaml;
+            }
+            if (code == HttpURLConnection.HTTP_CONFLICT) {
+                throw new IOException(edited.getKind() + " " + name + " was modified on the cluster after it was opened. " +
+                        "Open it again to get the latest version, then redo your changes.", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param original the content of the resource when it was opened or last saved
+     * @param yaml     the edited content
+     * @return the JSON merge patch of the changes with the resource version of the original content,
+     * null if nothing changed
+     * @throws IOException if a content is not valid
+     */
+    public static String getMergePatch(String original, String yaml) throws IOException {
+        ObjectNode patch = getMergePatch(YAML_MAPPER.readTree(original), YAML_MAPPER.readTree(yaml));
+        return patch == null ? null : patch.toString();
+    }
+
+    private static ObjectNode getMergePatch(JsonNode baseline, JsonNode edited) {
+        ObjectNode patch = JsonMergePatch.diff(withoutResourceVersion(baseline), withoutResourceVersion(edited));
+        if (patch.size() == 0) {
+            return null;
+        }
+        String resourceVersion = baseline.at(RESOURCE_VERSION_PATH).asText(null);
+        if (resourceVersion != null) {
+            // the cluster rejects the patch with a conflict if the resource was modified since
+            JsonNode metadata = patch.get("metadata");
+            if (!(metadata instanceof ObjectNode)) {
+                metadata = patch.putObject("metadata");
+            }
+            ((ObjectNode) metadata).put("resourceVersion", resourceVersion);
+        }
+        return patch;
+    }
+
+    /**
+     * @return the edited content with the labels, annotations and spec of the resource on the cluster,
+     * the changes pushed when the original content of the editor is unknown
+     */
+    private static JsonNode getBaseline(GenericKubernetesResource existing, JsonNode edited) {
+        ObjectNode existingNode = YAML_MAPPER.valueToTree(existing);
+        ObjectNode baseline = edited.deepCopy();
+        JsonNode metadata = baseline.get("metadata");
+        if (metadata instanceof ObjectNode) {
+            for (String field : new String[] { "labels", "annotations" }) {
+                if (metadata.has(field)) {
+                    setOrRemove((ObjectNode) metadata, field, existingNode.path("metadata").get(field));
+                }
+            }
+        }
+        setOrRemove(baseline, "spec", existingNode.get("spec"));
+        setResourceVersion(baseline, existing.getMetadata().getResourceVersion());
+        return baseline;
+    }
+
+    private static void setOrRemove(ObjectNode node, String field, JsonNode value) {
+        if (value == null) {
+            node.remove(field);
+        } else {
+            node.set(field, value);
+        }
+    }
+
+    private static JsonNode withoutResourceVersion(JsonNode node) {
+        ObjectNode copy = node.deepCopy();
+        setResourceVersion(copy, null);
+        return copy;
     }
 
-    private static GenericKubernetesResource updateExistingResource(GenericKubernetesResource existing, GenericKubernetesResource updated) throws IOException {
-        Map<String, String> updatedLabels = updated.getMetadata().getLabels();
-        if (updatedLabels != null) {
-            existing.getMetadata().setLabels(updatedLabels);
+    private static void setResourceVersion(ObjectNode node, String resourceVersion) {
+        JsonNode metadata = node.get("metadata");
+        if (!(metadata instanceof ObjectNode)) {
+            return;
         }
-        Map<String, String> annotations = updated.getMetadata().getAnnotations();
-        if (annotations != null) {
-            existing.getMetadata().setAnnotations(annotations);
+        if (resourceVersion == null) {
+            ((ObjectNode) metadata).remove("resourceVersion");
+        } else {
+            ((ObjectNode) metadata).put("resourceVersion", resourceVersion);
         }
-        Object spec = updated.getAdditionalProperties().get("spec");
-        existing.getAdditionalProperties().put("spec", spec);
-        return updated;
     }
 
     public static void saveNew(Kn knCli, String yaml) throws IOException {
@@ -121,7 +320,7 @@ public class KnHelper {
         knCli.createCustomResource(crdContext, resource);
     }
 
-    private static CustomResourceDefinitionContext getCRDContext(String apiVersion, String kind) throws IOException {
+    public static CustomResourceDefinitionContext getCRDContext(String apiVersion, String kind) throws IOException {
         if (kind == null) {
             return null;
         }
@@ -145,4 +344,27 @@ public class KnHelper {
     public static boolean isWritable(ParentableNode node) {
         return node instanceof KnServiceNode;
     }
+
+    /**
+     * @param knCli   the client
+     * @param service name of the service
+     * @return the revisions of the service receiving traffic, or the latest ready revision if none does
+     * @throws IOException if communication errored
+     */
+    public static List<String> getServingRevisions(Kn knCli, String service) throws IOException {
+        ServiceStatus status = knCli.getService(service).getStatus();
+        if (status == null) {
+            throw new IOException("Service " + service + " has no status");
+        }
+        List<String> revisions = status.getTraffic() == null ? new ArrayList<>() :
+                status.getTraffic().stream()
+                        .filter(traffic -> traffic.getPercent() > 0)
+                        .map(ServiceTraffic::getRevisionName)
+                        .distinct()
+                        .collect(Collectors.toList());
+        if (revisions.isEmpty() && status.getLatestReadyRevisionName() != null) {
+            revisions.add(status.getLatestReadyRevisionName());
+        }
+        return revisions;
+    }
 }
@@ -30,20 +30,38 @@ import java.util.function.Supplier;
 import static com.redhat.devtools.intellij.knative.Constants.KIND_FUNCTION;
 
 public class WatchHandler {
+    private static final Map<Kn, WatchHandler> handlers = new HashMap<>();
     private Map<String, Watch> watches;
     private Kn kn;
-    private static WatchHandler instance;
 
     private WatchHandler(Kn kn) {
         watches = new HashMap<>();
         this.kn = kn;
     }
 
+    /**
+     * @param kn the kn client of a project
+     * @return the watches made with the client
+     */
     public static WatchHandler get(Kn kn) {
-        if (instance == null) {
-            instance = new WatchHandler(kn);
+        synchronized (handlers) {
+            return handlers.computeIfAbsent(kn, WatchHandler::new);
+        }
+    }
+
+    /**
+     * Close the watches made with a client that is no longer used.
+     *
+     * @param kn the kn client of a project
+     */
+    public static void dispose(Kn kn) {
+        WatchHandler handler;
+        synchronized (handlers) {
+            handler = handlers.remove(kn);
+        }
+        if (handler != null) {
+            handler.removeAll();
         }
-        return instance;
     }
 
     public void watchResource(String id, String kindToWatch, Runnable doExecute) {
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.utils.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class CanaryRolloutModel {
+    private List<Integer> steps;
+    private int stepInterval, probeRequests, maxLatency;
+    private double maxErrorRate, latencyRegressionFactor;
+
+    public CanaryRolloutModel() {
+        this(Arrays.asList(10, 25, 50, 100), 30, 20, 1.0, 0, 1.5);
+    }
+
+    /**
+     * @param steps                   percentages of traffic sent to the latest revision at each step
+     * @param stepInterval            time in seconds to wait after shifting traffic before probing
+     * @param probeRequests           number of requests sent to each revision at each step
+     * @param maxErrorRate            maximum percentage of failed requests allowed on the latest revision
+     * @param maxLatency              maximum p95 latency in ms allowed on the latest revision, 0 means no limit
+     * @param latencyRegressionFactor maximum ratio between the p95 latency of the latest and the previous revision
+     */
+    public CanaryRolloutModel(List<Integer> steps, int stepInterval, int probeRequests, double maxErrorRate,
+                              int maxLatency, double latencyRegressionFactor) {
+        this.steps = steps;
+        this.stepInterval = stepInterval;
+        this.probeRequests = probeRequests;
+        this.maxErrorRate = maxErrorRate;
+        this.maxLatency = maxLatency;
+        this.latencyRegressionFactor = latencyRegressionFactor;
+    }
+
+    public List<Integer> getSteps() {
+        return steps;
+    }
+
+    public void setSteps(List<Integer> steps) {
+        this.steps = steps;
+    }
+
+    public int getStepInterval() {
+        return stepInterval;
+    }
+
+    public void setStepInterval(int stepInterval) {
+        this.stepInterval = stepInterval;
+    }
+
+    public int getProbeRequests() {
+        return probeRequests;
+    }
+
+    public void setProbeRequests(int probeRequests) {
+        this.probeRequests = probeRequests;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    public void setMaxErrorRate(double maxErrorRate) {
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public int getMaxLatency() {
+        return maxLatency;
+    }
+
+    public void setMaxLatency(int maxLatency) {
+        this.maxLatency = maxLatency;
+    }
+
+    public double getLatencyRegressionFactor() {
+        return latencyRegressionFactor;
+    }
+
+    public void setLatencyRegressionFactor(double latencyRegressionFactor) {
+        this.latencyRegressionFactor = latencyRegressionFactor;
+    }
+
+    /**
+     * Steps must be increasing percentages between 1 and 100, and the last one must be 100
+     *
+     * @return true if the model can be used for a rollout
+     */
+    public boolean isValid() {
+        if (steps == null || steps.isEmpty() || steps.get(steps.size() - 1) != 100) {
+            return false;
+        }
+        int previous = 0;
+        for (int step : steps) {
+            if (step <= previous || step > 100) {
+                return false;
+            }
+            previous = step;
+        }
+        return stepInterval >= 0
+                && probeRequests > 0
+                && maxErrorRate >= 0
+                && maxLatency >= 0
+                && latencyRegressionFactor >= 1;
+    }
+}
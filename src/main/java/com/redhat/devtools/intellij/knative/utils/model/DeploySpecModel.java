@@ -0,0 +1,333 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.utils.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Strings;
+import io.fabric8.knative.internal.pkg.apis.Condition;
+import io.fabric8.knative.serving.v1.RevisionTemplateSpec;
+import io.fabric8.knative.serving.v1.Service;
+import io.fabric8.knative.serving.v1.ServiceStatus;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.EnvFromSource;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.EnvVarSource;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Subset of a function deploy spec which is compared between the local func.yaml
+ * and the live Knative service to find out if a new deploy would change anything.
+ */
+public class DeploySpecModel {
+
+    private static final String AUTOSCALING_PREFIX = "autoscaling.knative.dev/";
+    private static final Pattern TEMPLATE_PATTERN = Pattern.compile("^\\{\\{\\s*(\\w+):([^:}\\s]+)(?::([^}\\s]+))?\\s*}}$");
+    private static final Map<String, String> SCALE_ANNOTATIONS = new HashMap<>();
+
+    static {
+        SCALE_ANNOTATIONS.put("min", AUTOSCALING_PREFIX + "min-scale");
+        SCALE_ANNOTATIONS.put("max", AUTOSCALING_PREFIX + "max-scale");
+        SCALE_ANNOTATIONS.put("metric", AUTOSCALING_PREFIX + "metric");
+        SCALE_ANNOTATIONS.put("target", AUTOSCALING_PREFIX + "target");
+        SCALE_ANNOTATIONS.put("utilization", AUTOSCALING_PREFIX + "target-utilization-percentage");
+    }
+
+    private final String imageRepository, imageDigest;
+    private final Set<String> envs, volumes;
+    private final Map<String, String> annotations;
+
+    public DeploySpecModel(String image, String imageDigest, Set<String> envs, Set<String> volumes, Map<String, String> annotations) {
+        this.imageRepository = getImageRepository(image);
+        this.imageDigest = Strings.nullToEmpty(imageDigest);
+        this.envs = envs;
+        this.volumes = volumes;
+        this.annotations = annotations;
+    }
+
+    public String getImageRepository() {
+        return imageRepository;
+    }
+
+    public String getImageDigest() {
+        return imageDigest;
+    }
+
+    public Set<String> getEnvs() {
+        return envs;
+    }
+
+    public Set<String> getVolumes() {
+        return volumes;
+    }
+
+    public Map<String, String> getAnnotations() {
+        return annotations;
+    }
+
+    /**
+     * Check if deploying this (local) spec would not change the live one.
+     * An unknown local image digest is always considered as a change.
+     *
+     * @param live the spec read from the Knative service currently deployed
+     * @return true if the live service already matches this spec, false otherwise
+     */
+    public boolean isDeployedAs(DeploySpecModel live) {
+        if (live == null || imageDigest.isEmpty()) {
+            return false;
+        }
+        return imageDigest.equals(live.getImageDigest())
+                && (imageRepository.isEmpty() || imageRepository.equals(live.getImageRepository()))
+                && envs.equals(live.getEnvs())
+                && volumes.equals(live.getVolumes())
+                && areAnnotationsDeployed(live.getAnnotations());
+    }
+
+    private boolean areAnnotationsDeployed(Map<String, String> liveAnnotations) {
+        for (Map.Entry<String, String> annotation : annotations.entrySet()) {
+            if (!annotation.getValue().equals(liveAnnotations.get(annotation.getKey()))) {
+                return false;
+            }
+        }
+        // autoscaling annotations are fully owned by func.yaml, a removed one has to be deployed again
+        return liveAnnotations.keySet().stream()
+                .filter(key -> key.startsWith(AUTOSCALING_PREFIX))
+                .allMatch(annotations::containsKey);
+    }
+
+    /**
+     * Build the spec from the func.yaml content
+     *
+     * @param funcYaml the func.yaml content as json
+     * @return the deploy spec
+     */
+    public static DeploySpecModel fromFuncYaml(JsonNode funcYaml) {
+        String image = getText(funcYaml, "image");
+        String digest = getText(funcYaml, "imageDigest");
+        if (digest.isEmpty() && image.contains("@")) {
+            digest = image.substring(image.indexOf('@') + 1);
+        }
+
+        Set<String> envs = new HashSet<>();
+        JsonNode envsNode = getNode(funcYaml, "run", "envs");
+        if (envsNode == null) {
+            envsNode = funcYaml.get("envs");
+        }
+        if (envsNode != null) {
+            envsNode.forEach(env -> envs.add(getEnvEntry(getText(env, "name"), getText(env, "value"))));
+        }
+
+        Set<String> volumes = new HashSet<>();
+        JsonNode volumesNode = getNode(funcYaml, "run", "volumes");
+        if (volumesNode == null) {
+            volumesNode = funcYaml.get("volumes");
+        }
+        if (volumesNode != null) {
+            volumesNode.forEach(volume -> volumes.add(getVolumeEntry(volume)));
+        }
+
+        Map<String, String> annotations = new HashMap<>();
+        JsonNode annotationsNode = getNode(funcYaml, "deploy", "annotations");
+        if (annotationsNode == null) {
+            annotationsNode = funcYaml.get("annotations");
+        }
+        if (annotationsNode != null) {
+            annotationsNode.fields().forEachRemaining(entry -> annotations.put(entry.getKey(), entry.getValue().asText()));
+        }
+        JsonNode scaleNode = getNode(funcYaml, "deploy", "options", "scale");
+        if (scaleNode == null) {
+            scaleNode = getNode(funcYaml, "options", "scale");
+        }
+        if (scaleNode != null) {
+            scaleNode.fields().forEachRemaining(entry -> {
+                String annotation = SCALE_ANNOTATIONS.get(entry.getKey());
+                if (annotation != null && !entry.getValue().isNull()) {
+                    annotations.put(annotation, normalizeNumber(entry.getValue().asText()));
+                }
+            });
+        }
+
+        return new DeploySpecModel(image, digest, envs, volumes, annotations);
+    }
+
+    /**
+     * Build the spec from the Knative service deployed on cluster.
+     *
+     * @param service the Knative service
+     * @return the deploy spec or null if the service is not ready or its latest revision is not the one serving
+     */
+    public static DeploySpecModel fromService(Service service) {
+        if (service == null
+                || !isReady(service.getStatus())
+                || service.getSpec() == null
+                || service.getSpec().getTemplate() == null
+                || service.getSpec().getTemplate().getSpec() == null
+                || service.getSpec().getTemplate().getSpec().getContainers() == null
+                || service.getSpec().getTemplate().getSpec().getContainers().isEmpty()) {
+            return null;
+        }
+        RevisionTemplateSpec template = service.getSpec().getTemplate();
+        Container container = template.getSpec().getContainers().get(0);
+        String image = Strings.nullToEmpty(container.getImage());
+        String digest = image.contains("@") ? image.substring(image.indexOf('@') + 1) : "";
+
+        Set<String> envs = new HashSet<>();
+        if (container.getEnv() != null) {
+            container.getEnv().forEach(env -> envs.add(getEnvEntry(env)));
+        }
+        if (container.getEnvFrom() != null) {
+            container.getEnvFrom().forEach(envFrom -> envs.add(getEnvEntry(envFrom)));
+        }
+
+        Map<String, String> volumeSources = new HashMap<>();
+        if (template.getSpec().getVolumes() != null) {
+            template.getSpec().getVolumes().forEach(volume -> volumeSources.put(volume.getName(), getVolumeSource(volume)));
+        }
+        Set<String> volumes = new HashSet<>();
+        if (container.getVolumeMounts() != null) {
+            for (VolumeMount mount : container.getVolumeMounts()) {
+                volumes.add(volumeSources.getOrDefault(mount.getName(), "unknown") + "@" + mount.getMountPath());
+            }
+        }
+
+        Map<String, String> annotations = new HashMap<>();
+        Map<String, String> liveAnnotations = template.getMetadata() != null ? template.getMetadata().getAnnotations() : null;
+        if (liveAnnotations != null) {
+            liveAnnotations.forEach((key, value) -> annotations.put(key,
+                    key.startsWith(AUTOSCALING_PREFIX) ? normalizeNumber(value) : value));
+        }
+
+        return new DeploySpecModel(image, digest, envs, volumes, Collections.unmodifiableMap(annotations));
+    }
+
+    private static boolean isReady(ServiceStatus status) {
+        if (status == null
+                || Strings.isNullOrEmpty(status.getLatestReadyRevisionName())
+                || !status.getLatestReadyRevisionName().equals(status.getLatestCreatedRevisionName())
+                || status.getConditions() == null) {
+            return false;
+        }
+        for (Condition condition : status.getConditions()) {
+            if ("Ready".equals(condition.getType())) {
+                return "True".equals(condition.getStatus());
+            }
+        }
+        return false;
+    }
+
+    private static String getEnvEntry(String name, String value) {
+        Matcher matcher = TEMPLATE_PATTERN.matcher(value);
+        if (!matcher.matches()) {
+            return name + "=" + value;
+        }
+        String type = matcher.group(1);
+        if (type.equals("env")) {
+            // func resolves local environment variables at deploy time
+            return name + "=" + Strings.nullToEmpty(System.getenv(matcher.group(2)));
+        }
+        String reference = type + ":" + matcher.group(2);
+        if (matcher.group(3) != null) {
+            reference += ":" + matcher.group(3);
+        }
+        return name + "<-" + reference;
+    }
+
+    private static String getEnvEntry(EnvVar env) {
+        EnvVarSource source = env.getValueFrom();
+        if (source == null) {
+            return env.getName() + "=" + Strings.nullToEmpty(env.getValue());
+        }
+        if (source.getSecretKeyRef() != null) {
+            return env.getName() + "<-secret:" + source.getSecretKeyRef().getName() + ":" + source.getSecretKeyRef().getKey();
+        }
+        if (source.getConfigMapKeyRef() != null) {
+            return env.getName() + "<-configMap:" + source.getConfigMapKeyRef().getName() + ":" + source.getConfigMapKeyRef().getKey();
+        }
+        return env.getName() + "<-unknown";
+    }
+
+    private static String getEnvEntry(EnvFromSource envFrom) {
+        if (envFrom.getSecretRef() != null) {
+            return "<-secret:" + envFrom.getSecretRef().getName();
+        }
+        if (envFrom.getConfigMapRef() != null) {
+            return "<-configMap:" + envFrom.getConfigMapRef().getName();
+        }
+        return "<-unknown";
+    }
+
+    private static String getVolumeEntry(JsonNode volume) {
+        String path = getText(volume, "path");
+        if (volume.has("secret")) {
+            return "secret:" + getText(volume, "secret") + "@" + path;
+        }
+        if (volume.has("configMap")) {
+            return "configMap:" + getText(volume, "configMap") + "@" + path;
+        }
+        // unsupported volume types never match so they always lead to a new deploy
+        return "local:" + volume.toString() + "@" + path;
+    }
+
+    private static String getVolumeSource(Volume volume) {
+        if (volume.getSecret() != null) {
+            return "secret:" + volume.getSecret().getSecretName();
+        }
+        if (volume.getConfigMap() != null) {
+            return "configMap:" + volume.getConfigMap().getName();
+        }
+        return "unknown";
+    }
+
+    private static String getImageRepository(String image) {
+        String repository = Strings.nullToEmpty(image);
+        if (repository.contains("@")) {
+            repository = repository.substring(0, repository.indexOf('@'));
+        }
+        int tagIndex = repository.lastIndexOf(':');
+        if (tagIndex > repository.lastIndexOf('/')) {
+            repository = repository.substring(0, tagIndex);
+        }
+        return repository;
+    }
+
+    private static String normalizeNumber(String value) {
+        try {
+            return new BigDecimal(value.trim()).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    private static JsonNode getNode(JsonNode root, String... fields) {
+        JsonNode node = root;
+        for (String field : fields) {
+            if (node == null) {
+                return null;
+            }
+            node = node.get(field);
+        }
+        return node == null || node.isNull() ? null : node;
+    }
+
+    private static String getText(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? "" : value.asText();
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.utils.model;
+
+public class LoadTestModel {
+    // each concurrent request has its own thread
+    public static final int MAX_CONCURRENCY = 500;
+
+    private int requests, concurrency, rate, duration;
+
+    public LoadTestModel() {
+        this(100, 10, 0, 0);
+    }
+
+    /**
+     * @param requests    total number of requests to send, 0 means no limit
+     * @param concurrency number of requests in flight at the same time
+     * @param rate        maximum number of requests per second, 0 means no limit
+     * @param duration    maximum duration of the test in seconds, 0 means no limit
+     */
+    public LoadTestModel(int requests, int concurrency, int rate, int duration) {
+        this.requests = requests;
+        this.concurrency = concurrency;
+        this.rate = rate;
+        this.duration = duration;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public void setRequests(int requests) {
+        this.requests = requests;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public void setDuration(int duration) {
+        this.duration = duration;
+    }
+
+    public boolean isValid() {
+        return concurrency > 0
+                && requests >= 0
+                && rate >= 0
+                && duration >= 0
+                && (requests > 0 || duration > 0);
+    }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.validation;
+
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.ExternalAnnotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.utils.TreeHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+import static com.redhat.devtools.intellij.knative.Constants.ORIGINAL_CONTENT_KEY;
+import static com.redhat.devtools.intellij.knative.Constants.VALIDATE_ON_CLUSTER_KEY;
+
+/**
+ * Annotate the resources opened in an editor, or created in the new service dialog, with the errors reported
+ * by a dry run on the cluster.
+ * The dry run only starts once the text did not change for {@link #DEBOUNCE_MS}: typing cancels the pending
+ * validation.
+ */
+public class DryRunAnnotator extends ExternalAnnotator<DryRunAnnotator.Input, List<ValidationError>> {
+    private static final long DEBOUNCE_MS = 1000;
+    private static final long DEBOUNCE_STEP_MS = 50;
+    private static final int CACHE_SIZE = 32;
+
+    private final DryRunValidator validator = new DryRunValidator(CACHE_SIZE);
+
+    @Override
+    public @Nullable Input collectInformation(@NotNull PsiFile file, @NotNull Editor editor, boolean hasErrors) {
+        VirtualFile vf = file.getViewProvider().getVirtualFile();
+        if (hasErrors || !Boolean.TRUE.equals(vf.getUserData(VALIDATE_ON_CLUSTER_KEY))) {
+            return null;
+        }
+        Kn kn = TreeHelper.getKn(file.getProject());
+        if (kn == null) {
+            return null;
+        }
+        return new Input(kn, vf.getUserData(ORIGINAL_CONTENT_KEY), file.getText());
+    }
+
+    @Override
+    public @Nullable List<ValidationError> doAnnotate(Input input) {
+        List<ValidationError> cached = validator.getCached(input.kn, input.original, input.text);
+        if (cached != null) {
+            return cached;
+        }
+        if (!debounce()) {
+            return null;
+        }
+        return validator.validate(input.kn, input.original, input.text);
+    }
+
+    private boolean debounce() {
+        long deadline = System.currentTimeMillis() + DEBOUNCE_MS;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                // throws if the document changed in the meantime
+                ProgressManager.checkCanceled();
+                Thread.sleep(DEBOUNCE_STEP_MS);
+            }
+            ProgressManager.checkCanceled();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void apply(@NotNull PsiFile file, List<ValidationError> errors, @NotNull AnnotationHolder holder) {
+        if (errors == null) {
+            return;
+        }
+        for (ValidationError error : errors) {
+            PsiElement element = YAMLPaths.find(file, error.getPath());
+            if (element != null) {
+                holder.newAnnotation(HighlightSeverity.ERROR, error.getMessage())
+                        .range(element)
+                        .create();
+            } else {
+                holder.newAnnotation(HighlightSeverity.ERROR, error.toString())
+                        .fileLevel()
+                        .create();
+            }
+        }
+    }
+
+    public static class Input {
+        private final Kn kn;
+        private final String original;
+        private final String text;
+
+        private Input(Kn kn, String original, String text) {
+            this.kn = kn;
+            this.original = original;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.validation;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.utils.KnHelper;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.Status;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Validate the content of an editor by sending it to the cluster as a dry run: a patch of the resource if it was
+ * opened from the cluster, a creation otherwise. Verdicts of the cluster are cached by cluster, namespace and content
+ * so unchanged text is not sent again. Failures to reach the cluster are not cached.
+ */
+public class DryRunValidator {
+    private static final Logger logger = LoggerFactory.getLogger(DryRunValidator.class);
+
+    private final Map<String, List<ValidationError>> cache;
+
+    public DryRunValidator(int cacheSize) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<ValidationError>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * @param kn       the client
+     * @param original the content of the resource when it was opened, null if it is a new resource
+     * @param yaml     the content to validate
+     * @return the errors found by the cluster, null if the content was not validated yet
+     */
+    public List<ValidationError> getCached(Kn kn, String original, String yaml) {
+        synchronized (cache) {
+            return cache.get(getKey(kn, original, yaml));
+        }
+    }
+
+    /**
+     * @param kn       the client
+     * @param original the content of the resource when it was opened, null if it is a new resource
+     * @param yaml     the content to validate
+     * @return the errors found by the cluster, empty if it could not be reached
+     */
+    public List<ValidationError> validate(Kn kn, String original, String yaml) {
+        String key = getKey(kn, original, yaml);
+        synchronized (cache) {
+            List<ValidationError> cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<ValidationError> errors;
+        try {
+            errors = dryRun(kn, original, yaml);
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+            return Collections.emptyList();
+        }
+        synchronized (cache) {
+            cache.put(key, errors);
+        }
+        return errors;
+    }
+
+    private List<ValidationError> dryRun(Kn kn, String original, String yaml) throws IOException {
+        GenericKubernetesResource resource;
+        try {
+            resource = Serialization.unmarshal(yaml, GenericKubernetesResource.class);
+        } catch (RuntimeException e) {
+            // syntax errors are reported by the YAML support
+            return Collections.emptyList();
+        }
+        if (resource == null) {
+            return Collections.emptyList();
+        }
+        CustomResourceDefinitionContext crdContext;
+        try {
+            crdContext = KnHelper.getCRDContext(resource.getApiVersion(), resource.getKind());
+        } catch (IOException e) {
+            return Collections.singletonList(new ValidationError("apiVersion", e.getLocalizedMessage()));
+        }
+        if (crdContext == null) {
+            return Collections.singletonList(new ValidationError(null, "Resource kind or apiVersion is missing."));
+        }
+
+        String patch = original == null ? null : KnHelper.getMergePatch(original, yaml);
+        if (original != null && patch == null) {
+            return Collections.emptyList();
+        }
+        try {
+            if (patch != null) {
+                kn.dryRunPatchCustomResource(resource.getMetadata().getName(), crdContext, patch);
+            } else {
+                kn.dryRunCreateCustomResource(crdContext, resource);
+            }
+            return Collections.emptyList();
+        } catch (IOException e) {
+            KubernetesClientException cause = e.getCause() instanceof KubernetesClientException ?
+                    (KubernetesClientException) e.getCause() : null;
+            if (cause == null || cause.getCode() < 400 || cause.getCode() >= 500) {
+                // not a verdict on the content
+                throw e;
+            }
+            if (patch != null && cause.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                // deleted or renamed, it is created on save
+                return dryRun(kn, null, yaml);
+            }
+            if (patch == null && cause.getCode() == HttpURLConnection.HTTP_CONFLICT) {
+                // an existing resource is replaced on save
+                return Collections.emptyList();
+            }
+            return getErrors(cause);
+        }
+    }
+
+    static List<ValidationError> getErrors(KubernetesClientException e) {
+        Status status = e.getStatus();
+        if (status != null && status.getDetails() != null
+                && status.getDetails().getCauses() != null && !status.getDetails().getCauses().isEmpty()) {
+            return status.getDetails().getCauses().stream()
+                    .map(cause -> new ValidationError(cause.getField(), cause.getMessage()))
+                    .collect(Collectors.toList());
+        }
+        String message = status != null && status.getMessage() != null ? status.getMessage() : e.getLocalizedMessage();
+        return Collections.singletonList(new ValidationError(null, message));
+    }
+
+    private static String getKey(Kn kn, String original, String yaml) {
+        // a verdict only holds for the cluster that gave it, the current context may have been switched since
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(String.valueOf(kn.getMasterUrl()), StandardCharsets.UTF_8)
+                .putByte((byte) 0)
+                .putString(String.valueOf(kn.getNamespace()), StandardCharsets.UTF_8)
+                .putByte((byte) 0)
+                .putString(yaml, StandardCharsets.UTF_8);
+        if (original != null) {
+            hasher.putByte((byte) 0).putString(original, StandardCharsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+}
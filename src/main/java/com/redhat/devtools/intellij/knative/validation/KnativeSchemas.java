@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.devtools.intellij.knative.validation.SchemaNode.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The Knative JSON schemas shipped with the plugin, compiled once into {@link SchemaNode} graphs on first use.
+ */
+public class KnativeSchemas {
+    private static final Logger logger = LoggerFactory.getLogger(KnativeSchemas.class);
+    private static final String SCHEMAS_PATH = "/schemas/";
+    private static final String INDEX = SCHEMAS_PATH + "index.properties";
+    private static final String DEFINITIONS_REF = "#/definitions/";
+
+    /*
+     * The schemas are generated from the Go types: some types are serialized differently than their struct,
+     * and some required fields are defaulted by Knative.
+     */
+    private static final Map<String, Set<Type>> SERIALIZED_AS = Map.of(
+            "Quantity", EnumSet.of(Type.STRING, Type.INTEGER, Type.NUMBER),
+            "IntOrString", EnumSet.of(Type.STRING, Type.INTEGER),
+            "URL", EnumSet.of(Type.STRING),
+            "FieldsV1", EnumSet.noneOf(Type.class));
+    private static final Set<String> DEFAULTED_REQUIRED = Set.of("Container", "HTTPGetAction", "TCPSocketAction");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, SchemaNode> schemas;
+
+    private static class Holder {
+        private static final KnativeSchemas INSTANCE = load();
+    }
+
+    public static KnativeSchemas getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    KnativeSchemas(Map<String, SchemaNode> schemas) {
+        this.schemas = schemas;
+    }
+
+    /**
+     * @param apiVersion the api version of a resource, e.g. serving.knative.dev/v1
+     * @param kind       the kind of a resource
+     * @return the compiled schema of the resource, null if there is none
+     */
+    public SchemaNode get(String apiVersion, String kind) {
+        if (apiVersion == null || kind == null) {
+            return null;
+        }
+        return schemas.get(apiVersion + "/" + kind);
+    }
+
+    private static KnativeSchemas load() {
+        long start = System.nanoTime();
+        Map<String, SchemaNode> schemas = new HashMap<>();
+        try (InputStream index = KnativeSchemas.class.getResourceAsStream(INDEX)) {
+            if (index == null) {
+                return new KnativeSchemas(Collections.emptyMap());
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8));
+            String path;
+            while ((path = reader.readLine()) != null) {
+                path = path.trim();
+                if (!path.isEmpty()) {
+                    load(path, schemas);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+        }
+        logger.info("Compiled {} Knative schemas in {} ms", schemas.size(), (System.nanoTime() - start) / 1_000_000);
+        return new KnativeSchemas(schemas);
+    }
+
+    private static void load(String path, Map<String, SchemaNode> schemas) throws IOException {
+        // <group>/<version>_<kind>.json
+        String[] groupAndFile = path.split("/");
+        String[] versionAndKind = groupAndFile[groupAndFile.length - 1].replace(".json", "").split("_");
+        if (groupAndFile.length != 2 || versionAndKind.length != 2) {
+            logger.warn("Skipping schema " + path + ": invalid name");
+            return;
+        }
+        try (InputStream schema = KnativeSchemas.class.getResourceAsStream(SCHEMAS_PATH + path)) {
+            if (schema == null) {
+                logger.warn("Skipping schema " + path + ": not found");
+                return;
+            }
+            schemas.put(groupAndFile[0] + "/" + versionAndKind[0] + "/" + versionAndKind[1], compile(MAPPER.readTree(schema)));
+        }
+    }
+
+    /**
+     * @param root a JSON schema
+     * @return the compiled schema
+     */
+    static SchemaNode compile(JsonNode root) {
+        return new Compiler(root).compile(root, null);
+    }
+
+    private static class Compiler {
+        private final JsonNode root;
+        private final Map<String, SchemaNode> definitions = new HashMap<>();
+
+        private Compiler(JsonNode root) {
+            this.root = root;
+        }
+
+        private SchemaNode compile(JsonNode schema, String name) {
+            JsonNode ref = schema.get("$ref");
+            if (ref != null && ref.asText().startsWith(DEFINITIONS_REF)) {
+                return compileDefinition(ref.asText().substring(DEFINITIONS_REF.length()));
+            }
+            SchemaNode node = new SchemaNode(name);
+            fill(node, schema);
+            return node;
+        }
+
+        private SchemaNode compileDefinition(String name) {
+            SchemaNode node = definitions.get(name);
+            if (node != null) {
+                return node;
+            }
+            node = new SchemaNode(name);
+            // registered before its content is compiled, definitions can reference themselves
+            definitions.put(name, node);
+            if (SERIALIZED_AS.containsKey(name)) {
+                node.setTypes(SERIALIZED_AS.get(name));
+                return node;
+            }
+            JsonNode definition = root.path("definitions").path(name);
+            if (definition.isMissingNode()) {
+                logger.warn("Definition " + name + " not found");
+                node.setTypes(Collections.emptySet());
+                return node;
+            }
+            fill(node, definition);
+            if (DEFAULTED_REQUIRED.contains(name)) {
+                node.setRequired(Collections.emptySet());
+            }
+            return node;
+        }
+
+        private void fill(SchemaNode node, JsonNode schema) {
+            node.setTypes(getTypes(schema.get("type")));
+            Iterator<Map.Entry<String, JsonNode>> properties = schema.path("properties").fields();
+            while (properties.hasNext()) {
+                Map.Entry<String, JsonNode> property = properties.next();
+                node.addProperty(property.getKey(), compile(property.getValue(), null));
+            }
+            Iterator<Map.Entry<String, JsonNode>> patternProperties = schema.path("patternProperties").fields();
+            while (patternProperties.hasNext()) {
+                Map.Entry<String, JsonNode> property = patternProperties.next();
+                node.addPatternProperty(Pattern.compile(property.getKey()), compile(property.getValue(), null));
+            }
+            JsonNode additionalProperties = schema.get("additionalProperties");
+            if (additionalProperties != null && additionalProperties.isBoolean()) {
+                node.setAdditionalPropertiesAllowed(additionalProperties.asBoolean());
+            } else if (additionalProperties != null && additionalProperties.isObject()) {
+                node.setAdditionalProperties(compile(additionalProperties, null));
+            }
+            JsonNode required = schema.get("required");
+            if (required != null && required.isArray()) {
+                Set<String> names = new LinkedHashSet<>();
+                required.forEach(item -> names.add(item.asText()));
+                node.setRequired(names);
+            }
+            JsonNode items = schema.get("items");
+            if (items != null && items.isObject()) {
+                node.setItems(compile(items, null));
+            }
+        }
+
+        private Set<Type> getTypes(JsonNode type) {
+            if (type == null) {
+                return Collections.emptySet();
+            }
+            Set<Type> types = new HashSet<>();
+            if (type.isArray()) {
+                type.forEach(item -> addType(item.asText(), types));
+            } else {
+                addType(type.asText(), types);
+            }
+            return types;
+        }
+
+        private void addType(String type, Set<Type> types) {
+            Arrays.stream(Type.values())
+                    .filter(value -> value.toString().equals(type))
+                    .findFirst()
+                    .ifPresent(types::add);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.validation;
+
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.Annotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.psi.PsiElement;
+import com.redhat.devtools.intellij.knative.validation.SchemaNode.Type;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.yaml.psi.YAMLDocument;
+import org.jetbrains.yaml.psi.YAMLKeyValue;
+import org.jetbrains.yaml.psi.YAMLMapping;
+import org.jetbrains.yaml.psi.YAMLQuotedText;
+import org.jetbrains.yaml.psi.YAMLScalar;
+import org.jetbrains.yaml.psi.YAMLSequence;
+import org.jetbrains.yaml.psi.YAMLSequenceItem;
+import org.jetbrains.yaml.psi.YAMLValue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Validate Knative resources against the schemas shipped with the plugin, without the cluster.
+ * Each YAML value is checked on its own, against the schema node of its path: the highlighting only calls the
+ * annotator for the elements in the changed part of the document, so only the edited subtree is validated again.
+ */
+public class SchemaAnnotator implements Annotator {
+    private static final Object ITEM = new Object();
+    private static final Pattern NULL = Pattern.compile("~|null|Null|NULL|");
+    private static final Pattern BOOLEAN = Pattern.compile("true|True|TRUE|false|False|FALSE");
+    private static final Pattern INTEGER = Pattern.compile("[-+]?[0-9]+|0o[0-7]+|0x[0-9a-fA-F]+");
+    private static final Pattern NUMBER = Pattern.compile("[-+]?(\\.[0-9]+|[0-9]+(\\.[0-9]*)?)([eE][-+]?[0-9]+)?|[-+]?\\.(inf|Inf|INF)|\\.(nan|NaN|NAN)");
+
+    @Override
+    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+        if (element instanceof YAMLValue) {
+            validate((YAMLValue) element, (target, message) ->
+                    holder.newAnnotation(HighlightSeverity.WARNING, message)
+                            .range(target)
+                            .create());
+        }
+    }
+
+    /**
+     * @param value    the value to validate, its children are not validated
+     * @param problems receives the element to highlight and the problem
+     */
+    static void validate(YAMLValue value, BiConsumer<PsiElement, String> problems) {
+        SchemaNode schema = getSchema(value);
+        if (schema == null) {
+            return;
+        }
+        Type type = getType(value);
+        if (type == null) {
+            return;
+        }
+        if (!schema.accepts(type)) {
+            problems.accept(getTarget(value), "Expected " + schema.getTypesDescription() + " but was " + type);
+            return;
+        }
+        if (value instanceof YAMLMapping) {
+            validateMapping((YAMLMapping) value, schema, problems);
+        }
+    }
+
+    private static void validateMapping(YAMLMapping mapping, SchemaNode schema, BiConsumer<PsiElement, String> problems) {
+        for (YAMLKeyValue keyValue : mapping.getKeyValues()) {
+            if (schema.getProperty(keyValue.getKeyText()) == null) {
+                PsiElement key = keyValue.getKey() != null ? keyValue.getKey() : keyValue;
+                problems.accept(key, "Unknown field '" + keyValue.getKeyText() + "'"
+                        + (schema.getName() == null ? "" : " in " + schema.getName()));
+            }
+        }
+        Set<String> present = mapping.getKeyValues().stream()
+                .map(YAMLKeyValue::getKeyText)
+                .collect(Collectors.toSet());
+        List<String> missing = schema.getRequired().stream()
+                .filter(name -> !present.contains(name))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            problems.accept(getTarget(mapping), "Missing required field(s) " + missing.stream()
+                    .map(name -> "'" + name + "'")
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * @return the schema node of the path of the value, null if the document is not a Knative resource or the
+     * path is not in its schema
+     */
+    private static SchemaNode getSchema(YAMLValue value) {
+        Deque<Object> path = new ArrayDeque<>();
+        PsiElement current = value;
+        while (!(current.getParent() instanceof YAMLDocument)) {
+            PsiElement parent = current.getParent();
+            if (parent instanceof YAMLKeyValue) {
+                path.push(((YAMLKeyValue) parent).getKeyText());
+            } else if (parent instanceof YAMLSequenceItem) {
+                path.push(ITEM);
+            } else {
+                return null;
+            }
+            current = parent.getParent();
+            if (!(current instanceof YAMLMapping) && !(current instanceof YAMLSequence)) {
+                return null;
+            }
+        }
+        if (!(current instanceof YAMLMapping)) {
+            return null;
+        }
+        SchemaNode schema = KnativeSchemas.getInstance().get(
+                getText((YAMLMapping) current, "apiVersion"),
+                getText((YAMLMapping) current, "kind"));
+        while (schema != null && !path.isEmpty()) {
+            Object step = path.pop();
+            schema = step == ITEM ? schema.getItems() : schema.getProperty((String) step);
+        }
+        return schema;
+    }
+
+    private static String getText(YAMLMapping mapping, String key) {
+        YAMLKeyValue keyValue = mapping.getKeyValueByKey(key);
+        return keyValue == null ? null : keyValue.getValueText();
+    }
+
+    /**
+     * @return the type of the value, null if it is null or an alias
+     */
+    static Type getType(YAMLValue value) {
+        if (value instanceof YAMLMapping) {
+            return Type.OBJECT;
+        }
+        if (value instanceof YAMLSequence) {
+            return Type.ARRAY;
+        }
+        if (!(value instanceof YAMLScalar)) {
+            return null;
+        }
+        YAMLScalar scalar = (YAMLScalar) value;
+        if (scalar instanceof YAMLQuotedText || scalar.isMultiline()) {
+            return Type.STRING;
+        }
+        String text = scalar.getTextValue();
+        if (NULL.matcher(text).matches()) {
+            return null;
+        }
+        if (BOOLEAN.matcher(text).matches()) {
+            return Type.BOOLEAN;
+        }
+        if (INTEGER.matcher(text).matches()) {
+            return Type.INTEGER;
+        }
+        if (NUMBER.matcher(text).matches()) {
+            return Type.NUMBER;
+        }
+        return Type.STRING;
+    }
+
+    /**
+     * @return the key of a value in a mapping, the value itself otherwise
+     */
+    private static PsiElement getTarget(YAMLValue value) {
+        if (value.getParent() instanceof YAMLKeyValue) {
+            YAMLKeyValue keyValue = (YAMLKeyValue) value.getParent();
+            if (keyValue.getKey() != null) {
+                return keyValue.getKey();
+            }
+        }
+        if (value instanceof YAMLMapping && value.getParent() instanceof YAMLDocument
+                && !((YAMLMapping) value).getKeyValues().isEmpty()) {
+            YAMLKeyValue first = ((YAMLMapping) value).getKeyValues().iterator().next();
+            return first.getKey() != null ? first.getKey() : first;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.validation;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A JSON schema compiled for validation. References are resolved, a definition used in several places is a
+ * single node, so the nodes of a schema form a graph that can be cyclic.
+ */
+public class SchemaNode {
+
+    public enum Type {
+        OBJECT, ARRAY, STRING, INTEGER, NUMBER, BOOLEAN;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Node accepting any value
+     */
+    static final SchemaNode ANY = new SchemaNode(null);
+
+    private final String name;
+    private Set<Type> types = EnumSet.noneOf(Type.class);
+    private final Map<String, SchemaNode> properties = new LinkedHashMap<>();
+    private final Map<Pattern, SchemaNode> patternProperties = new LinkedHashMap<>();
+    private boolean additionalPropertiesAllowed = true;
+    private SchemaNode additionalProperties;
+    private Set<String> required = Collections.emptySet();
+    private SchemaNode items;
+
+    SchemaNode(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of the definition, null if the node is not a definition
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param type the type of a value
+     * @return true if the value is allowed by this node, any type is allowed if none is declared
+     */
+    public boolean accepts(Type type) {
+        return types.isEmpty()
+                || types.contains(type)
+                || (type == Type.INTEGER && types.contains(Type.NUMBER));
+    }
+
+    public String getTypesDescription() {
+        return types.stream().map(Type::toString).collect(Collectors.joining(" or "));
+    }
+
+    /**
+     * @param property the name of a property of an object
+     * @return the node of the property value, null if the property is not allowed
+     */
+    public SchemaNode getProperty(String property) {
+        SchemaNode node = properties.get(property);
+        if (node != null) {
+            return node;
+        }
+        for (Map.Entry<Pattern, SchemaNode> pattern : patternProperties.entrySet()) {
+            if (pattern.getKey().matcher(property).find()) {
+                return pattern.getValue();
+            }
+        }
+        if (additionalProperties != null) {
+            return additionalProperties;
+        }
+        return additionalPropertiesAllowed ? ANY : null;
+    }
+
+    /**
+     * @return the node of the items of an array
+     */
+    public SchemaNode getItems() {
+        return items == null ? ANY : items;
+    }
+
+    public Set<String> getRequired() {
+        return required;
+    }
+
+    void setTypes(Set<Type> types) {
+        this.types = types.isEmpty() ? EnumSet.noneOf(Type.class) : EnumSet.copyOf(types);
+    }
+
+    void addProperty(String name, SchemaNode node) {
+        properties.put(name, node);
+    }
+
+    void addPatternProperty(Pattern pattern, SchemaNode node) {
+        patternProperties.put(pattern, node);
+    }
+
+    void setAdditionalPropertiesAllowed(boolean allowed) {
+        this.additionalPropertiesAllowed = allowed;
+    }
+
+    void setAdditionalProperties(SchemaNode additionalProperties) {
+        this.additionalProperties = additionalProperties;
+    }
+
+    void setRequired(Set<String> required) {
+        this.required = Collections.unmodifiableSet(new LinkedHashSet<>(required));
+    }
+
+    void setItems(SchemaNode items) {
+        this.items = items;
+    }
+}
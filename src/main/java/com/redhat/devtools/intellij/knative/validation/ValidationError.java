@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.validation;
+
+import java.util.Objects;
+
+public class ValidationError {
+    private final String path;
+    private final String message;
+
+    /**
+     * @param path    the field in error, e.g. spec.template.spec.containers[0].image. Null if the error is not
+     *                about a field
+     * @param message the error
+     */
+    public ValidationError(String path, String message) {
+        this.path = path;
+        this.message = message;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ValidationError that = (ValidationError) o;
+        return Objects.equals(path, that.path) && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, message);
+    }
+
+    @Override
+    public String toString() {
+        return path == null ? message : path + ": " + message;
+    }
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.validation;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.yaml.psi.YAMLFile;
+import org.jetbrains.yaml.psi.YAMLKeyValue;
+import org.jetbrains.yaml.psi.YAMLMapping;
+import org.jetbrains.yaml.psi.YAMLSequence;
+import org.jetbrains.yaml.psi.YAMLSequenceItem;
+import org.jetbrains.yaml.psi.YAMLValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Find the element of a YAML file a field path, as reported by the cluster, points to.
+ */
+public class YAMLPaths {
+
+    private YAMLPaths() {
+    }
+
+    /**
+     * @param file the YAML file
+     * @param path the field path, e.g. spec.template.spec.containers[0].image
+     * @return the key or sequence item of the deepest field of the path found in the file, null if none is
+     */
+    public static PsiElement find(PsiFile file, String path) {
+        if (path == null || !(file instanceof YAMLFile) || ((YAMLFile) file).getDocuments().isEmpty()) {
+            return null;
+        }
+        YAMLValue value = ((YAMLFile) file).getDocuments().get(0).getTopLevelValue();
+        PsiElement found = null;
+        List<String> segments = split(path);
+        int i = 0;
+        while (i < segments.size() && value != null) {
+            if (value instanceof YAMLSequence && isIndex(segments.get(i))) {
+                int index = Integer.parseInt(segments.get(i));
+                List<YAMLSequenceItem> items = ((YAMLSequence) value).getItems();
+                if (index >= items.size()) {
+                    break;
+                }
+                found = items.get(index);
+                value = items.get(index).getValue();
+                i++;
+            } else if (value instanceof YAMLMapping) {
+                // keys such as annotations contain dots, try to join the next segments
+                YAMLKeyValue keyValue = null;
+                StringBuilder key = new StringBuilder();
+                int j = i;
+                for (; j < segments.size() && keyValue == null; j++) {
+                    if (j > i) {
+                        key.append('.');
+                    }
+                    key.append(segments.get(j));
+                    keyValue = ((YAMLMapping) value).getKeyValueByKey(key.toString());
+                }
+                if (keyValue == null) {
+                    break;
+                }
+                found = keyValue.getKey() != null ? keyValue.getKey() : keyValue;
+                value = keyValue.getValue();
+                i = j;
+            } else {
+                break;
+            }
+        }
+        return found;
+    }
+
+    static List<String> split(String path) {
+        List<String> segments = new ArrayList<>();
+        StringBuilder segment = new StringBuilder();
+        boolean inBrackets = false;
+        for (char c : path.toCharArray()) {
+            if (inBrackets) {
+                if (c == ']') {
+                    inBrackets = false;
+                    segments.add(segment.toString());
+                    segment.setLength(0);
+                } else {
+                    segment.append(c);
+                }
+            } else if (c == '.' || c == '[') {
+                if (segment.length() > 0) {
+                    segments.add(segment.toString());
+                    segment.setLength(0);
+                }
+                inBrackets = c == '[';
+            } else {
+                segment.append(c);
+            }
+        }
+        if (segment.length() > 0) {
+            segments.add(segment.toString());
+        }
+        return segments;
+    }
+
+    private static boolean isIndex(String segment) {
+        return !segment.isEmpty() && segment.chars().allMatch(Character::isDigit);
+    }
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.watch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.redhat.devtools.intellij.common.utils.UIHelper;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.utils.EditorHelper;
+import com.redhat.devtools.intellij.knative.utils.KnHelper;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.redhat.devtools.intellij.knative.Constants.DELETED_ON_CLUSTER_KEY;
+
+/**
+ * Keep the resources opened in an editor up to date with the cluster, one watch per opened file.
+ * The watches are kept per kn client so they can be closed with the client, see {@link #dispose(Kn)}.
+ */
+public class ResourceEditorWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(ResourceEditorWatcher.class);
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+    private static final Map<Kn, Map<VirtualFile, Watch>> watches = new HashMap<>();
+
+    private ResourceEditorWatcher() {
+    }
+
+    /**
+     * Watch the resource opened in a file, until {@link #stop(VirtualFile)} is called or the client is disposed.
+     *
+     * @param kn   the kn client
+     * @param file the file of the opened resource
+     * @param yaml the content of the resource
+     */
+    public static void watch(Kn kn, VirtualFile file, String yaml) {
+        if (kn == null || isWatched(file)) {
+            return;
+        }
+        try {
+            JsonNode resource = YAML_MAPPER.readTree(yaml);
+            CustomResourceDefinitionContext crdContext = KnHelper.getCRDContext(
+                    resource.path("apiVersion").asText(null), resource.path("kind").asText(null));
+            String name = resource.at("/metadata/name").asText(null);
+            if (crdContext == null || name == null) {
+                return;
+            }
+            Watch watch = kn.watchCustomResource(name, crdContext, getWatcher(kn, file));
+            boolean added;
+            synchronized (watches) {
+                added = !isWatched(file) && watches.computeIfAbsent(kn, k -> new HashMap<>()).putIfAbsent(file, watch) == null;
+            }
+            if (!added) {
+                watch.close();
+            }
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * @param file the file of an opened resource
+     */
+    public static void stop(VirtualFile file) {
+        List<Watch> removed = new ArrayList<>();
+        synchronized (watches) {
+            watches.values().forEach(byFile -> {
+                Watch watch = byFile.remove(file);
+                if (watch != null) {
+                    removed.add(watch);
+                }
+            });
+        }
+        removed.forEach(Watch::close);
+    }
+
+    /**
+     * Close the watches made with a client that is no longer used, e.g. after a context switch.
+     * The opened resources are watched again with the new client when they are reopened.
+     *
+     * @param kn the kn client of a project
+     */
+    public static void dispose(Kn kn) {
+        Map<VirtualFile, Watch> byFile;
+        synchronized (watches) {
+            byFile = watches.remove(kn);
+        }
+        if (byFile != null) {
+            byFile.values().forEach(Watch::close);
+        }
+    }
+
+    public static boolean isWatched(VirtualFile file) {
+        synchronized (watches) {
+            return watches.values().stream().anyMatch(byFile -> byFile.containsKey(file));
+        }
+    }
+
+    private static Watcher<GenericKubernetesResource> getWatcher(Kn kn, VirtualFile file) {
+        return new Watcher<GenericKubernetesResource>() {
+            @Override
+            public void eventReceived(Action action, GenericKubernetesResource resource) {
+                if (action == Action.MODIFIED
+                        || (action == Action.ADDED && file.getUserData(DELETED_ON_CLUSTER_KEY) != null)) {
+                    // ADDED is also received for the existing resource when the watch starts, only a re-creation matters
+                    onModified(file, resource);
+                } else if (action == Action.DELETED) {
+                    UIHelper.executeInUI(() -> EditorHelper.markDeletedOnCluster(file));
+                }
+            }
+
+            @Override
+            public void onClose(WatcherException cause) {
+                synchronized (watches) {
+                    Map<VirtualFile, Watch> byFile = watches.get(kn);
+                    if (byFile != null) {
+                        byFile.remove(file);
+                    }
+                }
+                if (cause != null) {
+                    logger.warn(cause.getLocalizedMessage(), cause);
+                }
+            }
+        };
+    }
+    private static void onModified(VirtualFile file, GenericKubernetesResource resource) {
+        try {
+            String yaml = KnHelper.getYaml(resource);
+            UIHelper.executeInUI(() -> EditorHelper.updateFromCluster(file, yaml));
+        } catch (IOException e) {
+            logger.warn(e.getLocalizedMessage(), e);
+        }
+    }
+}
@@ -11,6 +11,9 @@
 package com.redhat.devtools.intellij.knative.actions;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.execution.process.ProcessListener;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
@@ -24,14 +27,18 @@ import com.redhat.devtools.intellij.knative.kn.Function;
 import com.redhat.devtools.intellij.knative.telemetry.TelemetryService;
 import com.redhat.devtools.intellij.knative.func.FuncActionTask;
 import com.redhat.devtools.intellij.knative.func.DeployFuncActionPipeline;
+import com.redhat.devtools.intellij.knative.utils.FuncUtils;
 import com.redhat.devtools.intellij.knative.utils.TreeHelper;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import javax.swing.tree.TreePath;
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockedConstruction;
@@ -45,6 +52,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
@@ -293,6 +301,30 @@ public class DeployActionTest extends ActionTest {
         }
     }
 
+    public void testRecordDeployedOnSuccess_SourcesChangedDuringDeploy_DeployNotUpToDate() throws IOException {
+        Project project = myFixture.getProject();
+        Path functionPath = Files.createTempDirectory("func");
+        try {
+            Files.write(functionPath.resolve("index.js"), "v1".getBytes(StandardCharsets.UTF_8));
+            String atStart = FuncUtils.getDeployFingerprint(functionPath.toString());
+            ProcessListener listener = TestDeployAction.recordDeployedOnSuccess(project, functionPath.toString(), atStart);
+            Files.write(functionPath.resolve("index.js"), "v2".getBytes(StandardCharsets.UTF_8));
+
+            listener.processTerminated(new ProcessEvent(mock(ProcessHandler.class), 0));
+
+            assertFalse(FuncUtils.isDeployUpToDate(project, kn, "func", functionPath.toString()));
+            verify(kn, never()).getKnativeService(anyString());
+        } finally {
+            FileUtils.deleteDirectory(functionPath.toFile());
+        }
+    }
+
+    private static class TestDeployAction extends DeployAction {
+        static ProcessListener recordDeployedOnSuccess(Project project, String localPath, String fingerprint) {
+            return DeployAction.recordDeployedOnSuccess(project, localPath, fingerprint, null);
+        }
+    }
+
     private AnActionEvent createDeployActionEvent() throws IOException {
         AnActionEvent anActionEvent = mock(AnActionEvent.class);
         when(anActionEvent.getData(PlatformDataKeys.CONTEXT_COMPONENT)).thenReturn(tree);
@@ -60,4 +60,16 @@ public class FuncActionPipelineBuilderTest extends BaseTest {
             assertEquals(2, ((DeployFuncActionPipeline) deployPipeline).getSteps().size());
         }
     }
+
+    public void testWithTimeout_LastTaskHasTimeout() throws IOException {
+        try (MockedConstruction<TerminalExecutionConsole> ignored = mockConstruction(TerminalExecutionConsole.class)) {
+            IFuncActionPipeline deployPipeline = new FuncActionPipelineBuilder()
+                    .createDeployPipeline(project, function)
+                    .withTask("deploy", (task) -> {})
+                    .withTimeout(2)
+                    .build();
+
+            assertEquals(120000, ((DeployFuncActionPipeline) deployPipeline).getSteps().get(0).getTimeout());
+        }
+    }
 }
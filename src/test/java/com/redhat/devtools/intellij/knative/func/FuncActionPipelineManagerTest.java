@@ -10,6 +10,9 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.knative.func;
 
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.execution.process.ProcessOutputTypes;
 import com.intellij.terminal.TerminalExecutionConsole;
 import com.redhat.devtools.intellij.knative.BaseTest;
 import org.junit.Before;
@@ -18,9 +21,13 @@ import org.mockito.MockedConstruction;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 
 public class FuncActionPipelineManagerTest extends BaseTest {
@@ -86,4 +93,54 @@ public class FuncActionPipelineManagerTest extends BaseTest {
             assertEquals(2, optimizedPipeline.getSteps().size());
         }
     }
+
+    public void testSwap_RunningPipeline_PreviousPipelineActiveUntilReleased() throws IOException {
+        FuncActionPipeline next = new FuncActionPipeline("name", project, function) {
+            @Override
+            protected String getTabName() {
+                return "test";
+            }
+
+            @Override
+            public void start() {
+
+            }
+        };
+        FuncActionPipelineManager manager = new FuncActionPipelineManager();
+
+        try (MockedConstruction<TerminalExecutionConsole> ignored = mockConstruction(TerminalExecutionConsole.class)) {
+            pipeline.setTasks(new ArrayList<>(Collections.singletonList(new FuncActionTask("test", (task) -> {}))));
+            next.setTasks(new ArrayList<>(Collections.singletonList(new FuncActionTask("test", (task) -> {}))));
+            manager.start(pipeline);
+            assertTrue(manager.isActive(pipeline));
+
+            manager.swap(next);
+            assertTrue(manager.isActive(pipeline));
+            assertTrue(manager.isActive(next));
+
+            manager.release(pipeline);
+            assertFalse(manager.isActive(pipeline));
+            assertTrue(manager.isActive(next));
+        }
+    }
+
+    public void testGetLocalPort_FunctionStartedOnAnotherPort_PortReadFromOutput() {
+        RunFuncActionPipeline run = new RunFuncActionPipeline(project, function) {
+            @Override
+            public void start() {
+
+            }
+        };
+        FuncActionPipelineManager manager = new FuncActionPipelineManager();
+
+        try (MockedConstruction<TerminalExecutionConsole> ignored = mockConstruction(TerminalExecutionConsole.class)) {
+            run.setTasks(new ArrayList<>(Collections.singletonList(new RunFuncActionTask((task) -> {}))));
+            manager.start(run);
+            assertEquals(-1, manager.getLocalPort(run.getFuncName()));
+
+            run.getSteps().get(0).getProcessListener().onTextAvailable(
+                    new ProcessEvent(mock(ProcessHandler.class), "Function started on port 8081\n"), ProcessOutputTypes.STDOUT);
+            assertEquals(8081, manager.getLocalPort(run.getFuncName()));
+        }
+    }
 }
@@ -22,6 +22,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mockConstruction;
 
 public class FuncActionPipelineTest extends BaseTest {
@@ -102,4 +103,19 @@ public class FuncActionPipelineTest extends BaseTest {
             assertEquals(finalTask, pipeline.getRunningStep());
         }
     }
+
+    public void testStop_TaskNotStarted_AllStepsCancelled() throws IOException {
+        List<FuncActionTask> tasks = new ArrayList<>();
+        tasks.add(new BuildFuncActionTask((task) -> {}));
+        tasks.add(new FuncActionTask("test", (task) -> {}));
+
+        try (MockedConstruction<TerminalExecutionConsole> ignored = mockConstruction(TerminalExecutionConsole.class)) {
+            pipeline.setTasks(tasks);
+            pipeline.stop();
+            assertEquals(FuncActionTask.CANCELLED_STATE, pipeline.getSteps().get(0).getState());
+            assertEquals(FuncActionTask.CANCELLED_STATE, pipeline.getSteps().get(1).getState());
+            assertEquals(FuncActionTask.CANCELLED_STATE, pipeline.getState());
+            assertTrue(pipeline.isFinished());
+        }
+    }
 }
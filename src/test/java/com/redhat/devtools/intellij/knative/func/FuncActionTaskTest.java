@@ -17,9 +17,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockedConstruction;
 
+import java.util.ArrayList;
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mockConstruction;
 
 public class FuncActionTaskTest extends BaseTest {
@@ -52,4 +57,28 @@ public class FuncActionTaskTest extends BaseTest {
         }
 
     }
+
+    public void testCompleteAsUpToDate_LastTask_PipelineCompletedSuccessfully() {
+        FuncActionTask task = new FuncActionTask("test", (t) -> {});
+        try (MockedConstruction<TerminalExecutionConsole> ignored = mockConstruction(TerminalExecutionConsole.class)) {
+            pipeline.setTasks(new ArrayList<>(Collections.singletonList(task)));
+            task.completeAsUpToDate("up to date");
+            assertEquals(FuncActionTask.UP_TO_DATE_STATE, task.getState());
+            assertTrue(task.isSuccessfullyCompleted());
+            assertTrue(task.isFinished());
+            assertTrue(pipeline.isSuccessfullyCompleted());
+            assertTrue(pipeline.isFinished());
+        }
+    }
+
+    public void testCompleteAsUpToDate_TaskCancelled_CancelledStateKept() {
+        FuncActionTask task = new FuncActionTask("test", (t) -> {});
+        try (MockedConstruction<TerminalExecutionConsole> ignored = mockConstruction(TerminalExecutionConsole.class)) {
+            pipeline.setTasks(new ArrayList<>(Collections.singletonList(task)));
+            task.cancel(FuncActionTask.TIMED_OUT_STATE);
+            task.completeAsUpToDate("up to date");
+            assertEquals(FuncActionTask.TIMED_OUT_STATE, task.getState());
+            assertFalse(task.isSuccessfullyCompleted());
+        }
+    }
 }
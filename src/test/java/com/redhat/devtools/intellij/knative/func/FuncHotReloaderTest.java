@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func;
+
+import com.intellij.terminal.TerminalExecutionConsole;
+import com.redhat.devtools.intellij.knative.BaseTest;
+import org.mockito.MockedConstruction;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class FuncHotReloaderTest extends BaseTest {
+    private Path root;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        root = Files.createTempDirectory("func");
+        Files.write(root.resolve("index.js"), "module.exports = {}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void testGetFingerprint_SourceChanged_DifferentFingerprint() throws IOException {
+        String fingerprint = FuncHotReloader.getFingerprint(root);
+        Files.write(root.resolve("index.js"), "module.exports = { hello: true }".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(fingerprint, FuncHotReloader.getFingerprint(root));
+    }
+
+    public void testGetFingerprint_SameContentSavedAgain_SameFingerprint() throws IOException {
+        String fingerprint = FuncHotReloader.getFingerprint(root);
+        Files.write(root.resolve("index.js"), "module.exports = {}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(fingerprint, FuncHotReloader.getFingerprint(root));
+    }
+
+    public void testGetFingerprint_HiddenAndDependencyFoldersChanged_SameFingerprint() throws IOException {
+        String fingerprint = FuncHotReloader.getFingerprint(root);
+        Files.createDirectories(root.resolve(".func"));
+        Files.write(root.resolve(".func").resolve("built"), "123".getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(root.resolve("node_modules"));
+        Files.write(root.resolve("node_modules").resolve("dep.js"), "dep".getBytes(StandardCharsets.UTF_8));
+        assertEquals(fingerprint, FuncHotReloader.getFingerprint(root));
+    }
+
+    public void testIsFunctionSource_SiblingFolderWithSamePrefix_False() {
+        assertTrue(FuncHotReloader.isFunctionSource(root, root.resolve("index.js").toString()));
+        assertFalse(FuncHotReloader.isFunctionSource(root, root + "2/index.js"));
+        assertFalse(FuncHotReloader.isFunctionSource(root, root.resolve(".func").resolve("built").toString()));
+    }
+
+    public void testReplace_TwoReloadsDuringOneBuild_OnlyLatestRuns() throws Exception {
+        FuncActionPipelineManager manager = mock(FuncActionPipelineManager.class);
+        List<FuncActionTask> runs = new ArrayList<>();
+        FuncHotReloader reloader = new FuncHotReloader(project, function, manager, task -> {}, runs::add);
+        RunFuncActionPipeline serving = mock(RunFuncActionPipeline.class);
+        setField(reloader, "current", serving);
+        setField(reloader, "serving", serving);
+
+        try (MockedConstruction<TerminalExecutionConsole> ignored = mockConstruction(TerminalExecutionConsole.class)) {
+            RunFuncActionPipeline first = createReloadPipeline();
+            RunFuncActionPipeline second = createReloadPipeline();
+
+            reloader.replace(first);
+            // the sources change again while the first reload is building
+            reloader.replace(second);
+
+            assertTrue(first.getSteps().get(0).isCancelled());
+            assertTrue(first.isFinished());
+            verify(manager).release(first);
+
+            // the first build finished anyway, its run must not replace anything
+            reloader.takeOver(first.getSteps().get(1));
+            verify(serving, never()).stopForReload();
+            assertTrue(runs.isEmpty());
+
+            reloader.takeOver(second.getSteps().get(1));
+            verify(serving, times(1)).stopForReload();
+            assertEquals(1, runs.size());
+            assertEquals(second, runs.get(0).getPipeline());
+        }
+    }
+
+    private RunFuncActionPipeline createReloadPipeline() {
+        RunFuncActionPipeline pipeline = new RunFuncActionPipeline(project, function);
+        List<FuncActionTask> tasks = new ArrayList<>();
+        tasks.add(new BuildFuncActionTask(task -> {}));
+        tasks.add(new RunFuncActionTask(task -> {}));
+        pipeline.setTasks(tasks);
+        return pipeline;
+    }
+
+    private void setField(FuncHotReloader reloader, String name, Object value) throws Exception {
+        Field field = FuncHotReloader.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(reloader, value);
+    }
+}
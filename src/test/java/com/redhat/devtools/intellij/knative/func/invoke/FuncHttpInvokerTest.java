@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.devtools.intellij.knative.BaseTest;
+import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FuncHttpInvokerTest extends BaseTest {
+    private HttpServer server;
+    private AtomicReference<String> receivedBody;
+    private AtomicReference<String> receivedContentType;
+    private AtomicInteger status;
+    private URI uri;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        receivedBody = new AtomicReference<>();
+        receivedContentType = new AtomicReference<>();
+        status = new AtomicInteger(200);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            receivedContentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+            byte[] response = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+        uri = new URI("http://localhost:" + server.getAddress().getPort());
+    }
+
+    public void tearDown() throws Exception {
+        server.stop(0);
+        super.tearDown();
+    }
+
+    public void testInvoke_StructuredCloudEvent_EnvelopeSent() throws IOException {
+        InvokeModel model = createModel();
+        InvokeRequestFactory requestFactory = new InvokeRequestFactory(model, uri, InvokeRequestFactory.FORMAT_CLOUDEVENT_STRUCTURED);
+
+        InvokeResult result = new FuncHttpInvoker().invoke(requestFactory, null, null, System.nanoTime());
+
+        JsonNode event = new ObjectMapper().readTree(receivedBody.get());
+        assertEquals("application/cloudevents+json", receivedContentType.get());
+        assertEquals("1.0", event.get("specversion").asText());
+        assertEquals("my-id", event.get("id").asText());
+        assertEquals("application/json", event.get("datacontenttype").asText());
+        assertEquals("world", event.get("data").get("hello").asText());
+        assertEquals(200, result.getStatusCode());
+        assertEquals("ok", result.getBody());
+    }
+
+    public void testInvoke_StructuredCloudEventWithoutId_SentIdReturned() throws IOException {
+        InvokeModel model = createModel();
+        model.setID(null);
+        InvokeRequestFactory requestFactory = new InvokeRequestFactory(model, uri, InvokeRequestFactory.FORMAT_CLOUDEVENT_STRUCTURED);
+
+        InvokeResult result = new FuncHttpInvoker().invoke(requestFactory, null, null, System.nanoTime());
+
+        JsonNode event = new ObjectMapper().readTree(receivedBody.get());
+        assertFalse(result.getId().isEmpty());
+        assertEquals(event.get("id").asText(), result.getId());
+    }
+
+    public void testInvoke_BinaryCloudEvent_IdAndTimesReturned() throws IOException {
+        InvokeModel model = createModel();
+        InvokeRequestFactory requestFactory = new InvokeRequestFactory(model, uri, InvokeRequestFactory.FORMAT_CLOUDEVENT);
+
+        InvokeResult result = new FuncHttpInvoker().invoke(requestFactory, null, null, System.nanoTime());
+
+        assertEquals("{\"hello\":\"world\"}", receivedBody.get());
+        assertEquals("my-id", result.getId());
+        assertTrue(result.getRoundTripTime() <= result.getTotalTime());
+    }
+
+    public void testInvoke_ErrorStatus_StatusAndBodyReturned() throws IOException {
+        status.set(500);
+        InvokeRequestFactory requestFactory = new InvokeRequestFactory(createModel(), uri, InvokeRequestFactory.FORMAT_HTTP);
+
+        InvokeResult result = new FuncHttpInvoker().invoke(requestFactory, null, null, System.nanoTime());
+
+        assertFalse(result.isSuccessful());
+        assertEquals(500, result.getStatusCode());
+        assertEquals("ok", result.getBody());
+    }
+
+    public void testInvoke_FilePayload_StreamedWithProgress() throws IOException {
+        Path file = Files.createTempFile("payload", ".txt");
+        try {
+            // a bit more than 3 chunks
+            byte[] content = new byte[3 * FileBodyPublisher.CHUNK_SIZE + 10];
+            Arrays.fill(content, (byte) 'a');
+            Files.write(file, content);
+            InvokeModel model = createModel();
+            model.setFile(file.toString());
+            model.setContentType("text/plain");
+            List<Long> progress = new ArrayList<>();
+            InvokeRequestFactory requestFactory = new InvokeRequestFactory(model, uri, InvokeRequestFactory.FORMAT_HTTP);
+
+            new FuncHttpInvoker().invoke(requestFactory, null, (sent, total) -> progress.add(sent), System.nanoTime());
+
+            assertEquals(content.length, receivedBody.get().length());
+            assertEquals(4, progress.size());
+            assertEquals(content.length, (long) progress.get(3));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void testInvoke_LocalFunctionNotListening_NotRunningErrorWithItsPort() throws IOException {
+        server.stop(0);
+        InvokeRequestFactory requestFactory = new InvokeRequestFactory(createModel(), uri, InvokeRequestFactory.FORMAT_HTTP);
+
+        try {
+            new FuncHttpInvoker().invoke(requestFactory, uri, null, System.nanoTime());
+            fail("invoke should fail when the local function is not listening");
+        } catch (IOException e) {
+            assertEquals("Error: function not running at " + uri, e.getMessage());
+        }
+    }
+
+    public void testInvoke_FunctionNotListeningOnLocalPort_ConnectionError() throws IOException {
+        server.stop(0);
+        InvokeRequestFactory requestFactory = new InvokeRequestFactory(createModel(), uri, InvokeRequestFactory.FORMAT_HTTP);
+        URI localURI = InvokeRequestFactory.getLocalURI(uri.getPort() == 8081 ? 8082 : 8081);
+
+        try {
+            new FuncHttpInvoker().invoke(requestFactory, localURI, null, System.nanoTime());
+            fail("invoke should fail when the function is not listening");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Unable to connect to " + uri));
+        }
+    }
+
+    public void testGetLocalURI_PortUnknown_DefaultPort() {
+        assertEquals(URI.create("http://localhost:8080"), InvokeRequestFactory.getLocalURI(-1));
+        assertEquals(URI.create("http://localhost:8081"), InvokeRequestFactory.getLocalURI(8081));
+    }
+
+    private InvokeModel createModel() {
+        InvokeModel model = new InvokeModel();
+        model.setData("{\"hello\":\"world\"}");
+        model.setContentType("application/json");
+        model.setID("my-id");
+        return model;
+    }
+}
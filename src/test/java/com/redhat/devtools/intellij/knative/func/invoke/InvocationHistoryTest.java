@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import com.redhat.devtools.intellij.knative.BaseTest;
+import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InvocationHistoryTest extends BaseTest {
+    private Path file;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        file = Files.createTempDirectory("history").resolve("invocations.jsonl");
+    }
+
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.getParent());
+        super.tearDown();
+    }
+
+    public void testRecord_NewHistoryOnSameFile_RecordsReloaded() {
+        InvocationHistory history = new InvocationHistory(file);
+        history.record(createRecord(history.getSession(), "func1", 10));
+        history.record(createRecord(history.getSession(), "func2", 20));
+        history.record(new InvocationRecord(history.getSession(), "func1", createModel()).withError("function not running"));
+
+        List<InvocationRecord> records = new InvocationHistory(file).getRecords("test", "func1");
+
+        assertEquals(2, records.size());
+        assertEquals("{\"hello\":\"world\"}", records.get(0).toInvokeModel().getData());
+        assertEquals(10, records.get(0).getRoundTripTime());
+        assertFalse(records.get(1).isSuccessful());
+    }
+
+    public void testRecord_HistoryTooLarge_Compacted() throws IOException {
+        InvocationHistory history = new InvocationHistory(file);
+        for (int i = 0; i <= 2 * InvocationHistory.MAX_RECORDS; i++) {
+            history.record(createRecord(history.getSession(), "func1", i));
+        }
+
+        assertEquals(InvocationHistory.MAX_RECORDS, Files.readAllLines(file).size());
+        List<InvocationRecord> records = new InvocationHistory(file).getRecords("test", "func1");
+        assertEquals(2 * InvocationHistory.MAX_RECORDS, records.get(records.size() - 1).getRoundTripTime());
+    }
+
+    public void testRecord_InvalidLine_Skipped() throws IOException {
+        InvocationHistory history = new InvocationHistory(file);
+        history.record(createRecord(history.getSession(), "func1", 10));
+        Files.write(file, Collections.singletonList("{\"timestamp\":"), StandardOpenOption.APPEND);
+
+        assertEquals(1, new InvocationHistory(file).getRecords("test", "func1").size());
+    }
+
+    public void testGetRecords_SameNameInOtherNamespace_NotReturned() {
+        InvocationHistory history = new InvocationHistory(file);
+        history.record(createRecord(history.getSession(), "func1", 10));
+        InvokeModel model = createModel();
+        model.setNamespace("other");
+        history.record(new InvocationRecord(history.getSession(), "func1", model)
+                .withResult(new InvokeResult("", 200, "ok", 20, 21)));
+
+        List<InvocationRecord> records = history.getRecords("test", "func1");
+
+        assertEquals(1, records.size());
+        assertEquals(10, records.get(0).getRoundTripTime());
+        assertEquals(1, history.getRecords("other", "func1").size());
+    }
+
+    public void testRecord_ErrorStatus_StatusKept() {
+        InvocationHistory history = new InvocationHistory(file);
+        history.record(new InvocationRecord(history.getSession(), "func1", createModel())
+                .withResult(new InvokeResult("", 500, "boom", 10, 11)));
+
+        InvocationRecord record = new InvocationHistory(file).getRecords("test", "func1").get(0);
+
+        assertEquals(500, record.getStatus());
+        assertTrue(record.isAnswered());
+        assertFalse(record.isSuccessful());
+    }
+
+    public void testCompare_SlowerReplay_RegressionReported() {
+        List<InvocationRecord> originals = Arrays.asList(createRecord("s1", "func1", 10), createRecord("s1", "func1", 12));
+        List<InvocationRecord> replays = Arrays.asList(createRecord("s2", "func1", 20), createRecord("s2", "func1", 24));
+
+        String report = InvocationReplayer.compare(originals, replays, originals);
+
+        assertTrue(report.contains("round trip 10 ms -> 20 ms (+100%)"));
+        assertTrue(report.contains("possible regression"));
+    }
+
+    private InvocationRecord createRecord(String session, String function, long roundTrip) {
+        return new InvocationRecord(session, function, createModel())
+                .withResult(new InvokeResult("", 200, "ok", roundTrip, roundTrip + 1));
+    }
+
+    private InvokeModel createModel() {
+        InvokeModel model = new InvokeModel();
+        model.setData("{\"hello\":\"world\"}");
+        model.setContentType("application/json");
+        model.setTarget("local");
+        model.setNamespace("test");
+        return model;
+    }
+}
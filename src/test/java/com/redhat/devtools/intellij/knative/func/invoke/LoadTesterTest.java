@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.func.invoke;
+
+import com.redhat.devtools.intellij.knative.BaseTest;
+import com.redhat.devtools.intellij.knative.utils.model.InvokeModel;
+import com.redhat.devtools.intellij.knative.utils.model.LoadTestModel;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LoadTesterTest extends BaseTest {
+    private HttpServer server;
+    private AtomicInteger received;
+    private URI uri;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        received = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            int count = received.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            // every fifth request fails
+            exchange.sendResponseHeaders(count % 5 == 0 ? 500 : 200, -1);
+            exchange.close();
+        });
+        server.start();
+        uri = new URI("http://localhost:" + server.getAddress().getPort());
+    }
+
+    public void tearDown() throws Exception {
+        server.stop(0);
+        super.tearDown();
+    }
+
+    public void testRun_RequestsCount_AllRequestsRecorded() throws IOException, InterruptedException {
+        InvokeModel model = new InvokeModel();
+        model.setData("hello");
+        model.setContentType("text/plain");
+        LoadTester loadTester = new LoadTester(HttpClient.newHttpClient(),
+                new InvokeRequestFactory(model, uri, InvokeRequestFactory.FORMAT_HTTP),
+                new LoadTestModel(50, 4, 0, 0));
+        List<LoadTestReport> progress = new ArrayList<>();
+
+        LoadTestReport report = loadTester.run(progress::add);
+
+        assertEquals(50, received.get());
+        assertEquals(50, report.getRequests());
+        assertEquals(10, report.getErrors());
+        assertTrue(report.isCompleted());
+        assertTrue(report.getP50() <= report.getP99());
+        assertTrue(report.getP99() <= report.getMax());
+        assertTrue(progress.get(progress.size() - 1).isCompleted());
+    }
+
+    public void testCreate_CloudEventFormat_BinaryModeHeaders() throws IOException {
+        InvokeModel model = new InvokeModel();
+        model.setData("{}");
+        model.setContentType("application/json");
+        model.setID("my-id");
+        InvokeRequestFactory requestFactory = new InvokeRequestFactory(model, uri, InvokeRequestFactory.FORMAT_CLOUDEVENT);
+
+        HttpRequest request = requestFactory.create();
+
+        assertEquals("my-id", request.headers().firstValue("ce-id").orElse(""));
+        assertEquals("/boson/fn", request.headers().firstValue("ce-source").orElse(""));
+        assertEquals("boson.fn", request.headers().firstValue("ce-type").orElse(""));
+        assertEquals("1.0", request.headers().firstValue("ce-specversion").orElse(""));
+        assertEquals("application/json", request.headers().firstValue("Content-Type").orElse(""));
+    }
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.kn;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.redhat.devtools.intellij.knative.BaseTest;
+import com.redhat.devtools.intellij.knative.watch.ResourceEditorWatcher;
+import io.fabric8.kubernetes.client.Watch;
+import java.util.concurrent.CompletableFuture;
+import org.mockito.MockedStatic;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class KnSessionTest extends BaseTest {
+
+    public void testGetKn_CalledTwice_KnCreatedOnce() {
+        KnCliFactory knCliFactory = mockKnCliFactory();
+        try (MockedStatic<KnCliFactory> knCliFactoryMockedStatic = mockStatic(KnCliFactory.class)) {
+            knCliFactoryMockedStatic.when(KnCliFactory::getInstance).thenReturn(knCliFactory);
+            KnSession session = new KnSession(project);
+            assertSame(session.getKn(), session.getKn());
+            verify(knCliFactory, times(1)).createKn(project);
+        }
+    }
+
+    public void testGetKn_AfterReset_KnCreatedAgain() {
+        KnCliFactory knCliFactory = mockKnCliFactory();
+        try (MockedStatic<KnCliFactory> knCliFactoryMockedStatic = mockStatic(KnCliFactory.class)) {
+            knCliFactoryMockedStatic.when(KnCliFactory::getInstance).thenReturn(knCliFactory);
+            KnSession session = new KnSession(project);
+            session.getKn();
+            session.reset();
+            session.getKn();
+            verify(knCliFactory, times(2)).createKn(project);
+        }
+    }
+
+    public void testGetKn_TwoProjects_OneKnPerProject() {
+        KnCliFactory knCliFactory = mockKnCliFactory();
+        Project otherProject = mock(Project.class);
+        try (MockedStatic<KnCliFactory> knCliFactoryMockedStatic = mockStatic(KnCliFactory.class)) {
+            knCliFactoryMockedStatic.when(KnCliFactory::getInstance).thenReturn(knCliFactory);
+            KnSession session = new KnSession(project);
+            KnSession otherSession = new KnSession(otherProject);
+            session.getKn();
+            otherSession.getKn();
+            session.getKn();
+            verify(knCliFactory, times(1)).createKn(project);
+            verify(knCliFactory, times(1)).createKn(otherProject);
+        }
+    }
+
+    public void testReset_ResourceWatchedInEditor_WatchClosedAndFileCanBeWatchedAgain() throws Exception {
+        KnCliFactory knCliFactory = mockKnCliFactory();
+        VirtualFile file = mock(VirtualFile.class);
+        String yaml = "apiVersion: serving.knative.dev/v1\nkind: Service\nmetadata:\n  name: test\n";
+        try (MockedStatic<KnCliFactory> knCliFactoryMockedStatic = mockStatic(KnCliFactory.class)) {
+            knCliFactoryMockedStatic.when(KnCliFactory::getInstance).thenReturn(knCliFactory);
+            KnSession session = new KnSession(project);
+            Kn oldKn = session.getKn().get();
+            Watch oldWatch = mock(Watch.class);
+            when(oldKn.watchCustomResource(anyString(), any(), any())).thenReturn(oldWatch);
+            ResourceEditorWatcher.watch(oldKn, file, yaml);
+            assertTrue(ResourceEditorWatcher.isWatched(file));
+
+            session.reset();
+            verify(oldWatch, times(1)).close();
+            assertFalse(ResourceEditorWatcher.isWatched(file));
+
+            Kn newKn = session.getKn().get();
+            Watch newWatch = mock(Watch.class);
+            when(newKn.watchCustomResource(anyString(), any(), any())).thenReturn(newWatch);
+            ResourceEditorWatcher.watch(newKn, file, yaml);
+            verify(newKn, times(1)).watchCustomResource(eq("test"), any(), any());
+            assertTrue(ResourceEditorWatcher.isWatched(file));
+            ResourceEditorWatcher.stop(file);
+            verify(newWatch, times(1)).close();
+        }
+    }
+
+    private KnCliFactory mockKnCliFactory() {
+        KnCliFactory knCliFactory = mock(KnCliFactory.class);
+        when(knCliFactory.createKn(any())).thenAnswer(invocation -> CompletableFuture.completedFuture(mock(Kn.class)));
+        return knCliFactory;
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.kn;
+
+import com.redhat.devtools.intellij.knative.BaseTest;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+
+import java.util.concurrent.TimeUnit;
+
+public class KubernetesClientRegistryTest extends BaseTest {
+    private KubernetesClientRegistry registry;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        registry = new KubernetesClientRegistry();
+    }
+
+    public void tearDown() throws Exception {
+        registry.dispose();
+        super.tearDown();
+    }
+
+    public void testAcquire_SameContext_SameClient() {
+        KubernetesClient client = registry.acquire(getConfig("test", "token"));
+        assertSame(client, registry.acquire(getConfig("test", "token")));
+        assertEquals(1, registry.getStats().getClients());
+    }
+
+    public void testAcquire_OtherNamespace_OtherClient() {
+        KubernetesClient client = registry.acquire(getConfig("test", "token"));
+        assertNotSame(client, registry.acquire(getConfig("other", "token")));
+        assertEquals(2, registry.getStats().getClients());
+    }
+
+    public void testAcquire_NewToken_OtherClient() {
+        KubernetesClient client = registry.acquire(getConfig("test", "token"));
+        assertNotSame(client, registry.acquire(getConfig("test", "new-token")));
+    }
+
+    public void testCloseIdle_ClientInUse_Kept() {
+        KubernetesClient client = registry.acquire(getConfig("test", "token"));
+        registry.closeIdle(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(KubernetesClientRegistry.IDLE_TIMEOUT_MINUTES));
+        assertSame(client, registry.acquire(getConfig("test", "token")));
+    }
+
+    public void testCloseIdle_ReleasedClientIdleTooLong_Closed() {
+        KubernetesClient client = registry.acquire(getConfig("test", "token"));
+        registry.release(client);
+        assertEquals(0, registry.getStats().getLeasedClients());
+        registry.closeIdle(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(KubernetesClientRegistry.IDLE_TIMEOUT_MINUTES));
+        assertEquals(0, registry.getStats().getClients());
+        assertNotSame(client, registry.acquire(getConfig("test", "token")));
+    }
+
+    public void testCloseIdle_ReleasedClientRecentlyUsed_Kept() {
+        KubernetesClient client = registry.acquire(getConfig("test", "token"));
+        registry.release(client);
+        registry.closeIdle(System.currentTimeMillis());
+        assertSame(client, registry.acquire(getConfig("test", "token")));
+    }
+
+    private Config getConfig(String namespace, String token) {
+        return new ConfigBuilder()
+                .withMasterUrl("https://localhost:6443/")
+                .withNamespace(namespace)
+                .withOauthToken(token)
+                .build();
+    }
+}
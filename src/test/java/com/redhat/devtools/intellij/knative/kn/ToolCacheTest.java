@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.kn;
+
+import com.redhat.devtools.intellij.knative.BaseTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ToolCacheTest extends BaseTest {
+
+    private ToolCache cache;
+    private Path binary;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        cache = new ToolCache();
+        binary = Files.createTempFile("kn", "");
+        Files.write(binary, "v1".getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(binary);
+        super.tearDown();
+    }
+
+    public void testGetCommand_StoredAndUnchanged_Path() {
+        cache.store("kn", "1.8.1", binary.toString());
+        assertEquals(binary.toFile().getAbsolutePath(), cache.getCommand("kn", "1.8.1"));
+    }
+
+    public void testGetCommand_OtherVersionRequired_Null() {
+        cache.store("kn", "1.8.1", binary.toString());
+        assertNull(cache.getCommand("kn", "1.9.0"));
+    }
+
+    public void testGetCommand_BinaryReplaced_Null() throws IOException {
+        cache.store("kn", "1.8.1", binary.toString());
+        Files.write(binary, "v2, larger".getBytes(StandardCharsets.UTF_8));
+        assertNull(cache.getCommand("kn", "1.8.1"));
+    }
+
+    public void testVerify_SameContent_True() {
+        cache.store("kn", "1.8.1", binary.toString());
+        assertTrue(cache.verify("kn"));
+    }
+
+    public void testVerify_ContentChangedWithSameSizeAndDate_FalseAndRemoved() throws IOException {
+        cache.store("kn", "1.8.1", binary.toString());
+        long lastModified = binary.toFile().lastModified();
+        Files.write(binary, "v2".getBytes(StandardCharsets.UTF_8));
+        binary.toFile().setLastModified(lastModified);
+
+        assertFalse(cache.verify("kn"));
+        assertNull(cache.getCommand("kn", "1.8.1"));
+    }
+
+    public void testGetRequiredVersion_KnJson_Version() {
+        assertEquals("1.8.1", ToolCache.getRequiredVersion(ToolCache.class.getResource("/kn.json"), "kn"));
+    }
+
+    public void testFindExecutable_MissingFile_Null() {
+        assertNull(ToolCache.findExecutable(new File(binary.toFile().getParentFile(), "missing-kn").getAbsolutePath()));
+    }
+}
@@ -13,6 +13,7 @@ package com.redhat.devtools.intellij.knative.listener;
 import com.intellij.openapi.application.Application;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.RangeMarker;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Key;
@@ -30,12 +31,12 @@ import org.junit.Test;
 import org.mockito.MockedStatic;
 
 
+import static com.redhat.devtools.intellij.knative.Constants.CLUSTER_CONTENT_KEY;
 import static com.redhat.devtools.intellij.knative.Constants.KNATIVE;
 import static com.redhat.devtools.intellij.knative.Constants.NOTIFICATION_ID;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
@@ -82,28 +83,28 @@ public class KnSaveInEditorListenerTest extends BaseTest {
         }
     }
 
-    public void testSave_SaveOnClusterIsFalse_False() throws IOException {
+    public void testSave_UpdateCancelled_False() throws IOException {
         Document document = createDocument();
         try(MockedStatic<KnHelper> knHelperMockedStatic = mockStatic(KnHelper.class)) {
-            knHelperMockedStatic.when(() -> KnHelper.saveOnCluster(any(), anyString(), anyBoolean())).thenReturn(false);
+            knHelperMockedStatic.when(() -> KnHelper.updateOnCluster(any(), any(), anyString())).thenReturn(null);
             boolean result = knSaveInEditorListener.save(document, project);
             assertFalse(result);
         }
     }
 
-    public void testSave_SaveOnClusterIsTrue_True() throws IOException {
+    public void testSave_UpdateSucceeded_True() throws IOException {
         Document document = createDocument();
         try(MockedStatic<KnHelper> knHelperMockedStatic = mockStatic(KnHelper.class)) {
-            knHelperMockedStatic.when(() -> KnHelper.saveOnCluster(any(), anyString(), anyBoolean())).thenReturn(true);
+            knHelperMockedStatic.when(() -> KnHelper.updateOnCluster(any(), any(), anyString())).thenReturn("saved");
             boolean result = knSaveInEditorListener.save(document, project);
             assertTrue(result);
         }
     }
 
-    public void testSave_SaveOnClusterThrows_False() throws IOException {
+    public void testSave_UpdateThrows_False() throws IOException {
         Document document = createDocument();
         try(MockedStatic<KnHelper> knHelperMockedStatic = mockStatic(KnHelper.class)) {
-            knHelperMockedStatic.when(() -> KnHelper.saveOnCluster(any(), anyString(), anyBoolean())).thenThrow(new IOException("text"));
+            knHelperMockedStatic.when(() -> KnHelper.updateOnCluster(any(), any(), anyString())).thenThrow(new IOException("text"));
             boolean result = knSaveInEditorListener.save(document, project);
             assertFalse(result);
         }
@@ -134,6 +135,13 @@ public class KnSaveInEditorListenerTest extends BaseTest {
         }
     }
 
+    public void testIsFileToPush_DocumentOnlyUpdatedFromCluster_False() throws IOException {
+        VirtualFile virtualFile = createVirtualFile(NOTIFICATION_ID);
+        Document document = FileDocumentManager.getInstance().getDocument(virtualFile);
+        virtualFile.putUserData(CLUSTER_CONTENT_KEY, document.getText());
+        assertFalse(knSaveInEditorListener.isFileToPush(project, virtualFile));
+    }
+
     private VirtualFile createVirtualFile(String userData) throws IOException {
         String yaml = load(RESOURCE_PATH + "service.yaml");
         VirtualFile virtualFile = new LightVirtualFile("test", yaml);
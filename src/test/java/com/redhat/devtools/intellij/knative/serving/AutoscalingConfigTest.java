@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.redhat.devtools.intellij.knative.BaseTest;
+import io.fabric8.knative.serving.v1.Service;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AutoscalingConfigTest extends BaseTest {
+    private static final String RESOURCE_PATH = "serving/autoscaling/";
+
+    public void testFrom_ServiceWithAnnotations_ValuesParsed() throws IOException {
+        AutoscalingConfig config = AutoscalingConfig.from(getService());
+
+        assertEquals(10, config.getTarget());
+        assertEquals(0, config.getUtilization());
+        assertEquals(1, config.getMinScale());
+        assertEquals(5, config.getMaxScale());
+        assertEquals(20, config.getContainerConcurrency());
+        assertEquals(7.0, config.getEffectiveTarget(), 0.001);
+    }
+
+    public void testToMergePatch_ChangedValues_SinglePatchWithRemovedAnnotations() throws IOException {
+        AutoscalingConfig original = AutoscalingConfig.from(getService());
+        AutoscalingConfig config = AutoscalingConfig.from(getService());
+        config.setTarget(0);
+        config.setMaxScale(10);
+        config.setContainerConcurrency(50);
+
+        String patch = config.toMergePatch(original);
+
+        assertEquals("{\"spec\":{\"template\":{\"metadata\":{\"annotations\":{"
+                + "\"autoscaling.knative.dev/target\":null,"
+                + "\"autoscaling.knative.dev/max-scale\":\"10\"}},"
+                + "\"spec\":{\"containerConcurrency\":50}}}}", patch);
+    }
+
+    public void testToMergePatch_NoChange_Null() throws IOException {
+        AutoscalingConfig original = AutoscalingConfig.from(getService());
+
+        assertNull(AutoscalingConfig.from(getService()).toMergePatch(original));
+    }
+
+    public void testValidate_MinScaleAboveMaxScale_Error() throws IOException {
+        AutoscalingConfig config = AutoscalingConfig.from(getService());
+        assertNull(config.validate());
+
+        config.setMinScale(6);
+
+        assertNotNull(config.validate());
+    }
+
+    public void testSimulate_LoadAboveMaxScale_PodsCappedAndQueueing() throws IOException {
+        AutoscalingConfig config = AutoscalingConfig.from(getService());
+
+        AutoscalingSimulator.Result result = AutoscalingSimulator.simulate(config, 100, 500);
+
+        assertEquals(5, result.getPods());
+        assertEquals(10.0, result.getConcurrencyPerPod(), 0.001);
+        assertFalse(result.isSaturated());
+        assertTrue(result.getQueueingLatency() >= 0);
+    }
+
+    public void testSimulate_ConcurrencyBelowLoad_Saturated() throws IOException {
+        AutoscalingConfig config = AutoscalingConfig.from(getService());
+        config.setTarget(5);
+        config.setContainerConcurrency(5);
+
+        AutoscalingSimulator.Result result = AutoscalingSimulator.simulate(config, 100, 500);
+
+        assertTrue(result.isSaturated());
+    }
+
+    public void testSimulate_NoLoad_ScaledToZero() {
+        AutoscalingSimulator.Result result = AutoscalingSimulator.simulate(new AutoscalingConfig(0, 0, 0, 0, 0), 0, 100);
+
+        assertEquals(0, result.getPods());
+        assertFalse(result.isSaturated());
+    }
+
+    public void testErlangC_SingleServer_EqualsUtilization() {
+        assertEquals(0.5, AutoscalingSimulator.erlangC(1, 0.5), 0.0001);
+    }
+
+    private Service getService() throws IOException {
+        return Serialization.unmarshal(load(RESOURCE_PATH + "service.yaml"), Service.class);
+    }
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.redhat.devtools.intellij.knative.BaseTest;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.kn.Service;
+import com.redhat.devtools.intellij.knative.kn.ServiceStatus;
+import com.redhat.devtools.intellij.knative.kn.ServiceTraffic;
+import com.redhat.devtools.intellij.knative.utils.model.CanaryRolloutModel;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CanaryRolloutTest extends BaseTest {
+
+    public void testEvaluate_SimilarRevisions_NoRegression() {
+        CanaryRollout.ProbeStats canary = stats(0, 100L, 110L, 120L);
+        CanaryRollout.ProbeStats stable = stats(0, 100L, 105L, 110L);
+
+        assertNull(CanaryRollout.evaluate(canary, stable, new CanaryRolloutModel()));
+    }
+
+    public void testEvaluate_ErrorsAboveThreshold_Regression() {
+        CanaryRollout.ProbeStats canary = stats(1, 100L, 110L, 120L);
+        CanaryRollout.ProbeStats stable = stats(0, 100L, 105L, 110L);
+
+        String regression = CanaryRollout.evaluate(canary, stable, new CanaryRolloutModel());
+
+        assertNotNull(regression);
+        assertTrue(regression.startsWith("error rate"));
+    }
+
+    public void testEvaluate_LatencyAboveStable_Regression() {
+        CanaryRollout.ProbeStats canary = stats(0, 100L, 200L, 400L);
+        CanaryRollout.ProbeStats stable = stats(0, 100L, 105L, 110L);
+
+        String regression = CanaryRollout.evaluate(canary, stable, new CanaryRolloutModel());
+
+        assertNotNull(regression);
+        assertTrue(regression.contains("previous revision"));
+    }
+
+    public void testEvaluate_LatencyAboveMaximum_Regression() {
+        CanaryRolloutModel model = new CanaryRolloutModel();
+        model.setMaxLatency(100);
+        CanaryRollout.ProbeStats canary = stats(0, 100L, 110L, 120L);
+        CanaryRollout.ProbeStats stable = stats(0, 100L, 110L, 120L);
+
+        String regression = CanaryRollout.evaluate(canary, stable, model);
+
+        assertEquals("p95 latency 120 ms is above 100 ms", regression);
+    }
+
+    public void testEvaluate_NoProbe_Regression() {
+        CanaryRollout.ProbeStats canary = stats(0);
+        CanaryRollout.ProbeStats stable = stats(0, 100L);
+
+        assertNotNull(CanaryRollout.evaluate(canary, stable, new CanaryRolloutModel()));
+    }
+
+    public void testIsValid_StepsNotEndingWith100_False() {
+        CanaryRolloutModel model = new CanaryRolloutModel();
+        assertTrue(model.isValid());
+
+        model.setSteps(Arrays.asList(10, 50));
+        assertFalse(model.isValid());
+
+        model.setSteps(Arrays.asList(50, 10, 100));
+        assertFalse(model.isValid());
+
+        model.setSteps(Collections.emptyList());
+        assertFalse(model.isValid());
+    }
+
+    public void testRun_TrafficUpdateFails_RolledBack() throws IOException {
+        Kn kn = getKn();
+        doThrow(new IOException("conflict")).doNothing().when(kn).updateTraffic(eq("hello"), anyList(), anyList());
+        CanaryRollout rollout = new CanaryRollout(kn, mock(HttpClient.class), getModel(), message -> {});
+
+        try {
+            rollout.run("hello");
+            fail("run should fail when the traffic cannot be updated");
+        } catch (IOException e) {
+            assertEquals("conflict", e.getLocalizedMessage());
+        }
+
+        List<ServiceTraffic> rollback = getTrafficUpdates(kn, 2).get(1);
+        assertEquals(1, rollback.size());
+        assertEquals("hello-00001", rollback.get(0).getRevisionName());
+        assertEquals(100, rollback.get(0).getPercent());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testRun_NoRegression_TrafficFollowsLatestRevision() throws IOException, InterruptedException {
+        Kn kn = getKn();
+        HttpClient client = mock(HttpClient.class);
+        HttpResponse<Object> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(client.send(any(), any())).thenReturn(response);
+
+        CanaryRollout.Outcome outcome = new CanaryRollout(kn, client, getModel(), message -> {}).run("hello");
+
+        assertEquals(CanaryRollout.Outcome.PROMOTED, outcome);
+        List<ServiceTraffic> promotion = getTrafficUpdates(kn, 2).get(1);
+        assertEquals(1, promotion.size());
+        assertTrue(promotion.get(0).getLatestRevision());
+        assertEquals(100, promotion.get(0).getPercent());
+    }
+
+    private Kn getKn() throws IOException {
+        Kn kn = mock(Kn.class);
+        ServiceStatus status = new ServiceStatus("http://hello", 1, "hello-00002", "hello-00002", null, Arrays.asList(
+                new ServiceTraffic(CanaryRollout.STABLE_TAG, "hello-00001", "hello", false, 100, "http://stable-hello"),
+                new ServiceTraffic(CanaryRollout.CANARY_TAG, "hello-00002", "hello", false, 0, "http://canary-hello")),
+                Collections.emptyList());
+        when(kn.getService("hello")).thenReturn(new Service("hello", status));
+        return kn;
+    }
+
+    private CanaryRolloutModel getModel() {
+        // a single step without wait, the latency of the mocked responses is not compared
+        return new CanaryRolloutModel(Collections.singletonList(100), 0, 1, 1.0, 0, 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<ServiceTraffic>> getTrafficUpdates(Kn kn, int count) throws IOException {
+        ArgumentCaptor<List<ServiceTraffic>> traffic = ArgumentCaptor.forClass(List.class);
+        verify(kn, times(count)).updateTraffic(eq("hello"), traffic.capture(), anyList());
+        return traffic.getAllValues();
+    }
+
+    private CanaryRollout.ProbeStats stats(int errors, Long... latencies) {
+        List<Long> values = Arrays.asList(latencies);
+        return new CanaryRollout.ProbeStats(values, errors);
+    }
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.redhat.devtools.intellij.knative.BaseTest;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.EventList;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ColdStartProbeTest extends BaseTest {
+    private static final String RESOURCE_PATH = "serving/coldstart/";
+
+    public void testBreakdown_PodWithImagePull_PhasesComputed() throws IOException {
+        ColdStartResult result = new ColdStartResult("hello", "hello-00001");
+
+        ColdStartProbe.breakdown(result, getPod(), getEvents(), 10500);
+
+        assertTrue(result.isColdStart());
+        assertEquals(10500, result.getTotalLatency());
+        assertEquals(1000, result.getScheduling());
+        assertEquals(3000, result.getImagePull());
+        assertEquals(4000, result.getContainerReadiness());
+        assertEquals(1500, result.getActivatorWait());
+    }
+
+    public void testBreakdown_ImageAlreadyPresent_NoImagePull() throws IOException {
+        ColdStartResult result = new ColdStartResult("hello", "hello-00001");
+        List<Event> events = getEvents().stream()
+                .filter(event -> !"Pulling".equals(event.getReason()))
+                .collect(Collectors.toList());
+
+        ColdStartProbe.breakdown(result, getPod(), events, 10500);
+
+        assertEquals(0, result.getImagePull());
+    }
+
+    public void testIsReady_PodTerminating_NotReady() throws IOException {
+        Pod pod = getPod();
+        assertTrue(ColdStartProbe.isReady(pod));
+
+        pod.getMetadata().setDeletionTimestamp("2023-05-10T10:05:00Z");
+
+        assertFalse(ColdStartProbe.isReady(pod));
+    }
+
+    private Pod getPod() throws IOException {
+        return Serialization.unmarshal(load(RESOURCE_PATH + "pod.yaml"), Pod.class);
+    }
+
+    private List<Event> getEvents() throws IOException {
+        return Serialization.unmarshal(load(RESOURCE_PATH + "events.yaml"), EventList.class).getItems();
+    }
+}
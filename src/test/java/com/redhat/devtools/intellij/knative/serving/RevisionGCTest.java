@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.redhat.devtools.intellij.knative.BaseTest;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.kn.KnConstants;
+import com.redhat.devtools.intellij.knative.kn.Revision;
+import com.redhat.devtools.intellij.knative.kn.Service;
+import com.redhat.devtools.intellij.knative.kn.ServiceStatus;
+import com.redhat.devtools.intellij.knative.kn.ServiceTraffic;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RevisionGCTest extends BaseTest {
+
+    public void testGetCollectable_OldRevisions_OnlyRevisionsBeyondKeepDeleted() {
+        ServiceStatus status = getStatus("hello-00010",
+                new ServiceTraffic(null, "hello-00010", "hello", true, 100, null));
+
+        List<String> collectable = RevisionGC.getCollectable(status, getRevisions(10), 3);
+
+        assertEquals(Arrays.asList("hello-00007", "hello-00006", "hello-00005", "hello-00004",
+                "hello-00003", "hello-00002", "hello-00001"), collectable);
+    }
+
+    public void testGetCollectable_TrafficAndTags_Retained() {
+        ServiceStatus status = getStatus("hello-00010",
+                new ServiceTraffic(null, "hello-00010", "hello", true, 90, null),
+                new ServiceTraffic(null, "hello-00002", "hello", false, 10, null),
+                new ServiceTraffic("old", "hello-00004", "hello", false, 0, "http://old-hello"));
+
+        List<String> collectable = RevisionGC.getCollectable(status, getRevisions(10), 3);
+
+        assertEquals(Arrays.asList("hello-00007", "hello-00006", "hello-00005", "hello-00003", "hello-00001"), collectable);
+    }
+
+    public void testGetCollectable_LatestCreatedNotReady_Retained() {
+        ServiceStatus status = new ServiceStatus("http://hello", 1, "hello-00009", "hello-00010", null,
+                Collections.singletonList(new ServiceTraffic(null, "hello-00009", "hello", true, 100, null)),
+                Collections.emptyList());
+
+        List<String> collectable = RevisionGC.getCollectable(status, getRevisions(10), 0);
+
+        assertEquals(8, collectable.size());
+        assertFalse(collectable.contains("hello-00010"));
+        assertFalse(collectable.contains("hello-00009"));
+    }
+
+    public void testCollect_ManyRevisions_DeletedInBatches() throws IOException {
+        Kn kn = mock(Kn.class);
+        List<String> revisions = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            revisions.add("hello-" + i);
+        }
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+
+        int deleted = new RevisionGC(kn, 3).collect(Collections.singletonMap("hello", revisions), log::add);
+
+        assertEquals(25, deleted);
+        assertEquals(3, log.size());
+        verify(kn, times(3)).deleteRevisions(anyList());
+    }
+
+    public void testCollect_BatchFails_OtherBatchesDeletedAndErrorThrown() throws IOException {
+        Kn kn = mock(Kn.class);
+        List<String> revisions = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            revisions.add("hello-" + i);
+        }
+        doThrow(new IOException("forbidden")).when(kn).deleteRevisions(revisions.subList(10, 15));
+
+        try {
+            new RevisionGC(kn, 3).collect(Collections.singletonMap("hello", revisions), message -> {});
+            fail("collect should fail when a batch cannot be deleted");
+        } catch (IOException e) {
+            assertTrue(e.getLocalizedMessage().startsWith("10 revisions deleted"));
+        }
+        verify(kn, times(2)).deleteRevisions(anyList());
+    }
+
+    public void testPlan_ServicesWithoutOldRevisions_Skipped() throws IOException {
+        Kn kn = mock(Kn.class);
+        when(kn.getServicesList()).thenReturn(Arrays.asList(
+                new Service("hello", getStatus("hello-00010")),
+                new Service("small", getStatus("small-00001"))));
+        when(kn.getRevisionsForService("hello")).thenReturn(getRevisions(10));
+        when(kn.getRevisionsForService("small")).thenReturn(Collections.singletonList(getRevision("small-00001", 1)));
+
+        Map<String, List<String>> plan = new RevisionGC(kn, 5).plan();
+
+        assertEquals(Collections.singleton("hello"), plan.keySet());
+        assertEquals(5, plan.get("hello").size());
+    }
+
+    private ServiceStatus getStatus(String latest, ServiceTraffic... traffic) {
+        return new ServiceStatus("http://hello", 1, latest, latest, null, Arrays.asList(traffic), Collections.emptyList());
+    }
+
+    private List<Revision> getRevisions(int count) {
+        List<Revision> revisions = new ArrayList<>();
+        // revisions are listed out of order to check they are sorted by generation
+        for (int i = 1; i <= count; i++) {
+            revisions.add(getRevision(String.format("hello-%05d", i), i));
+        }
+        Collections.shuffle(revisions);
+        return revisions;
+    }
+
+    private Revision getRevision(String name, int generation) {
+        return new Revision(name, Collections.emptyList(), Collections.emptyMap(),
+                Collections.singletonMap(KnConstants.CONFIGURATION_GENERATION, String.valueOf(generation)));
+    }
+}
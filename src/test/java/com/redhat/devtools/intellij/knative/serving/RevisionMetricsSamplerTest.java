@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving;
+
+import com.redhat.devtools.intellij.knative.BaseTest;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.kn.KnCli;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.RootPathsBuilder;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetricsBuilder;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetricsListBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.kubernetes.client.utils.Utils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+
+public class RevisionMetricsSamplerTest extends BaseTest {
+    private static final String REVISION = "hello-00001";
+    private static final String POD = "hello-00001-deployment-abc";
+    private static final String LABEL_SELECTOR = "?labelSelector=" + Utils.toUrlEncoded("serving.knative.dev/revision=" + REVISION);
+    private static final String QUEUE_PROXY_METRICS = "# TYPE queue_average_concurrent_requests gauge\n"
+            + "queue_average_concurrent_requests{destination_namespace=\"test\"} 2.5\n"
+            + "queue_average_proxied_concurrent_requests{destination_namespace=\"test\"} 1.5\n"
+            + "queue_requests_per_second{destination_namespace=\"test\"} 10\n";
+
+    private KubernetesMockServer server;
+    private Kn kncli;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        server = new KubernetesMockServer();
+        server.init();
+        kncli = mock(KnCli.class, CALLS_REAL_METHODS);
+        Field clientField = KnCli.class.getDeclaredField("client");
+        clientField.setAccessible(true);
+        clientField.set(kncli, server.createClient());
+
+        server.expect().get().withPath("/api/v1/namespaces/test/pods" + LABEL_SELECTOR)
+                .andReturn(200, new PodListBuilder().addToItems(new PodBuilder()
+                        .withNewMetadata().withName(POD).endMetadata()
+                        .withNewStatus().addNewCondition().withType("Ready").withStatus("True").endCondition().endStatus()
+                        .build()).build())
+                .always();
+    }
+
+    public void tearDown() throws Exception {
+        server.destroy();
+        super.tearDown();
+    }
+
+    public void testSample_NoMetricsServer_ResourcesUnavailable() throws IOException {
+        expectRootPaths("/api", "/apis/serving.knative.dev");
+        expectQueueProxy(200, QUEUE_PROXY_METRICS);
+        RevisionMetricsSampler sampler = new RevisionMetricsSampler(kncli, REVISION, 10);
+
+        RevisionMetricsSample sample = sampler.sample();
+
+        assertFalse(sampler.isPodMetricsAvailable());
+        assertEquals(1, sample.getReadyPods());
+        assertEquals(-1, sample.getCpu());
+        assertEquals(-1, sample.getMemory());
+        assertEquals(2.5, sample.getConcurrency(), 0.001);
+        assertEquals(10, sample.getRequestsPerSecond(), 0.001);
+    }
+
+    public void testSample_MetricsServer_ContainersSummed() throws IOException {
+        expectRootPaths("/api", "/apis/metrics.k8s.io");
+        expectQueueProxy(200, QUEUE_PROXY_METRICS);
+        server.expect().get().withPath("/apis/metrics.k8s.io/v1beta1/namespaces/test/pods" + LABEL_SELECTOR)
+                .andReturn(200, new PodMetricsListBuilder().addToItems(new PodMetricsBuilder()
+                        .withNewMetadata().withName(POD).endMetadata()
+                        .addNewContainer().withName("user-container")
+                        .addToUsage("cpu", new Quantity("250m")).addToUsage("memory", new Quantity("64Mi")).endContainer()
+                        .addNewContainer().withName("queue-proxy")
+                        .addToUsage("cpu", new Quantity("10m")).addToUsage("memory", new Quantity("16Mi")).endContainer()
+                        .build()).build())
+                .always();
+        RevisionMetricsSampler sampler = new RevisionMetricsSampler(kncli, REVISION, 10);
+
+        RevisionMetricsSample sample = sampler.sample();
+
+        assertTrue(sampler.isPodMetricsAvailable());
+        assertEquals(260, sample.getCpu());
+        assertEquals(80 * 1024 * 1024, sample.getMemory());
+    }
+
+    public void testSample_PodMetricsFailedWithMetricsServer_RetriedAfterDelay() throws IOException {
+        expectRootPaths("/api", "/apis/metrics.k8s.io");
+        expectQueueProxy(200, QUEUE_PROXY_METRICS);
+        server.expect().get().withPath("/apis/metrics.k8s.io/v1beta1/namespaces/test/pods" + LABEL_SELECTOR)
+                .andReturn(503, "metrics not available yet")
+                .once();
+        server.expect().get().withPath("/apis/metrics.k8s.io/v1beta1/namespaces/test/pods" + LABEL_SELECTOR)
+                .andReturn(200, new PodMetricsListBuilder().addToItems(new PodMetricsBuilder()
+                        .withNewMetadata().withName(POD).endMetadata()
+                        .addNewContainer().withName("user-container")
+                        .addToUsage("cpu", new Quantity("250m")).addToUsage("memory", new Quantity("64Mi")).endContainer()
+                        .build()).build())
+                .always();
+        AtomicLong now = new AtomicLong(1000);
+        RevisionMetricsSampler sampler = new RevisionMetricsSampler(kncli, REVISION, 10, now::get);
+
+        assertEquals(-1, sampler.sample().getCpu());
+        assertFalse(sampler.isPodMetricsAvailable());
+        // not retried before the delay
+        assertEquals(-1, sampler.sample().getCpu());
+
+        now.addAndGet(RevisionMetricsSampler.RETRY_DELAY);
+        assertEquals(250, sampler.sample().getCpu());
+        assertTrue(sampler.isPodMetricsAvailable());
+    }
+
+    public void testSample_QueueProxyUnreachable_ConcurrencyUnavailable() throws IOException {
+        expectRootPaths("/api");
+        expectQueueProxy(500, "error");
+        RevisionMetricsSampler sampler = new RevisionMetricsSampler(kncli, REVISION, 10);
+
+        RevisionMetricsSample sample = sampler.sample();
+
+        assertFalse(sampler.isQueueProxyAvailable());
+        assertEquals(1, sample.getPods());
+        assertEquals(-1, sample.getConcurrency(), 0.001);
+    }
+
+    public void testSample_QueueProxyRecovered_RetriedAfterDelay() throws IOException {
+        expectRootPaths("/api");
+        server.expect().get().withPath("/api/v1/namespaces/test/pods/" + POD + ":9090/proxy/metrics")
+                .andReturn(500, "error")
+                .once();
+        expectQueueProxy(200, QUEUE_PROXY_METRICS);
+        AtomicLong now = new AtomicLong(1000);
+        RevisionMetricsSampler sampler = new RevisionMetricsSampler(kncli, REVISION, 10, now::get);
+
+        assertEquals(-1, sampler.sample().getConcurrency(), 0.001);
+        assertFalse(sampler.isQueueProxyAvailable());
+        // not retried before the delay
+        assertEquals(-1, sampler.sample().getConcurrency(), 0.001);
+
+        now.addAndGet(RevisionMetricsSampler.RETRY_DELAY);
+        assertEquals(2.5, sampler.sample().getConcurrency(), 0.001);
+        assertTrue(sampler.isQueueProxyAvailable());
+    }
+
+    public void testSample_MoreSamplesThanMaximum_OldestDropped() throws IOException {
+        expectRootPaths("/api");
+        expectQueueProxy(200, QUEUE_PROXY_METRICS);
+        RevisionMetricsSampler sampler = new RevisionMetricsSampler(kncli, REVISION, 2);
+
+        RevisionMetricsSample first = sampler.sample();
+        sampler.sample();
+        sampler.sample();
+
+        assertEquals(2, sampler.getSamples().size());
+        assertFalse(sampler.getSamples().contains(first));
+    }
+
+    public void testParseMetric_PrefixedMetric_Ignored() {
+        assertEquals(2.5, RevisionMetricsSampler.parseMetric(QUEUE_PROXY_METRICS, RevisionMetricsSampler.CONCURRENCY_METRIC), 0.001);
+        assertEquals(0, RevisionMetricsSampler.parseMetric(QUEUE_PROXY_METRICS, "missing_metric"), 0.001);
+    }
+
+    private void expectRootPaths(String... paths) {
+        server.expect().get().withPath("/")
+                .andReturn(200, new RootPathsBuilder().addToPaths(paths).build())
+                .always();
+    }
+
+    private void expectQueueProxy(int code, String body) {
+        server.expect().get().withPath("/api/v1/namespaces/test/pods/" + POD + ":9090/proxy/metrics")
+                .andReturn(code, body)
+                .always();
+    }
+}
@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.serving.logs;
+
+import com.redhat.devtools.intellij.knative.BaseTest;
+import com.redhat.devtools.intellij.knative.kn.Kn;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RevisionLogTailTest extends BaseTest {
+    private static final String REVISION = "hello-00001";
+
+    public void testWrite_ChunksAcrossLines_SplitInLines() {
+        PodLogStream stream = new PodLogStream("pod", 10);
+
+        write(stream, "2023-05-10T10:00:00Z first\n2023-05-10T10:00:01Z sec");
+        write(stream, "ond\r\nno timestamp\n");
+
+        List<LogLine> lines = stream.drain(System.nanoTime());
+        assertEquals(Arrays.asList("first", "second", "no timestamp"),
+                lines.stream().map(LogLine::getText).collect(Collectors.toList()));
+        // a line without timestamp is ordered with the previous one
+        assertEquals(Instant.parse("2023-05-10T10:00:01Z"), lines.get(2).getTimestamp());
+    }
+
+    public void testWrite_MoreLinesThanBuffer_OldestDropped() {
+        PodLogStream stream = new PodLogStream("pod", 2);
+
+        write(stream, "2023-05-10T10:00:00Z a\n2023-05-10T10:00:01Z b\n2023-05-10T10:00:02Z c\n");
+
+        List<String> lines = stream.drain(System.nanoTime()).stream().map(LogLine::getText).collect(Collectors.toList());
+        assertEquals(Arrays.asList("... 1 lines dropped", "b", "c"), lines);
+    }
+
+    public void testSetFilter_NarrowedFilter_OnlyPreviousMatchesChecked() {
+        LogBuffer buffer = new LogBuffer(10);
+        LogLine error = line("pod", 0, "ERROR connection refused");
+        LogLine errorTimeout = line("pod", 1, "ERROR timeout");
+        LogLine info = line("pod", 2, "INFO started");
+        assertEquals(true, buffer.add(error));
+        buffer.add(errorTimeout);
+        buffer.add(info);
+
+        assertEquals(Arrays.asList(error, errorTimeout), buffer.setFilter("error"));
+        assertEquals(Collections.singletonList(errorTimeout), buffer.setFilter("error time"));
+        LogLine refused = line("pod", 3, "ERROR refused");
+        assertEquals(false, buffer.add(refused));
+        assertEquals(Arrays.asList(error, errorTimeout, info, refused), buffer.setFilter(""));
+    }
+
+    public void testAdd_MoreLinesThanBuffer_OldestMatchEvicted() {
+        LogBuffer buffer = new LogBuffer(2);
+        buffer.setFilter("error");
+        buffer.add(line("pod", 0, "ERROR 1"));
+        buffer.add(line("pod", 1, "INFO 2"));
+        buffer.add(line("pod", 2, "ERROR 3"));
+
+        assertEquals(2, buffer.size());
+        assertEquals(Collections.singletonList("ERROR 3"),
+                buffer.getMatches().stream().map(LogLine::getText).collect(Collectors.toList()));
+    }
+
+    public void testStop_TwoPods_LinesMergedInTimestampOrder() throws IOException {
+        Kn kn = mock(Kn.class);
+        when(kn.getRevisionPods(REVISION)).thenReturn(Arrays.asList(pod("aaaa"), pod("bbbb")));
+        when(kn.watchRevisionPods(eq(REVISION), any())).thenReturn(mock(Watch.class));
+        when(kn.watchPodLog(anyString(), anyString(), anyInt(), any(OutputStream.class))).thenAnswer(invocation -> {
+            String pod = invocation.getArgument(0);
+            OutputStream out = invocation.getArgument(3);
+            if (pod.endsWith("aaaa")) {
+                write(out, "2023-05-10T10:00:00Z a1\n2023-05-10T10:00:02Z a2\n");
+            } else {
+                write(out, "2023-05-10T10:00:01Z b1\n2023-05-10T10:00:03Z b2\n");
+            }
+            return mock(LogWatch.class);
+        });
+        List<String> merged = new ArrayList<>();
+        RevisionLogTail tail = new RevisionLogTail(kn, Collections.singletonList(REVISION), 10, 100,
+                lines -> lines.forEach(line -> merged.add(line.toString())), status -> {});
+
+        tail.start();
+        tail.stop();
+
+        assertEquals(Arrays.asList("[aaaa] a1", "[bbbb] b1", "[aaaa] a2", "[bbbb] b2"), merged);
+    }
+
+    public void testFollow_ContainerRestarted_NewContainerFollowed() throws IOException {
+        Kn kn = mock(Kn.class);
+        when(kn.getRevisionPods(REVISION)).thenReturn(Collections.singletonList(pod("aaaa")));
+        ArgumentCaptor<Watcher<Pod>> podWatcher = ArgumentCaptor.forClass(Watcher.class);
+        when(kn.watchRevisionPods(eq(REVISION), podWatcher.capture())).thenReturn(mock(Watch.class));
+        LogWatch firstContainer = mock(LogWatch.class);
+        LogWatch secondContainer = mock(LogWatch.class);
+        AtomicInteger followed = new AtomicInteger();
+        when(kn.watchPodLog(anyString(), anyString(), anyInt(), any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            if (followed.incrementAndGet() == 1) {
+                write(out, "2023-05-10T10:00:00Z before crash\n");
+                return firstContainer;
+            }
+            write(out, "2023-05-10T10:00:05Z after restart\n");
+            return secondContainer;
+        });
+        List<String> merged = new ArrayList<>();
+        RevisionLogTail tail = new RevisionLogTail(kn, Collections.singletonList(REVISION), 10, 100,
+                lines -> lines.forEach(line -> merged.add(line.toString())), status -> {});
+
+        tail.start();
+        // the container crashed, then is running again
+        podWatcher.getValue().eventReceived(Watcher.Action.MODIFIED, terminatedPod("aaaa"));
+        podWatcher.getValue().eventReceived(Watcher.Action.MODIFIED, pod("aaaa", 1));
+        tail.stop();
+
+        verify(kn, times(2)).watchPodLog(anyString(), anyString(), anyInt(), any(OutputStream.class));
+        verify(firstContainer).close();
+        assertEquals(Arrays.asList("[aaaa] before crash", "[aaaa] after restart"), merged);
+    }
+
+    private static LogLine line(String source, int second, String text) {
+        return new LogLine(Instant.ofEpochSecond(second), source, text);
+    }
+
+    private static Pod pod(String suffix) {
+        return pod(suffix, 0);
+    }
+
+    private static Pod pod(String suffix, int restartCount) {
+        return new PodBuilder(basePod(suffix))
+                .withNewStatus()
+                .addNewContainerStatus().withName("user-container").withRestartCount(restartCount)
+                .withNewState().withNewRunning().endRunning().endState().endContainerStatus()
+                .endStatus()
+                .build();
+    }
+
+    private static Pod terminatedPod(String suffix) {
+        return new PodBuilder(basePod(suffix))
+                .withNewStatus()
+                .addNewContainerStatus().withName("user-container").withRestartCount(0)
+                .withNewState().withNewTerminated().withExitCode(1).endTerminated().endState().endContainerStatus()
+                .endStatus()
+                .build();
+    }
+
+    private static Pod basePod(String suffix) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName(REVISION + "-deployment-" + suffix)
+                .addToLabels("serving.knative.dev/revision", REVISION)
+                .endMetadata()
+                .withNewSpec()
+                .addNewContainer().withName("user-container").endContainer()
+                .addNewContainer().withName("queue-proxy").endContainer()
+                .endSpec()
+                .build();
+    }
+
+    private static void write(OutputStream out, String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void write(PodLogStream stream, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        stream.write(bytes, 0, bytes.length);
+    }
+}
@@ -19,6 +19,7 @@ import org.mockito.MockedStatic;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
@@ -29,6 +30,7 @@ import static org.mockito.Mockito.when;
 public class KnRootTest extends BaseTest {
 
     public void testConstructor_KnRootNode() {
+        when(project.getService(KnRootNode.class)).thenReturn(new KnRootNode(project));
         knRootNode = KnRootNode.getInstance(project);
         assertNull(knRootNode.getKn());
         assertEquals(project, knRootNode.getProject());
@@ -39,11 +41,13 @@ public class KnRootTest extends BaseTest {
         when(knCliFactory.getKn(any())).thenReturn(completableFuture);
         try (MockedStatic<KnCliFactory> knCliFactoryMockedStatic = mockStatic(KnCliFactory.class)) {
             knCliFactoryMockedStatic.when(() -> KnCliFactory.getInstance()).thenReturn(knCliFactory);
+            assertEquals(0, knRootNode.getKnReadyTime());
             knRootNode.initializeKn();
             assertEquals(kn, knRootNode.getKn());
-            verify(knCliFactory, never()).resetKn();
+            assertTrue(knRootNode.getKnReadyTime() != 0);
+            verify(knCliFactory, never()).resetKn(project);
             knRootNode.load();
-            verify(knCliFactory).resetKn();
+            verify(knCliFactory).resetKn(project);
         }
     }
 }
@@ -22,6 +22,8 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -38,6 +40,8 @@ import static org.mockito.Mockito.when;
 
 public class KnTreeStructureTest extends BaseTest {
 
+    private Path snapshotFile;
+
     public void setUp() throws Exception {
         super.setUp();
         knTreeStructure = mock(KnTreeStructure.class, org.mockito.Mockito.CALLS_REAL_METHODS);
@@ -45,6 +49,11 @@ public class KnTreeStructureTest extends BaseTest {
         Field rootField = AbstractKnTreeStructure.class.getDeclaredField("root");
         rootField.setAccessible(true);
         rootField.set(knTreeStructure, knRootNode);
+        snapshotFile = Files.createTempFile("snapshot", ".json");
+        Files.delete(snapshotFile);
+        Field snapshotField = KnTreeStructure.class.getDeclaredField("snapshot");
+        snapshotField.setAccessible(true);
+        snapshotField.set(knTreeStructure, new TreeSnapshot(snapshotFile));
 
         when(knRootNode.getKn()).thenReturn(kn);
         when(knServingNode.getRootNode()).thenReturn(knRootNode);
@@ -91,6 +100,35 @@ public class KnTreeStructureTest extends BaseTest {
         return knTreeStructure.getChildElements(knRootNode);
     }
 
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(snapshotFile);
+        super.tearDown();
+    }
+
+    public void testGetChildElements_KnNotReadyWithoutSnapshot_EmptyArray() {
+        when(knRootNode.getKn()).thenReturn(null);
+        assertEquals(0, knTreeStructure.getChildElements(knRootNode).length);
+    }
+
+    public void testGetChildElements_KnNotReadyWithSnapshot_CachedNodes() throws IOException {
+        when(kn.getNamespace()).thenReturn("test");
+        when(kn.isKnativeServingAware()).thenReturn(true);
+        when(kn.getServicesList()).thenReturn(Arrays.asList(new Service("first", null), new Service("second", null)));
+        knTreeStructure.getChildElements(knRootNode);
+        knTreeStructure.getChildElements(knServingNode);
+
+        when(knRootNode.getKn()).thenReturn(null);
+        Object[] nodes = knTreeStructure.getChildElements(knRootNode);
+        assertEquals(1, nodes.length);
+        assertTrue(nodes[0] instanceof KnServingNode);
+        Object[] services = knTreeStructure.getChildElements(nodes[0]);
+        assertEquals(2, services.length);
+        assertEquals("first", ((KnServiceNode) services[0]).getName());
+        NodeDescriptor descriptor = knTreeStructure.createDescriptor(knRootNode, null);
+        descriptor.update();
+        assertTrue(descriptor.toString().startsWith("test (cached"));
+    }
+
     public void testGetChildElements_ElementIsServingNodeWithNoChildren_HasMessageNode() throws IOException {
         when(kn.getServicesList()).thenReturn(Collections.emptyList());
         Object[] serviceNodes = knTreeStructure.getChildElements(knServingNode);
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.tree;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.devtools.intellij.knative.BaseTest;
+import com.redhat.devtools.intellij.knative.kn.Function;
+import com.redhat.devtools.intellij.knative.kn.Revision;
+import com.redhat.devtools.intellij.knative.kn.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+public class TreeSnapshotTest extends BaseTest {
+    private Path file;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        file = Files.createTempFile("snapshot", ".json");
+        Files.delete(file);
+    }
+
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+        super.tearDown();
+    }
+
+    public void testIsEmpty_NoFile_True() {
+        assertTrue(new TreeSnapshot(file).isEmpty());
+    }
+
+    public void testSave_ServicesAndFunctions_LoadedBackWithoutResource() throws IOException {
+        TreeSnapshot snapshot = new TreeSnapshot(file);
+        snapshot.setCluster("test", true, false);
+        snapshot.setServices(Collections.singletonList(new ObjectMapper().readValue(
+                "{\"metadata\":{\"name\":\"hello\"},\"spec\":{\"template\":{}},\"status\":{\"url\":\"http://hello.test\"}}", Service.class)));
+        snapshot.setFunctions(Collections.singletonList(new Function("fn", "test", "go", "http://fn.test", "image", true, true, "/tmp/fn")));
+        snapshot.save();
+
+        TreeSnapshot loaded = new TreeSnapshot(file);
+        assertEquals("test", loaded.getNamespace());
+        assertTrue(loaded.hasServing());
+        assertFalse(loaded.hasEventing());
+        List<Service> services = loaded.getServices();
+        assertEquals(1, services.size());
+        assertEquals("hello", services.get(0).getName());
+        assertEquals("http://hello.test", services.get(0).getStatus().getUrl());
+        assertNull(services.get(0).getResource());
+        List<Function> functions = loaded.getFunctions();
+        assertEquals(1, functions.size());
+        assertEquals("/tmp/fn", functions.get(0).getLocalPath());
+        assertTrue(functions.get(0).isPushed());
+    }
+
+    public void testSetServices_ServiceDeleted_RevisionsForgotten() {
+        TreeSnapshot snapshot = new TreeSnapshot(file);
+        snapshot.setRevisions("hello", Collections.singletonList(
+                new Revision("hello-00001", Collections.emptyList(), Collections.emptyMap(), Collections.emptyMap())));
+        assertEquals(1, snapshot.getRevisions("hello").size());
+        snapshot.setServices(Collections.emptyList());
+        assertTrue(snapshot.getRevisions("hello").isEmpty());
+    }
+
+    public void testForContext_SameContext_SharedByTheTrees() {
+        assertSame(TreeSnapshot.forContext("test-context"), TreeSnapshot.forContext("test-context"));
+        assertNotSame(TreeSnapshot.forContext("test-context"), TreeSnapshot.forContext("other-context"));
+    }
+
+    public void testSave_NothingChangedSinceLastSave_NotWrittenAgain() throws IOException {
+        TreeSnapshot snapshot = new TreeSnapshot(file);
+        snapshot.setCluster("test", true, false);
+        snapshot.save();
+        assertTrue(Files.exists(file));
+
+        Files.delete(file);
+        snapshot.save();
+        assertFalse(Files.exists(file));
+
+        snapshot.setSources(Collections.emptyList());
+        snapshot.save();
+        assertTrue(Files.exists(file));
+    }
+}
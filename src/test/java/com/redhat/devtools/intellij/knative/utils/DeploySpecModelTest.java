@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.redhat.devtools.intellij.knative.BaseTest;
+import com.redhat.devtools.intellij.knative.utils.model.DeploySpecModel;
+import io.fabric8.knative.serving.v1.Service;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DeploySpecModelTest extends BaseTest {
+
+    private static final String RESOURCE_PATH = "utils/deployspec/";
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    public void testFromFuncYaml_FuncYaml_SpecWithScaleAnnotations() throws IOException {
+        DeploySpecModel local = DeploySpecModel.fromFuncYaml(loadFuncYaml());
+        assertEquals("quay.io/user/hello", local.getImageRepository());
+        assertEquals("1", local.getAnnotations().get("autoscaling.knative.dev/min-scale"));
+        assertEquals("5", local.getAnnotations().get("autoscaling.knative.dev/max-scale"));
+        assertEquals(2, local.getEnvs().size());
+        assertEquals(1, local.getVolumes().size());
+    }
+
+    public void testIsDeployedAs_SameDigestAndConfiguration_True() throws IOException {
+        DeploySpecModel local = DeploySpecModel.fromFuncYaml(loadFuncYaml());
+        assertTrue(local.isDeployedAs(DeploySpecModel.fromService(loadService())));
+    }
+
+    public void testIsDeployedAs_DifferentDigest_False() throws IOException {
+        JsonNode funcYaml = loadFuncYaml();
+        ((ObjectNode) funcYaml).put("imageDigest", "sha256:2222");
+        DeploySpecModel local = DeploySpecModel.fromFuncYaml(funcYaml);
+        assertFalse(local.isDeployedAs(DeploySpecModel.fromService(loadService())));
+    }
+
+    public void testIsDeployedAs_MissingLocalDigest_False() throws IOException {
+        JsonNode funcYaml = loadFuncYaml();
+        ((ObjectNode) funcYaml).remove("imageDigest");
+        DeploySpecModel local = DeploySpecModel.fromFuncYaml(funcYaml);
+        assertFalse(local.isDeployedAs(DeploySpecModel.fromService(loadService())));
+    }
+
+    public void testIsDeployedAs_EnvChanged_False() throws IOException {
+        JsonNode funcYaml = loadFuncYaml();
+        ((ObjectNode) funcYaml.get("run").get("envs").get(0)).put("value", "release");
+        DeploySpecModel local = DeploySpecModel.fromFuncYaml(funcYaml);
+        assertFalse(local.isDeployedAs(DeploySpecModel.fromService(loadService())));
+    }
+
+    public void testIsDeployedAs_ScaleRemoved_False() throws IOException {
+        JsonNode funcYaml = loadFuncYaml();
+        ((ObjectNode) funcYaml.get("deploy")).remove("options");
+        DeploySpecModel local = DeploySpecModel.fromFuncYaml(funcYaml);
+        assertFalse(local.isDeployedAs(DeploySpecModel.fromService(loadService())));
+    }
+
+    public void testFromService_LatestRevisionNotReady_Null() throws IOException {
+        Service service = loadService();
+        service.getStatus().setLatestCreatedRevisionName("hello-00003");
+        assertNull(DeploySpecModel.fromService(service));
+    }
+
+    private JsonNode loadFuncYaml() throws IOException {
+        return YAML_MAPPER.readTree(load(RESOURCE_PATH + "func.yaml"));
+    }
+
+    private Service loadService() throws IOException {
+        return Serialization.unmarshal(load(RESOURCE_PATH + "ksvc.yaml"), Service.class);
+    }
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.utils;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.RangeMarker;
+import com.intellij.openapi.util.Computable;
+import com.redhat.devtools.intellij.knative.BaseTest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DocumentDiffTest extends BaseTest {
+    private static final String CONTENT = "apiVersion: serving.knative.dev/v1\n" +
+            "kind: Service\n" +
+            "metadata:\n" +
+            "  name: test\n" +
+            "  resourceVersion: \"42\"\n" +
+            "spec:\n" +
+            "  template:\n" +
+            "    spec:\n" +
+            "      containers:\n" +
+            "        - image: image\n" +
+            "status:\n" +
+            "  observedGeneration: 1\n";
+
+    public void testApply_TwoLinesChanged_OnlyChangedRangesReplaced() {
+        Document document = EditorFactory.getInstance().createDocument(CONTENT);
+        RangeMarker spec = document.createRangeMarker(CONTENT.indexOf("spec:"), CONTENT.indexOf("status:"));
+        String updated = CONTENT.replace("\"42\"", "\"43\"").replace("observedGeneration: 1", "observedGeneration: 2");
+
+        int replaced = apply(document, updated);
+
+        assertEquals(updated, document.getText());
+        assertEquals(2, replaced);
+        // a marker on unchanged lines survives, it would be invalidated by replacing the whole text
+        assertTrue(spec.isValid());
+        assertEquals("spec:", document.getText().substring(spec.getStartOffset(), spec.getStartOffset() + 5));
+    }
+
+    public void testApply_LinesAddedAndRemoved_ContentUpdated() {
+        Document document = EditorFactory.getInstance().createDocument(CONTENT);
+        String updated = CONTENT.replace("  resourceVersion: \"42\"\n", "")
+                + "  url: http://test.default.example.com\n";
+
+        apply(document, updated);
+
+        assertEquals(updated, document.getText());
+    }
+
+    public void testApply_SameContent_NothingReplaced() {
+        Document document = EditorFactory.getInstance().createDocument(CONTENT);
+        assertEquals(0, apply(document, CONTENT));
+    }
+
+    private int apply(Document document, String content) {
+        return WriteCommandAction.runWriteCommandAction(getProject(), (Computable<Integer>) () -> DocumentDiff.apply(document, content));
+    }
+}
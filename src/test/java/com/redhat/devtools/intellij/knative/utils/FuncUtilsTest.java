@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.utils;
+
+import com.intellij.openapi.project.Project;
+import com.redhat.devtools.intellij.knative.BaseTest;
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class FuncUtilsTest extends BaseTest {
+    private Path functionPath;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        functionPath = Files.createTempDirectory("func");
+        Files.write(functionPath.resolve("index.js"), "v1".getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(functionPath.toFile());
+        super.tearDown();
+    }
+
+    public void testIsDeployUpToDate_NeverDeployedFromIde_FalseWithoutCallingCluster() throws IOException {
+        Project project = myFixture.getProject();
+        assertFalse(FuncUtils.isDeployUpToDate(project, kn, "func", functionPath.resolve("never").toString()));
+        verify(kn, never()).getKnativeService(anyString());
+    }
+
+    public void testIsDeployUpToDate_SourcesChangedSinceDeploy_FalseWithoutCallingCluster() throws IOException {
+        Project project = myFixture.getProject();
+        FuncUtils.setDeployed(project, functionPath.toString(), FuncUtils.getDeployFingerprint(functionPath.toString()));
+        Files.write(functionPath.resolve("index.js"), "v2".getBytes(StandardCharsets.UTF_8));
+        assertFalse(FuncUtils.isDeployUpToDate(project, kn, "func", functionPath.toString()));
+        verify(kn, never()).getKnativeService(anyString());
+    }
+
+    public void testIsDeployUpToDate_SourcesUnchangedButNotOnCluster_False() throws IOException {
+        Project project = myFixture.getProject();
+        FuncUtils.setDeployed(project, functionPath.toString(), FuncUtils.getDeployFingerprint(functionPath.toString()));
+        assertFalse(FuncUtils.isDeployUpToDate(project, kn, "func", functionPath.toString()));
+        verify(kn, times(1)).getKnativeService("func");
+    }
+
+    public void testGetDeployFingerprint_FuncFileRewrittenByDeploy_SameFingerprint() throws IOException {
+        Files.write(functionPath.resolve("func.yaml"), "image: test".getBytes(StandardCharsets.UTF_8));
+        String fingerprint = FuncUtils.getDeployFingerprint(functionPath.toString());
+        Files.write(functionPath.resolve("func.yaml"), "image: test@sha256:1234".getBytes(StandardCharsets.UTF_8));
+        assertEquals(fingerprint, FuncUtils.getDeployFingerprint(functionPath.toString()));
+    }
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redhat.devtools.intellij.knative.BaseTest;
+
+import static org.junit.Assert.assertEquals;
+
+public class JsonMergePatchTest extends BaseTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public void testDiff_SameDocuments_EmptyPatch() throws JsonProcessingException {
+        String document = "{\"a\":{\"b\":1,\"c\":[1,2]}}";
+        assertEquals(0, JsonMergePatch.diff(json(document), json(document)).size());
+    }
+
+    public void testDiff_NestedValueChanged_OnlyChangedValueInPatch() throws JsonProcessingException {
+        JsonNode patch = JsonMergePatch.diff(
+                json("{\"metadata\":{\"name\":\"svc\",\"labels\":{\"a\":\"1\",\"b\":\"2\"}}}"),
+                json("{\"metadata\":{\"name\":\"svc\",\"labels\":{\"a\":\"1\",\"b\":\"3\"}}}"));
+        assertEquals(json("{\"metadata\":{\"labels\":{\"b\":\"3\"}}}"), patch);
+    }
+
+    public void testDiff_FieldRemoved_NullInPatch() throws JsonProcessingException {
+        JsonNode patch = JsonMergePatch.diff(json("{\"a\":1,\"b\":{\"c\":2}}"), json("{\"a\":1}"));
+        assertEquals(json("{\"b\":null}"), patch);
+    }
+
+    public void testDiff_ArrayItemChanged_WholeArrayInPatch() throws JsonProcessingException {
+        JsonNode patch = JsonMergePatch.diff(
+                json("{\"containers\":[{\"name\":\"a\",\"image\":\"v1\"},{\"name\":\"b\"}]}"),
+                json("{\"containers\":[{\"name\":\"a\",\"image\":\"v2\"},{\"name\":\"b\"}]}"));
+        assertEquals(json("{\"containers\":[{\"name\":\"a\",\"image\":\"v2\"},{\"name\":\"b\"}]}"), patch);
+    }
+
+    private JsonNode json(String text) throws JsonProcessingException {
+        return mapper.readTree(text);
+    }
+}
@@ -10,16 +10,21 @@
  ******************************************************************************/
 package com.redhat.devtools.intellij.knative.utils;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
 import com.redhat.devtools.intellij.common.utils.UIHelper;
 import com.redhat.devtools.intellij.knative.BaseTest;
 import com.redhat.devtools.intellij.knative.kn.Kn;
+import com.redhat.devtools.intellij.knative.kn.Service;
 import com.redhat.devtools.intellij.knative.tree.ParentableNode;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
 import io.fabric8.kubernetes.client.utils.Serialization;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 
 import java.io.IOException;
@@ -27,11 +32,15 @@ import java.util.function.Supplier;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -64,6 +73,37 @@ public class KnHelperTest extends BaseTest {
         assertIsExpectedYAML(parentableNode, "");
     }
 
+    public void testGetYamlFromNode_ServiceLoadedByTree_ContentWithoutCallingKn() throws IOException {
+        JsonNode resource = new ObjectMapper().readTree("{\"metadata\":{\"name\":\"test\",\"managedFields\":[]}}");
+        when(knServiceNode.getRootNode()).thenReturn(knRootNode);
+        when(knServiceNode.getService(false)).thenReturn(new Service("test", null, resource));
+        String yaml = KnHelper.getYamlFromNode(knServiceNode);
+
+        JsonNode content = new ObjectMapper(new YAMLFactory()).readTree(yaml);
+        assertEquals("serving.knative.dev/v1", content.get("apiVersion").asText());
+        assertEquals("Service", content.get("kind").asText());
+        assertEquals("test", content.at("/metadata/name").asText());
+        assertTrue(content.at("/metadata/managedFields").isMissingNode());
+        verify(kn, never()).getServiceYAML(anyString());
+    }
+
+    public void testGetYamlIfChanged_SameResourceVersion_Null() throws IOException {
+        JsonNode resource = new ObjectMapper(new YAMLFactory()).readTree(load(RESOURCE_PATH + "opened_service.yaml"));
+        GenericKubernetesResource current = Serialization.unmarshal(load(RESOURCE_PATH + "opened_service.yaml"), GenericKubernetesResource.class);
+        when(kn.getCustomResource(anyString(), any())).thenReturn(current);
+        assertNull(KnHelper.getYamlIfChanged(kn, resource));
+    }
+
+    public void testGetYamlIfChanged_NewResourceVersion_CurrentContent() throws IOException {
+        JsonNode resource = new ObjectMapper(new YAMLFactory()).readTree(load(RESOURCE_PATH + "opened_service.yaml"));
+        GenericKubernetesResource current = Serialization.unmarshal(load(RESOURCE_PATH + "opened_service.yaml"), GenericKubernetesResource.class);
+        current.getMetadata().setResourceVersion("43");
+        when(kn.getCustomResource(anyString(), any())).thenReturn(current);
+        String yaml = KnHelper.getYamlIfChanged(kn, resource);
+
+        assertEquals("43", new ObjectMapper(new YAMLFactory()).readTree(yaml).at("/metadata/resourceVersion").asText());
+    }
+
     private void assertIsExpectedYAML(ParentableNode node, String expectedYaml) throws IOException {
         String resultingYaml = KnHelper.getYamlFromNode(node);
         assertEquals(expectedYaml, resultingYaml);
@@ -152,7 +192,7 @@ public class KnHelperTest extends BaseTest {
         ObjectMapper YAML_MAPPER = new ObjectMapper(new com.fasterxml.jackson.dataformat.yaml.YAMLFactory());
         String yaml = load(RESOURCE_PATH + "service.yaml");
         doAnswer((a) -> true).when(kn).createCustomResource(any(CustomResourceDefinitionContext.class), anyString());
-        GenericKubernetesResource resource = Serialization.unmarshal(yaml, GenericKubernetesResource.class);
+        GenericKubernetesResource resource = Serialization.unmarshal(yaml.replace("image: \"image\"", "image: \"old\""), GenericKubernetesResource.class);
         when(kn.getCustomResource(anyString(), any())).thenReturn(resource);
         try (MockedStatic<TreeHelper> theMock = mockStatic(TreeHelper.class)) {
             try(MockedStatic<UIHelper> uiHelperMockedStatic = mockStatic(UIHelper.class)) {
@@ -160,13 +200,74 @@ public class KnHelperTest extends BaseTest {
                 theMock.when(() -> TreeHelper.getKn(any())).thenReturn(kn);
                 try {
                     KnHelper.saveOnCluster(project, yaml, false);
-                    verify(kn, times(1)).editCustomResource(anyString(), any(), anyString());
+                    verify(kn, times(1)).patchCustomResource(anyString(), any(), anyString());
                 } catch (IOException e) {
                 }
             }
         }
     }
 
+    public void testUpdateOnCluster_ImageChanged_PatchHasChangedFieldsAndResourceVersion() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        String original = load(RESOURCE_PATH + "opened_service.yaml");
+        String edited = original.replace("image: \"image\"", "image: \"image:v2\"")
+                .replace("    serving.knative.dev/creator: \"admin\"\n", "    owner: \"me\"\n");
+        GenericKubernetesResource updated = Serialization.unmarshal(edited, GenericKubernetesResource.class);
+        updated.getMetadata().setResourceVersion("43");
+        when(kn.patchCustomResource(anyString(), any(), anyString())).thenReturn(updated);
+        String saved = executeUpdateOnCluster(original, edited);
+
+        ArgumentCaptor<String> patch = ArgumentCaptor.forClass(String.class);
+        verify(kn).patchCustomResource(eq("test"), any(), patch.capture());
+        assertEquals(mapper.readTree("{\"metadata\":{\"resourceVersion\":\"42\"," +
+                        "\"annotations\":{\"serving.knative.dev/creator\":null,\"owner\":\"me\"}}," +
+                        "\"spec\":{\"template\":{\"spec\":{\"containers\":[{\"image\":\"image:v2\",\"name\":\"first\"}]}}}}"),
+                mapper.readTree(patch.getValue()));
+        assertEquals("43", mapper.readTree(saved).at("/metadata/resourceVersion").asText());
+    }
+
+    public void testUpdateOnCluster_NothingChanged_NotPatched() throws IOException {
+        String original = load(RESOURCE_PATH + "opened_service.yaml");
+        String saved = executeUpdateOnCluster(original, original);
+        verify(kn, never()).patchCustomResource(anyString(), any(), anyString());
+        assertEquals(original, saved);
+    }
+
+    public void testUpdateOnCluster_ModifiedOnCluster_ThrowConflict() throws IOException {
+        String original = load(RESOURCE_PATH + "opened_service.yaml");
+        String edited = original.replace("image: \"image\"", "image: \"image:v2\"");
+        when(kn.patchCustomResource(anyString(), any(), anyString()))
+                .thenThrow(new IOException(new KubernetesClientException("conflict", 409, null)));
+        try {
+            executeUpdateOnCluster(original, edited);
+            fail("a conflict should be reported");
+        } catch (IOException e) {
+            assertTrue(e.getLocalizedMessage().contains("Service test was modified on the cluster after it was opened"));
+        }
+    }
+
+    public void testUpdateOnCluster_DeletedOnCluster_Created() throws IOException {
+        String original = load(RESOURCE_PATH + "opened_service.yaml");
+        String edited = original.replace("image: \"image\"", "image: \"image:v2\"");
+        when(kn.patchCustomResource(anyString(), any(), anyString()))
+                .thenThrow(new IOException(new KubernetesClientException("not found", 404, null)));
+        executeUpdateOnCluster(original, edited);
+
+        ArgumentCaptor<GenericKubernetesResource> created = ArgumentCaptor.forClass(GenericKubernetesResource.class);
+        verify(kn).createCustomResource(any(), created.capture());
+        assertNull(created.getValue().getMetadata().getResourceVersion());
+    }
+
+    private String executeUpdateOnCluster(String original, String edited) throws IOException {
+        try (MockedStatic<TreeHelper> theMock = mockStatic(TreeHelper.class)) {
+            try (MockedStatic<UIHelper> uiHelperMockedStatic = mockStatic(UIHelper.class)) {
+                uiHelperMockedStatic.when(() -> UIHelper.executeInUI(any(Supplier.class))).thenReturn(Messages.OK);
+                theMock.when(() -> TreeHelper.getKn(any())).thenReturn(kn);
+                return KnHelper.updateOnCluster(project, original, edited);
+            }
+        }
+    }
+
     public void testIsWritable_NodeIsService_True() {
        assertTrue(KnHelper.isWritable(knServiceNode));
     }
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.validation;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.redhat.devtools.intellij.knative.BaseTest;
+import io.fabric8.kubernetes.api.model.Status;
+import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import org.jetbrains.yaml.YAMLFileType;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DryRunValidatorTest extends BaseTest {
+    private static final String RESOURCE_PATH = "validation/";
+
+    private DryRunValidator validator;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        when(kn.getNamespace()).thenReturn("test");
+        validator = new DryRunValidator(10);
+    }
+
+    public void testValidate_SameContentTwice_DryRunOnce() throws IOException {
+        String yaml = load(RESOURCE_PATH + "service.yaml");
+        assertTrue(validator.validate(kn, null, yaml).isEmpty());
+        assertTrue(validator.validate(kn, null, yaml).isEmpty());
+        verify(kn, times(1)).dryRunCreateCustomResource(any(), any());
+        assertEquals(Collections.emptyList(), validator.getCached(kn, null, yaml));
+    }
+
+    public void testValidate_SameContentOnOtherCluster_DryRunAgain() throws IOException {
+        String yaml = load(RESOURCE_PATH + "service.yaml");
+        when(kn.getMasterUrl()).thenReturn(new URL("https://cluster1:6443"));
+        assertTrue(validator.validate(kn, null, yaml).isEmpty());
+
+        when(kn.getMasterUrl()).thenReturn(new URL("https://cluster2:6443"));
+        assertNull(validator.getCached(kn, null, yaml));
+        assertTrue(validator.validate(kn, null, yaml).isEmpty());
+        verify(kn, times(2)).dryRunCreateCustomResource(any(), any());
+    }
+
+    public void testValidate_RejectedWithCauses_ErrorPerField() throws IOException {
+        String yaml = load(RESOURCE_PATH + "service.yaml");
+        Status status = new StatusBuilder()
+                .withCode(422)
+                .withMessage("admission webhook denied the request")
+                .withNewDetails()
+                .addNewCause().withField("spec.template.spec.containers[0].image").withMessage("missing field(s)").endCause()
+                .addNewCause().withField("metadata.annotations.autoscaling.knative.dev/min-scale").withMessage("invalid value: -1").endCause()
+                .endDetails()
+                .build();
+        doThrow(new IOException(new KubernetesClientException(status))).when(kn).dryRunCreateCustomResource(any(), any());
+
+        List<ValidationError> errors = validator.validate(kn, null, yaml);
+        assertEquals(Arrays.asList(
+                new ValidationError("spec.template.spec.containers[0].image", "missing field(s)"),
+                new ValidationError("metadata.annotations.autoscaling.knative.dev/min-scale", "invalid value: -1")),
+                errors);
+    }
+
+    public void testValidate_ClusterUnreachable_NotCached() throws IOException {
+        String yaml = load(RESOURCE_PATH + "service.yaml");
+        doThrow(new IOException("connection refused")).when(kn).dryRunCreateCustomResource(any(), any());
+
+        assertTrue(validator.validate(kn, null, yaml).isEmpty());
+        assertNull(validator.getCached(kn, null, yaml));
+    }
+
+    public void testValidate_OpenedFromCluster_PatchDryRun() throws IOException {
+        String original = load(RESOURCE_PATH + "service.yaml");
+        String edited = original.replace("image: \"image\"", "image: \"image:v2\"");
+
+        assertTrue(validator.validate(kn, original, edited).isEmpty());
+        verify(kn).dryRunPatchCustomResource(eq("test"), any(), anyString());
+        verify(kn, never()).dryRunCreateCustomResource(any(), any());
+    }
+
+    public void testValidate_OpenedFromClusterAndUnchanged_NoDryRun() throws IOException {
+        String original = load(RESOURCE_PATH + "service.yaml");
+
+        assertTrue(validator.validate(kn, original, original).isEmpty());
+        verify(kn, never()).dryRunPatchCustomResource(anyString(), any(), anyString());
+    }
+
+    public void testFind_PathWithIndexAndDottedKey_KeyFound() throws IOException {
+        PsiFile file = myFixture.configureByText(YAMLFileType.YML, load(RESOURCE_PATH + "service.yaml"));
+
+        PsiElement image = YAMLPaths.find(file, "spec.template.spec.containers[0].image");
+        assertEquals("image", image.getText());
+        PsiElement minScale = YAMLPaths.find(file, "metadata.annotations.autoscaling.knative.dev/min-scale");
+        assertEquals("autoscaling.knative.dev/min-scale", minScale.getText());
+        PsiElement unknown = YAMLPaths.find(file, "spec.template.spec.containers[3].image");
+        assertEquals("containers", unknown.getText());
+    }
+}
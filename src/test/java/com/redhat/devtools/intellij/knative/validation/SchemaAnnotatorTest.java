@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc.
+ ******************************************************************************/
+package com.redhat.devtools.intellij.knative.validation;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.redhat.devtools.intellij.knative.BaseTest;
+import org.jetbrains.yaml.YAMLFileType;
+import org.jetbrains.yaml.psi.YAMLValue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SchemaAnnotatorTest extends BaseTest {
+    private static final String RESOURCE_PATH = "validation/schema/";
+    // a typical document is validated well under this budget, the timing is the median of several runs
+    private static final long VALIDATION_BUDGET_MS = 10;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 51;
+
+    public void testGetInstance_ShippedSchemas_ServingAndEventingCompiled() {
+        KnativeSchemas schemas = KnativeSchemas.getInstance();
+        assertNotNull(schemas.get("serving.knative.dev/v1", "Service"));
+        assertNotNull(schemas.get("serving.knative.dev/v1", "RevisionList"));
+        assertNotNull(schemas.get("eventing.knative.dev/v1", "Broker"));
+        assertNotNull(schemas.get("eventing.knative.dev/v1", "Trigger"));
+        assertNull(schemas.get("tekton.dev/v1beta1", "Task"));
+    }
+
+    public void testValidate_ValidService_NoProblem() throws IOException {
+        assertEquals(Collections.emptySet(), validate("service.yaml"));
+    }
+
+    public void testValidate_InvalidService_Problems() throws IOException {
+        assertEquals(new HashSet<>(Arrays.asList(
+                "containerConcurency: Unknown field 'containerConcurency' in RevisionSpec",
+                "value: \"World\": Missing required field(s) 'name'",
+                "yes: Expected boolean but was string",
+                "\"100\": Expected integer but was string")),
+                validate("invalid_service.yaml"));
+    }
+
+    public void testValidate_ValidBroker_NoProblem() throws IOException {
+        assertEquals(Collections.emptySet(), validate("broker.yaml"));
+    }
+
+    public void testValidate_TriggerWithoutSubscriber_MissingRequired() throws IOException {
+        assertEquals(Collections.singleton("spec: Missing required field(s) 'subscriber'"), validate("trigger.yaml"));
+    }
+
+    public void testValidate_TypicalService_WithinBudget() throws IOException {
+        assertValidatedWithinBudget("service.yaml");
+    }
+
+    public void testValidate_TypicalTrigger_WithinBudget() throws IOException {
+        assertValidatedWithinBudget("trigger.yaml");
+    }
+
+    /**
+     * Time the validation of every value of a document, as done when the whole document is highlighted.
+     * The document is parsed once, only the validation is timed.
+     */
+    private void assertValidatedWithinBudget(String name) throws IOException {
+        PsiFile file = myFixture.configureByText(YAMLFileType.YML, load(RESOURCE_PATH + name));
+        long[] durations = new long[MEASURED_RUNS];
+        ApplicationManager.getApplication().runReadAction(() -> {
+            Collection<YAMLValue> values = PsiTreeUtil.findChildrenOfType(file, YAMLValue.class);
+            List<String> problems = new ArrayList<>();
+            for (int i = 0; i < WARMUP_RUNS + MEASURED_RUNS; i++) {
+                problems.clear();
+                long start = System.nanoTime();
+                values.forEach(value -> SchemaAnnotator.validate(value, (element, message) -> problems.add(message)));
+                if (i >= WARMUP_RUNS) {
+                    durations[i - WARMUP_RUNS] = System.nanoTime() - start;
+                }
+            }
+        });
+        Arrays.sort(durations);
+        long median = TimeUnit.NANOSECONDS.toMillis(durations[MEASURED_RUNS / 2]);
+        assertTrue(name + " validated in " + median + " ms, budget is " + VALIDATION_BUDGET_MS + " ms",
+                median < VALIDATION_BUDGET_MS);
+    }
+
+    private Set<String> validate(String name) throws IOException {
+        PsiFile file = myFixture.configureByText(YAMLFileType.YML, load(RESOURCE_PATH + name));
+        Set<String> problems = new HashSet<>();
+        ApplicationManager.getApplication().runReadAction(() ->
+                PsiTreeUtil.findChildrenOfType(file, YAMLValue.class).forEach(value ->
+                        SchemaAnnotator.validate(value, (element, message) -> problems.add(element.getText() + ": " + message))));
+        return problems;
+    }
+}